@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.contention;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.tinylog.Logger;
+import org.tinylog.configuration.Configuration;
+import org.tinylog.provider.ProviderRegistry;
+
+/**
+ * Benchmark for all tinylog writers, which can output log entries without a terminal or Android device, with an
+ * increasing number of concurrently logging threads. All combinations of writer, writing thread, buffering and
+ * location information are benchmarked.
+ */
+public class ContentionBenchmark {
+
+	private static final int MAGIC_NUMBER = 42;
+
+	private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+	private static final String JDBC_URL = "jdbc:h2:mem:contention;DB_CLOSE_DELAY=-1;"
+		+ "INIT=CREATE TABLE IF NOT EXISTS LOG_ENTRIES (DATE VARCHAR(32), MESSAGE VARCHAR(1024))";
+
+	/** */
+	public ContentionBenchmark() {
+	}
+
+	/**
+	 * Benchmarks issuing log entries that will be output.
+	 *
+	 * @param lifeCycle
+	 *            Can be ignored
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	public void output(final LifeCycle lifeCycle) {
+		Logger.info("Hello {}!", MAGIC_NUMBER);
+	}
+
+	/**
+	 * Life cycle for initializing and shutting down tinylog.
+	 */
+	@State(Scope.Benchmark)
+	public static class LifeCycle {
+
+		@Param({ "file", "rolling", "shared", "sharedrolling", "jdbc" })
+		private String writer;
+
+		@Param({ "false", "true" })
+		private boolean async;
+
+		@Param({ "false", "true" })
+		private boolean buffered;
+
+		@Param({ "false", "true" })
+		private boolean location;
+
+		@Param({ "1", "2", "4", "8", "16", "32", "64" })
+		private int threads;
+
+		private Path folder;
+
+		/** */
+		public LifeCycle() {
+		}
+
+		/**
+		 * Initializes tinylog.
+		 *
+		 * @param parameters
+		 *            Parameters of the current benchmark run
+		 * @throws IOException
+		 *             Failed creating temporary folder for log files
+		 */
+		@Setup(Level.Trial)
+		public void init(final BenchmarkParams parameters) throws IOException {
+			if (parameters.getThreads() != threads) {
+				throw new IllegalStateException("Benchmark uses " + parameters.getThreads() + " instead of " + threads
+					+ " threads, please run it via " + ContentionRunner.class.getName());
+			}
+
+			folder = Files.createTempDirectory("contention_");
+
+			String message = location ? "{class}.{method}(): {message}" : "{message}";
+
+			Configuration.set("autoshutdown", "false");
+			Configuration.set("level", "info");
+			Configuration.set("writingthread", Boolean.toString(async));
+			Configuration.set("writer.format", "{date:" + DATE_PATTERN + "} [{thread}] " + message);
+			Configuration.set("writer.buffered", Boolean.toString(buffered));
+
+			if ("file".equals(writer)) {
+				Configuration.set("writer", "file");
+				Configuration.set("writer.file", folder.resolve("log.txt").toString());
+			} else if ("rolling".equals(writer)) {
+				Configuration.set("writer", "rolling file");
+				Configuration.set("writer.file", folder.resolve("log_{count}.txt").toString());
+				Configuration.set("writer.policies", "size: 10MB");
+				Configuration.set("writer.backups", "1");
+			} else if ("shared".equals(writer)) {
+				Configuration.set("writer", "shared file");
+				Configuration.set("writer.file", folder.resolve("log.txt").toString());
+			} else if ("sharedrolling".equals(writer)) {
+				Configuration.set("writer", "shared rolling file");
+				Configuration.set("writer.file", folder.resolve("log.txt").toString());
+				Configuration.set("writer.policies", "size: 10MB");
+				Configuration.set("writer.backups", "1");
+			} else if ("jdbc".equals(writer)) {
+				Configuration.set("writer", "jdbc");
+				Configuration.set("writer.url", JDBC_URL);
+				Configuration.set("writer.table", "LOG_ENTRIES");
+				Configuration.set("writer.batch", Boolean.toString(buffered));
+				Configuration.set("writer.field.DATE", "{date:" + DATE_PATTERN + "}");
+				Configuration.set("writer.field.MESSAGE", "[{thread}] " + message);
+			} else {
+				throw new IllegalArgumentException("Unknown writer: " + writer);
+			}
+		}
+
+		/**
+		 * Removes all log entries from the database to avoid running out of memory, if the JDBC writer is benchmarked.
+		 *
+		 * @throws SQLException
+		 *             Failed to access database
+		 */
+		@TearDown(Level.Iteration)
+		public void clear() throws SQLException {
+			if ("jdbc".equals(writer)) {
+				try (Connection connection = DriverManager.getConnection(JDBC_URL)) {
+					try (Statement statement = connection.createStatement()) {
+						statement.executeUpdate("DELETE FROM LOG_ENTRIES");
+					}
+				}
+			}
+		}
+
+		/**
+		 * Shuts down tinylog.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 * @throws IOException
+		 *             Failed to delete log files
+		 */
+		@TearDown(Level.Trial)
+		public void shutDown() throws InterruptedException, IOException {
+			ProviderRegistry.getLoggingProvider().shutdown();
+
+			List<Path> paths;
+			try (Stream<Path> stream = Files.walk(folder)) {
+				paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+			}
+
+			for (Path path : paths) {
+				Files.delete(path);
+			}
+		}
+
+	}
+
+}
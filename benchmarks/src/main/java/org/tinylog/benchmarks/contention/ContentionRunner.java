@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.contention;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runner for executing {@link ContentionBenchmark} once per number of threads. JMH itself supports only a fixed
+ * number of threads for all benchmark runs. Therefore, this runner passes the same number as thread count and as
+ * "threads" parameter to JMH, and outputs the results of all runs as one combined table at the end.
+ */
+public final class ContentionRunner {
+
+	private static final String THREADS_PARAMETER = "threads";
+
+	/** */
+	private ContentionRunner() {
+	}
+
+	/**
+	 * Main method for executing the benchmark. All command line arguments of JMH are supported. The numbers of threads
+	 * can be restricted by passing "-p threads=..." as for a usual JMH parameter.
+	 *
+	 * @param arguments
+	 *            JMH command line arguments
+	 * @throws CommandLineOptionException
+	 *             Invalid command line arguments
+	 * @throws RunnerException
+	 *             Failed to execute benchmark
+	 * @throws NoSuchFieldException
+	 *             Benchmark does not have a "threads" parameter anymore
+	 */
+	public static void main(final String[] arguments) throws CommandLineOptionException, RunnerException, NoSuchFieldException {
+		CommandLineOptions options = new CommandLineOptions(arguments);
+		Collection<String> threads = options.getParameter(THREADS_PARAMETER).orElse(getDefaultThreads());
+
+		List<RunResult> results = new ArrayList<>();
+		for (String count : threads) {
+			OptionsBuilder builder = new OptionsBuilder();
+			builder.parent(options).threads(Integer.parseInt(count)).param(THREADS_PARAMETER, count);
+			results.addAll(new Runner(builder.build()).run());
+		}
+
+		System.out.println();
+		System.out.println("Combined results:");
+		System.out.println();
+		ResultFormatFactory.getInstance(ResultFormatType.TEXT, System.out).writeOut(results);
+	}
+
+	/**
+	 * Gets the numbers of threads that are defined as default parameter values in the benchmark.
+	 *
+	 * @return All default numbers of threads
+	 * @throws NoSuchFieldException
+	 *             Benchmark does not have a "threads" parameter anymore
+	 */
+	private static Collection<String> getDefaultThreads() throws NoSuchFieldException {
+		Param parameter = ContentionBenchmark.LifeCycle.class.getDeclaredField(THREADS_PARAMETER).getAnnotation(Param.class);
+		return Arrays.asList(parameter.value());
+	}
+
+}
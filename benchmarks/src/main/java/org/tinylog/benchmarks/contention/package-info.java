@@ -0,0 +1,22 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+/**
+ * JMH benchmarks for the scalability of tinylog writers with increasing numbers of concurrently logging threads.
+ *
+ * <p>
+ * The benchmarks have to be started via {@link org.tinylog.benchmarks.contention.ContentionRunner}, as JMH does not
+ * support the number of threads as benchmark parameter.
+ * </p>
+ */
+package org.tinylog.benchmarks.contention;
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.converters;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Reader and writer for benchmark results in JSON format. Results can be read from JMH result files, which are created
+ * via "-rf json", and from stored baselines. Baselines contain only the compared metrics of each benchmark run.
+ */
+public final class BaselineStore {
+
+	private static final String THROUGHPUT_MODE = "thrpt";
+	private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+	/** */
+	public BaselineStore() {
+	}
+
+	/**
+	 * Reads all benchmark results from a JMH result file or a stored baseline. For JMH result files, the primary metric
+	 * and the normalized allocation rate are read, if available.
+	 *
+	 * @param file
+	 *            JMH result file or baseline in JSON format
+	 * @return All found benchmark results
+	 * @throws IOException
+	 *             Failed to read file
+	 * @throws IllegalArgumentException
+	 *             File is not a valid JMH result file or baseline
+	 */
+	public List<BenchmarkResult> read(final Path file) throws IOException {
+		String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+		List<BenchmarkResult> results = new ArrayList<>();
+
+		for (Object element : asList(JsonFormat.parse(json))) {
+			Map<String, Object> run = asMap(element);
+			String benchmark = (String) run.get("benchmark");
+			Map<String, String> parameters = readParameters(run.get("params"));
+
+			if (run.containsKey("primaryMetric")) {
+				String mode = (String) run.get("mode");
+				results.add(readMetric(benchmark, parameters, mode, THROUGHPUT_MODE.equals(mode), asMap(run.get("primaryMetric"))));
+
+				if (run.get("secondaryMetrics") != null) {
+					for (Entry<String, Object> entry : asMap(run.get("secondaryMetrics")).entrySet()) {
+						String name = entry.getKey().replaceFirst("^\\W+", "");
+						if (ALLOCATION_METRIC.equals(name)) {
+							results.add(readMetric(benchmark, parameters, name, false, asMap(entry.getValue())));
+						}
+					}
+				}
+			} else {
+				boolean higherIsBetter = Boolean.TRUE.equals(run.get("higherIsBetter"));
+				results.add(readMetric(benchmark, parameters, (String) run.get("metric"), higherIsBetter, run));
+			}
+		}
+
+		return results;
+	}
+
+	/**
+	 * Stores benchmark results as baseline.
+	 *
+	 * @param file
+	 *            Target file for the baseline
+	 * @param results
+	 *            Benchmark results to store
+	 * @throws IOException
+	 *             Failed to write file
+	 */
+	public void write(final Path file, final List<BenchmarkResult> results) throws IOException {
+		List<Object> runs = new ArrayList<>();
+
+		for (BenchmarkResult result : results) {
+			Map<String, Object> run = new LinkedHashMap<>();
+			run.put("benchmark", result.getBenchmark());
+			run.put("params", new LinkedHashMap<String, Object>(result.getParameters()));
+			run.put("metric", result.getMetric());
+			run.put("higherIsBetter", result.isHigherBetter());
+			run.put("score", result.getScore());
+			run.put("scoreError", result.getError() == null ? "NaN" : result.getError());
+			run.put("scoreUnit", result.getUnit());
+			runs.add(run);
+		}
+
+		Files.write(file, JsonFormat.format(runs).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads a metric from a JSON object with the JMH properties "score", "scoreError" and "scoreUnit".
+	 *
+	 * @param benchmark
+	 *            Fully qualified benchmark method
+	 * @param parameters
+	 *            Benchmark parameters
+	 * @param metric
+	 *            Name of the metric
+	 * @param higherIsBetter
+	 *            {@code true} if higher scores are better, {@code false} if lower scores are better
+	 * @param json
+	 *            JSON object with score, error and unit
+	 * @return Created benchmark result
+	 */
+	private static BenchmarkResult readMetric(final String benchmark, final Map<String, String> parameters, final String metric,
+		final boolean higherIsBetter, final Map<String, Object> json) {
+		BigDecimal score = toNumber(json.get("score"));
+		if (score == null) {
+			throw new IllegalArgumentException("Missing score for " + benchmark);
+		}
+
+		return new BenchmarkResult(benchmark, parameters, metric, higherIsBetter, score, toNumber(json.get("scoreError")),
+			(String) json.get("scoreUnit"));
+	}
+
+	/**
+	 * Reads the benchmark parameters from a JSON object.
+	 *
+	 * @param json
+	 *            JSON object with parameter names and values or {@code null}
+	 * @return Parameter names and values
+	 */
+	private static Map<String, String> readParameters(final Object json) {
+		Map<String, String> parameters = new LinkedHashMap<>();
+		if (json != null) {
+			for (Entry<String, Object> entry : asMap(json).entrySet()) {
+				parameters.put(entry.getKey(), String.valueOf(entry.getValue()));
+			}
+		}
+		return parameters;
+	}
+
+	/**
+	 * Converts a JSON value into a number. JMH outputs undefined values such as "NaN" as strings.
+	 *
+	 * @param value
+	 *            JSON value
+	 * @return Number or {@code null} if the value is not a number
+	 */
+	private static BigDecimal toNumber(final Object value) {
+		return value instanceof BigDecimal ? (BigDecimal) value : null;
+	}
+
+	/**
+	 * Casts a JSON value to a JSON object.
+	 *
+	 * @param value
+	 *            JSON value
+	 * @return JSON object
+	 */
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> asMap(final Object value) {
+		if (value instanceof Map) {
+			return (Map<String, Object>) value;
+		} else {
+			throw new IllegalArgumentException("Expected JSON object instead of " + value);
+		}
+	}
+
+	/**
+	 * Casts a JSON value to a JSON array.
+	 *
+	 * @param value
+	 *            JSON value
+	 * @return JSON array
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<Object> asList(final Object value) {
+		if (value instanceof List) {
+			return (List<Object>) value;
+		} else {
+			throw new IllegalArgumentException("Expected JSON array instead of " + value);
+		}
+	}
+
+}
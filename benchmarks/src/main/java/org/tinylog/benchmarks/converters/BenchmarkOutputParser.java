@@ -38,6 +38,9 @@ import org.tinylog.Logger;
 public final class BenchmarkOutputParser {
 
 	private static final Pattern LINE_PATTERN = Pattern.compile("(\\w+)Benchmark\\.(\\w+) +[\\w/]+ +\\w+ +\\d* +(\\d+[,\\.]\\d+) .*");
+	private static final Pattern HEADER_PATTERN = Pattern.compile("Benchmark +((?:\\(\\w+\\) +)*)Mode +.*");
+	private static final Pattern NAME_PATTERN = Pattern.compile("\\w+Benchmark\\.(\\w+)");
+	private static final Pattern SCORE_PATTERN = Pattern.compile("\\d+[,\\.]\\d+");
 
 	private static final int GROUP_FRAMEWORK_NAME = 1;
 	private static final int GROUP_BENCHMARK_NAME = 2;
@@ -102,6 +105,100 @@ public final class BenchmarkOutputParser {
 		}
 	}
 
+	/**
+	 * Parses the given file with results of a parameterized benchmark as curves. Each combination of benchmark name
+	 * and parameter values, apart from the passed parameter, forms a curve. The value of the passed parameter is used
+	 * as x-coordinate.
+	 *
+	 * @param file
+	 *            Results of a parameterized benchmark from JMH
+	 * @param parameter
+	 *            Name of the numeric parameter for the x-coordinates
+	 * @return Mapping with the curve name and the scores per x-coordinate
+	 */
+	public Map<String, Map<Integer, BigDecimal>> parseCurves(final String file, final String parameter) {
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(openResource(file), StandardCharsets.UTF_8))) {
+			Map<String, Map<Integer, BigDecimal>> curves = new LinkedHashMap<>();
+			List<String> parameters = Collections.emptyList();
+
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				Matcher header = HEADER_PATTERN.matcher(line);
+				if (header.matches()) {
+					parameters = parseParameterNames(header.group(1));
+					continue;
+				}
+
+				String[] tokens = line.trim().split("\\s+");
+				Matcher name = NAME_PATTERN.matcher(tokens[0]);
+				int index = parameters.indexOf(parameter);
+				if (!name.matches() || index < 0 || tokens.length <= parameters.size() + 2) {
+					continue;
+				}
+
+				StringBuilder curve = new StringBuilder(name.group(1));
+				for (int i = 0; i < parameters.size(); ++i) {
+					if (i != index) {
+						curve.append(", ").append(parameters.get(i)).append("=").append(tokens[i + 1]);
+					}
+				}
+
+				String score = findScore(tokens, parameters.size() + 2);
+				if (score == null) {
+					Logger.error("Missing score in line \"{}\"", line);
+				} else {
+					Map<Integer, BigDecimal> scores = curves.get(curve.toString());
+					if (scores == null) {
+						scores = new TreeMap<>();
+						curves.put(curve.toString(), scores);
+					}
+
+					scores.put(Integer.valueOf(tokens[index + 1]), new BigDecimal(score.replaceAll("[,\\.]", ".")));
+				}
+			}
+
+			return curves;
+		} catch (IOException ex) {
+			Logger.error(ex, "Failed to open \"{}\"", file);
+			return Collections.emptyMap();
+		}
+	}
+
+	/**
+	 * Extracts the parameter names from the parameter columns of a JMH result table header.
+	 *
+	 * @param columns
+	 *            Parameter columns such as "(async) (threads)"
+	 * @return Parameter names without parentheses
+	 */
+	private static List<String> parseParameterNames(final String columns) {
+		List<String> names = new ArrayList<>();
+		for (String column : columns.trim().split(" +")) {
+			if (!column.isEmpty()) {
+				names.add(column.substring(1, column.length() - 1));
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Finds the score in the tokens of a JMH result line. The count column is empty for some benchmark modes.
+	 * Therefore, the score is the first decimal number after the benchmark mode.
+	 *
+	 * @param tokens
+	 *            Whitespace separated tokens of a JMH result line
+	 * @param start
+	 *            Index of the first token after the benchmark mode
+	 * @return Found score or {@code null}
+	 */
+	private static String findScore(final String[] tokens, final int start) {
+		for (int i = start; i < tokens.length; ++i) {
+			if (SCORE_PATTERN.matcher(tokens[i]).matches()) {
+				return tokens[i];
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Opens a resource from classpath.
 	 * 
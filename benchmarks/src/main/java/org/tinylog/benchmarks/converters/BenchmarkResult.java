@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.converters;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Data class for representing a single metric of a benchmark run with its confidence interval.
+ */
+public final class BenchmarkResult {
+
+	private final String benchmark;
+	private final Map<String, String> parameters;
+	private final String metric;
+	private final boolean higherIsBetter;
+	private final BigDecimal score;
+	private final BigDecimal error;
+	private final String unit;
+
+	/**
+	 * @param benchmark
+	 *            Fully qualified benchmark method
+	 * @param parameters
+	 *            Benchmark parameters
+	 * @param metric
+	 *            Name of the metric, such as "thrpt" or "gc.alloc.rate.norm"
+	 * @param higherIsBetter
+	 *            {@code true} if higher scores are better, {@code false} if lower scores are better
+	 * @param score
+	 *            Measured score
+	 * @param error
+	 *            Half width of the confidence interval as reported by JMH or {@code null} if not available
+	 * @param unit
+	 *            Unit of score and error
+	 */
+	public BenchmarkResult(final String benchmark, final Map<String, String> parameters, final String metric,
+		final boolean higherIsBetter, final BigDecimal score, final BigDecimal error, final String unit) {
+		this.benchmark = benchmark;
+		this.parameters = parameters;
+		this.metric = metric;
+		this.higherIsBetter = higherIsBetter;
+		this.score = score;
+		this.error = error;
+		this.unit = unit;
+	}
+
+	/**
+	 * Gets the fully qualified benchmark method.
+	 *
+	 * @return Fully qualified benchmark method
+	 */
+	public String getBenchmark() {
+		return benchmark;
+	}
+
+	/**
+	 * Gets the benchmark parameters.
+	 *
+	 * @return Parameter names and values
+	 */
+	public Map<String, String> getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * Gets the name of the metric.
+	 *
+	 * @return Benchmark mode for primary metrics or name of secondary metrics
+	 */
+	public String getMetric() {
+		return metric;
+	}
+
+	/**
+	 * Checks whether higher scores are better.
+	 *
+	 * @return {@code true} if higher scores are better, {@code false} if lower scores are better
+	 */
+	public boolean isHigherBetter() {
+		return higherIsBetter;
+	}
+
+	/**
+	 * Gets the measured score.
+	 *
+	 * @return Measured score
+	 */
+	public BigDecimal getScore() {
+		return score;
+	}
+
+	/**
+	 * Gets the half width of the confidence interval.
+	 *
+	 * @return Error as reported by JMH or {@code null} if not available
+	 */
+	public BigDecimal getError() {
+		return error;
+	}
+
+	/**
+	 * Gets the unit of score and error.
+	 *
+	 * @return Unit of score and error
+	 */
+	public String getUnit() {
+		return unit;
+	}
+
+	/**
+	 * Gets a key that identifies the same metric of the same benchmark with the same parameters in different runs.
+	 *
+	 * @return Unique key for the metric of a benchmark
+	 */
+	public String getKey() {
+		StringBuilder builder = new StringBuilder(benchmark);
+
+		if (!parameters.isEmpty()) {
+			builder.append(" (");
+			for (Entry<String, String> parameter : parameters.entrySet()) {
+				if (builder.charAt(builder.length() - 1) != '(') {
+					builder.append(", ");
+				}
+				builder.append(parameter.getKey()).append("=").append(parameter.getValue());
+			}
+			builder.append(")");
+		}
+
+		return builder.append(" ").append(metric).toString();
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.converters;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Data class for representing the comparison of the same metric of a benchmark between a baseline and a current run.
+ */
+public final class Comparison {
+
+	private static final BigDecimal PERCENTAGE = BigDecimal.valueOf(100);
+	private static final int DECIMAL_PLACES = 2;
+
+	private final BenchmarkResult baseline;
+	private final BenchmarkResult current;
+	private final Verdict verdict;
+
+	/**
+	 * @param baseline
+	 *            Result from the baseline or {@code null} if the benchmark is new
+	 * @param current
+	 *            Result from the current run or {@code null} if the benchmark has not been executed
+	 * @param verdict
+	 *            Assessment of the change
+	 */
+	public Comparison(final BenchmarkResult baseline, final BenchmarkResult current, final Verdict verdict) {
+		this.baseline = baseline;
+		this.current = current;
+		this.verdict = verdict;
+	}
+
+	/**
+	 * Gets the result from the baseline.
+	 *
+	 * @return Result from the baseline or {@code null} if the benchmark is new
+	 */
+	public BenchmarkResult getBaseline() {
+		return baseline;
+	}
+
+	/**
+	 * Gets the result from the current run.
+	 *
+	 * @return Result from the current run or {@code null} if the benchmark has not been executed
+	 */
+	public BenchmarkResult getCurrent() {
+		return current;
+	}
+
+	/**
+	 * Gets the assessment of the change.
+	 *
+	 * @return Assessment of the change
+	 */
+	public Verdict getVerdict() {
+		return verdict;
+	}
+
+	/**
+	 * Gets the relative change of the score from the baseline to the current run.
+	 *
+	 * @return Change in percent or {@code null} if one of both results is missing or the baseline score is zero
+	 */
+	public BigDecimal getChange() {
+		if (baseline == null || current == null || baseline.getScore().signum() == 0) {
+			return null;
+		} else {
+			BigDecimal difference = current.getScore().subtract(baseline.getScore());
+			return difference.multiply(PERCENTAGE).divide(baseline.getScore(), DECIMAL_PLACES, RoundingMode.HALF_UP);
+		}
+	}
+
+	/**
+	 * Assessments of changes between baseline and current run.
+	 */
+	public enum Verdict {
+
+		/**
+		 * The current run is significantly worse than the baseline.
+		 */
+		REGRESSION,
+
+		/**
+		 * The current run is significantly better than the baseline.
+		 */
+		IMPROVEMENT,
+
+		/**
+		 * There is no significant difference between baseline and current run.
+		 */
+		UNCHANGED,
+
+		/**
+		 * The significance cannot be determined, as JMH did not report an error for at least one of both results.
+		 */
+		INCONCLUSIVE,
+
+		/**
+		 * The benchmark exists only in the current run.
+		 */
+		ADDED,
+
+		/**
+		 * The benchmark exists only in the baseline.
+		 */
+		MISSING
+
+	}
+
+}
@@ -22,6 +22,9 @@ import java.util.Map;
 public final class HtmlConverterApplication {
 
 	private static final String OUTPUT_FILE = "output.txt";
+	private static final String CONTENTION_FILE = "contention.txt";
+	private static final String CONTENTION_ARGUMENT = "contention";
+	private static final String THREADS_PARAMETER = "threads";
 	private static final Map<String, Framework> FRAMEWORKS = new LinkedHashMap<>();
 
 	static {
@@ -41,12 +44,18 @@ public final class HtmlConverterApplication {
 	 * Main method for executing the converter.
 	 * 
 	 * @param args
-	 *            Arguments are ignored
+	 *            "contention" for converting the results of the contention benchmark, otherwise the results of the
+	 *            logging framework benchmark are converted
 	 */
 	public static void main(final String[] args) {
 		BenchmarkOutputParser parser = new BenchmarkOutputParser(FRAMEWORKS.keySet());
 		HtmlDiagramRenderer renderer = new HtmlDiagramRenderer(FRAMEWORKS);
-		renderer.output(parser.parse(OUTPUT_FILE));
+
+		if (args.length > 0 && CONTENTION_ARGUMENT.equals(args[0])) {
+			renderer.outputCurves(CONTENTION_ARGUMENT, parser.parseCurves(CONTENTION_FILE, THREADS_PARAMETER));
+		} else {
+			renderer.output(parser.parse(OUTPUT_FILE));
+		}
 	}
 
 }
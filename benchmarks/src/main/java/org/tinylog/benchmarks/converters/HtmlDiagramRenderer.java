@@ -21,6 +21,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Renderer for creating HTML diagrams from results of logging framework benchmarks for tinylog.org.
@@ -94,4 +96,67 @@ public final class HtmlDiagramRenderer {
 		}
 	}
 
+	/**
+	 * Creates and outputs an HTML diagram with one row per curve and one column per x-coordinate.
+	 *
+	 * @param title
+	 *            Title of the diagram
+	 * @param curves
+	 *            Scores per x-coordinate for all curves
+	 */
+	public void outputCurves(final String title, final Map<String, Map<Integer, BigDecimal>> curves) {
+		Set<Integer> coordinates = new TreeSet<>();
+		for (Map<Integer, BigDecimal> scores : curves.values()) {
+			coordinates.addAll(scores.keySet());
+		}
+
+		BigDecimal max = curves.values().stream()
+			.flatMap(scores -> scores.values().stream())
+			.max(Comparator.naturalOrder())
+			.orElse(BigDecimal.ONE);
+
+		System.out.println(title.toUpperCase(Locale.ENGLISH));
+		System.out.println();
+
+		System.out.println("<div class=\"table-responsive\"><table class=\"table benchmark\">");
+
+		System.out.println("\t<thead>");
+		System.out.println("\t\t<tr>");
+		System.out.println("\t\t\t<th>Configuration</th>");
+		for (Integer coordinate : coordinates) {
+			System.out.println("\t\t\t<th>" + coordinate + (coordinate == 1 ? " Thread" : " Threads") + "</th>");
+		}
+		System.out.println("\t\t</tr>");
+		System.out.println("\t</thead>");
+
+		System.out.println("\t<tbody>");
+
+		for (Entry<String, Map<Integer, BigDecimal>> curve : curves.entrySet()) {
+			System.out.println("\t\t<tr>");
+			System.out.println("\t\t\t<td>" + curve.getKey() + "</td>");
+
+			for (Integer coordinate : coordinates) {
+				BigDecimal score = curve.getValue().get(coordinate);
+				if (score == null) {
+					System.out.println("\t\t\t<td></td>");
+				} else {
+					BigDecimal total = score.setScale(0, RoundingMode.HALF_UP);
+					BigDecimal percentage = score.multiply(PERCENTAGE).divide(max, DECIMAL_PLACES, RoundingMode.HALF_UP);
+
+					System.out.println("\t\t\t<td>");
+					System.out.println("\t\t\t\t<div class=\"bar\" style=\"width: " + percentage + "%\">&nbsp;</div>");
+					System.out.println("\t\t\t\t<div class=\"total\">" + NUMBER_FORMAT.format(total) + "</div>");
+					System.out.println("\t\t\t</td>");
+				}
+			}
+
+			System.out.println("\t\t</tr>");
+		}
+
+		System.out.println("\t</tbody>");
+
+		System.out.println("</table></div>");
+		System.out.println();
+	}
+
 }
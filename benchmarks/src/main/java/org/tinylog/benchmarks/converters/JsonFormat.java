@@ -0,0 +1,339 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.converters;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Minimal JSON parser and formatter for JMH result files and benchmark baselines.
+ *
+ * <p>
+ * JSON objects are represented as {@link Map maps} with preserved order, arrays as {@link List lists}, strings as
+ * {@link String strings}, numbers as {@link BigDecimal big decimals}, and literals as {@link Boolean booleans} or
+ * {@code null}.
+ * </p>
+ */
+public final class JsonFormat {
+
+	private static final String INDENTATION = "    ";
+	private static final int UNICODE_LENGTH = 4;
+	private static final int HEX_RADIX = 16;
+
+	private final String json;
+	private int position;
+
+	/**
+	 * @param json
+	 *            JSON document to parse
+	 */
+	private JsonFormat(final String json) {
+		this.json = json;
+		this.position = 0;
+	}
+
+	/**
+	 * Parses a JSON document.
+	 *
+	 * @param json
+	 *            JSON document
+	 * @return Parsed value
+	 * @throws IllegalArgumentException
+	 *             Passed document is not valid JSON
+	 */
+	public static Object parse(final String json) {
+		JsonFormat parser = new JsonFormat(json);
+		Object value = parser.readValue();
+		parser.skipWhitespace();
+		if (parser.position < json.length()) {
+			throw parser.error("Unexpected content after JSON value");
+		}
+		return value;
+	}
+
+	/**
+	 * Formats a value as indented JSON document.
+	 *
+	 * @param value
+	 *            Maps, lists, strings, numbers, booleans or {@code null}
+	 * @return JSON document
+	 */
+	public static String format(final Object value) {
+		StringBuilder builder = new StringBuilder();
+		format(builder, value, "");
+		return builder.append(System.lineSeparator()).toString();
+	}
+
+	/**
+	 * Appends a value as indented JSON.
+	 *
+	 * @param builder
+	 *            Target for JSON output
+	 * @param value
+	 *            Value to append
+	 * @param indentation
+	 *            Current indentation
+	 */
+	private static void format(final StringBuilder builder, final Object value, final String indentation) {
+		String nested = indentation + INDENTATION;
+
+		if (value instanceof Map) {
+			builder.append("{");
+			Iterator<? extends Entry<?, ?>> iterator = ((Map<?, ?>) value).entrySet().iterator();
+			while (iterator.hasNext()) {
+				Entry<?, ?> entry = iterator.next();
+				builder.append(System.lineSeparator()).append(nested);
+				formatString(builder, String.valueOf(entry.getKey()));
+				builder.append(" : ");
+				format(builder, entry.getValue(), nested);
+				builder.append(iterator.hasNext() ? "," : System.lineSeparator() + indentation);
+			}
+			builder.append("}");
+		} else if (value instanceof List) {
+			builder.append("[");
+			Iterator<?> iterator = ((List<?>) value).iterator();
+			while (iterator.hasNext()) {
+				builder.append(System.lineSeparator()).append(nested);
+				format(builder, iterator.next(), nested);
+				builder.append(iterator.hasNext() ? "," : System.lineSeparator() + indentation);
+			}
+			builder.append("]");
+		} else if (value instanceof String) {
+			formatString(builder, (String) value);
+		} else {
+			builder.append(value);
+		}
+	}
+
+	/**
+	 * Appends a string as quoted and escaped JSON string.
+	 *
+	 * @param builder
+	 *            Target for JSON output
+	 * @param value
+	 *            String to append
+	 */
+	private static void formatString(final StringBuilder builder, final String value) {
+		builder.append('"');
+		for (int i = 0; i < value.length(); ++i) {
+			char character = value.charAt(i);
+			if (character == '"' || character == '\\') {
+				builder.append('\\').append(character);
+			} else if (character < ' ') {
+				builder.append(String.format("\\u%04x", (int) character));
+			} else {
+				builder.append(character);
+			}
+		}
+		builder.append('"');
+	}
+
+	/**
+	 * Reads any JSON value at the current position.
+	 *
+	 * @return Parsed value
+	 */
+	private Object readValue() {
+		skipWhitespace();
+		if (position >= json.length()) {
+			throw error("Unexpected end of JSON");
+		}
+
+		char character = json.charAt(position);
+		if (character == '{') {
+			return readObject();
+		} else if (character == '[') {
+			return readArray();
+		} else if (character == '"') {
+			return readString();
+		} else if (json.startsWith("true", position)) {
+			position += "true".length();
+			return Boolean.TRUE;
+		} else if (json.startsWith("false", position)) {
+			position += "false".length();
+			return Boolean.FALSE;
+		} else if (json.startsWith("null", position)) {
+			position += "null".length();
+			return null;
+		} else {
+			return readNumber();
+		}
+	}
+
+	/**
+	 * Reads a JSON object at the current position.
+	 *
+	 * @return Parsed object
+	 */
+	private Map<String, Object> readObject() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		++position;
+
+		skipWhitespace();
+		if (json.startsWith("}", position)) {
+			++position;
+			return map;
+		}
+
+		while (true) {
+			skipWhitespace();
+			String key = readString();
+			expect(':');
+			map.put(key, readValue());
+			if (next(',', '}') == '}') {
+				return map;
+			}
+		}
+	}
+
+	/**
+	 * Reads a JSON array at the current position.
+	 *
+	 * @return Parsed array
+	 */
+	private List<Object> readArray() {
+		List<Object> list = new ArrayList<>();
+		++position;
+
+		skipWhitespace();
+		if (json.startsWith("]", position)) {
+			++position;
+			return list;
+		}
+
+		while (true) {
+			list.add(readValue());
+			if (next(',', ']') == ']') {
+				return list;
+			}
+		}
+	}
+
+	/**
+	 * Reads a JSON string at the current position.
+	 *
+	 * @return Parsed string without quotes
+	 */
+	private String readString() {
+		expect('"');
+
+		StringBuilder builder = new StringBuilder();
+		while (position < json.length()) {
+			char character = json.charAt(position++);
+			if (character == '"') {
+				return builder.toString();
+			} else if (character == '\\' && position < json.length()) {
+				char escaped = json.charAt(position++);
+				if (escaped == 'u' && position + UNICODE_LENGTH <= json.length()) {
+					builder.append((char) Integer.parseInt(json.substring(position, position + UNICODE_LENGTH), HEX_RADIX));
+					position += UNICODE_LENGTH;
+				} else if (escaped == 'n') {
+					builder.append('\n');
+				} else if (escaped == 'r') {
+					builder.append('\r');
+				} else if (escaped == 't') {
+					builder.append('\t');
+				} else if (escaped == 'b') {
+					builder.append('\b');
+				} else if (escaped == 'f') {
+					builder.append('\f');
+				} else {
+					builder.append(escaped);
+				}
+			} else {
+				builder.append(character);
+			}
+		}
+
+		throw error("Unterminated string");
+	}
+
+	/**
+	 * Reads a JSON number at the current position.
+	 *
+	 * @return Parsed number
+	 */
+	private BigDecimal readNumber() {
+		int start = position;
+		while (position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) >= 0) {
+			++position;
+		}
+
+		try {
+			return new BigDecimal(json.substring(start, position));
+		} catch (NumberFormatException ex) {
+			throw error("Invalid value");
+		}
+	}
+
+	/**
+	 * Skips the expected character after optional whitespace.
+	 *
+	 * @param expected
+	 *            Expected character
+	 */
+	private void expect(final char expected) {
+		skipWhitespace();
+		if (position >= json.length() || json.charAt(position) != expected) {
+			throw error("Expected '" + expected + "'");
+		}
+		++position;
+	}
+
+	/**
+	 * Skips one of two expected characters after optional whitespace.
+	 *
+	 * @param separator
+	 *            Character that separates elements
+	 * @param terminator
+	 *            Character that terminates the enclosing object or array
+	 * @return Found character
+	 */
+	private char next(final char separator, final char terminator) {
+		skipWhitespace();
+		if (position < json.length()) {
+			char character = json.charAt(position++);
+			if (character == separator || character == terminator) {
+				return character;
+			}
+		}
+		throw error("Expected '" + separator + "' or '" + terminator + "'");
+	}
+
+	/**
+	 * Skips all whitespace characters at the current position.
+	 */
+	private void skipWhitespace() {
+		while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+			++position;
+		}
+	}
+
+	/**
+	 * Creates an exception for invalid JSON at the current position.
+	 *
+	 * @param message
+	 *            Description of the problem
+	 * @return Created exception
+	 */
+	private IllegalArgumentException error(final String message) {
+		return new IllegalArgumentException(message + " at position " + position);
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.converters;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.tinylog.Logger;
+import org.tinylog.benchmarks.converters.Comparison.Verdict;
+
+/**
+ * Converter for storing JMH results as baselines and comparing new JMH results against stored baselines. JMH results
+ * have to be written in JSON format via "-rf json". Allocation regressions are detected for benchmarks that have been
+ * executed with the GC profiler via "-prof gc".
+ *
+ * <p>
+ * Usage:
+ * </p>
+ * <ul>
+ * <li>{@code baseline <jmh-result.json> <baseline.json>} stores a JMH result as baseline</li>
+ * <li>{@code compare <baseline.json> <jmh-result.json>} outputs a report and exits with status 1, if at least one
+ * significant regression has been found</li>
+ * </ul>
+ */
+public final class RegressionApplication {
+
+	private static final int ARGUMENTS = 3;
+
+	/** */
+	private RegressionApplication() {
+	}
+
+	/**
+	 * Main method for executing the converter.
+	 *
+	 * @param args
+	 *            Command ("baseline" or "compare") and two paths to JSON files
+	 * @throws IOException
+	 *             Failed to read or write a JSON file
+	 */
+	public static void main(final String[] args) throws IOException {
+		if (args.length != ARGUMENTS) {
+			Logger.error("Expected three arguments: baseline <jmh-result.json> <baseline.json>"
+				+ " or compare <baseline.json> <jmh-result.json>");
+			return;
+		}
+
+		BaselineStore store = new BaselineStore();
+
+		if ("baseline".equals(args[0])) {
+			List<BenchmarkResult> results = store.read(Paths.get(args[1]));
+			store.write(Paths.get(args[2]), results);
+			Logger.info("Stored {} results as baseline in \"{}\"", results.size(), args[2]);
+		} else if ("compare".equals(args[0])) {
+			List<BenchmarkResult> baseline = store.read(Paths.get(args[1]));
+			List<BenchmarkResult> current = store.read(Paths.get(args[2]));
+			List<Comparison> comparisons = new RegressionDetector().compare(baseline, current);
+			new RegressionReportRenderer().output(comparisons);
+
+			for (Comparison comparison : comparisons) {
+				if (comparison.getVerdict() == Verdict.REGRESSION) {
+					System.exit(1);
+				}
+			}
+		} else {
+			Logger.error("Unknown command \"{}\", expected \"baseline\" or \"compare\"", args[0]);
+		}
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.converters;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.tinylog.benchmarks.converters.Comparison.Verdict;
+
+/**
+ * Detector for significant changes between the results of a baseline and a current run.
+ *
+ * <p>
+ * JMH reports the half width of the 99.9% confidence interval as error of a score. A change is considered as
+ * significant, if the confidence intervals of baseline and current run do not overlap. This criterion is
+ * conservative, so that random noise between runs is not reported as regression.
+ * </p>
+ */
+public final class RegressionDetector {
+
+	/** */
+	public RegressionDetector() {
+	}
+
+	/**
+	 * Compares all metrics of all benchmarks between a baseline and a current run.
+	 *
+	 * @param baseline
+	 *            Results from the baseline
+	 * @param current
+	 *            Results from the current run
+	 * @return Comparisons in the order of the baseline, followed by benchmarks that exist only in the current run
+	 */
+	public List<Comparison> compare(final List<BenchmarkResult> baseline, final List<BenchmarkResult> current) {
+		Map<String, BenchmarkResult> remaining = new LinkedHashMap<>();
+		for (BenchmarkResult result : current) {
+			remaining.put(result.getKey(), result);
+		}
+
+		List<Comparison> comparisons = new ArrayList<>();
+
+		for (BenchmarkResult expected : baseline) {
+			BenchmarkResult actual = remaining.remove(expected.getKey());
+			if (actual == null) {
+				comparisons.add(new Comparison(expected, null, Verdict.MISSING));
+			} else {
+				comparisons.add(new Comparison(expected, actual, assess(expected, actual)));
+			}
+		}
+
+		for (BenchmarkResult actual : remaining.values()) {
+			comparisons.add(new Comparison(null, actual, Verdict.ADDED));
+		}
+
+		return comparisons;
+	}
+
+	/**
+	 * Assesses the change of a metric by comparing the confidence intervals.
+	 *
+	 * @param baseline
+	 *            Result from the baseline
+	 * @param current
+	 *            Result from the current run
+	 * @return Assessment of the change
+	 */
+	private static Verdict assess(final BenchmarkResult baseline, final BenchmarkResult current) {
+		if (baseline.getError() == null || current.getError() == null) {
+			return Verdict.INCONCLUSIVE;
+		}
+
+		BigDecimal baselineLower = baseline.getScore().subtract(baseline.getError());
+		BigDecimal baselineUpper = baseline.getScore().add(baseline.getError());
+		BigDecimal currentLower = current.getScore().subtract(current.getError());
+		BigDecimal currentUpper = current.getScore().add(current.getError());
+
+		if (currentLower.compareTo(baselineUpper) > 0) {
+			return current.isHigherBetter() ? Verdict.IMPROVEMENT : Verdict.REGRESSION;
+		} else if (currentUpper.compareTo(baselineLower) < 0) {
+			return current.isHigherBetter() ? Verdict.REGRESSION : Verdict.IMPROVEMENT;
+		} else {
+			return Verdict.UNCHANGED;
+		}
+	}
+
+}
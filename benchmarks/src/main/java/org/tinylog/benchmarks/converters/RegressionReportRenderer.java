@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.converters;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.text.NumberFormat;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.tinylog.benchmarks.converters.Comparison.Verdict;
+
+/**
+ * Renderer for creating a text report from the comparisons between a baseline and a current run.
+ */
+public final class RegressionReportRenderer {
+
+	private static final MathContext SIGNIFICANT_DIGITS = new MathContext(4);
+	private static final NumberFormat NUMBER_FORMAT = NumberFormat.getInstance(Locale.ENGLISH);
+
+	/** */
+	public RegressionReportRenderer() {
+	}
+
+	/**
+	 * Creates and outputs the report. Regressions are listed first, followed by improvements and all other
+	 * comparisons.
+	 *
+	 * @param comparisons
+	 *            Comparisons between baseline and current run
+	 */
+	public void output(final List<Comparison> comparisons) {
+		Map<Verdict, Integer> counts = new EnumMap<>(Verdict.class);
+
+		for (Verdict verdict : Verdict.values()) {
+			for (Comparison comparison : comparisons) {
+				if (comparison.getVerdict() == verdict) {
+					System.out.println(render(comparison));
+					Integer count = counts.get(verdict);
+					counts.put(verdict, count == null ? 1 : count + 1);
+				}
+			}
+		}
+
+		System.out.println();
+
+		StringBuilder summary = new StringBuilder();
+		for (Entry<Verdict, Integer> entry : counts.entrySet()) {
+			summary.append(summary.length() == 0 ? "" : ", ").append(entry.getKey()).append(": ").append(entry.getValue());
+		}
+		System.out.println(summary.length() == 0 ? "No benchmarks found" : summary);
+	}
+
+	/**
+	 * Renders a single comparison as line of text.
+	 *
+	 * @param comparison
+	 *            Comparison to render
+	 * @return Rendered line
+	 */
+	private static String render(final Comparison comparison) {
+		BenchmarkResult baseline = comparison.getBaseline();
+		BenchmarkResult current = comparison.getCurrent();
+		BigDecimal change = comparison.getChange();
+
+		String percentage = change == null ? "" : String.format(Locale.ENGLISH, "%+.2f %%", change);
+
+		StringBuilder builder = new StringBuilder();
+		builder.append(String.format(Locale.ENGLISH, "%-12s %10s  ", comparison.getVerdict(), percentage));
+		builder.append(baseline == null ? current.getKey() : baseline.getKey()).append(": ");
+		builder.append(render(baseline)).append(" -> ").append(render(current));
+		builder.append(" ").append(baseline == null ? current.getUnit() : baseline.getUnit());
+		return builder.toString();
+	}
+
+	/**
+	 * Renders the score and error of a benchmark result.
+	 *
+	 * @param result
+	 *            Benchmark result or {@code null}
+	 * @return Rendered score with error
+	 */
+	private static String render(final BenchmarkResult result) {
+		if (result == null) {
+			return "n/a";
+		} else if (result.getError() == null) {
+			return NUMBER_FORMAT.format(result.getScore().round(SIGNIFICANT_DIGITS));
+		} else {
+			return NUMBER_FORMAT.format(result.getScore().round(SIGNIFICANT_DIGITS)) + " +/- "
+				+ NUMBER_FORMAT.format(result.getError().round(SIGNIFICANT_DIGITS));
+		}
+	}
+
+}
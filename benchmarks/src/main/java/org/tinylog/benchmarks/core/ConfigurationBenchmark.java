@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.tinylog.configuration.Configuration;
+import org.tinylog.core.TinylogLoggingProvider;
+
+/**
+ * Benchmark for the time to first log entry for configurations with a different number of properties. Each benchmark
+ * iteration creates a new logging provider from configuration, outputs one log entry and shuts the logging provider
+ * down. The configuration consists of writers with a tag and a severity level as well as custom severity levels for
+ * packages.
+ */
+public class ConfigurationBenchmark {
+
+	/** */
+	public ConfigurationBenchmark() {
+	}
+
+	/**
+	 * Benchmarks initializing the logging provider and issuing the first log entry.
+	 *
+	 * @param properties
+	 *            Configuration properties
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for complete shutdown
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void firstLogEntry(final Properties properties) throws InterruptedException {
+		Configuration.replace(properties.map);
+
+		TinylogLoggingProvider provider = new TinylogLoggingProvider();
+		provider.log(1, null, org.tinylog.Level.INFO, null, "Hello World!", (Object[]) null);
+		provider.shutdown();
+	}
+
+	/**
+	 * Generated configuration properties.
+	 */
+	@State(Scope.Benchmark)
+	public static class Properties {
+
+		@Param({ "10", "100", "1000" })
+		private int entries;
+
+		private Map<String, String> map;
+
+		/** */
+		public Properties() {
+		}
+
+		/**
+		 * Generates the defined number of configuration properties. Each group of four properties defines a writer with
+		 * tag and severity level as well as a custom severity level for a package.
+		 */
+		@Setup(Level.Trial)
+		public void init() {
+			map = new HashMap<String, String>();
+			map.put("autoshutdown", "false");
+			map.put("level", "info");
+
+			for (int i = 1; map.size() < entries; ++i) {
+				map.put("writer" + i, NopWriter.class.getName());
+				map.put("writer" + i + ".tag", "tag" + i);
+				map.put("writer" + i + ".level", "info");
+				map.put("level@org.tinylog.benchmarks.package" + i, "info");
+			}
+		}
+
+		/**
+		 * Clears the configuration.
+		 */
+		@TearDown(Level.Trial)
+		public void clear() {
+			Configuration.replace(new HashMap<String, String>());
+		}
+
+	}
+
+}
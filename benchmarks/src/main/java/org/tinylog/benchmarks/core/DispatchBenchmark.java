@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.tinylog.Logger;
+import org.tinylog.configuration.Configuration;
+import org.tinylog.provider.ProviderRegistry;
+
+/**
+ * Benchmark for dispatching log entries to a different number of writers. All writers discard the log entries, so
+ * that only the costs of the logging provider for creating and dispatching log entries are measured.
+ */
+public class DispatchBenchmark {
+
+	/** */
+	public DispatchBenchmark() {
+	}
+
+	/**
+	 * Benchmarks issuing log entries that will be discarded.
+	 *
+	 * @param lifeCycle
+	 *            Can be ignored
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	public void discard(final LifeCycle lifeCycle) {
+		Logger.debug("Hello World!");
+	}
+
+	/**
+	 * Benchmarks issuing log entries that will be dispatched to all writers.
+	 *
+	 * @param lifeCycle
+	 *            Can be ignored
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	public void output(final LifeCycle lifeCycle) {
+		Logger.info("Hello World!");
+	}
+
+	/**
+	 * Life cycle for initializing and shutting down tinylog.
+	 */
+	@State(Scope.Benchmark)
+	public static class LifeCycle {
+
+		@Param({ "1", "3", "6" })
+		private int writers;
+
+		/** */
+		public LifeCycle() {
+		}
+
+		/**
+		 * Initializes tinylog with the defined number of writers.
+		 */
+		@Setup(Level.Trial)
+		public void init() {
+			Configuration.set("autoshutdown", "false");
+			Configuration.set("level", "info");
+
+			for (int i = 1; i <= writers; ++i) {
+				Configuration.set("writer" + i, NopWriter.class.getName());
+			}
+		}
+
+		/**
+		 * Shuts down tinylog.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 */
+		@TearDown(Level.Trial)
+		public void shutDown() throws InterruptedException {
+			ProviderRegistry.getLoggingProvider().shutdown();
+		}
+
+	}
+
+}
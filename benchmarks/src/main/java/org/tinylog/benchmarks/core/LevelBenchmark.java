@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.tinylog.Logger;
+import org.tinylog.configuration.Configuration;
+import org.tinylog.provider.ProviderRegistry;
+
+/**
+ * Benchmark for the costs of disabled log statements with and without severity levels that can be changed at runtime.
+ * The global severity level is always {@link org.tinylog.Level#INFO INFO}. If severity levels are adjustable, they can
+ * be lowered down to {@link org.tinylog.Level#DEBUG DEBUG} at runtime.
+ */
+public class LevelBenchmark {
+
+	/** */
+	public LevelBenchmark() {
+	}
+
+	/**
+	 * Benchmarks issuing log entries that will be discarded and cannot be enabled at runtime.
+	 *
+	 * @param lifeCycle
+	 *            Can be ignored
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	public void discardTrace(final LifeCycle lifeCycle) {
+		Logger.trace("Hello World!");
+	}
+
+	/**
+	 * Benchmarks issuing log entries that will be discarded, but could be enabled at runtime if severity levels are
+	 * adjustable.
+	 *
+	 * @param lifeCycle
+	 *            Can be ignored
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	public void discardDebug(final LifeCycle lifeCycle) {
+		Logger.debug("Hello World!");
+	}
+
+	/**
+	 * Benchmarks issuing log entries that will be output.
+	 *
+	 * @param lifeCycle
+	 *            Can be ignored
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	public void output(final LifeCycle lifeCycle) {
+		Logger.info("Hello World!");
+	}
+
+	/**
+	 * Life cycle for initializing and shutting down tinylog.
+	 */
+	@State(Scope.Benchmark)
+	public static class LifeCycle {
+
+		@Param({ "false", "true" })
+		private boolean adjustable;
+
+		/** */
+		public LifeCycle() {
+		}
+
+		/**
+		 * Initializes tinylog.
+		 */
+		@Setup(Level.Trial)
+		public void init() {
+			Configuration.set("autoshutdown", "false");
+			Configuration.set("level", "info");
+			Configuration.set("writer", NopWriter.class.getName());
+
+			if (adjustable) {
+				Configuration.set("level.adjustable", "debug");
+			}
+		}
+
+		/**
+		 * Shuts down tinylog.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 */
+		@TearDown(Level.Trial)
+		public void shutDown() throws InterruptedException {
+			ProviderRegistry.getLoggingProvider().shutdown();
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.core;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+
+import org.tinylog.core.LogEntry;
+import org.tinylog.core.LogEntryValue;
+import org.tinylog.writers.Writer;
+
+/**
+ * Writer that discards all log entries. It is used for measuring the overhead of the logging provider without any
+ * output costs.
+ */
+public final class NopWriter implements Writer {
+
+	private volatile LogEntry last;
+
+	/**
+	 * @param properties
+	 *            Configuration for writer (will be ignored)
+	 */
+	public NopWriter(final Map<String, String> properties) {
+	}
+
+	@Override
+	public Collection<LogEntryValue> getRequiredLogEntryValues() {
+		return EnumSet.of(LogEntryValue.DATE, LogEntryValue.THREAD, LogEntryValue.LEVEL, LogEntryValue.MESSAGE);
+	}
+
+	@Override
+	public void write(final LogEntry logEntry) {
+		last = logEntry;
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	@Override
+	public void close() {
+		last = null;
+	}
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.latency;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.tinylog.Logger;
+import org.tinylog.configuration.Configuration;
+import org.tinylog.provider.ProviderRegistry;
+import org.tinylog.util.JvmProcessBuilder;
+
+/**
+ * Harness for measuring the end-to-end latency from issuing a log entry until its bytes are passed to the underlying
+ * byte array writer under a fixed offered load.
+ *
+ * <p>
+ * Log entries are issued by a single thread according to a fixed schedule. The latency of each log entry is measured
+ * from its scheduled time instead of the time of the actual logging call. Thereby, stalls of the logging thread are
+ * included in the latencies of all log entries that should have been issued in the meantime, and the results are not
+ * distorted by coordinated omission. Each configuration is measured in a separate JVM after a warm-up phase of the
+ * same duration as the measurement.
+ * </p>
+ */
+public final class LatencyHarness {
+
+	private static final int DEFAULT_RATE = 100000; // Log entries per second
+	private static final int DEFAULT_DURATION = 10; // Seconds
+
+	private static final int RATE_ARGUMENT = 0;
+	private static final int DURATION_ARGUMENT = 1;
+	private static final int ASYNC_ARGUMENT = 2;
+	private static final int BUFFERED_ARGUMENT = 3;
+
+	private static final double[] PERCENTILES = { 0.5, 0.99, 0.999 };
+	private static final String[] CONFIGURATIONS = { "false false", "false true", "true false", "true true" };
+
+	/** */
+	private LatencyHarness() {
+	}
+
+	/**
+	 * Main method for executing the harness. Without any configuration arguments, all combinations of writing thread
+	 * and buffering are measured in forked JVMs.
+	 *
+	 * @param arguments
+	 *            Rate as log entries per second, duration in seconds, and optionally the writing thread and buffering
+	 *            modes as booleans
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for a forked JVM or for the shutdown of tinylog
+	 * @throws IOException
+	 *             Failed to fork JVM or to create the log file
+	 */
+	public static void main(final String[] arguments) throws InterruptedException, IOException {
+		int rate = arguments.length > RATE_ARGUMENT ? Integer.parseInt(arguments[RATE_ARGUMENT]) : DEFAULT_RATE;
+		int duration = arguments.length > DURATION_ARGUMENT ? Integer.parseInt(arguments[DURATION_ARGUMENT]) : DEFAULT_DURATION;
+
+		if (arguments.length > BUFFERED_ARGUMENT) {
+			boolean async = Boolean.parseBoolean(arguments[ASYNC_ARGUMENT]);
+			boolean buffered = Boolean.parseBoolean(arguments[BUFFERED_ARGUMENT]);
+			measure(rate, duration, async, buffered);
+		} else {
+			System.out.println(String.format(Locale.ENGLISH, "%-8s %-10s %10s %10s %10s %10s %10s %10s %s", "(async)",
+				"(buffered)", "Rate", "Count", "p50", "p99", "p99.9", "max", "Units"));
+
+			for (String configuration : CONFIGURATIONS) {
+				String[] modes = configuration.split(" ");
+				fork(Integer.toString(rate), Integer.toString(duration), modes[0], modes[1]);
+			}
+		}
+	}
+
+	/**
+	 * Executes the harness for a single configuration in a forked JVM and outputs its results.
+	 *
+	 * @param arguments
+	 *            Arguments for the forked JVM
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for the forked JVM
+	 * @throws IOException
+	 *             Failed to fork JVM or to read its output
+	 */
+	private static void fork(final String... arguments) throws InterruptedException, IOException {
+		Process process = new JvmProcessBuilder(LatencyHarness.class, arguments).start();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), Charset.defaultCharset()))) {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				System.out.println(line);
+			}
+		}
+		process.waitFor();
+	}
+
+	/**
+	 * Measures the end-to-end latencies for a single configuration and outputs the results in microseconds.
+	 *
+	 * @param rate
+	 *            Log entries per second
+	 * @param duration
+	 *            Duration of warm-up and measurement in seconds
+	 * @param async
+	 *            Writing thread enabled
+	 * @param buffered
+	 *            Buffered output enabled
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for the shutdown of tinylog
+	 * @throws IOException
+	 *             Failed to create or delete the log file
+	 */
+	private static void measure(final int rate, final int duration, final boolean async, final boolean buffered)
+		throws InterruptedException, IOException {
+		Path file = Files.createTempFile("latency_", ".log");
+
+		long start = System.nanoTime();
+		long measurement = start + TimeUnit.SECONDS.toNanos(duration);
+		long end = measurement + TimeUnit.SECONDS.toNanos(duration);
+
+		LatencyRecorder recorder = new LatencyRecorder(measurement, rate * duration);
+		LatencyWriter.register(recorder);
+
+		Configuration.set("autoshutdown", "false");
+		Configuration.set("level", "info");
+		Configuration.set("writer", LatencyWriter.class.getName());
+		Configuration.set("writer.buffered", Boolean.toString(buffered));
+		Configuration.set("writer.file", file.toString());
+		Configuration.set("writer.format", "{message}");
+		Configuration.set("writingthread", Boolean.toString(async));
+
+		for (long i = 0; true; ++i) {
+			long scheduled = start + i * TimeUnit.SECONDS.toNanos(1) / rate;
+			if (scheduled >= end) {
+				break;
+			}
+
+			while (System.nanoTime() < scheduled) {
+				Thread.onSpinWait();
+			}
+
+			Logger.info("{}", scheduled);
+		}
+
+		ProviderRegistry.getLoggingProvider().shutdown();
+		Files.delete(file);
+
+		long[] latencies = recorder.getSortedLatencies();
+		StringBuilder builder = new StringBuilder();
+		builder.append(String.format(Locale.ENGLISH, "%-8s %-10s %10d %10d", async, buffered, rate, recorder.getCount()));
+		for (double percentile : PERCENTILES) {
+			builder.append(String.format(Locale.ENGLISH, " %10.1f", toMicroseconds(getPercentile(latencies, percentile))));
+		}
+		builder.append(String.format(Locale.ENGLISH, " %10.1f us", toMicroseconds(getPercentile(latencies, 1))));
+
+		System.out.println(builder);
+	}
+
+	/**
+	 * Gets the value at a percentile from sorted latencies.
+	 *
+	 * @param latencies
+	 *            Sorted latencies
+	 * @param percentile
+	 *            Percentile between 0 and 1
+	 * @return Latency at the passed percentile or 0 if there are no latencies
+	 */
+	private static long getPercentile(final long[] latencies, final double percentile) {
+		if (latencies.length == 0) {
+			return 0;
+		} else {
+			int index = (int) Math.ceil(percentile * latencies.length) - 1;
+			return latencies[Math.max(0, index)];
+		}
+	}
+
+	/**
+	 * Converts nanoseconds into microseconds.
+	 *
+	 * @param nanoseconds
+	 *            Value in nanoseconds
+	 * @return Value in microseconds
+	 */
+	private static double toMicroseconds(final long nanoseconds) {
+		return nanoseconds / (double) TimeUnit.MICROSECONDS.toNanos(1);
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.latency;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recorder for end-to-end latencies of log entries. Latencies are stored in a preallocated array, so that recording
+ * does not allocate any memory. Log entries that have been scheduled before the start of the measurement are ignored.
+ */
+final class LatencyRecorder {
+
+	private final long start;
+	private final long[] latencies;
+	private final AtomicInteger count;
+
+	/**
+	 * @param start
+	 *            Time in nanoseconds from {@link System#nanoTime()}, from which log entries should be recorded
+	 * @param capacity
+	 *            Maximum number of latencies to record
+	 */
+	LatencyRecorder(final long start, final int capacity) {
+		this.start = start;
+		this.latencies = new long[capacity];
+		this.count = new AtomicInteger();
+	}
+
+	/**
+	 * Records the latency of a log entry. Latencies beyond the capacity are counted but not stored.
+	 *
+	 * @param scheduled
+	 *            Time in nanoseconds, at which the log entry was scheduled to be issued
+	 * @param received
+	 *            Time in nanoseconds, at which the log entry has been received
+	 */
+	void record(final long scheduled, final long received) {
+		if (scheduled >= start) {
+			int index = count.getAndIncrement();
+			if (index < latencies.length) {
+				latencies[index] = received - scheduled;
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of recorded latencies, including the latencies that exceeded the capacity.
+	 *
+	 * @return Number of recorded latencies
+	 */
+	int getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Gets all stored latencies in ascending order.
+	 *
+	 * @return Sorted latencies in nanoseconds
+	 */
+	long[] getSortedLatencies() {
+		long[] sorted = Arrays.copyOf(latencies, Math.min(count.get(), latencies.length));
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.latency;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import org.tinylog.core.LogEntry;
+import org.tinylog.writers.AbstractFormatPatternWriter;
+import org.tinylog.writers.FileWriter;
+import org.tinylog.writers.raw.ByteArrayWriter;
+
+/**
+ * Writer that outputs log entries to a file like the {@link FileWriter} and records the end-to-end latency of each log
+ * entry. The rendered log entry must start with the scheduled time in nanoseconds from {@link System#nanoTime()}. The
+ * latency is recorded as soon as the bytes of a log entry have been passed to the underlying byte array writer.
+ */
+public final class LatencyWriter extends AbstractFormatPatternWriter {
+
+	private static final int DECIMAL_RADIX = 10;
+
+	private static volatile LatencyRecorder recorder;
+
+	private final Charset charset;
+	private final ByteArrayWriter writer;
+
+	/**
+	 * @param properties
+	 *            Configuration for writer
+	 *
+	 * @throws FileNotFoundException
+	 *             Log file does not exist or cannot be opened for any other reason
+	 * @throws IllegalStateException
+	 *             No recorder has been registered
+	 */
+	public LatencyWriter(final Map<String, String> properties) throws FileNotFoundException {
+		super(properties);
+
+		LatencyRecorder recorder = LatencyWriter.recorder;
+		if (recorder == null) {
+			throw new IllegalStateException("No latency recorder has been registered");
+		}
+
+		String fileName = getFileName(properties);
+		boolean buffered = Boolean.parseBoolean(properties.get("buffered"));
+		boolean writingThread = Boolean.parseBoolean(properties.get("writingthread"));
+
+		charset = getCharset(properties);
+		writer = new RecordingWriterDecorator(createByteArrayWriter(fileName, false, buffered, !writingThread, false), recorder);
+	}
+
+	/**
+	 * Registers the recorder for all latency writers that will be created afterwards.
+	 *
+	 * @param recorder
+	 *            Recorder for end-to-end latencies
+	 */
+	static void register(final LatencyRecorder recorder) {
+		LatencyWriter.recorder = recorder;
+	}
+
+	@Override
+	public void write(final LogEntry logEntry) throws IOException {
+		byte[] data = render(logEntry).getBytes(charset);
+		writer.write(data, data.length);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+	/**
+	 * Decorator for byte array writers that records the latency of each written log entry.
+	 */
+	private static final class RecordingWriterDecorator implements ByteArrayWriter {
+
+		private final ByteArrayWriter writer;
+		private final LatencyRecorder recorder;
+
+		/**
+		 * @param writer
+		 *            Underlying writer
+		 * @param recorder
+		 *            Recorder for end-to-end latencies
+		 */
+		private RecordingWriterDecorator(final ByteArrayWriter writer, final LatencyRecorder recorder) {
+			this.writer = writer;
+			this.recorder = recorder;
+		}
+
+		@Override
+		public void write(final byte[] data, final int length) throws IOException {
+			writer.write(data, length);
+			recorder.record(parseScheduledTime(data, length), System.nanoTime());
+		}
+
+		@Override
+		public void flush() throws IOException {
+			writer.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			writer.close();
+		}
+
+		/**
+		 * Parses the scheduled time at the beginning of a rendered log entry without allocating any objects.
+		 *
+		 * @param data
+		 *            Rendered log entry
+		 * @param length
+		 *            Number of valid bytes
+		 * @return Scheduled time in nanoseconds
+		 */
+		private static long parseScheduledTime(final byte[] data, final int length) {
+			int index = 0;
+			boolean negative = length > 0 && data[0] == '-';
+			if (negative) {
+				++index;
+			}
+
+			long value = 0;
+			while (index < length && data[index] >= '0' && data[index] <= '9') {
+				value = value * DECIMAL_RADIX + data[index++] - '0';
+			}
+
+			return negative ? -value : value;
+		}
+
+	}
+
+}
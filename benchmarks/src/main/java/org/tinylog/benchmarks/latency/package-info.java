@@ -0,0 +1,23 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+/**
+ * Benchmarks for the latency distribution of tinylog instead of its average throughput.
+ *
+ * <p>
+ * {@link org.tinylog.benchmarks.latency.LatencyBenchmark} samples the duration of logging calls via JMH.
+ * {@link org.tinylog.benchmarks.latency.LatencyHarness} measures the end-to-end latency from issuing a log entry until
+ * its bytes are passed to the underlying byte array writer under a fixed offered load.
+ * </p>
+ */
+package org.tinylog.benchmarks.latency;
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.startup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Startup benchmark for java.util.logging.
+ */
+public class JulStartupBenchmark {
+
+	private static final int MAGIC_NUMBER = 42;
+
+	/** */
+	public JulStartupBenchmark() {
+	}
+
+	/**
+	 * Benchmarks initializing java.util.logging by issuing the first log entry.
+	 *
+	 * @param lifeCycle
+	 *            Can be ignored
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void firstLogEntry(final LifeCycle lifeCycle) {
+		Logger.getLogger(JulStartupBenchmark.class.getName()).log(java.util.logging.Level.INFO, "Hello {0}!", MAGIC_NUMBER);
+		StartupProfiler.mark();
+	}
+
+	/**
+	 * Life cycle for configuring and shutting down java.util.logging.
+	 */
+	@State(Scope.Benchmark)
+	public static class LifeCycle {
+
+		@Param({ "console", "file", "rolling" })
+		private String output;
+
+		private Path folder;
+
+		/** */
+		public LifeCycle() {
+		}
+
+		/**
+		 * Creates the configuration file for java.util.logging. For rolling log files, a large history of backups is
+		 * created. The thread name is not supported by {@link java.util.logging.SimpleFormatter} and therefore omitted.
+		 *
+		 * @throws IOException
+		 *             Failed creating temporary files
+		 */
+		@Setup(Level.Trial)
+		public void init() throws IOException {
+			folder = Files.createTempDirectory("jul_");
+
+			List<String> lines = new ArrayList<>();
+			lines.add(".level = INFO");
+			lines.add("java.util.logging.SimpleFormatter.format = %1$tF %1$tT %2$s(): %5$s%n");
+
+			if ("console".equals(output)) {
+				lines.add("handlers = java.util.logging.ConsoleHandler");
+				lines.add("java.util.logging.ConsoleHandler.formatter = java.util.logging.SimpleFormatter");
+			} else if ("file".equals(output)) {
+				lines.add("handlers = java.util.logging.FileHandler");
+				lines.add("java.util.logging.FileHandler.formatter = java.util.logging.SimpleFormatter");
+				lines.add("java.util.logging.FileHandler.pattern = " + toPropertyValue(folder.resolve("log.txt")));
+			} else if ("rolling".equals(output)) {
+				StartupEnvironment.createHistory(folder, "log_%d.txt", 1);
+				lines.add("handlers = java.util.logging.FileHandler");
+				lines.add("java.util.logging.FileHandler.formatter = java.util.logging.SimpleFormatter");
+				lines.add("java.util.logging.FileHandler.pattern = " + toPropertyValue(folder.resolve("log_%g.txt")));
+				lines.add("java.util.logging.FileHandler.limit = 10485760");
+				lines.add("java.util.logging.FileHandler.count = " + StartupEnvironment.HISTORY_SIZE);
+				lines.add("java.util.logging.FileHandler.append = true");
+			}
+
+			Path configuration = folder.resolve("logging.properties");
+			Files.write(configuration, lines, StandardCharsets.UTF_8);
+			System.setProperty("java.util.logging.config.file", configuration.toString());
+		}
+
+		/**
+		 * Shuts down java.util.logging.
+		 *
+		 * @throws IOException
+		 *             Failed to delete temporary files
+		 */
+		@TearDown(Level.Trial)
+		public void release() throws IOException {
+			LogManager.getLogManager().reset();
+			StartupEnvironment.delete(folder);
+		}
+
+		/**
+		 * Converts a path into a value for a properties file by escaping backslashes.
+		 *
+		 * @param path
+		 *            Path to convert
+		 * @return Escaped path
+		 */
+		private static String toPropertyValue(final Path path) {
+			return path.toString().replace("\\", "\\\\");
+		}
+
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.startup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Startup benchmark for Log4j 1.
+ */
+public class Log4j1StartupBenchmark {
+
+	private static final int MAGIC_NUMBER = 42;
+
+	/** */
+	public Log4j1StartupBenchmark() {
+	}
+
+	/**
+	 * Benchmarks initializing Log4j by issuing the first log entry.
+	 *
+	 * @param lifeCycle
+	 *            Can be ignored
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void firstLogEntry(final LifeCycle lifeCycle) {
+		Logger.getLogger(Log4j1StartupBenchmark.class).info("Hello " + MAGIC_NUMBER + "!");
+		StartupProfiler.mark();
+	}
+
+	/**
+	 * Life cycle for configuring and shutting down Log4j.
+	 */
+	@State(Scope.Benchmark)
+	public static class LifeCycle {
+
+		@Param({ "console", "file", "rolling" })
+		private String output;
+
+		private Path folder;
+
+		/** */
+		public LifeCycle() {
+		}
+
+		/**
+		 * Creates the configuration file for Log4j. For rolling log files, a large history of backups is created.
+		 *
+		 * @throws IOException
+		 *             Failed creating temporary files
+		 */
+		@Setup(Level.Trial)
+		public void init() throws IOException {
+			folder = Files.createTempDirectory("log4j1_");
+
+			List<String> lines = new ArrayList<>();
+			lines.add("log4j.rootLogger = INFO, out");
+			lines.add("log4j.appender.out.layout = org.apache.log4j.PatternLayout");
+			lines.add("log4j.appender.out.layout.ConversionPattern = %d{" + StartupEnvironment.DATE_PATTERN + "} [%t] %C.%M(): %m%n");
+
+			if ("console".equals(output)) {
+				lines.add("log4j.appender.out = org.apache.log4j.ConsoleAppender");
+			} else if ("file".equals(output)) {
+				lines.add("log4j.appender.out = org.apache.log4j.FileAppender");
+				lines.add("log4j.appender.out.File = " + toPropertyValue(folder.resolve("log.txt")));
+			} else if ("rolling".equals(output)) {
+				StartupEnvironment.createHistory(folder, "log.txt.%d", 1);
+				lines.add("log4j.appender.out = org.apache.log4j.RollingFileAppender");
+				lines.add("log4j.appender.out.File = " + toPropertyValue(folder.resolve("log.txt")));
+				lines.add("log4j.appender.out.MaxFileSize = 10MB");
+				lines.add("log4j.appender.out.MaxBackupIndex = " + StartupEnvironment.HISTORY_SIZE);
+			}
+
+			Path configuration = folder.resolve("log4j.properties");
+			Files.write(configuration, lines, StandardCharsets.UTF_8);
+			System.setProperty("log4j.configuration", configuration.toUri().toString());
+		}
+
+		/**
+		 * Shuts down Log4j.
+		 *
+		 * @throws IOException
+		 *             Failed to delete temporary files
+		 */
+		@TearDown(Level.Trial)
+		public void release() throws IOException {
+			LogManager.shutdown();
+			StartupEnvironment.delete(folder);
+		}
+
+		/**
+		 * Converts a path into a value for a properties file by escaping backslashes.
+		 *
+		 * @param path
+		 *            Path to convert
+		 * @return Escaped path
+		 */
+		private static String toPropertyValue(final Path path) {
+			return path.toString().replace("\\", "\\\\");
+		}
+
+	}
+
+}
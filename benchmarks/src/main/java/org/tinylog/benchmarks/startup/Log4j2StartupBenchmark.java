@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.startup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Startup benchmark for Log4j 2.
+ */
+public class Log4j2StartupBenchmark {
+
+	private static final int MAGIC_NUMBER = 42;
+
+	/** */
+	public Log4j2StartupBenchmark() {
+	}
+
+	/**
+	 * Benchmarks initializing Log4j by issuing the first log entry.
+	 *
+	 * @param lifeCycle
+	 *            Can be ignored
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void firstLogEntry(final LifeCycle lifeCycle) {
+		LogManager.getLogger(Log4j2StartupBenchmark.class).info("Hello {}!", MAGIC_NUMBER);
+		StartupProfiler.mark();
+	}
+
+	/**
+	 * Life cycle for configuring and shutting down Log4j.
+	 */
+	@State(Scope.Benchmark)
+	public static class LifeCycle {
+
+		@Param({ "console", "file", "rolling" })
+		private String output;
+
+		private Path folder;
+
+		/** */
+		public LifeCycle() {
+		}
+
+		/**
+		 * Creates the configuration file for Log4j. For rolling log files, a large history of backups is created.
+		 *
+		 * @throws IOException
+		 *             Failed creating temporary files
+		 */
+		@Setup(Level.Trial)
+		public void init() throws IOException {
+			folder = Files.createTempDirectory("log4j2_");
+
+			String layout = "<PatternLayout><Pattern>%d{" + StartupEnvironment.DATE_PATTERN + "} [%t] %C.%M(): %m%n</Pattern>"
+				+ "</PatternLayout>";
+
+			List<String> lines = new ArrayList<>();
+			lines.add("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+			lines.add("<Configuration>");
+			lines.add("<Appenders>");
+
+			if ("console".equals(output)) {
+				lines.add("<Console name=\"out\" target=\"SYSTEM_OUT\">" + layout + "</Console>");
+			} else if ("file".equals(output)) {
+				lines.add("<File name=\"out\" fileName=\"" + folder.resolve("log.txt") + "\">" + layout + "</File>");
+			} else if ("rolling".equals(output)) {
+				StartupEnvironment.createHistory(folder, "log_%d.txt", 1);
+				lines.add("<RollingFile name=\"out\" fileName=\"" + folder.resolve("log.txt") + "\"");
+				lines.add(" filePattern=\"" + folder.resolve("log_%i.txt") + "\">" + layout);
+				lines.add("<SizeBasedTriggeringPolicy size=\"10 MB\"/>");
+				lines.add("<DefaultRolloverStrategy max=\"" + StartupEnvironment.HISTORY_SIZE + "\"/>");
+				lines.add("</RollingFile>");
+			}
+
+			lines.add("</Appenders>");
+			lines.add("<Loggers>");
+			lines.add("<Root level=\"info\" includeLocation=\"true\"><AppenderRef ref=\"out\"/></Root>");
+			lines.add("</Loggers>");
+			lines.add("</Configuration>");
+
+			Path configuration = folder.resolve("log4j2.xml");
+			Files.write(configuration, lines, StandardCharsets.UTF_8);
+			System.setProperty("log4j.configurationFile", configuration.toString());
+		}
+
+		/**
+		 * Shuts down Log4j.
+		 *
+		 * @throws IOException
+		 *             Failed to delete temporary files
+		 */
+		@TearDown(Level.Trial)
+		public void release() throws IOException {
+			LogManager.shutdown();
+			StartupEnvironment.delete(folder);
+		}
+
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.startup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Startup benchmark for Logback.
+ */
+public class LogbackStartupBenchmark {
+
+	private static final int MAGIC_NUMBER = 42;
+
+	/** */
+	public LogbackStartupBenchmark() {
+	}
+
+	/**
+	 * Benchmarks initializing Logback by issuing the first log entry.
+	 *
+	 * @param lifeCycle
+	 *            Can be ignored
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void firstLogEntry(final LifeCycle lifeCycle) {
+		LoggerFactory.getLogger(LogbackStartupBenchmark.class).info("Hello {}!", MAGIC_NUMBER);
+		StartupProfiler.mark();
+	}
+
+	/**
+	 * Life cycle for configuring and shutting down Logback.
+	 */
+	@State(Scope.Benchmark)
+	public static class LifeCycle {
+
+		@Param({ "console", "file", "rolling" })
+		private String output;
+
+		private Path folder;
+
+		/** */
+		public LifeCycle() {
+		}
+
+		/**
+		 * Creates the configuration file for Logback. For rolling log files, a large history of daily backups is
+		 * created.
+		 *
+		 * @throws IOException
+		 *             Failed creating temporary files
+		 */
+		@Setup(Level.Trial)
+		public void init() throws IOException {
+			folder = Files.createTempDirectory("logback_");
+
+			String encoder = "<encoder><pattern>%date{" + StartupEnvironment.DATE_PATTERN + "} [%thread] %class.%method\\(\\): "
+				+ "%message%n</pattern></encoder>";
+
+			List<String> lines = new ArrayList<>();
+			lines.add("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+			lines.add("<configuration>");
+
+			if ("console".equals(output)) {
+				lines.add("<appender name=\"out\" class=\"ch.qos.logback.core.ConsoleAppender\">" + encoder + "</appender>");
+			} else if ("file".equals(output)) {
+				lines.add("<appender name=\"out\" class=\"ch.qos.logback.core.FileAppender\">");
+				lines.add("<file>" + folder.resolve("log.txt") + "</file>" + encoder);
+				lines.add("</appender>");
+			} else if ("rolling".equals(output)) {
+				LocalDate today = LocalDate.now();
+				for (int i = 1; i <= StartupEnvironment.HISTORY_SIZE; ++i) {
+					Files.createFile(folder.resolve("log_" + today.minusDays(i) + ".txt"));
+				}
+
+				lines.add("<appender name=\"out\" class=\"ch.qos.logback.core.rolling.RollingFileAppender\">");
+				lines.add("<file>" + folder.resolve("log.txt") + "</file>" + encoder);
+				lines.add("<rollingPolicy class=\"ch.qos.logback.core.rolling.TimeBasedRollingPolicy\">");
+				lines.add("<fileNamePattern>" + folder.resolve("log_%d{yyyy-MM-dd}.txt") + "</fileNamePattern>");
+				lines.add("<maxHistory>" + StartupEnvironment.HISTORY_SIZE + "</maxHistory>");
+				lines.add("<cleanHistoryOnStart>true</cleanHistoryOnStart>");
+				lines.add("</rollingPolicy>");
+				lines.add("</appender>");
+			}
+
+			lines.add("<root level=\"info\"><appender-ref ref=\"out\"/></root>");
+			lines.add("</configuration>");
+
+			Path configuration = folder.resolve("logback.xml");
+			Files.write(configuration, lines, StandardCharsets.UTF_8);
+			System.setProperty("logback.configurationFile", configuration.toString());
+		}
+
+		/**
+		 * Shuts down Logback.
+		 *
+		 * @throws IOException
+		 *             Failed to delete temporary files
+		 */
+		@TearDown(Level.Trial)
+		public void release() throws IOException {
+			LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+			context.stop();
+			StartupEnvironment.delete(folder);
+		}
+
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.startup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Shared environment for startup benchmarks.
+ */
+final class StartupEnvironment {
+
+	/**
+	 * Number of existing backups for rolling log files.
+	 */
+	static final int HISTORY_SIZE = 1000;
+
+	/**
+	 * URL of an embedded in-memory database. The table "LOG_ENTRIES" with the columns "DATE" and "MESSAGE" is created
+	 * on the first connect.
+	 */
+	static final String JDBC_URL = "jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1;"
+		+ "INIT=CREATE TABLE IF NOT EXISTS LOG_ENTRIES (DATE VARCHAR(32), MESSAGE VARCHAR(1024))";
+
+	/**
+	 * Date pattern for all logging frameworks in {@link java.text.SimpleDateFormat} syntax.
+	 */
+	static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+	/** */
+	private StartupEnvironment() {
+	}
+
+	/**
+	 * Creates a history of empty backups.
+	 *
+	 * @param folder
+	 *            Folder for backups
+	 * @param pattern
+	 *            File name pattern for backups with "%d" as placeholder for the backup index
+	 * @param first
+	 *            Index of first backup
+	 * @throws IOException
+	 *             Failed creating backups
+	 */
+	static void createHistory(final Path folder, final String pattern, final int first) throws IOException {
+		for (int i = first; i < first + HISTORY_SIZE; ++i) {
+			Files.createFile(folder.resolve(String.format(pattern, i)));
+		}
+	}
+
+	/**
+	 * Deletes a folder including all contained files.
+	 *
+	 * @param folder
+	 *            Folder to delete
+	 * @throws IOException
+	 *             Failed to delete folder or any contained file
+	 */
+	static void delete(final Path folder) throws IOException {
+		List<Path> paths;
+		try (Stream<Path> stream = Files.walk(folder)) {
+			paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+		}
+
+		for (Path path : paths) {
+			Files.delete(path);
+		}
+	}
+
+}
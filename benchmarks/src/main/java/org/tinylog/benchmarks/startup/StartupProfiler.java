@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.startup;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * JMH profiler for secondary startup metrics. Startup benchmarks call {@link #mark()} directly after writing the first
+ * log entry. The profiler reports the following metrics:
+ *
+ * <ul>
+ * <li><tt>startup.uptime</tt>: Milliseconds from JVM start until the first log entry has been written</li>
+ * <li><tt>startup.classes</tt>: Number of classes loaded for writing the first log entry</li>
+ * <li><tt>startup.allocated</tt>: Bytes allocated by all threads for writing the first log entry</li>
+ * </ul>
+ *
+ * <p>
+ * Allocations of threads that have already terminated before writing the first log entry are not included.
+ * </p>
+ */
+public final class StartupProfiler implements InternalProfiler {
+
+	private static volatile long markedUptime = -1;
+	private static volatile long markedClasses;
+	private static volatile long markedBytes;
+
+	private long initialClasses;
+	private long initialBytes;
+
+	/** */
+	public StartupProfiler() {
+	}
+
+	/**
+	 * Stores the current metrics. This method has to be called directly after writing the first log entry.
+	 */
+	public static void mark() {
+		markedClasses = getLoadedClasses();
+		markedBytes = getAllocatedBytes();
+		markedUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+	}
+
+	@Override
+	public String getDescription() {
+		return "Uptime, loaded classes and allocated bytes until the first log entry has been written";
+	}
+
+	@Override
+	public void beforeIteration(final BenchmarkParams benchmarkParams, final IterationParams iterationParams) {
+		markedUptime = -1;
+		initialClasses = getLoadedClasses();
+		initialBytes = getAllocatedBytes();
+	}
+
+	@Override
+	public Collection<? extends Result> afterIteration(final BenchmarkParams benchmarkParams, final IterationParams iterationParams,
+		final IterationResult result) {
+		if (markedUptime < 0) {
+			return Collections.emptyList();
+		} else {
+			return Arrays.asList(
+				new ScalarResult("startup.uptime", markedUptime, "ms", AggregationPolicy.AVG),
+				new ScalarResult("startup.classes", markedClasses - initialClasses, "classes", AggregationPolicy.AVG),
+				new ScalarResult("startup.allocated", markedBytes - initialBytes, "B", AggregationPolicy.AVG)
+			);
+		}
+	}
+
+	/**
+	 * Gets the total number of classes that have been loaded since JVM start.
+	 *
+	 * @return Number of loaded classes
+	 */
+	private static long getLoadedClasses() {
+		return ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+	}
+
+	/**
+	 * Gets the total number of bytes that have been allocated by all alive threads.
+	 *
+	 * @return Number of allocated bytes
+	 */
+	private static long getAllocatedBytes() {
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+		long total = 0;
+		for (long bytes : bean.getThreadAllocatedBytes(bean.getAllThreadIds())) {
+			if (bytes > 0) {
+				total += bytes;
+			}
+		}
+		return total;
+	}
+
+}
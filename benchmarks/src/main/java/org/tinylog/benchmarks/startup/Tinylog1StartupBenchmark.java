@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.startup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.pmw.tinylog.Configurator;
+import org.pmw.tinylog.Logger;
+
+/**
+ * Startup benchmark for tinylog 1.
+ */
+public class Tinylog1StartupBenchmark {
+
+	private static final int MAGIC_NUMBER = 42;
+
+	/** */
+	public Tinylog1StartupBenchmark() {
+	}
+
+	/**
+	 * Benchmarks initializing tinylog by issuing the first log entry.
+	 *
+	 * @param lifeCycle
+	 *            Can be ignored
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void firstLogEntry(final LifeCycle lifeCycle) {
+		Logger.info("Hello {}!", MAGIC_NUMBER);
+		StartupProfiler.mark();
+	}
+
+	/**
+	 * Life cycle for configuring and shutting down tinylog.
+	 */
+	@State(Scope.Benchmark)
+	public static class LifeCycle {
+
+		@Param({ "console", "file", "rolling" })
+		private String output;
+
+		private Path folder;
+
+		/** */
+		public LifeCycle() {
+		}
+
+		/**
+		 * Creates the configuration file for tinylog. For rolling log files, a large history of backups is created.
+		 *
+		 * @throws IOException
+		 *             Failed creating temporary files
+		 */
+		@Setup(Level.Trial)
+		public void init() throws IOException {
+			folder = Files.createTempDirectory("tinylog1_");
+
+			List<String> lines = new ArrayList<>();
+			lines.add("tinylog.level = info");
+			lines.add("tinylog.format = {date:" + StartupEnvironment.DATE_PATTERN + "} [{thread}] {class}.{method}(): {message}");
+
+			if ("console".equals(output)) {
+				lines.add("tinylog.writer = console");
+			} else if ("file".equals(output)) {
+				lines.add("tinylog.writer = file");
+				lines.add("tinylog.writer.filename = " + toPropertyValue(folder.resolve("log.txt")));
+			} else if ("rolling".equals(output)) {
+				StartupEnvironment.createHistory(folder, "log.%d.txt", 0);
+				lines.add("tinylog.writer = rollingfile");
+				lines.add("tinylog.writer.filename = " + toPropertyValue(folder.resolve("log.txt")));
+				lines.add("tinylog.writer.backups = " + StartupEnvironment.HISTORY_SIZE);
+				lines.add("tinylog.writer.label = count");
+				lines.add("tinylog.writer.policies = size: 10MB");
+			}
+
+			Path configuration = folder.resolve("tinylog.properties");
+			Files.write(configuration, lines, StandardCharsets.UTF_8);
+			System.setProperty("tinylog.configuration", configuration.toString());
+		}
+
+		/**
+		 * Shuts down tinylog.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 * @throws IOException
+		 *             Failed to delete temporary files
+		 */
+		@TearDown(Level.Trial)
+		public void release() throws InterruptedException, IOException {
+			Configurator.shutdownWritingThread(true);
+			StartupEnvironment.delete(folder);
+		}
+
+		/**
+		 * Converts a path into a value for a properties file by escaping backslashes.
+		 *
+		 * @param path
+		 *            Path to convert
+		 * @return Escaped path
+		 */
+		private static String toPropertyValue(final Path path) {
+			return path.toString().replace("\\", "\\\\");
+		}
+
+	}
+
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+/**
+ * JMH benchmarks for the startup costs of logging frameworks.
+ *
+ * <p>
+ * Each benchmark measures a single invocation in a freshly forked JVM. The configuration is written to a file and
+ * passed via system property before any class of the logging framework is loaded. The measured invocation issues the
+ * first log entry, which initializes the logging framework.
+ * </p>
+ */
+package org.tinylog.benchmarks.startup;
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.writers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.tinylog.core.LogEntry;
+import org.tinylog.runtime.RuntimeProvider;
+import org.tinylog.util.JvmProcessBuilder;
+import org.tinylog.writers.SharedFileWriter;
+
+/**
+ * Benchmark for {@link SharedFileWriter} with several processes writing simultaneously to the same log file. The
+ * benchmarked JVM competes with forked JVMs that write continuously to the same log file in the same mode.
+ */
+public class SharedFileWriterBenchmark {
+
+	private static final int FORKED_PROCESSES = 7;
+	private static final String MESSAGE = "Hello World!";
+
+	/** */
+	public SharedFileWriterBenchmark() {
+	}
+
+	/**
+	 * Benchmarks writing a log entry while other processes write to the same log file.
+	 *
+	 * @param lifeCycle
+	 *            Shared file writer and log entry
+	 * @throws IOException
+	 *             Failed to write to log file
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	public void write(final LifeCycle lifeCycle) throws IOException {
+		lifeCycle.writer.write(lifeCycle.logEntry);
+	}
+
+	/**
+	 * Writes log entries continuously to a shared log file until the process is destroyed. This main method is used by
+	 * the forked JVMs.
+	 *
+	 * @param arguments
+	 *            Path to log file, locking mode and buffering mode
+	 * @throws IOException
+	 *             Failed to write to log file
+	 */
+	public static void main(final String[] arguments) throws IOException {
+		SharedFileWriter writer = createWriter(arguments[0], arguments[1], arguments[2]);
+		LogEntry logEntry = createLogEntry();
+
+		while (true) {
+			writer.write(logEntry);
+		}
+	}
+
+	/**
+	 * Creates a shared file writer in append mode.
+	 *
+	 * @param file
+	 *            Path to log file
+	 * @param locking
+	 *            Locking mode
+	 * @param buffered
+	 *            Buffering mode
+	 * @return Created writer
+	 * @throws IOException
+	 *             Failed to open log file
+	 */
+	private static SharedFileWriter createWriter(final String file, final String locking, final String buffered)
+		throws IOException {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", file);
+		properties.put("format", "{date:yyyy-MM-dd HH:mm:ss} [{thread}] {level}: {message}");
+		properties.put("append", "true");
+		properties.put("locking", locking);
+		properties.put("buffered", buffered);
+		return new SharedFileWriter(properties);
+	}
+
+	/**
+	 * Creates a log entry with date, thread, level and message.
+	 *
+	 * @return Created log entry
+	 */
+	private static LogEntry createLogEntry() {
+		return new LogEntry(RuntimeProvider.createTimestamp(), Thread.currentThread(), new HashMap<String, String>(), null,
+			null, null, -1, null, org.tinylog.Level.INFO, MESSAGE, null);
+	}
+
+	/**
+	 * Life cycle for starting and stopping the forked JVMs and the benchmarked shared file writer.
+	 */
+	@State(Scope.Benchmark)
+	public static class LifeCycle {
+
+		@Param({ "true", "false" })
+		private boolean locking;
+
+		@Param({ "false", "true" })
+		private boolean buffered;
+
+		private Path file;
+		private List<Process> processes;
+		private SharedFileWriter writer;
+		private LogEntry logEntry;
+
+		/** */
+		public LifeCycle() {
+		}
+
+		/**
+		 * Starts the forked JVMs and creates the benchmarked shared file writer.
+		 *
+		 * @throws IOException
+		 *             Failed creating log file or starting processes
+		 */
+		@Setup(Level.Trial)
+		public void init() throws IOException {
+			file = Files.createTempFile("shared_", ".log");
+
+			String path = file.toString();
+			processes = new JvmProcessBuilder(SharedFileWriterBenchmark.class, path, Boolean.toString(locking),
+				Boolean.toString(buffered)).start(FORKED_PROCESSES);
+
+			writer = createWriter(path, Boolean.toString(locking), Boolean.toString(buffered));
+			logEntry = createLogEntry();
+		}
+
+		/**
+		 * Closes the shared file writer, stops the forked JVMs and deletes the log file.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for termination of forked JVMs
+		 * @throws IOException
+		 *             Failed to close writer or delete log file
+		 */
+		@TearDown(Level.Trial)
+		public void shutDown() throws InterruptedException, IOException {
+			writer.close();
+
+			for (Process process : processes) {
+				process.destroy();
+			}
+
+			for (Process process : processes) {
+				process.waitFor();
+			}
+
+			Files.delete(file);
+		}
+
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.converters;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.tinylog.util.FileSystem;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link BaselineStore}.
+ */
+public final class BaselineStoreTest {
+
+	/**
+	 * Verifies that the primary metric and the normalized allocation rate are read from a JMH result file, whereas
+	 * other secondary metrics are ignored.
+	 *
+	 * @throws IOException
+	 *             Failed creating or reading file
+	 */
+	@Test
+	public void readJmhResults() throws IOException {
+		Path file = Paths.get(FileSystem.createTemporaryFile(
+			"[",
+			"  {",
+			"    \"benchmark\" : \"org.example.Benchmark.output\",",
+			"    \"mode\" : \"thrpt\",",
+			"    \"params\" : { \"size\" : \"10\" },",
+			"    \"primaryMetric\" : { \"score\" : 1.5E3, \"scoreError\" : 25.5, \"scoreUnit\" : \"ops/s\" },",
+			"    \"secondaryMetrics\" : {",
+			"      \"·gc.alloc.rate\" : { \"score\" : 100, \"scoreError\" : 1, \"scoreUnit\" : \"MB/sec\" },",
+			"      \"·gc.alloc.rate.norm\" : { \"score\" : 48, \"scoreError\" : 0.5, \"scoreUnit\" : \"B/op\" }",
+			"    }",
+			"  },",
+			"  {",
+			"    \"benchmark\" : \"org.example.Benchmark.startup\",",
+			"    \"mode\" : \"ss\",",
+			"    \"primaryMetric\" : { \"score\" : 12, \"scoreError\" : \"NaN\", \"scoreUnit\" : \"ms/op\" }",
+			"  }",
+			"]"
+		));
+
+		List<BenchmarkResult> results = new BaselineStore().read(file);
+
+		assertThat(results).hasSize(3);
+
+		assertThat(results.get(0).getKey()).isEqualTo("org.example.Benchmark.output (size=10) thrpt");
+		assertThat(results.get(0).isHigherBetter()).isTrue();
+		assertThat(results.get(0).getScore()).isEqualByComparingTo("1500");
+		assertThat(results.get(0).getError()).isEqualByComparingTo("25.5");
+		assertThat(results.get(0).getUnit()).isEqualTo("ops/s");
+
+		assertThat(results.get(1).getKey()).isEqualTo("org.example.Benchmark.output (size=10) gc.alloc.rate.norm");
+		assertThat(results.get(1).isHigherBetter()).isFalse();
+		assertThat(results.get(1).getScore()).isEqualByComparingTo("48");
+		assertThat(results.get(1).getUnit()).isEqualTo("B/op");
+
+		assertThat(results.get(2).getKey()).isEqualTo("org.example.Benchmark.startup ss");
+		assertThat(results.get(2).isHigherBetter()).isFalse();
+		assertThat(results.get(2).getError()).isNull();
+	}
+
+	/**
+	 * Verifies that stored baselines can be read again with all properties.
+	 *
+	 * @throws IOException
+	 *             Failed creating, writing or reading file
+	 */
+	@Test
+	public void writeAndReadBaseline() throws IOException {
+		BenchmarkResult throughput = new BenchmarkResult("org.example.Benchmark.output", singletonMap("size", "10"), "thrpt",
+			true, new BigDecimal("1500.25"), new BigDecimal("25.5"), "ops/s");
+		BenchmarkResult time = new BenchmarkResult("org.example.Benchmark.startup", emptyMap(), "ss", false,
+			new BigDecimal("12"), null, "ms/op");
+
+		Path file = Paths.get(FileSystem.createTemporaryFile());
+		BaselineStore store = new BaselineStore();
+		store.write(file, Arrays.asList(throughput, time));
+
+		List<BenchmarkResult> results = store.read(file);
+
+		assertThat(results).hasSize(2);
+		assertThat(results.get(0)).isEqualToComparingFieldByField(throughput);
+		assertThat(results.get(1)).isEqualToComparingFieldByField(time);
+	}
+
+	/**
+	 * Verifies that files with an unexpected JSON structure are rejected.
+	 *
+	 * @throws IOException
+	 *             Failed creating file
+	 */
+	@Test
+	public void invalidStructure() throws IOException {
+		Path object = Paths.get(FileSystem.createTemporaryFile("{ \"benchmark\" : \"org.example.Benchmark.output\" }"));
+		assertThatThrownBy(() -> new BaselineStore().read(object)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Expected JSON array");
+
+		Path scoreless = Paths.get(FileSystem.createTemporaryFile("[ { \"benchmark\" : \"org.example.Benchmark.output\" } ]"));
+		assertThatThrownBy(() -> new BaselineStore().read(scoreless)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Missing score");
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.converters;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link JsonFormat}.
+ */
+public final class JsonFormatTest {
+
+	/**
+	 * Verifies that literals are parsed as booleans and {@code null}.
+	 */
+	@Test
+	public void literals() {
+		assertThat(JsonFormat.parse("true")).isEqualTo(Boolean.TRUE);
+		assertThat(JsonFormat.parse("false")).isEqualTo(Boolean.FALSE);
+		assertThat(JsonFormat.parse("null")).isNull();
+	}
+
+	/**
+	 * Verifies that integers, decimals and negative numbers are parsed as big decimals without loss of precision.
+	 */
+	@Test
+	public void numbers() {
+		assertThat(JsonFormat.parse("42")).isEqualTo(new BigDecimal("42"));
+		assertThat(JsonFormat.parse("-3.14")).isEqualTo(new BigDecimal("-3.14"));
+		assertThat(JsonFormat.parse("0.12345678901234567890")).isEqualTo(new BigDecimal("0.12345678901234567890"));
+	}
+
+	/**
+	 * Verifies that numbers with exponents are parsed.
+	 */
+	@Test
+	public void exponents() {
+		assertThat((BigDecimal) JsonFormat.parse("1e3")).isEqualByComparingTo("1000");
+		assertThat((BigDecimal) JsonFormat.parse("1.5E+2")).isEqualByComparingTo("150");
+		assertThat((BigDecimal) JsonFormat.parse("2.5e-3")).isEqualByComparingTo("0.0025");
+		assertThat((BigDecimal) JsonFormat.parse("-4E-1")).isEqualByComparingTo("-0.4");
+	}
+
+	/**
+	 * Verifies that escape sequences in strings are resolved.
+	 */
+	@Test
+	public void escapes() {
+		assertThat(JsonFormat.parse("\"a\\\"b\\\\c\\/d\"")).isEqualTo("a\"b\\c/d");
+		assertThat(JsonFormat.parse("\"\\n\\r\\t\\b\\f\"")).isEqualTo("\n\r\t\b\f");
+		assertThat(JsonFormat.parse("\"\\u00e4\\u20AC\"")).isEqualTo("ä€");
+	}
+
+	/**
+	 * Verifies that nested objects and arrays are parsed with preserved order of keys.
+	 */
+	@Test
+	public void nesting() {
+		Object value = JsonFormat.parse(" { \"b\" : [ 1 , { \"c\" : [ ] } ] , \"a\" : { } , \"d\" : [[\"x\"]] } ");
+
+		assertThat(value).isInstanceOf(Map.class);
+		Map<?, ?> map = (Map<?, ?>) value;
+		assertThat(map.keySet().toArray()).containsExactly("b", "a", "d");
+		assertThat(map.get("b")).isEqualTo(Arrays.asList(new BigDecimal("1"), singletonMap("c", emptyList())));
+		assertThat(map.get("a")).isEqualTo(emptyMap());
+		assertThat(map.get("d")).isEqualTo(Arrays.asList(Arrays.asList("x")));
+	}
+
+	/**
+	 * Verifies that a formatted document can be parsed again to the same value, including strings with control
+	 * characters, quotes and backslashes.
+	 */
+	@Test
+	public void roundTrip() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("text", "\"quoted\"\\\n\ttabbed");
+		map.put("number", new BigDecimal("1.5E+10"));
+		map.put("flag", Boolean.TRUE);
+		map.put("nothing", null);
+		map.put("list", Arrays.asList(new BigDecimal("1"), emptyMap(), emptyList()));
+
+		String json = JsonFormat.format(map);
+
+		assertThat(json).endsWith(System.lineSeparator());
+		assertThat(JsonFormat.parse(json)).isEqualTo(map);
+	}
+
+	/**
+	 * Verifies that incomplete documents are rejected.
+	 */
+	@Test
+	public void incompleteDocuments() {
+		assertThatThrownBy(() -> JsonFormat.parse("")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Unexpected end");
+		assertThatThrownBy(() -> JsonFormat.parse("{\"a\" : 1")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Expected ',' or '}'");
+		assertThatThrownBy(() -> JsonFormat.parse("[1, 2")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Expected ',' or ']'");
+		assertThatThrownBy(() -> JsonFormat.parse("\"abc")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Unterminated string");
+	}
+
+	/**
+	 * Verifies that syntactically malformed documents are rejected with the position of the error.
+	 */
+	@Test
+	public void malformedDocuments() {
+		assertThatThrownBy(() -> JsonFormat.parse("{\"a\" 1}")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Expected ':' at position 5");
+		assertThatThrownBy(() -> JsonFormat.parse("{a : 1}")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Expected '\"' at position 1");
+		assertThatThrownBy(() -> JsonFormat.parse("[1; 2]")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Expected ',' or ']'");
+		assertThatThrownBy(() -> JsonFormat.parse("1 2")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Unexpected content after JSON value at position 2");
+	}
+
+	/**
+	 * Verifies that invalid values are rejected.
+	 */
+	@Test
+	public void invalidValues() {
+		assertThatThrownBy(() -> JsonFormat.parse("tru")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Invalid value");
+		assertThatThrownBy(() -> JsonFormat.parse("1.2.3")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Invalid value");
+		assertThatThrownBy(() -> JsonFormat.parse("[NaN]")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Invalid value");
+		assertThatThrownBy(() -> JsonFormat.parse("\"\\uZZZZ\"")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.benchmarks.converters;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.tinylog.benchmarks.converters.Comparison.Verdict;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RegressionDetector}.
+ */
+public final class RegressionDetectorTest {
+
+	/**
+	 * Verifies that a significantly lower throughput is detected as regression and a significantly higher throughput as
+	 * improvement.
+	 */
+	@Test
+	public void throughput() {
+		assertThat(assess(throughput("1000", "10"), throughput("900", "10"))).isEqualTo(Verdict.REGRESSION);
+		assertThat(assess(throughput("1000", "10"), throughput("1100", "10"))).isEqualTo(Verdict.IMPROVEMENT);
+	}
+
+	/**
+	 * Verifies that a significantly higher time is detected as regression and a significantly lower time as
+	 * improvement.
+	 */
+	@Test
+	public void time() {
+		assertThat(assess(time("100", "1"), time("120", "1"))).isEqualTo(Verdict.REGRESSION);
+		assertThat(assess(time("100", "1"), time("80", "1"))).isEqualTo(Verdict.IMPROVEMENT);
+	}
+
+	/**
+	 * Verifies that changes are not significant as long as the confidence intervals overlap, even if the scores differ.
+	 */
+	@Test
+	public void overlappingConfidenceIntervals() {
+		assertThat(assess(throughput("1000", "60"), throughput("900", "50"))).isEqualTo(Verdict.UNCHANGED);
+		assertThat(assess(time("100", "15"), time("120", "10"))).isEqualTo(Verdict.UNCHANGED);
+		assertThat(assess(time("100", "0"), time("100", "0"))).isEqualTo(Verdict.UNCHANGED);
+	}
+
+	/**
+	 * Verifies that touching confidence intervals are still considered as overlapping.
+	 */
+	@Test
+	public void touchingConfidenceIntervals() {
+		assertThat(assess(throughput("1000", "50"), throughput("900", "50"))).isEqualTo(Verdict.UNCHANGED);
+		assertThat(assess(throughput("1000", "50"), throughput("899", "50"))).isEqualTo(Verdict.REGRESSION);
+	}
+
+	/**
+	 * Verifies that changes are inconclusive, if JMH did not report an error for the baseline or current run.
+	 */
+	@Test
+	public void inconclusive() {
+		assertThat(assess(throughput("1000", null), throughput("1", "1"))).isEqualTo(Verdict.INCONCLUSIVE);
+		assertThat(assess(throughput("1000", "1"), throughput("1", null))).isEqualTo(Verdict.INCONCLUSIVE);
+	}
+
+	/**
+	 * Verifies that benchmarks that exist only in the current run are reported as added and benchmarks that exist only
+	 * in the baseline as missing.
+	 */
+	@Test
+	public void addedAndMissing() {
+		BenchmarkResult kept = result("kept", "thrpt", true, "100", "1");
+		BenchmarkResult removed = result("removed", "thrpt", true, "100", "1");
+		BenchmarkResult added = result("added", "thrpt", true, "100", "1");
+
+		List<Comparison> comparisons = new RegressionDetector().compare(Arrays.asList(removed, kept), Arrays.asList(added, kept));
+
+		assertThat(comparisons).extracting(Comparison::getVerdict)
+			.containsExactly(Verdict.MISSING, Verdict.UNCHANGED, Verdict.ADDED);
+
+		assertThat(comparisons.get(0).getBaseline()).isSameAs(removed);
+		assertThat(comparisons.get(0).getCurrent()).isNull();
+		assertThat(comparisons.get(2).getBaseline()).isNull();
+		assertThat(comparisons.get(2).getCurrent()).isSameAs(added);
+	}
+
+	/**
+	 * Verifies that results are matched by benchmark, parameters and metric.
+	 */
+	@Test
+	public void matchByKey() {
+		BenchmarkResult baselineScore = result("benchmark", "thrpt", true, "100", "1");
+		BenchmarkResult baselineAllocation = result("benchmark", "gc.alloc.rate.norm", false, "50", "1");
+		BenchmarkResult currentAllocation = result("benchmark", "gc.alloc.rate.norm", false, "80", "1");
+		BenchmarkResult currentScore = result("benchmark", "thrpt", true, "100", "1");
+		BenchmarkResult otherParameters = new BenchmarkResult("benchmark", singletonMap("size", "1"), "thrpt", true,
+			new BigDecimal("100"), BigDecimal.ONE, "ops/s");
+
+		List<Comparison> comparisons = new RegressionDetector().compare(
+			Arrays.asList(baselineScore, baselineAllocation),
+			Arrays.asList(currentAllocation, otherParameters, currentScore)
+		);
+
+		assertThat(comparisons).hasSize(3);
+
+		assertThat(comparisons.get(0).getCurrent()).isSameAs(currentScore);
+		assertThat(comparisons.get(0).getVerdict()).isEqualTo(Verdict.UNCHANGED);
+
+		assertThat(comparisons.get(1).getCurrent()).isSameAs(currentAllocation);
+		assertThat(comparisons.get(1).getVerdict()).isEqualTo(Verdict.REGRESSION);
+
+		assertThat(comparisons.get(2).getCurrent()).isSameAs(otherParameters);
+		assertThat(comparisons.get(2).getVerdict()).isEqualTo(Verdict.ADDED);
+	}
+
+	/**
+	 * Verifies that the relative change is calculated in percent.
+	 */
+	@Test
+	public void change() {
+		List<Comparison> comparisons = new RegressionDetector().compare(
+			singletonList(throughput("200", "1")),
+			singletonList(throughput("150", "1"))
+		);
+
+		assertThat(comparisons.get(0).getChange()).isEqualByComparingTo("-25");
+	}
+
+	/**
+	 * Compares a single benchmark result.
+	 *
+	 * @param baseline
+	 *            Result from the baseline
+	 * @param current
+	 *            Result from the current run
+	 * @return Assessment of the change
+	 */
+	private static Verdict assess(final BenchmarkResult baseline, final BenchmarkResult current) {
+		List<Comparison> comparisons = new RegressionDetector().compare(singletonList(baseline), singletonList(current));
+		assertThat(comparisons).hasSize(1);
+		return comparisons.get(0).getVerdict();
+	}
+
+	/**
+	 * Creates a throughput result, for which higher scores are better.
+	 *
+	 * @param score
+	 *            Score of the benchmark
+	 * @param error
+	 *            Half width of the confidence interval or {@code null} if unknown
+	 * @return Created benchmark result
+	 */
+	private static BenchmarkResult throughput(final String score, final String error) {
+		return result("benchmark", "thrpt", true, score, error);
+	}
+
+	/**
+	 * Creates an average time result, for which lower scores are better.
+	 *
+	 * @param score
+	 *            Score of the benchmark
+	 * @param error
+	 *            Half width of the confidence interval or {@code null} if unknown
+	 * @return Created benchmark result
+	 */
+	private static BenchmarkResult time(final String score, final String error) {
+		return result("benchmark", "avgt", false, score, error);
+	}
+
+	/**
+	 * Creates a benchmark result without parameters.
+	 *
+	 * @param benchmark
+	 *            Name of the benchmark
+	 * @param metric
+	 *            Name of the metric
+	 * @param higherIsBetter
+	 *            {@code true} if higher scores are better, {@code false} if lower scores are better
+	 * @param score
+	 *            Score of the benchmark
+	 * @param error
+	 *            Half width of the confidence interval or {@code null} if unknown
+	 * @return Created benchmark result
+	 */
+	private static BenchmarkResult result(final String benchmark, final String metric, final boolean higherIsBetter,
+		final String score, final String error) {
+		return new BenchmarkResult(benchmark, emptyMap(), metric, higherIsBetter, new BigDecimal(score),
+			error == null ? null : new BigDecimal(error), higherIsBetter ? "ops/s" : "ns/op");
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog;
+
+import org.tinylog.provider.AdjustableLoggingProvider;
+import org.tinylog.provider.InternalLogger;
+import org.tinylog.provider.LoggingProvider;
+import org.tinylog.provider.ProviderRegistry;
+
+/**
+ * Changes severity levels at runtime without restarting the application.
+ *
+ * <p>
+ * Severity levels can be changed only, if the logging provider implements {@link AdjustableLoggingProvider}.
+ * Furthermore, severity levels can be lowered only down to the minimum severity level that the logging provider has
+ * reported at startup. For tinylog's native logging provider, this minimum severity level can be defined via the
+ * property <tt>level.adjustable</tt>.
+ * </p>
+ */
+public final class Levels {
+
+	private static final LoggingProvider provider = ProviderRegistry.getLoggingProvider();
+
+	/** */
+	private Levels() {
+	}
+
+	/**
+	 * Checks whether the logging provider supports changing severity levels at runtime.
+	 *
+	 * @return {@code true} if severity levels can be changed, {@code false} if not
+	 */
+	public static boolean isAdjustable() {
+		return provider instanceof AdjustableLoggingProvider;
+	}
+
+	/**
+	 * Changes the global severity level.
+	 *
+	 * @param level
+	 *            New global severity level
+	 */
+	public static void setGlobalLevel(final Level level) {
+		if (provider instanceof AdjustableLoggingProvider) {
+			AdjustableLoggingProvider adjustableProvider = (AdjustableLoggingProvider) provider;
+			adjustableProvider.setGlobalLevel(level);
+		} else {
+			warnNotAdjustable();
+		}
+	}
+
+	/**
+	 * Changes the custom severity level for a package or class.
+	 *
+	 * @param packageOrClass
+	 *            Fully-qualified package or class name
+	 * @param level
+	 *            New custom severity level or {@code null} for removing the custom severity level
+	 */
+	public static void setLevel(final String packageOrClass, final Level level) {
+		if (provider instanceof AdjustableLoggingProvider) {
+			AdjustableLoggingProvider adjustableProvider = (AdjustableLoggingProvider) provider;
+			adjustableProvider.setLevel(packageOrClass, level);
+		} else {
+			warnNotAdjustable();
+		}
+	}
+
+	/**
+	 * Changes the custom severity level for a tag.
+	 *
+	 * @param tag
+	 *            Case-sensitive tag
+	 * @param level
+	 *            New custom severity level or {@code null} for removing the custom severity level
+	 */
+	public static void setTagLevel(final String tag, final Level level) {
+		if (provider instanceof AdjustableLoggingProvider) {
+			AdjustableLoggingProvider adjustableProvider = (AdjustableLoggingProvider) provider;
+			adjustableProvider.setTagLevel(tag, level);
+		} else {
+			warnNotAdjustable();
+		}
+	}
+
+	/**
+	 * Outputs a warning that the logging provider doesn't support changing severity levels.
+	 */
+	private static void warnNotAdjustable() {
+		InternalLogger.log(Level.WARN, "Logging provider '" + provider.getClass().getName()
+			+ "' does not support changing severity levels at runtime");
+	}
+
+}
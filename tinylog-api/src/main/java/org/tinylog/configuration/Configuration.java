@@ -13,12 +13,12 @@
 
 package org.tinylog.configuration;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
@@ -26,6 +26,9 @@ import java.util.regex.Pattern;
 
 import org.tinylog.Level;
 import org.tinylog.provider.InternalLogger;
+import org.tinylog.provider.LoggingProvider;
+import org.tinylog.provider.ProviderRegistry;
+import org.tinylog.provider.ReloadableLoggingProvider;
 
 /**
  * Global configuration for tinylog.
@@ -41,6 +44,11 @@ import org.tinylog.provider.InternalLogger;
  * "<tt>tinylog.</tt>". For example: "<tt>level = debug</tt>" becomes "<tt>tinylog.level=debug</tt>". If a configuration
  * property exists as system property and in configuration file, the system property will win.
  * </p>
+ *
+ * <p>
+ * The configuration can be reloaded at runtime via {@link #reload()}. Logging providers that implement
+ * {@link ReloadableLoggingProvider} apply the reloaded configuration immediately.
+ * </p>
  */
 public final class Configuration {
 
@@ -53,6 +61,8 @@ public final class Configuration {
 
 	private static final Properties properties = load();
 
+	private static volatile PropertyIndex index;
+
 	/** */
 	private Configuration() {
 	}
@@ -87,14 +97,7 @@ public final class Configuration {
 	 * @return All found properties (map will be empty if there are no matching properties)
 	 */
 	public static Map<String, String> getSiblings(final String prefix) {
-		Map<String, String> map = new HashMap<String, String>();
-		for (Enumeration<Object> enumeration = properties.keys(); enumeration.hasMoreElements();) {
-			String key = (String) enumeration.nextElement();
-			if (key.startsWith(prefix) && (prefix.endsWith("@") || key.indexOf('.', prefix.length()) == -1)) {
-				map.put(key, (String) properties.get(key));
-			}
-		}
-		return map;
+		return getIndex().getSiblings(prefix);
 	}
 
 	/**
@@ -110,16 +113,7 @@ public final class Configuration {
 	 * @return All found children properties (map will be empty if there are no children properties)
 	 */
 	public static Map<String, String> getChildren(final String key) {
-		String prefix = key + ".";
-
-		Map<String, String> map = new HashMap<String, String>();
-		for (Enumeration<Object> enumeration = properties.keys(); enumeration.hasMoreElements();) {
-			String property = (String) enumeration.nextElement();
-			if (property.startsWith(prefix)) {
-				map.put(property.substring(prefix.length()), (String) properties.get(property));
-			}
-		}
-		return map;
+		return getIndex().getChildren(key);
 	}
 
 	/**
@@ -136,7 +130,10 @@ public final class Configuration {
 	 *            Value of the property
 	 */
 	public static void set(final String key, final String value) {
-		properties.put(key, value);
+		synchronized (properties) {
+			properties.put(key, value);
+			index = null;
+		}
 	}
 
 	/**
@@ -154,9 +151,63 @@ public final class Configuration {
 		synchronized (properties) {
 			properties.clear();
 			properties.putAll(configuration);
+			index = null;
 		}
 	}
 
+	/**
+	 * Reloads the configuration from the configuration file and system properties. All properties that have been set
+	 * programmatically will be dropped. Afterwards, the reloaded configuration is applied to the logging provider, if
+	 * it implements {@link ReloadableLoggingProvider}.
+	 */
+	public static void reload() {
+		Properties reloaded = load();
+		synchronized (properties) {
+			properties.clear();
+			properties.putAll(reloaded);
+			index = null;
+		}
+
+		LoggingProvider provider = ProviderRegistry.getLoggingProvider();
+		if (provider instanceof ReloadableLoggingProvider) {
+			ReloadableLoggingProvider reloadableProvider = (ReloadableLoggingProvider) provider;
+			reloadableProvider.reload();
+		}
+	}
+
+	/**
+	 * Gets the location of the configuration file.
+	 *
+	 * @return URL of configuration file or {@code null} if there is no configuration file
+	 */
+	public static URL getSource() {
+		try {
+			return locate();
+		} catch (MalformedURLException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the sorted index of all configuration properties. The index is created lazily and dropped whenever
+	 * properties are changed.
+	 *
+	 * @return Index of current configuration properties
+	 */
+	private static PropertyIndex getIndex() {
+		PropertyIndex current = index;
+		if (current == null) {
+			synchronized (properties) {
+				current = index;
+				if (current == null) {
+					current = new PropertyIndex(properties);
+					index = current;
+				}
+			}
+		}
+		return current;
+	}
+
 	/**
 	 * Loads all configuration properties.
 	 *
@@ -167,22 +218,9 @@ public final class Configuration {
 
 		String file = System.getProperty(CONFIGURATION_PROPERTY);
 		try {
-			if (file != null) {
-				InputStream stream;
-				if (URL_DETECTION_PATTERN.matcher(file).matches()) {
-					stream = new URL(file).openStream();
-				} else {
-					stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(file);
-					if (stream == null) {
-						stream = new FileInputStream(file);
-					}
-				}
-				load(properties, stream);
-			} else {
-				InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(DEFAULT_CONFIGURATION_FILE);
-				if (stream != null) {
-					load(properties, stream);
-				}
+			URL url = locate();
+			if (url != null) {
+				load(properties, url.openStream());
 			}
 		} catch (IOException ex) {
 			InternalLogger.log(Level.ERROR, "Failed loading configuration from '" + file + "'");
@@ -207,6 +245,29 @@ public final class Configuration {
 		return properties;
 	}
 
+	/**
+	 * Locates the configuration file. The system property <tt>tinylog.configuration</tt> can contain an URL, a resource
+	 * in the classpath or a file from file system. Otherwise <tt>tinylog.properties</tt> will be searched in the
+	 * classpath.
+	 *
+	 * @return URL of configuration file or {@code null} if there is no configuration file
+	 * @throws MalformedURLException
+	 *             Invalid URL in system property
+	 */
+	private static URL locate() throws MalformedURLException {
+		String file = System.getProperty(CONFIGURATION_PROPERTY);
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+
+		if (file == null) {
+			return loader.getResource(DEFAULT_CONFIGURATION_FILE);
+		} else if (URL_DETECTION_PATTERN.matcher(file).matches()) {
+			return new URL(file);
+		} else {
+			URL url = loader.getResource(file);
+			return url == null ? new File(file).toURI().toURL() : url;
+		}
+	}
+
 	/**
 	 * Puts all properties from a stream to an existing properties object. Already existing properties will be
 	 * overridden.
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.configuration;
+
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Sorted index of configuration properties for finding siblings and children by prefix.
+ *
+ * <p>
+ * An index is an immutable copy of the configuration properties at creation time. Siblings and children are looked up
+ * via binary searches, so that the costs depend on the number of found properties instead of the number of all
+ * properties.
+ * </p>
+ */
+final class PropertyIndex {
+
+	private static final char CHILD_SEPARATOR = '.';
+	private static final char CHILD_SEPARATOR_SUCCESSOR = CHILD_SEPARATOR + 1;
+
+	private final NavigableMap<String, String> map;
+
+	/**
+	 * @param properties
+	 *            Configuration properties to index
+	 */
+	PropertyIndex(final Properties properties) {
+		map = new TreeMap<String, String>();
+		for (Enumeration<Object> enumeration = properties.keys(); enumeration.hasMoreElements();) {
+			String key = (String) enumeration.nextElement();
+			map.put(key, (String) properties.get(key));
+		}
+	}
+
+	/**
+	 * Gets all siblings with a defined prefix. Child properties will be not returned. Dots after a prefix ending with
+	 * an at sign will be not handled as children.
+	 *
+	 * @param prefix
+	 *            Case-sensitive prefix for keys
+	 * @return All found properties (map will be empty if there are no matching properties)
+	 */
+	Map<String, String> getSiblings(final String prefix) {
+		boolean flat = prefix.endsWith("@");
+
+		Map<String, String> siblings = new HashMap<String, String>();
+		String key = map.ceilingKey(prefix);
+
+		while (key != null && key.startsWith(prefix)) {
+			int index = flat ? -1 : key.indexOf(CHILD_SEPARATOR, prefix.length());
+			if (index == -1) {
+				siblings.put(key, map.get(key));
+				key = map.higherKey(key);
+			} else {
+				key = map.ceilingKey(key.substring(0, index) + CHILD_SEPARATOR_SUCCESSOR);
+			}
+		}
+
+		return siblings;
+	}
+
+	/**
+	 * Gets all child properties for a parent property. The parent property itself will be not returned. Children keys
+	 * will be returned without parent key prefix.
+	 *
+	 * @param key
+	 *            Case-sensitive key of parent property
+	 * @return All found children properties (map will be empty if there are no children properties)
+	 */
+	Map<String, String> getChildren(final String key) {
+		String prefix = key + CHILD_SEPARATOR;
+
+		Map<String, String> children = new HashMap<String, String>();
+		for (Entry<String, String> entry : map.subMap(prefix, key + CHILD_SEPARATOR_SUCCESSOR).entrySet()) {
+			children.put(entry.getKey().substring(prefix.length()), entry.getValue());
+		}
+
+		return children;
+	}
+
+}
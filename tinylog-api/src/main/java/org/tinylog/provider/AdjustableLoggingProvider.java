@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.provider;
+
+import org.tinylog.Level;
+
+/**
+ * Extension of {@link LoggingProvider} for logging providers that support changing severity levels at runtime.
+ *
+ * <p>
+ * Loggers cache the result of {@link #getMinimumLevel(String)}. Therefore, severity levels can be changed at runtime
+ * only down to the minimum severity level, which has been reported by the logging provider at startup.
+ * </p>
+ */
+public interface AdjustableLoggingProvider extends LoggingProvider {
+
+	/**
+	 * Changes the global severity level.
+	 *
+	 * @param level
+	 *            New global severity level
+	 */
+	void setGlobalLevel(Level level);
+
+	/**
+	 * Changes or removes the custom severity level for a package or class.
+	 *
+	 * @param packageOrClass
+	 *            Fully-qualified package or class name
+	 * @param level
+	 *            New custom severity level or {@code null} for removing the custom severity level
+	 */
+	void setLevel(String packageOrClass, Level level);
+
+	/**
+	 * Changes or removes the custom severity level for a tag. A custom severity level for a tag takes precedence over
+	 * the global severity level and custom severity levels for packages and classes.
+	 *
+	 * @param tag
+	 *            Case-sensitive tag
+	 * @param level
+	 *            New custom severity level or {@code null} for removing the custom severity level
+	 */
+	void setTagLevel(String tag, Level level);
+
+}
@@ -19,9 +19,11 @@ import java.util.Collection;
 import org.tinylog.Level;
 
 /**
- * Logging provider that combines multiple logging providers into one.
+ * Logging provider that combines multiple logging providers into one. Changed severity levels are passed to all
+ * combined logging providers that support changing severity levels at runtime. Reloads are passed to all combined
+ * logging providers that support reloading.
  */
-final class BundleLoggingProvider implements LoggingProvider {
+final class BundleLoggingProvider implements AdjustableLoggingProvider, ReloadableLoggingProvider {
 
 	private final LoggingProvider[] loggingProviders;
 	private final ContextProvider contextProvider;
@@ -79,6 +81,46 @@ final class BundleLoggingProvider implements LoggingProvider {
 		}
 	}
 
+	@Override
+	public void setGlobalLevel(final Level level) {
+		for (int i = 0; i < loggingProviders.length; ++i) {
+			if (loggingProviders[i] instanceof AdjustableLoggingProvider) {
+				AdjustableLoggingProvider adjustableProvider = (AdjustableLoggingProvider) loggingProviders[i];
+				adjustableProvider.setGlobalLevel(level);
+			}
+		}
+	}
+
+	@Override
+	public void setLevel(final String packageOrClass, final Level level) {
+		for (int i = 0; i < loggingProviders.length; ++i) {
+			if (loggingProviders[i] instanceof AdjustableLoggingProvider) {
+				AdjustableLoggingProvider adjustableProvider = (AdjustableLoggingProvider) loggingProviders[i];
+				adjustableProvider.setLevel(packageOrClass, level);
+			}
+		}
+	}
+
+	@Override
+	public void setTagLevel(final String tag, final Level level) {
+		for (int i = 0; i < loggingProviders.length; ++i) {
+			if (loggingProviders[i] instanceof AdjustableLoggingProvider) {
+				AdjustableLoggingProvider adjustableProvider = (AdjustableLoggingProvider) loggingProviders[i];
+				adjustableProvider.setTagLevel(tag, level);
+			}
+		}
+	}
+
+	@Override
+	public void reload() {
+		for (int i = 0; i < loggingProviders.length; ++i) {
+			if (loggingProviders[i] instanceof ReloadableLoggingProvider) {
+				ReloadableLoggingProvider reloadableProvider = (ReloadableLoggingProvider) loggingProviders[i];
+				reloadableProvider.reload();
+			}
+		}
+	}
+
 	@Override
 	public void shutdown() throws InterruptedException {
 		for (int i = 0; i < loggingProviders.length; ++i) {
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.provider;
+
+import org.tinylog.configuration.Configuration;
+
+/**
+ * Extension of {@link LoggingProvider} for logging providers that can apply a changed {@link Configuration} at
+ * runtime.
+ */
+public interface ReloadableLoggingProvider extends LoggingProvider {
+
+	/**
+	 * Reconfigures the logging provider with the current {@link Configuration}. Log entries that are issued during
+	 * reconfiguration must be neither lost nor blocked.
+	 */
+	void reload();
+
+}
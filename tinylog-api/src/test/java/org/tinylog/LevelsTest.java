@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+import org.tinylog.provider.AdjustableLoggingProvider;
+import org.tinylog.provider.LoggingProvider;
+import org.tinylog.provider.ProviderRegistry;
+import org.tinylog.rules.SystemStreamCollector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link Levels}.
+ */
+public final class LevelsTest {
+
+	/**
+	 * Redirects and collects system output streams.
+	 */
+	@Rule
+	public final SystemStreamCollector systemStream = new SystemStreamCollector(false);
+
+	/**
+	 * Resets the underlying logging provider.
+	 */
+	@After
+	public void reset() {
+		Whitebox.setInternalState(Levels.class, ProviderRegistry.getLoggingProvider());
+	}
+
+	/**
+	 * Verifies that severity levels are passed to a logging provider that supports changing severity levels.
+	 */
+	@Test
+	public void adjustableProvider() {
+		AdjustableLoggingProvider provider = mock(AdjustableLoggingProvider.class);
+		Whitebox.setInternalState(Levels.class, provider);
+
+		assertThat(Levels.isAdjustable()).isTrue();
+
+		Levels.setGlobalLevel(Level.WARN);
+		verify(provider).setGlobalLevel(Level.WARN);
+
+		Levels.setLevel("org.test", Level.DEBUG);
+		verify(provider).setLevel("org.test", Level.DEBUG);
+
+		Levels.setTagLevel("test", Level.TRACE);
+		verify(provider).setTagLevel("test", Level.TRACE);
+	}
+
+	/**
+	 * Verifies that a warning will be output for a logging provider that doesn't support changing severity levels.
+	 */
+	@Test
+	public void notAdjustableProvider() {
+		LoggingProvider provider = mock(LoggingProvider.class);
+		Whitebox.setInternalState(Levels.class, provider);
+		systemStream.consumeErrorOutput();
+
+		assertThat(Levels.isAdjustable()).isFalse();
+
+		Levels.setGlobalLevel(Level.WARN);
+		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("WARN").contains("changing severity levels");
+
+		Levels.setLevel("org.test", Level.DEBUG);
+		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("WARN").contains("changing severity levels");
+
+		Levels.setTagLevel("test", Level.TRACE);
+		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("WARN").contains("changing severity levels");
+	}
+
+}
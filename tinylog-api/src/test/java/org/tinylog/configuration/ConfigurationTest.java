@@ -371,6 +371,64 @@ public final class ConfigurationTest {
 		assertThat(Configuration.get("c")).isEqualTo("42");
 	}
 
+	/**
+	 * Verifies that reloading reads the changed configuration file and drops properties that have been set
+	 * programmatically.
+	 *
+	 * @throws Exception
+	 *             Failed creating or changing temporary file or invoking private method {@link Configuration#load()}
+	 */
+	@Test
+	public void reloadProperties() throws Exception {
+		String path = FileSystem.createTemporaryFile("a = 1");
+		loadProperies(path);
+		systemStream.consumeErrorOutput();
+
+		Configuration.set("b", "2");
+		Files.write(Paths.get(path), Collections.singletonList("a = 42"));
+		Configuration.reload();
+		systemStream.consumeErrorOutput();
+
+		assertThat(Configuration.get("a")).isEqualTo("42");
+		assertThat(Configuration.get("b")).isNull();
+	}
+
+	/**
+	 * Verifies that the URL of a custom defined file from file system is provided as source.
+	 *
+	 * @throws Exception
+	 *             Failed creating temporary file
+	 */
+	@Test
+	public void sourceFromFileSystem() throws Exception {
+		String path = FileSystem.createTemporaryFile("level = warn");
+		System.setProperty(CONFIGURATION_PROPERTY, path);
+
+		assertThat(Configuration.getSource()).isEqualTo(new File(path).toURI().toURL());
+	}
+
+	/**
+	 * Verifies that a custom defined URL is provided as source.
+	 *
+	 * @throws Exception
+	 *             Failed creating temporary file URL
+	 */
+	@Test
+	public void sourceFromUrl() throws Exception {
+		String url = new File(FileSystem.createTemporaryFile()).getAbsoluteFile().toURI().toURL().toString();
+		System.setProperty(CONFIGURATION_PROPERTY, url);
+
+		assertThat(Configuration.getSource()).hasToString(url);
+	}
+
+	/**
+	 * Verifies that there is no source if no configuration file exists.
+	 */
+	@Test
+	public void noSource() {
+		assertThat(Configuration.getSource()).isNull();
+	}
+
 	/**
 	 * Triggers (re-)loading properties.
 	 *
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.configuration;
+
+import java.util.Properties;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link PropertyIndex}.
+ */
+public final class PropertyIndexTest {
+
+	/**
+	 * Verifies that siblings are found, but neither their children nor properties with other prefixes.
+	 */
+	@Test
+	public void siblings() {
+		PropertyIndex index = create("writer", "writer.level", "writerA", "writerA.tag", "writerB", "writing", "level");
+
+		assertThat(index.getSiblings("writer")).containsOnly(
+			entry("writer", "writer#"),
+			entry("writerA", "writerA#"),
+			entry("writerB", "writerB#")
+		);
+	}
+
+	/**
+	 * Verifies that dots after a prefix ending with an at sign are not handled as children.
+	 */
+	@Test
+	public void siblingsWithAtSign() {
+		PropertyIndex index = create("level", "level@org.test", "level@org.test.Foo", "level.adjustable");
+
+		assertThat(index.getSiblings("level@")).containsOnly(
+			entry("level@org.test", "level@org.test#"),
+			entry("level@org.test.Foo", "level@org.test.Foo#")
+		);
+	}
+
+	/**
+	 * Verifies that sibling keys containing characters that are sorted between a dot and the following character are
+	 * found, even if they follow a key with children.
+	 */
+	@Test
+	public void siblingsAfterChildren() {
+		PropertyIndex index = create("writer", "writer.a", "writer.a.b", "writer-", "writer/", "writer0");
+
+		assertThat(index.getSiblings("writer").keySet()).containsOnly("writer", "writer-", "writer/", "writer0");
+	}
+
+	/**
+	 * Verifies that no siblings are found for an unknown prefix.
+	 */
+	@Test
+	public void noSiblings() {
+		PropertyIndex index = create("writer", "writer.level");
+		assertThat(index.getSiblings("filter")).isEmpty();
+	}
+
+	/**
+	 * Verifies that children are found without parent key prefix and without the parent property itself.
+	 */
+	@Test
+	public void children() {
+		PropertyIndex index = create("writer", "writer.level", "writer.format", "writer.format.x", "writerA.tag", "writer-");
+
+		assertThat(index.getChildren("writer")).containsOnly(
+			entry("level", "writer.level#"),
+			entry("format", "writer.format#"),
+			entry("format.x", "writer.format.x#")
+		);
+	}
+
+	/**
+	 * Verifies that no children are found for a property without children.
+	 */
+	@Test
+	public void noChildren() {
+		PropertyIndex index = create("writer", "writerA.tag");
+		assertThat(index.getChildren("writer")).isEmpty();
+	}
+
+	/**
+	 * Verifies that an index is not affected by later changes of the indexed properties.
+	 */
+	@Test
+	public void immutable() {
+		Properties properties = new Properties();
+		properties.put("writer", "console");
+
+		PropertyIndex index = new PropertyIndex(properties);
+		properties.put("writer.level", "info");
+
+		assertThat(index.getChildren("writer")).isEmpty();
+	}
+
+	/**
+	 * Creates an index for the passed keys. The value of each property is its key followed by "#".
+	 *
+	 * @param keys
+	 *            Keys of properties
+	 * @return Created index
+	 */
+	private static PropertyIndex create(final String... keys) {
+		Properties properties = new Properties();
+		for (String key : keys) {
+			properties.put(key, key + "#");
+		}
+		return new PropertyIndex(properties);
+	}
+
+}
@@ -148,6 +148,43 @@ public final class BundleLoggingProviderTest {
 		verify(second).shutdown();
 	}
 
+	/**
+	 * Verifies that changed severity levels are passed to all underlying logging providers that support changing
+	 * severity levels at runtime.
+	 */
+	@Test
+	public void adjustLevels() {
+		AdjustableLoggingProvider adjustable = mock(AdjustableLoggingProvider.class);
+		LoggingProvider other = mock(LoggingProvider.class);
+		when(adjustable.getContextProvider()).thenReturn(mock(ContextProvider.class));
+		when(other.getContextProvider()).thenReturn(mock(ContextProvider.class));
+
+		BundleLoggingProvider provider = new BundleLoggingProvider(asList(adjustable, other));
+		provider.setGlobalLevel(Level.WARN);
+		provider.setLevel("org.test", Level.DEBUG);
+		provider.setTagLevel("test", null);
+
+		verify(adjustable).setGlobalLevel(Level.WARN);
+		verify(adjustable).setLevel("org.test", Level.DEBUG);
+		verify(adjustable).setTagLevel("test", null);
+	}
+
+	/**
+	 * Verifies that reloads are passed to all underlying logging providers that support reloading.
+	 */
+	@Test
+	public void reload() {
+		ReloadableLoggingProvider reloadable = mock(ReloadableLoggingProvider.class);
+		LoggingProvider other = mock(LoggingProvider.class);
+		when(reloadable.getContextProvider()).thenReturn(mock(ContextProvider.class));
+		when(other.getContextProvider()).thenReturn(mock(ContextProvider.class));
+
+		BundleLoggingProvider provider = new BundleLoggingProvider(asList(reloadable, other));
+		provider.reload();
+
+		verify(reloadable).reload();
+	}
+
 	/**
 	 * Creates underlying logging providers as well as the wrapper logging provider.
 	 *
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.tinylog.Level;
+
+/**
+ * Immutable snapshot of all active severity levels. Changes create a new snapshot, so that a snapshot can be read
+ * without any synchronization.
+ */
+final class ActiveLevels {
+
+	private final Level globalLevel;
+	private final Map<String, Level> customLevels;
+	private final Map<String, Level> tagLevels;
+	private final Level minimumLevel;
+
+	/**
+	 * @param globalLevel
+	 *            Global severity level
+	 * @param customLevels
+	 *            Custom severity levels for packages and classes
+	 * @param tagLevels
+	 *            Custom severity levels for tags
+	 */
+	ActiveLevels(final Level globalLevel, final Map<String, Level> customLevels, final Map<String, Level> tagLevels) {
+		this.globalLevel = globalLevel;
+		this.customLevels = customLevels;
+		this.tagLevels = tagLevels;
+		this.minimumLevel = calculateMinimumLevel(globalLevel, customLevels, tagLevels);
+	}
+
+	/**
+	 * Gets the global severity level.
+	 *
+	 * @return Global severity level
+	 */
+	public Level getGlobalLevel() {
+		return globalLevel;
+	}
+
+	/**
+	 * Gets the lowest severity level of all global and custom severity levels. Log entries with a lower severity
+	 * level are never output.
+	 *
+	 * @return Lowest active severity level
+	 */
+	public Level getMinimumLevel() {
+		return minimumLevel;
+	}
+
+	/**
+	 * Checks whether there are any custom severity levels for packages or classes.
+	 *
+	 * @return {@code true} if there is at least one custom severity level for a package or class, otherwise
+	 *         {@code false}
+	 */
+	public boolean hasCustomLevels() {
+		return !customLevels.isEmpty();
+	}
+
+	/**
+	 * Gets the custom severity level for a tag.
+	 *
+	 * @param tag
+	 *            Tag name or {@code null} for untagged log entries
+	 * @return Custom severity level or {@code null} if there is no custom severity level for the passed tag
+	 */
+	public Level getTagLevel(final String tag) {
+		return tag == null || tagLevels.isEmpty() ? null : tagLevels.get(tag);
+	}
+
+	/**
+	 * Gets the severity level for a class. If there is no custom severity level for the class or one of it's
+	 * (sub-)packages, the global severity level will be returned.
+	 *
+	 * @param className
+	 *            Fully-qualified class name
+	 * @return Severity level for given class
+	 */
+	public Level getLevel(final String className) {
+		String key = className;
+		while (true) {
+			Level customLevel = customLevels.get(key);
+			if (customLevel == null) {
+				int index = key.lastIndexOf('.');
+				if (index == -1) {
+					return globalLevel;
+				} else {
+					key = key.substring(0, index);
+				}
+			} else {
+				return customLevel;
+			}
+		}
+	}
+
+	/**
+	 * Creates a copy with a different global severity level.
+	 *
+	 * @param level
+	 *            New global severity level
+	 * @return New snapshot
+	 */
+	public ActiveLevels withGlobalLevel(final Level level) {
+		return new ActiveLevels(level, customLevels, tagLevels);
+	}
+
+	/**
+	 * Creates a copy with a changed or removed custom severity level for a package or class.
+	 *
+	 * @param packageOrClass
+	 *            Fully-qualified package or class name
+	 * @param level
+	 *            New custom severity level or {@code null} for removing the custom severity level
+	 * @return New snapshot
+	 */
+	public ActiveLevels withCustomLevel(final String packageOrClass, final Level level) {
+		return new ActiveLevels(globalLevel, copy(customLevels, packageOrClass, level), tagLevels);
+	}
+
+	/**
+	 * Creates a copy with a changed or removed custom severity level for a tag.
+	 *
+	 * @param tag
+	 *            Case-sensitive tag
+	 * @param level
+	 *            New custom severity level or {@code null} for removing the custom severity level
+	 * @return New snapshot
+	 */
+	public ActiveLevels withTagLevel(final String tag, final Level level) {
+		return new ActiveLevels(globalLevel, customLevels, copy(tagLevels, tag, level));
+	}
+
+	/**
+	 * Calculates the lowest severity level of all global and custom severity levels.
+	 *
+	 * @param globalLevel
+	 *            Global severity level
+	 * @param customLevels
+	 *            Custom severity levels for packages and classes
+	 * @param tagLevels
+	 *            Custom severity levels for tags
+	 * @return Lowest severity level
+	 */
+	private static Level calculateMinimumLevel(final Level globalLevel, final Map<String, Level> customLevels,
+		final Map<String, Level> tagLevels) {
+		Level minimumLevel = globalLevel;
+		for (Level level : customLevels.values()) {
+			if (level.ordinal() < minimumLevel.ordinal()) {
+				minimumLevel = level;
+			}
+		}
+		for (Level level : tagLevels.values()) {
+			if (level.ordinal() < minimumLevel.ordinal()) {
+				minimumLevel = level;
+			}
+		}
+		return minimumLevel;
+	}
+
+	/**
+	 * Copies a map and changes or removes a single entry.
+	 *
+	 * @param map
+	 *            Map to copy
+	 * @param key
+	 *            Key of entry to change or remove
+	 * @param level
+	 *            New severity level or {@code null} for removing the entry
+	 * @return Changed copy
+	 */
+	private static Map<String, Level> copy(final Map<String, Level> map, final String key, final Level level) {
+		Map<String, Level> copy = new HashMap<String, Level>(map);
+		if (level == null) {
+			copy.remove(key);
+		} else {
+			copy.put(key, level);
+		}
+		return copy;
+	}
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.core;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.tinylog.Level;
+import org.tinylog.filters.Filter;
+import org.tinylog.filters.SummarizingFilter;
+import org.tinylog.provider.InternalLogger;
+import org.tinylog.writers.Writer;
+
+/**
+ * Snapshot of all tags, filters and writers that are active for a logging provider. A snapshot is replaced as a whole
+ * when reloading the configuration.
+ *
+ * <p>
+ * Log calls {@link #enter()} a snapshot before using it and {@link #exit()} afterwards. A replaced snapshot is
+ * {@link #retire() retired} first. Afterwards, no log call can enter it anymore, and its writers can be closed safely as
+ * soon as the snapshot is {@link #isIdle() idle}. Entered log calls are counted in striped cells that are selected by
+ * the thread ID and padded to separate cache lines, so that concurrent log calls don't contend for a shared counter.
+ * Closing is idempotent, as a replaced snapshot can be closed either when becoming idle or at shutdown.
+ * </p>
+ */
+final class ActiveWriters {
+
+	private static final int STRIPES = calculateStripes(Runtime.getRuntime().availableProcessors());
+	private static final int MAXIMUM_STRIPES = 16;
+	private static final int PADDING = 16; // 64 bytes cache line / 4 bytes per int value
+	private static final long HASH_MULTIPLIER = 0x9e3779b97f4a7c15L;
+	private static final int HASH_SHIFT = 32;
+
+	private final List<String> knownTags;
+	private final Filter[] filters;
+	private final Writer[][] writers;
+	private final int[] requiredLogEntryValues;
+	private final WritingThread writingThread;
+	private final AtomicIntegerArray calls;
+
+	private volatile boolean retired;
+	private boolean closed;
+
+	/**
+	 * @param knownTags
+	 *            All tags that are used by writers
+	 * @param filters
+	 *            All filters in order of evaluation
+	 * @param writers
+	 *            Table with one writer array for each tag and severity level
+	 * @param requiredLogEntryValues
+	 *            Table with bitmasks of all required log entry values for each tag and severity level
+	 * @param writingThread
+	 *            Running writing thread or {@code null} if writers are called directly
+	 */
+	ActiveWriters(final List<String> knownTags, final Filter[] filters, final Writer[][] writers, final int[] requiredLogEntryValues,
+		final WritingThread writingThread) {
+		this.knownTags = knownTags;
+		this.filters = filters;
+		this.writers = writers;
+		this.requiredLogEntryValues = requiredLogEntryValues;
+		this.writingThread = writingThread;
+		this.calls = new AtomicIntegerArray(STRIPES * PADDING);
+	}
+
+	/**
+	 * Gets all filters in order of evaluation.
+	 *
+	 * @return All filters
+	 */
+	public Filter[] getFilters() {
+		return filters;
+	}
+
+	/**
+	 * Gets the table with all writers. The writers for a tag and severity level can be found at the index
+	 * {@code tagIndex * LEVEL_COUNT + levelIndex}.
+	 *
+	 * @return Table with one writer array for each tag and severity level
+	 */
+	public Writer[][] getWriters() {
+		return writers;
+	}
+
+	/**
+	 * Gets the table with all required log entry values. The bitmask for a tag and severity level can be found at the
+	 * index {@code tagIndex * LEVEL_COUNT + levelIndex}.
+	 *
+	 * @return Table with bitmasks of all required log entry values
+	 */
+	public int[] getRequiredLogEntryValues() {
+		return requiredLogEntryValues;
+	}
+
+	/**
+	 * Gets the writing thread.
+	 *
+	 * @return Running writing thread or {@code null} if writers are called directly
+	 */
+	public WritingThread getWritingThread() {
+		return writingThread;
+	}
+
+	/**
+	 * Gets the index of a tag.
+	 *
+	 * @param tag
+	 *            Name of tag
+	 * @return Index of tag
+	 */
+	public int getTagIndex(final String tag) {
+		if (tag == null) {
+			return 0;
+		} else {
+			int index = knownTags.indexOf(tag);
+			return index == -1 ? knownTags.size() + 1 : index + 1;
+		}
+	}
+
+	/**
+	 * Registers a log call that will use this snapshot.
+	 *
+	 * @return {@code true} if the log call can use this snapshot, {@code false} if this snapshot has been retired
+	 */
+	public boolean enter() {
+		int cell = getCell();
+		calls.incrementAndGet(cell);
+		if (retired) {
+			calls.decrementAndGet(cell);
+			return false;
+		} else {
+			return true;
+		}
+	}
+
+	/**
+	 * Unregisters a log call that has entered this snapshot before. This method must be called by the same thread that
+	 * has entered the snapshot.
+	 */
+	public void exit() {
+		calls.decrementAndGet(getCell());
+	}
+
+	/**
+	 * Retires this snapshot. Afterwards, no further log calls can {@link #enter()} this snapshot.
+	 */
+	public void retire() {
+		retired = true;
+	}
+
+	/**
+	 * Checks whether there are no log calls that use this snapshot.
+	 *
+	 * @return {@code true} if no log call has entered this snapshot, {@code false} if there is at least one
+	 */
+	public boolean isIdle() {
+		int sum = 0;
+		for (int i = 0; i < STRIPES; ++i) {
+			sum += calls.get(i * PADDING);
+		}
+		return sum == 0;
+	}
+
+	/**
+	 * Stops all summarizing filters and closes all writers. If there is a writing thread, it will be shut down and write
+	 * all already added log entries before closing the writers. This method doesn't wait until the writing thread is
+	 * down. Further calls have no effect.
+	 */
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+
+		for (Filter filter : filters) {
+			if (filter instanceof SummarizingFilter) {
+				SummarizingFilter summarizingFilter = (SummarizingFilter) filter;
+				try {
+					summarizingFilter.stop();
+				} catch (Exception ex) {
+					InternalLogger.log(Level.ERROR, ex, "Failed to stop filter");
+				}
+			}
+		}
+
+		if (writingThread == null) {
+			for (Writer writer : getAllWriters(writers)) {
+				try {
+					writer.close();
+				} catch (Exception ex) {
+					InternalLogger.log(Level.ERROR, ex, "Failed to close writer");
+				}
+			}
+		} else {
+			writingThread.shutdown();
+		}
+	}
+
+	/**
+	 * Collects all writer instances from a table of writers.
+	 *
+	 * @param table
+	 *            All writers
+	 * @return Collection that contains each writer only once
+	 */
+	static Collection<Writer> getAllWriters(final Writer[][] table) {
+		Collection<Writer> writers = Collections.newSetFromMap(new IdentityHashMap<Writer, Boolean>());
+		for (int i = 0; i < table.length; ++i) {
+			Collections.addAll(writers, table[i]);
+		}
+		return writers;
+	}
+
+	/**
+	 * Gets the index of the counter cell for the current thread.
+	 *
+	 * @return Index in the array of counter cells
+	 */
+	private static int getCell() {
+		long hash = Thread.currentThread().getId() * HASH_MULTIPLIER;
+		return ((int) (hash >>> HASH_SHIFT) & (STRIPES - 1)) * PADDING;
+	}
+
+	/**
+	 * Calculates the number of counter cells for a given number of processors.
+	 *
+	 * @param processors
+	 *            Number of available processors
+	 * @return Smallest power of two that is equal or greater than the number of processors, but not greater than
+	 *         {@link #MAXIMUM_STRIPES}
+	 */
+	private static int calculateStripes(final int processors) {
+		int stripes = 1;
+		while (stripes < processors && stripes < MAXIMUM_STRIPES) {
+			stripes <<= 1;
+		}
+		return stripes;
+	}
+
+}
@@ -13,18 +13,25 @@
 
 package org.tinylog.core;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 import org.tinylog.Level;
 import org.tinylog.configuration.Configuration;
 import org.tinylog.configuration.ServiceLoader;
+import org.tinylog.filters.Filter;
+import org.tinylog.metrics.LoggingMetrics;
+import org.tinylog.metrics.WriterMetrics;
 import org.tinylog.provider.InternalLogger;
 import org.tinylog.runtime.RuntimeProvider;
 import org.tinylog.writers.Writer;
@@ -37,6 +44,8 @@ import org.tinylog.writers.Writer;
 public final class ConfigurationParser {
 
 	private static final int MAX_LOCALE_ARGUMENTS = 3;
+	private static final int DEFAULT_EXCEPTION_CACHE_SIZE = 256;
+	private static final String[] SAMPLING_PROPERTIES = new String[] { "sampling", "sampling.key", "sampling.level" };
 
 	/** */
 	private ConfigurationParser() {
@@ -89,6 +98,15 @@ public final class ConfigurationParser {
 		return levels;
 	}
 
+	/**
+	 * Loads the lowest severity level that can be enabled at runtime from configuration.
+	 *
+	 * @return Severity level from configuration or {@link Level#OFF} if severity levels cannot be lowered at runtime
+	 */
+	public static Level getAdjustableLevel() {
+		return parse(Configuration.get("level.adjustable"), Level.OFF);
+	}
+
 	/**
 	 * Loads all tags from writers in configuration.
 	 *
@@ -114,6 +132,35 @@ public final class ConfigurationParser {
 		return "true".equalsIgnoreCase(Configuration.get("writingthread"));
 	}
 
+	/**
+	 * Detects whether the initialization of writers is deferred in configuration. Writers are initialized lazily if
+	 * the property <tt>initialization</tt> is either "lazy" or "background".
+	 *
+	 * @return {@code true} if writers should be not created at startup, otherwise {@code false}
+	 */
+	public static boolean isLazyInitializationEnabled() {
+		String mode = Configuration.get("initialization");
+		return "lazy".equalsIgnoreCase(mode) || "background".equalsIgnoreCase(mode);
+	}
+
+	/**
+	 * Detects whether writers should be created by a separate thread at startup in configuration.
+	 *
+	 * @return {@code true} if the property <tt>initialization</tt> is "background", otherwise {@code false}
+	 */
+	public static boolean isBackgroundInitializationEnabled() {
+		return "background".equalsIgnoreCase(Configuration.get("initialization"));
+	}
+
+	/**
+	 * Detects whether automatic reloading of the configuration file on change is enabled in configuration.
+	 *
+	 * @return {@code true} if automatic reloading is explicitly enabled, otherwise {@code false}
+	 */
+	public static boolean isAutoReloadEnabled() {
+		return "true".equalsIgnoreCase(Configuration.get("autoreload"));
+	}
+
 	/**
 	 * Detects whether auto shutdown is enabled in configuration.
 	 *
@@ -123,6 +170,130 @@ public final class ConfigurationParser {
 		return !"false".equalsIgnoreCase(Configuration.get("autoshutdown"));
 	}
 
+	/**
+	 * Detects whether metrics of the logging pipeline should be recorded in configuration. Metrics are recorded if
+	 * either the property <tt>metrics</tt> or <tt>metrics.jmx</tt> is "true".
+	 *
+	 * @return {@code true} if metrics are explicitly enabled, otherwise {@code false}
+	 */
+	public static boolean isMetricsEnabled() {
+		return "true".equalsIgnoreCase(Configuration.get("metrics")) || isJmxEnabled();
+	}
+
+	/**
+	 * Detects whether metrics should be registered as MBeans in configuration.
+	 *
+	 * @return {@code true} if JMX is explicitly enabled, otherwise {@code false}
+	 */
+	public static boolean isJmxEnabled() {
+		return "true".equalsIgnoreCase(Configuration.get("metrics.jmx"));
+	}
+
+	/**
+	 * Loads the maximum number of rendered exceptions and other throwables to cache from configuration.
+	 *
+	 * @return Maximum number of cached throwables or {@code 0} if caching is disabled
+	 */
+	public static int getExceptionCacheSize() {
+		String size = Configuration.get("exception.cache");
+		if (size == null) {
+			return isExceptionReferencingEnabled() ? DEFAULT_EXCEPTION_CACHE_SIZE : 0;
+		} else {
+			try {
+				return Math.max(0, Integer.parseInt(size.trim()));
+			} catch (NumberFormatException ex) {
+				InternalLogger.log(Level.ERROR, "Invalid exception cache size: " + size);
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Detects whether repeated exceptions and other throwables should be output as reference instead of the full
+	 * stack trace.
+	 *
+	 * @return {@code true} if reference mode is explicitly enabled, otherwise {@code false}
+	 */
+	public static boolean isExceptionReferencingEnabled() {
+		return "true".equalsIgnoreCase(Configuration.get("exception.reference"));
+	}
+
+	/**
+	 * Parses a positive duration. The units "ms" (milliseconds), "s" (seconds), "m" (minutes), "h" (hours) and "d"
+	 * (days) are supported. Numbers without unit are interpreted in the passed default unit.
+	 *
+	 * @param value
+	 *            Duration as text (e.g. "30s")
+	 * @param defaultUnit
+	 *            Unit for numbers without unit
+	 * @return Duration in milliseconds
+	 *
+	 * @throws IllegalArgumentException
+	 *             Passed value is not a valid positive duration or has an unknown unit
+	 */
+	public static long parseDuration(final String value, final TimeUnit defaultUnit) {
+		String text = value.trim().toLowerCase(Locale.ROOT);
+
+		int index = text.length();
+		while (index > 0 && Character.isLetter(text.charAt(index - 1))) {
+			index -= 1;
+		}
+
+		String unit = text.substring(index);
+		TimeUnit timeUnit;
+		if (unit.isEmpty()) {
+			timeUnit = defaultUnit;
+		} else if ("ms".equals(unit)) {
+			timeUnit = TimeUnit.MILLISECONDS;
+		} else if ("s".equals(unit)) {
+			timeUnit = TimeUnit.SECONDS;
+		} else if ("m".equals(unit)) {
+			timeUnit = TimeUnit.MINUTES;
+		} else if ("h".equals(unit)) {
+			timeUnit = TimeUnit.HOURS;
+		} else if ("d".equals(unit)) {
+			timeUnit = TimeUnit.DAYS;
+		} else {
+			throw new IllegalArgumentException("Unknown unit in duration \"" + value + "\"");
+		}
+
+		long duration;
+		try {
+			duration = Long.parseLong(text.substring(0, index).trim());
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid duration \"" + value + "\"");
+		}
+
+		if (duration <= 0) {
+			throw new IllegalArgumentException("Invalid duration \"" + value + "\"");
+		} else {
+			return timeUnit.toMillis(duration);
+		}
+	}
+
+	/**
+	 * Creates all configured filters. Filters are ordered by the numeric suffixes of their property keys, so that
+	 * "filter2" will be evaluated before "filter10".
+	 *
+	 * @return All created filters
+	 */
+	public static Filter[] createFilters() {
+		ServiceLoader<Filter> loader = new ServiceLoader<Filter>(Filter.class, Map.class);
+		List<Filter> filters = new ArrayList<Filter>();
+
+		Map<String, String> properties = new TreeMap<String, String>(new FilterOrder());
+		properties.putAll(Configuration.getSiblings("filter"));
+
+		for (Entry<String, String> entry : properties.entrySet()) {
+			Filter filter = loader.create(entry.getValue(), Configuration.getChildren(entry.getKey()));
+			if (filter != null) {
+				filters.add(filter);
+			}
+		}
+
+		return filters.toArray(new Filter[filters.size()]);
+	}
+
 	/**
 	 * Creates a two-dimensional matrix with all configured writers. The first dimension represents the tags. It starts
 	 * with untagged writers, following with all tagged writers and ending with writers that accepts all kind of log
@@ -137,12 +308,33 @@ public final class ConfigurationParser {
 	 *            Defines whether {@link WritingThread} is enabled
 	 * @return Matrix with all created writers
 	 */
-	@SuppressWarnings("unchecked")
 	public static Collection<Writer>[][] createWriters(final List<String> tags, final Level minimumLevel, final boolean writingThread) {
+		return createWriters(tags, minimumLevel, writingThread, null);
+	}
+
+	/**
+	 * Creates a two-dimensional matrix with all configured writers as {@link #createWriters(List, Level, boolean)}. If
+	 * metrics are passed, all writers are decorated for recording their metrics and the writer metrics of the passed
+	 * logging metrics are replaced by the metrics of the created writers.
+	 *
+	 * @param tags
+	 *            Order of defined tags
+	 * @param minimumLevel
+	 *            Minimum global severity level
+	 * @param writingThread
+	 *            Defines whether {@link WritingThread} is enabled
+	 * @param metrics
+	 *            Logging metrics or {@code null} if metrics are disabled
+	 * @return Matrix with all created writers
+	 */
+	@SuppressWarnings("unchecked")
+	public static Collection<Writer>[][] createWriters(final List<String> tags, final Level minimumLevel, final boolean writingThread,
+		final LoggingMetrics metrics) {
 		Collection<Writer>[][] matrix = new Collection[tags.size() + 2][Level.values().length - 1];
 		ServiceLoader<Writer> loader = new ServiceLoader<Writer>(Writer.class, Map.class);
 
 		Map<String, String> writerProperties = Configuration.getSiblings("writer");
+		List<WriterMetrics> writerMetrics = new ArrayList<WriterMetrics>();
 
 		if (writerProperties.isEmpty()) {
 			writerProperties = Collections.singletonMap("writer", RuntimeProvider.getDefaultWriter());
@@ -160,9 +352,28 @@ public final class ConfigurationParser {
 			configuration.remove("tag");
 			configuration.remove("level");
 
+			Map<String, String> sampling = new HashMap<String, String>();
+			for (String key : SAMPLING_PROPERTIES) {
+				String value = configuration.remove(key);
+				if (value != null) {
+					sampling.put(key, value);
+				}
+			}
+
 			configuration.put("writingthread", Boolean.toString(writingThread));
+			if (metrics != null) {
+				configuration.put("metrics", "true");
+			}
 
 			Writer writer = loader.create(entry.getValue(), configuration);
+			if (writer != null && metrics != null) {
+				WriterMetrics meter = new WriterMetrics(entry.getKey(), writer);
+				writerMetrics.add(meter);
+				writer = new MeteredWriter(writer, meter);
+			}
+			if (writer != null && !sampling.isEmpty()) {
+				writer = createSamplingWriter(writer, sampling, metrics);
+			}
 			if (writer != null) {
 				if (tag == null || tag.isEmpty()) {
 					for (int tagIndex = 0; tagIndex < matrix.length; ++tagIndex) {
@@ -184,9 +395,34 @@ public final class ConfigurationParser {
 			}
 		}
 
+		if (metrics != null) {
+			metrics.setWriters(writerMetrics);
+		}
+
 		return matrix;
 	}
 
+	/**
+	 * Decorates a writer for outputting only a sample of log entries. If the sampling configuration is invalid, the
+	 * passed writer will be returned undecorated.
+	 *
+	 * @param writer
+	 *            Writer to decorate
+	 * @param sampling
+	 *            Sampling configuration
+	 * @param metrics
+	 *            Logging metrics or {@code null} if metrics are disabled
+	 * @return Sampling writer or passed writer, if sampling configuration is invalid
+	 */
+	private static Writer createSamplingWriter(final Writer writer, final Map<String, String> sampling, final LoggingMetrics metrics) {
+		try {
+			return new SamplingWriter(writer, sampling, metrics);
+		} catch (IllegalArgumentException ex) {
+			InternalLogger.log(Level.ERROR, ex.getMessage() + " for writer '" + writer.getClass().getName() + "'");
+			return writer;
+		}
+	}
+
 	/**
 	 * Adds a writer to a well-defined matrix. The given writer will be added only at the given tag index for severity
 	 * levels equal or above the given severity level.
@@ -233,4 +469,57 @@ public final class ConfigurationParser {
 		}
 	}
 
+	/**
+	 * Comparator for ordering filter property keys by their numeric suffixes. Keys without suffix come first and keys
+	 * with non-numeric suffixes come last.
+	 */
+	private static final class FilterOrder implements Comparator<String>, Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final String PREFIX = "filter";
+		private static final int MAX_DIGITS = 18;
+
+		/** */
+		private FilterOrder() {
+		}
+
+		@Override
+		public int compare(final String first, final String second) {
+			long firstNumber = getNumber(first);
+			long secondNumber = getNumber(second);
+
+			if (firstNumber == secondNumber) {
+				return first.compareTo(second);
+			} else {
+				return firstNumber < secondNumber ? -1 : 1;
+			}
+		}
+
+		/**
+		 * Extracts the numeric suffix of a filter property key.
+		 *
+		 * @param key
+		 *            Property key
+		 * @return Numeric suffix, -1 for keys without suffix or {@link Long#MAX_VALUE} for non-numeric suffixes
+		 */
+		private static long getNumber(final String key) {
+			String suffix = key.startsWith(PREFIX) ? key.substring(PREFIX.length()) : key;
+
+			if (suffix.isEmpty()) {
+				return -1;
+			} else if (suffix.length() > MAX_DIGITS) {
+				return Long.MAX_VALUE;
+			} else {
+				for (int i = 0; i < suffix.length(); ++i) {
+					if (!Character.isDigit(suffix.charAt(i))) {
+						return Long.MAX_VALUE;
+					}
+				}
+				return Long.parseLong(suffix);
+			}
+		}
+
+	}
+
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+import org.codehaus.mojo.animal_sniffer.IgnoreJRERequirement;
+import org.tinylog.Level;
+import org.tinylog.configuration.Configuration;
+import org.tinylog.provider.InternalLogger;
+
+/**
+ * Watcher for reloading the configuration file on change via a {@link WatchService}.
+ *
+ * <p>
+ * The folder of the configuration file is polled by a separate daemon thread. As editors often modify a file in
+ * several steps, the watcher waits for a short moment after a detected change and reloads the configuration only once
+ * for all changes within this time frame. This class requires Java 7 or later and must be only used if
+ * {@link #isSupported()} returns {@code true}.
+ * </p>
+ */
+@IgnoreJRERequirement
+final class ConfigurationWatcher implements Runnable {
+
+	private static final String THREAD_NAME = "tinylog-ConfigurationWatcher";
+	private static final long MILLISECONDS_TO_SETTLE = 100L;
+
+	private final Path file;
+	private final Path name;
+	private final WatchService service;
+
+	/**
+	 * @param file
+	 *            Configuration file to watch
+	 *
+	 * @throws IOException
+	 *             Failed to watch folder of configuration file
+	 */
+	ConfigurationWatcher(final File file) throws IOException {
+		this.file = file.getAbsoluteFile().toPath();
+		this.name = this.file.getFileName();
+
+		Path folder = this.file.getParent();
+		if (name == null || folder == null) {
+			throw new IOException("'" + file + "' is not a file within a folder");
+		}
+
+		this.service = FileSystems.getDefault().newWatchService();
+
+		try {
+			folder.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException ex) {
+			service.close();
+			throw ex;
+		}
+
+		Thread thread = new Thread(this, THREAD_NAME);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Checks if the current Java runtime provides a {@link WatchService}.
+	 *
+	 * @return {@code true} if watching files is supported, {@code false} if not
+	 */
+	static boolean isSupported() {
+		try {
+			Class.forName("java.nio.file.WatchService");
+			return true;
+		} catch (ClassNotFoundException ex) {
+			return false;
+		}
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (true) {
+				WatchKey key = service.take();
+				boolean changed = isChanged(key);
+
+				if (changed) {
+					Thread.sleep(MILLISECONDS_TO_SETTLE);
+					for (WatchKey pending = service.poll(); pending != null; pending = service.poll()) {
+						isChanged(pending);
+					}
+
+					try {
+						Configuration.reload();
+					} catch (RuntimeException ex) {
+						InternalLogger.log(Level.ERROR, ex, "Failed to reload configuration file '" + file + "'");
+					}
+				}
+			}
+		} catch (InterruptedException ex) {
+			// Watcher has been interrupted
+		} catch (ClosedWatchServiceException ex) {
+			// Watcher has been closed
+		}
+	}
+
+	/**
+	 * Stops watching. The watch thread will terminate.
+	 */
+	void close() {
+		try {
+			service.close();
+		} catch (IOException ex) {
+			InternalLogger.log(Level.ERROR, ex, "Failed to close watch service");
+		}
+	}
+
+	/**
+	 * Consumes all events of a watch key and resets the key afterwards.
+	 *
+	 * @param key
+	 *            Signaled watch key
+	 * @return {@code true} if the configuration file has been created or modified, otherwise {@code false}
+	 */
+	private boolean isChanged(final WatchKey key) {
+		boolean changed = false;
+
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context())) {
+				changed = true;
+			}
+		}
+
+		key.reset();
+		return changed;
+	}
+
+}
@@ -35,7 +35,7 @@ import org.tinylog.provider.InternalLogger;
  * @see ChoiceFormat
  * @see DecimalFormat
  */
-final class MessageFormatter {
+public final class MessageFormatter {
 
 	private static final int INITIAL_STRING_BUFFER_CAPACITY = 256;
 
@@ -45,7 +45,7 @@ final class MessageFormatter {
 	 * @param locale
 	 *            Locale for formatting numbers
 	 */
-	MessageFormatter(final Locale locale) {
+	public MessageFormatter(final Locale locale) {
 		symbols = new DecimalFormatSymbols(locale);
 	}
 
@@ -58,7 +58,7 @@ final class MessageFormatter {
 	 *            Replacements for placeholders
 	 * @return Formatted text message
 	 */
-	String format(final String message, final Object[] arguments) {
+	public String format(final String message, final Object[] arguments) {
 		StringBuilder builder = new StringBuilder(INITIAL_STRING_BUFFER_CAPACITY);
 
 		int argumentIndex = 0;
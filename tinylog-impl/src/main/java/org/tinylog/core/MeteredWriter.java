@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.core;
+
+import java.util.Collection;
+
+import org.tinylog.metrics.WriterMetrics;
+import org.tinylog.writers.Writer;
+
+/**
+ * Decorator for writers that records written log entries, errors and latencies of the decorated writer. Exceptions
+ * are counted and passed through unchanged.
+ */
+final class MeteredWriter implements Writer {
+
+	private final Writer writer;
+	private final WriterMetrics metrics;
+
+	/**
+	 * @param writer
+	 *            Writer to decorate
+	 * @param metrics
+	 *            Metrics for recording
+	 */
+	MeteredWriter(final Writer writer, final WriterMetrics metrics) {
+		this.writer = writer;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public Collection<LogEntryValue> getRequiredLogEntryValues() {
+		return writer.getRequiredLogEntryValues();
+	}
+
+	@Override
+	public void write(final LogEntry logEntry) throws Exception {
+		long start = System.nanoTime();
+		try {
+			writer.write(logEntry);
+		} catch (Exception ex) {
+			metrics.recordError();
+			throw ex;
+		}
+		metrics.recordWrite(System.nanoTime() - start);
+	}
+
+	@Override
+	public void flush() throws Exception {
+		long start = System.nanoTime();
+		try {
+			writer.flush();
+		} catch (Exception ex) {
+			metrics.recordError();
+			throw ex;
+		}
+		metrics.recordFlush(System.nanoTime() - start);
+	}
+
+	@Override
+	public void close() throws Exception {
+		writer.close();
+	}
+
+}
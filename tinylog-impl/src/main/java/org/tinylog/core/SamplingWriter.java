@@ -0,0 +1,262 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.core;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.tinylog.Level;
+import org.tinylog.metrics.LoggingMetrics;
+import org.tinylog.provider.ContextProvider;
+import org.tinylog.writers.Writer;
+
+/**
+ * Decorator for writers that outputs only a sample of log entries. The logging provider decides via
+ * {@link #isSampled(Level, ContextProvider)} whether a log entry belongs to the sample, before the log entry is created.
+ * Thus, discarded log entries are neither formatted nor rendered. All log entries that are passed to
+ * {@link #write(LogEntry)} are output.
+ *
+ * <p>
+ * The sampling is defined via the property <tt>sampling</tt> either as fixed ratio (e.g. "0.1" or "10%") or as target
+ * rate of log entries per second (e.g. "100/s"). A target rate adapts the ratio every second to the number of log
+ * entries that have been issued in the previous second. The decision is lock-free. Therefore, the target rate can be
+ * slightly exceeded, if multiple threads issue log entries simultaneously.
+ * </p>
+ *
+ * <p>
+ * If the optional property <tt>sampling.key</tt> defines a thread context key (e.g. a request ID), log entries will be
+ * sampled by the hash code of the context value. Thus, either all or none of the log entries with the same context
+ * value will be output for a fixed ratio. The optional property <tt>sampling.level</tt> restricts sampling to log
+ * entries with the defined or a lower severity level. All other log entries will be always output. By default, log
+ * entries up to {@link Level#WARN} are sampled, whereas errors are always output.
+ * </p>
+ */
+final class SamplingWriter implements Writer {
+
+	private static final long MILLISECONDS_PER_SECOND = 1000L;
+	private static final double PERCENT = 100d;
+	private static final int HASH_BUCKETS = 65536;
+	private static final int HASH_FIRST_SHIFT = 16;
+	private static final int HASH_SECOND_SHIFT = 13;
+	private static final int HASH_FIRST_MULTIPLIER = 0x85ebca6b;
+	private static final int HASH_SECOND_MULTIPLIER = 0xc2b2ae35;
+
+	private final Writer writer;
+	private final LoggingMetrics metrics;
+	private final double fixedRatio;
+	private final long targetRate;
+	private final String contextKey;
+	private final Level maximumLevel;
+
+	private final AtomicLong sequence;
+	private final AtomicLong windowEnd;
+	private final AtomicLong windowIssued;
+	private final AtomicLong windowAccepted;
+
+	private volatile double ratio;
+
+	/**
+	 * @param writer
+	 *            Writer to decorate
+	 * @param properties
+	 *            Sampling configuration (<tt>sampling</tt>, <tt>sampling.key</tt> and <tt>sampling.level</tt>)
+	 *
+	 * @throws IllegalArgumentException
+	 *             A property has an invalid value or the sampling property is missing
+	 */
+	SamplingWriter(final Writer writer, final Map<String, String> properties) {
+		this(writer, properties, null);
+	}
+
+	/**
+	 * @param writer
+	 *            Writer to decorate
+	 * @param properties
+	 *            Sampling configuration (<tt>sampling</tt>, <tt>sampling.key</tt> and <tt>sampling.level</tt>)
+	 * @param metrics
+	 *            Metrics for counting discarded log entries or {@code null} if metrics are disabled
+	 *
+	 * @throws IllegalArgumentException
+	 *             A property has an invalid value or the sampling property is missing
+	 */
+	SamplingWriter(final Writer writer, final Map<String, String> properties, final LoggingMetrics metrics) {
+		this.writer = writer;
+		this.metrics = metrics;
+
+		String sampling = properties.get("sampling");
+		if (sampling == null || sampling.trim().isEmpty()) {
+			throw new IllegalArgumentException("No sampling defined");
+		}
+
+		String value = sampling.trim().toLowerCase(Locale.ROOT);
+		try {
+			if (value.endsWith("/s")) {
+				fixedRatio = 1d;
+				targetRate = Long.parseLong(value.substring(0, value.length() - "/s".length()).trim());
+			} else if (value.endsWith("%")) {
+				fixedRatio = Double.parseDouble(value.substring(0, value.length() - "%".length()).trim()) / PERCENT;
+				targetRate = 0L;
+			} else {
+				fixedRatio = Double.parseDouble(value);
+				targetRate = 0L;
+			}
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid sampling \"" + sampling + "\"");
+		}
+
+		if (targetRate < 0L || !(fixedRatio >= 0d && fixedRatio <= 1d) || (targetRate == 0L && value.endsWith("/s"))) {
+			throw new IllegalArgumentException("Invalid sampling \"" + sampling + "\"");
+		}
+
+		String key = properties.get("sampling.key");
+		contextKey = key == null || key.trim().isEmpty() ? null : key.trim();
+
+		String level = properties.get("sampling.level");
+		if (level == null) {
+			maximumLevel = Level.WARN;
+		} else {
+			try {
+				maximumLevel = Level.valueOf(level.trim().toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException ex) {
+				throw new IllegalArgumentException("Invalid sampling level \"" + level + "\"");
+			}
+		}
+
+		ratio = fixedRatio;
+		sequence = new AtomicLong();
+		windowEnd = new AtomicLong();
+		windowIssued = new AtomicLong();
+		windowAccepted = new AtomicLong();
+	}
+
+	/**
+	 * Decides whether a log entry belongs to the sample. This method is thread-safe and must be called exactly once
+	 * for each issued log entry, as it counts the log entries for sampling. Discarded log entries are counted as
+	 * dropped, if metrics are enabled.
+	 *
+	 * @param level
+	 *            Severity level of the log entry
+	 * @param context
+	 *            Context provider for getting the value of the sampling key
+	 * @return {@code true} if the log entry should be output, {@code false} if it should be discarded
+	 */
+	boolean isSampled(final Level level, final ContextProvider context) {
+		if (level.ordinal() > maximumLevel.ordinal()) {
+			return true;
+		}
+
+		boolean accepted = decide(contextKey == null ? null : context.get(contextKey));
+		if (!accepted && metrics != null) {
+			metrics.countDropped();
+		}
+		return accepted;
+	}
+
+	/**
+	 * Sampling requires no log entry values itself, as the sampling decision is made before creating log entries.
+	 *
+	 * @return Required log entry values of the decorated writer
+	 */
+	@Override
+	public Collection<LogEntryValue> getRequiredLogEntryValues() {
+		return writer.getRequiredLogEntryValues();
+	}
+
+	@Override
+	public void write(final LogEntry logEntry) throws Exception {
+		writer.write(logEntry);
+	}
+
+	@Override
+	public void flush() throws Exception {
+		writer.flush();
+	}
+
+	@Override
+	public void close() throws Exception {
+		writer.close();
+	}
+
+	/**
+	 * Decides lock-free whether a log entry with a severity level that is subject to sampling belongs to the sample.
+	 *
+	 * @param contextValue
+	 *            Value of the sampling key or {@code null} if there is none
+	 * @return {@code true} if the log entry should be output, {@code false} if it should be discarded
+	 */
+	private boolean decide(final String contextValue) {
+		if (targetRate > 0L) {
+			adaptRatio(System.currentTimeMillis());
+			if (windowAccepted.get() >= targetRate) {
+				return false;
+			}
+		}
+
+		double currentRatio = ratio;
+		boolean accepted;
+		if (contextValue == null) {
+			long number = sequence.getAndIncrement();
+			accepted = (long) ((number + 1L) * currentRatio) > (long) (number * currentRatio);
+		} else {
+			accepted = bucket(contextValue) < currentRatio * HASH_BUCKETS;
+		}
+
+		if (accepted && targetRate > 0L) {
+			windowAccepted.incrementAndGet();
+		}
+
+		return accepted;
+	}
+
+	/**
+	 * Counts an issued log entry for the current one-second window and recalculates the ratio when a new window
+	 * starts. Only the thread that succeeds in starting the new window recalculates the ratio.
+	 *
+	 * @param timestamp
+	 *            Current time in milliseconds
+	 */
+	private void adaptRatio(final long timestamp) {
+		long end = windowEnd.get();
+		if (timestamp >= end && windowEnd.compareAndSet(end, timestamp + MILLISECONDS_PER_SECOND)) {
+			if (end != 0L) {
+				long issued = timestamp >= end + MILLISECONDS_PER_SECOND ? 0L : windowIssued.get();
+				ratio = issued <= targetRate ? 1d : (double) targetRate / issued;
+			}
+			windowIssued.set(0L);
+			windowAccepted.set(0L);
+			sequence.set(0L);
+		}
+		windowIssued.incrementAndGet();
+	}
+
+	/**
+	 * Maps a context value to a well-distributed hash bucket.
+	 *
+	 * @param value
+	 *            Context value
+	 * @return Hash bucket between 0 (inclusive) and {@link #HASH_BUCKETS} (exclusive)
+	 */
+	private static int bucket(final String value) {
+		int hash = value.hashCode();
+		hash ^= hash >>> HASH_FIRST_SHIFT;
+		hash *= HASH_FIRST_MULTIPLIER;
+		hash ^= hash >>> HASH_SECOND_SHIFT;
+		hash *= HASH_SECOND_MULTIPLIER;
+		hash ^= hash >>> HASH_FIRST_SHIFT;
+		return hash & (HASH_BUCKETS - 1);
+	}
+
+}
@@ -13,54 +13,124 @@
 
 package org.tinylog.core;
 
-import java.util.BitSet;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumSet;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.tinylog.Level;
 import org.tinylog.Supplier;
+import org.tinylog.configuration.Configuration;
+import org.tinylog.filters.Filter;
+import org.tinylog.filters.LogMessage;
+import org.tinylog.filters.Reporter;
+import org.tinylog.filters.SummarizingFilter;
+import org.tinylog.metrics.JmxExporter;
+import org.tinylog.metrics.LoggingMetrics;
+import org.tinylog.provider.AdjustableLoggingProvider;
 import org.tinylog.provider.ContextProvider;
 import org.tinylog.provider.InternalLogger;
-import org.tinylog.provider.LoggingProvider;
+import org.tinylog.provider.ReloadableLoggingProvider;
 import org.tinylog.runtime.RuntimeProvider;
 import org.tinylog.runtime.Timestamp;
 import org.tinylog.writers.Writer;
 
 /**
  * tinylog's native logging provider implementation.
+ *
+ * <p>
+ * The matrix of writers created by {@link ConfigurationParser#createWriters(List, Level, boolean)} is compiled into a
+ * flat table with one writer array per tag and severity level. The required log entry values of all writers of a table
+ * entry are stored as bitmask, where each bit represents the ordinal of a {@link LogEntryValue}.
+ * </p>
+ *
+ * <p>
+ * Severity levels can be changed at runtime down to the severity level defined by the property
+ * <tt>level.adjustable</tt>. All active severity levels are held in an immutable snapshot that is replaced at each
+ * change. Log entries below the lowest active severity level are discarded immediately after reading the snapshot.
+ * Therefore, disabled log calls between the adjustable and the active severity level are not free. Unlike disabled
+ * log calls below the adjustable severity level, they are not cut off by the static flags of the logger, but cost a
+ * volatile read and a comparison in the provider.
+ * </p>
+ *
+ * <p>
+ * The configuration can be reloaded at runtime. Tags, filters and writers are created aside and replace the previous
+ * ones atomically via a volatile field, so that log calls don't need any locks. Each log call registers at the snapshot
+ * it uses in a striped counter. The previous writers are closed by a separate thread as soon as all log calls that are
+ * still using them have completed, so that no log entries get lost. If the writing thread is enabled, the previous
+ * writing thread writes all remaining log entries before closing the previous writers. At shutdown, previous writers
+ * are closed immediately. Severity levels that have been changed at runtime are reset to the reloaded configuration.
+ * If the property <tt>autoreload</tt> is set to "true", the configuration file is watched and reloaded automatically
+ * on change.
+ * </p>
+ *
+ * <p>
+ * By default, all writers are created at startup. If the property <tt>initialization</tt> is set to "lazy", writers
+ * are created by the first log entry that passes the severity level check, so that opening files or connecting to
+ * databases doesn't delay the application startup. If the property is set to "background", writers are created
+ * immediately by a separate thread. Log entries that are issued before all writers are created wait for the
+ * initialization to complete. As long as writers are not created, the minimum severity level is estimated from the
+ * configured severity levels. Writers that have not been created before shutdown will never be created, and log
+ * entries that are issued after shutdown are discarded in this case.
+ * </p>
+ *
+ * <p>
+ * If the property <tt>metrics</tt> is set to "true", issued and dropped log entries, the queue size of the writing
+ * thread as well as written log entries, bytes, errors and latencies of all writers are recorded and can be retrieved
+ * via {@link #getMetrics()}. If the property <tt>metrics.jmx</tt> is set to "true", metrics are recorded and
+ * additionally registered as MBeans at the platform MBean server.
+ * </p>
  */
-public class TinylogLoggingProvider implements LoggingProvider {
+public class TinylogLoggingProvider implements AdjustableLoggingProvider, ReloadableLoggingProvider {
+
+	private static final int LEVEL_COUNT = Level.OFF.ordinal();
+	private static final String INITIALIZATION_THREAD_NAME = "tinylog-InitializationThread";
+	private static final String RETIREMENT_THREAD_NAME = "tinylog-RetirementThread";
+	private static final long RETIREMENT_POLL_INTERVAL = 10; // 10 milliseconds
+
+	private static final int THREAD = toBitmask(LogEntryValue.THREAD);
+	private static final int CONTEXT = toBitmask(LogEntryValue.CONTEXT);
+	private static final int CLASS = toBitmask(LogEntryValue.CLASS);
+	private static final int FULL_STACK_TRACE = toBitmask(LogEntryValue.METHOD) | toBitmask(LogEntryValue.FILE)
+		| toBitmask(LogEntryValue.LINE);
 
 	private final TinylogContextProvider context;
 	private final MessageFormatter formatter;
-	private final Level globalLevel;
-	private final Map<String, Level> customLevels;
-	private final List<String> knownTags;
-	private final Collection<Writer>[][] writers;
-	private final Collection<LogEntryValue>[][] requiredLogEntryValues;
-	private final BitSet fullStackTraceRequired;
-	private final WritingThread writingThread;
+	private final Object mutex;
+	private final ConfigurationWatcher watcher;
+	private final LoggingMetrics metrics;
+	private final JmxExporter exporter;
+	private final Collection<ActiveWriters> retiredWriters;
+
+	private volatile ActiveLevels activeLevels;
+	private volatile ActiveWriters activeWriters;
+	private boolean shutdown;
 
 	/** */
 	public TinylogLoggingProvider() {
 		context = new TinylogContextProvider();
 		formatter = new MessageFormatter(ConfigurationParser.getLocale());
-		globalLevel = ConfigurationParser.getGlobalLevel();
-		customLevels = ConfigurationParser.getCustomLevels();
-		knownTags = ConfigurationParser.getTags();
+		mutex = new Object();
+		retiredWriters = new ArrayList<ActiveWriters>();
+		activeLevels = loadLevels();
+		metrics = ConfigurationParser.isMetricsEnabled() ? new LoggingMetrics() : null;
+		exporter = ConfigurationParser.isJmxEnabled() ? new JmxExporter(metrics) : null;
+
+		if (!ConfigurationParser.isLazyInitializationEnabled()) {
+			activeWriters = createActiveWriters(this, activeLevels, metrics);
+		} else if (ConfigurationParser.isBackgroundInitializationEnabled()) {
+			startInitializationThread(this);
+		}
 
-		Level minimumLevel = calculateMinimumLevel(globalLevel, customLevels);
-		boolean hasWritingThread = ConfigurationParser.isWritingThreadEnabled();
+		exportMetrics();
 
-		writers = ConfigurationParser.createWriters(knownTags, minimumLevel, hasWritingThread);
-		requiredLogEntryValues = calculateRequiredLogEntryValues(writers);
-		fullStackTraceRequired = calculateFullStackTraceRequirements(requiredLogEntryValues);
-		writingThread = hasWritingThread ? createWritingThread(writers) : null;
+		watcher = ConfigurationParser.isAutoReloadEnabled() ? createWatcher() : null;
 
 		if (ConfigurationParser.isAutoShutdownEnabled()) {
 			Runtime.getRuntime().addShutdownHook(new Thread() {
@@ -76,6 +146,15 @@ public class TinylogLoggingProvider implements LoggingProvider {
 		}
 	}
 
+	/**
+	 * Gets the recorded metrics of the logging pipeline.
+	 *
+	 * @return Recorded metrics or {@code null} if metrics are not enabled
+	 */
+	public LoggingMetrics getMetrics() {
+		return metrics;
+	}
+
 	@Override
 	public ContextProvider getContextProvider() {
 		return context;
@@ -83,9 +162,15 @@ public class TinylogLoggingProvider implements LoggingProvider {
 
 	@Override
 	public Level getMinimumLevel(final String tag) {
-		int tagIndex = getTagIndex(tag);
+		ActiveWriters active = activeWriters;
+		if (active == null) {
+			return getLowestLevel(activeLevels);
+		}
+
+		Writer[][] writers = active.getWriters();
+		int offset = active.getTagIndex(tag) * LEVEL_COUNT;
 		for (int levelIndex = Level.TRACE.ordinal(); levelIndex < Level.OFF.ordinal(); ++levelIndex) {
-			if (writers[tagIndex][levelIndex].size() > 0) {
+			if (writers[offset + levelIndex].length > 0) {
 				return Level.values()[levelIndex];
 			}
 		}
@@ -94,133 +179,394 @@ public class TinylogLoggingProvider implements LoggingProvider {
 
 	@Override
 	public boolean isEnabled(final int depth, final String tag, final Level level) {
-		Level activeLevel;
+		ActiveLevels levels = activeLevels;
+		if (level.ordinal() < levels.getMinimumLevel().ordinal()) {
+			return false;
+		}
 
-		if (customLevels.isEmpty()) {
-			activeLevel = globalLevel;
-		} else {
-			String className = RuntimeProvider.getCallerClassName(depth + 1);
-			activeLevel = getLevel(className);
+		Level activeLevel = levels.getTagLevel(tag);
+		if (activeLevel == null) {
+			if (levels.hasCustomLevels()) {
+				String className = RuntimeProvider.getCallerClassName(depth + 1);
+				activeLevel = levels.getLevel(className);
+			} else {
+				activeLevel = levels.getGlobalLevel();
+			}
 		}
 
-		return activeLevel.ordinal() <= level.ordinal() && writers[getTagIndex(tag)][level.ordinal()].size() > 0;
+		ActiveWriters active = getActiveWriters();
+		Writer[] writers = active.getWriters()[active.getTagIndex(tag) * LEVEL_COUNT + level.ordinal()];
+		return activeLevel.ordinal() <= level.ordinal() && writers.length > 0;
 	}
 
 	@Override
 	public void log(final int depth, final String tag, final Level level, final Throwable exception, final Object obj,
 		final Object... arguments) {
-		int tagIndex = getTagIndex(tag);
-
-		StackTraceElement stackTraceElement;
-		if (fullStackTraceRequired.get(tagIndex)) {
-			stackTraceElement = RuntimeProvider.getCallerStackTraceElement(depth + 1);
-		} else {
-			stackTraceElement = null;
+		ActiveLevels levels = activeLevels;
+		if (level.ordinal() < levels.getMinimumLevel().ordinal()) {
+			return;
 		}
 
-		Level activeLevel;
-		if (customLevels.isEmpty()) {
-			if (stackTraceElement == null && requiredLogEntryValues[tagIndex][level.ordinal()].contains(LogEntryValue.CLASS)) {
-				stackTraceElement = new StackTraceElement(RuntimeProvider.getCallerClassName(depth + 1), "<unknown>", null, -1);
+		ActiveWriters active = enterActiveWriters();
+		try {
+			int tagIndex = active.getTagIndex(tag);
+			int required = active.getRequiredLogEntryValues()[tagIndex * LEVEL_COUNT + level.ordinal()];
+
+			StackTraceElement stackTraceElement;
+			if ((active.getRequiredLogEntryValues()[tagIndex * LEVEL_COUNT + Level.ERROR.ordinal()] & FULL_STACK_TRACE) != 0) {
+				stackTraceElement = RuntimeProvider.getCallerStackTraceElement(depth + 1);
+			} else {
+				stackTraceElement = null;
 			}
-			activeLevel = globalLevel;
-		} else {
-			if (stackTraceElement == null) {
-				stackTraceElement = new StackTraceElement(RuntimeProvider.getCallerClassName(depth + 1), "<unknown>", null, -1);
+
+			Level activeLevel = levels.getTagLevel(tag);
+			if (activeLevel != null || !levels.hasCustomLevels()) {
+				if (stackTraceElement == null && (required & CLASS) != 0) {
+					stackTraceElement = new StackTraceElement(RuntimeProvider.getCallerClassName(depth + 1), "<unknown>", null, -1);
+				}
+				if (activeLevel == null) {
+					activeLevel = levels.getGlobalLevel();
+				}
+			} else {
+				if (stackTraceElement == null) {
+					stackTraceElement = new StackTraceElement(RuntimeProvider.getCallerClassName(depth + 1), "<unknown>", null, -1);
+				}
+				activeLevel = levels.getLevel(stackTraceElement.getClassName());
 			}
-			activeLevel = getLevel(stackTraceElement.getClassName());
-		}
 
-		if (activeLevel.ordinal() <= level.ordinal()) {
-			LogEntry logEntry = createLogEntry(stackTraceElement, tag, tagIndex, level, exception, obj, arguments);
-			output(logEntry, writers[tagIndex][logEntry.getLevel().ordinal()]);
+			if (activeLevel.ordinal() <= level.ordinal()) {
+				if (metrics != null) {
+					metrics.countIssued(level);
+				}
+				Filter[] filters = active.getFilters();
+				LogMessage message = filters.length == 0 ? null : new LogMessage(obj, arguments, formatter);
+				long suppressed = filter(filters, stackTraceElement, tag, level, message);
+				if (suppressed != Filter.DISCARD) {
+					Writer[] writers = sample(active.getWriters()[tagIndex * LEVEL_COUNT + level.ordinal()], level, context);
+					if (writers.length > 0) {
+						LogEntry logEntry = message != null && message.isResolved()
+							? createLogEntry(stackTraceElement, tag, required, level, exception, message.getText(), null, suppressed)
+							: createLogEntry(stackTraceElement, tag, required, level, exception, obj, arguments, suppressed);
+						output(active.getWritingThread(), logEntry, writers);
+					}
+				} else if (metrics != null) {
+					metrics.countDropped();
+				}
+			}
+		} finally {
+			active.exit();
 		}
 	}
 
 	@Override
 	public void log(final String loggerClassName, final String tag, final Level level, final Throwable exception, final Object obj,
 		final Object... arguments) {
-		int tagIndex = getTagIndex(tag);
-
-		StackTraceElement stackTraceElement;
-		if (fullStackTraceRequired.get(tagIndex)) {
-			stackTraceElement = RuntimeProvider.getCallerStackTraceElement(loggerClassName);
-		} else {
-			stackTraceElement = null;
+		ActiveLevels levels = activeLevels;
+		if (level.ordinal() < levels.getMinimumLevel().ordinal()) {
+			return;
 		}
 
-		Level activeLevel;
-		if (customLevels.isEmpty()) {
-			if (stackTraceElement == null && requiredLogEntryValues[tagIndex][level.ordinal()].contains(LogEntryValue.CLASS)) {
-				stackTraceElement = new StackTraceElement(RuntimeProvider.getCallerClassName(loggerClassName), "<unknown>", null, -1);
+		ActiveWriters active = enterActiveWriters();
+		try {
+			int tagIndex = active.getTagIndex(tag);
+			int required = active.getRequiredLogEntryValues()[tagIndex * LEVEL_COUNT + level.ordinal()];
+
+			StackTraceElement stackTraceElement;
+			if ((active.getRequiredLogEntryValues()[tagIndex * LEVEL_COUNT + Level.ERROR.ordinal()] & FULL_STACK_TRACE) != 0) {
+				stackTraceElement = RuntimeProvider.getCallerStackTraceElement(loggerClassName);
+			} else {
+				stackTraceElement = null;
 			}
-			activeLevel = globalLevel;
-		} else {
-			if (stackTraceElement == null) {
-				stackTraceElement = new StackTraceElement(RuntimeProvider.getCallerClassName(loggerClassName), "<unknown>", null, -1);
+
+			Level activeLevel = levels.getTagLevel(tag);
+			if (activeLevel != null || !levels.hasCustomLevels()) {
+				if (stackTraceElement == null && (required & CLASS) != 0) {
+					stackTraceElement = new StackTraceElement(RuntimeProvider.getCallerClassName(loggerClassName), "<unknown>", null, -1);
+				}
+				if (activeLevel == null) {
+					activeLevel = levels.getGlobalLevel();
+				}
+			} else {
+				if (stackTraceElement == null) {
+					stackTraceElement = new StackTraceElement(RuntimeProvider.getCallerClassName(loggerClassName), "<unknown>", null, -1);
+				}
+				activeLevel = levels.getLevel(stackTraceElement.getClassName());
+			}
+
+			if (activeLevel.ordinal() <= level.ordinal()) {
+				if (metrics != null) {
+					metrics.countIssued(level);
+				}
+				Filter[] filters = active.getFilters();
+				LogMessage message = filters.length == 0 ? null : new LogMessage(obj, arguments, formatter);
+				long suppressed = filter(filters, stackTraceElement, tag, level, message);
+				if (suppressed != Filter.DISCARD) {
+					Writer[] writers = sample(active.getWriters()[tagIndex * LEVEL_COUNT + level.ordinal()], level, context);
+					if (writers.length > 0) {
+						LogEntry logEntry = message != null && message.isResolved()
+							? createLogEntry(stackTraceElement, tag, required, level, exception, message.getText(), null, suppressed)
+							: createLogEntry(stackTraceElement, tag, required, level, exception, obj, arguments, suppressed);
+						output(active.getWritingThread(), logEntry, writers);
+					}
+				} else if (metrics != null) {
+					metrics.countDropped();
+				}
 			}
-			activeLevel = getLevel(stackTraceElement.getClassName());
+		} finally {
+			active.exit();
 		}
+	}
 
-		if (activeLevel.ordinal() <= level.ordinal()) {
-			LogEntry logEntry = createLogEntry(stackTraceElement, tag, tagIndex, level, exception, obj, arguments);
-			output(logEntry, writers[tagIndex][logEntry.getLevel().ordinal()]);
+	@Override
+	public void setGlobalLevel(final Level level) {
+		synchronized (mutex) {
+			activeLevels = activeLevels.withGlobalLevel(level);
+		}
+	}
+
+	@Override
+	public void setLevel(final String packageOrClass, final Level level) {
+		synchronized (mutex) {
+			activeLevels = activeLevels.withCustomLevel(packageOrClass, level);
+		}
+	}
+
+	@Override
+	public void setTagLevel(final String tag, final Level level) {
+		synchronized (mutex) {
+			activeLevels = activeLevels.withTagLevel(tag, level);
+		}
+	}
+
+	@Override
+	public void reload() {
+		synchronized (mutex) {
+			if (shutdown) {
+				return;
+			}
+
+			ActiveLevels levels = loadLevels();
+			ActiveWriters previous = activeWriters;
+
+			if (previous == null) {
+				activeLevels = levels;
+				return;
+			}
+
+			activeWriters = createActiveWriters(this, levels, metrics);
+			activeLevels = levels;
+			exportMetrics();
+
+			retiredWriters.add(previous);
+			startRetirementThread(this, previous);
 		}
 	}
 
 	@Override
 	public void shutdown() throws InterruptedException {
-		if (writingThread == null) {
-			for (Writer writer : getAllWriters(writers)) {
+		if (watcher != null) {
+			watcher.close();
+		}
+
+		List<ActiveWriters> snapshots = new ArrayList<ActiveWriters>();
+		synchronized (mutex) {
+			shutdown = true;
+			snapshots.addAll(retiredWriters);
+			retiredWriters.clear();
+			if (activeWriters != null) {
+				snapshots.add(activeWriters);
+			}
+			if (exporter != null) {
+				exporter.unregister();
+			}
+		}
+
+		for (ActiveWriters snapshot : snapshots) {
+			snapshot.close();
+		}
+
+		for (ActiveWriters snapshot : snapshots) {
+			WritingThread writingThread = snapshot.getWritingThread();
+			if (writingThread != null) {
+				writingThread.join();
+			}
+		}
+	}
+
+	/**
+	 * Loads the global and custom severity levels from configuration.
+	 *
+	 * @return Active severity levels
+	 */
+	private static ActiveLevels loadLevels() {
+		return new ActiveLevels(ConfigurationParser.getGlobalLevel(), ConfigurationParser.getCustomLevels(),
+			Collections.<String, Level>emptyMap());
+	}
+
+	/**
+	 * Creates all tags, filters and writers from configuration. The writers are registered down to the lowest severity
+	 * level that is either active or can be enabled at runtime. Summarizing filters are started and report their
+	 * summaries to the writers of the created snapshot.
+	 *
+	 * @param provider
+	 *            Logging provider for creating summary log entries
+	 * @param levels
+	 *            Active severity levels
+	 * @param metrics
+	 *            Metrics for recording or {@code null} if metrics are disabled
+	 * @return Snapshot with created tags, filters and writers
+	 */
+	private static ActiveWriters createActiveWriters(final TinylogLoggingProvider provider, final ActiveLevels levels,
+		final LoggingMetrics metrics) {
+		List<String> knownTags = ConfigurationParser.getTags();
+		Filter[] filters = ConfigurationParser.createFilters();
+		Level minimumLevel = getLowestLevel(levels);
+		boolean hasWritingThread = ConfigurationParser.isWritingThreadEnabled();
+
+		Writer[][] writers = compileWriters(ConfigurationParser.createWriters(knownTags, minimumLevel, hasWritingThread, metrics));
+		int[] requiredLogEntryValues = calculateRequiredLogEntryValues(writers);
+		WritingThread writingThread = hasWritingThread ? createWritingThread(writers, metrics) : null;
+
+		final ActiveWriters active = new ActiveWriters(knownTags, filters, writers, requiredLogEntryValues, writingThread);
+
+		for (Filter filter : filters) {
+			if (filter instanceof SummarizingFilter) {
+				SummarizingFilter summarizingFilter = (SummarizingFilter) filter;
+				summarizingFilter.start(new Reporter() {
+					@Override
+					public void report(final StackTraceElement stackTraceElement, final String tag, final Level level, final String message,
+						final long suppressed) {
+						provider.report(active, stackTraceElement, tag, level, message, suppressed);
+					}
+				});
+			}
+		}
+
+		return active;
+	}
+
+	/**
+	 * Starts a daemon thread that creates the writers of a logging provider.
+	 *
+	 * @param provider
+	 *            Logging provider with lazy initialization
+	 */
+	private static void startInitializationThread(final TinylogLoggingProvider provider) {
+		Thread thread = new Thread(INITIALIZATION_THREAD_NAME) {
+			@Override
+			public void run() {
+				provider.initialize();
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Starts a daemon thread that retires a replaced snapshot of a logging provider and closes it as soon as all log
+	 * calls that have entered the snapshot before it was replaced are completed.
+	 *
+	 * @param provider
+	 *            Logging provider that has replaced the snapshot
+	 * @param snapshot
+	 *            Replaced snapshot
+	 */
+	private static void startRetirementThread(final TinylogLoggingProvider provider, final ActiveWriters snapshot) {
+		Thread thread = new Thread(RETIREMENT_THREAD_NAME) {
+			@Override
+			public void run() {
+				snapshot.retire();
 				try {
-					writer.close();
-				} catch (Exception ex) {
-					InternalLogger.log(Level.ERROR, ex, "Failed to close writer");
+					while (!snapshot.isIdle()) {
+						Thread.sleep(RETIREMENT_POLL_INTERVAL);
+					}
+				} catch (InterruptedException ex) {
+					// Close immediately
 				}
+				provider.retire(snapshot);
 			}
-		} else {
-			writingThread.shutdown();
-			writingThread.join();
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Gets the lowest severity level that is either active or can be enabled at runtime.
+	 *
+	 * @param levels
+	 *            Active severity levels
+	 * @return Lowest severity level
+	 */
+	private static Level getLowestLevel(final ActiveLevels levels) {
+		Level minimumLevel = levels.getMinimumLevel();
+		Level adjustableLevel = ConfigurationParser.getAdjustableLevel();
+		return adjustableLevel.ordinal() < minimumLevel.ordinal() ? adjustableLevel : minimumLevel;
+	}
+
+	/**
+	 * Creates a watcher for the configuration file.
+	 *
+	 * @return Running watcher or {@code null} if the configuration file cannot be watched
+	 */
+	private static ConfigurationWatcher createWatcher() {
+		if (!ConfigurationWatcher.isSupported()) {
+			InternalLogger.log(Level.WARN, "Watching the configuration file requires Java 7 or later");
+			return null;
+		}
+
+		URL source = Configuration.getSource();
+		if (source == null || !"file".equals(source.getProtocol())) {
+			InternalLogger.log(Level.WARN, "Configuration '" + source + "' is not a file and cannot be watched");
+			return null;
+		}
+
+		try {
+			return new ConfigurationWatcher(new File(source.toURI()));
+		} catch (URISyntaxException ex) {
+			InternalLogger.log(Level.ERROR, ex, "Invalid configuration file '" + source + "'");
+			return null;
+		} catch (IOException ex) {
+			InternalLogger.log(Level.ERROR, ex, "Failed to watch configuration file '" + source + "'");
+			return null;
 		}
 	}
 
 	/**
-	 * Calculates the minimum severity level that can output any log entries.
+	 * Compiles a matrix of writers into a flat table. The writers for a tag and severity level can be found at the
+	 * index {@code tagIndex * LEVEL_COUNT + levelIndex}.
 	 *
-	 * @param globalLevel
-	 *            Global severity level
-	 * @param customLevels
-	 *            Custom severity levels for packages and classes
-	 * @return Minimum severity level
+	 * @param matrix
+	 *            Matrix with registered writers
+	 * @return Table with one writer array for each tag and severity level
 	 */
-	private static Level calculateMinimumLevel(final Level globalLevel, final Map<String, Level> customLevels) {
-		Level minimumLevel = globalLevel;
-		for (Level level : customLevels.values()) {
-			if (level.ordinal() < minimumLevel.ordinal()) {
-				minimumLevel = level;
+	private static Writer[][] compileWriters(final Collection<Writer>[][] matrix) {
+		Writer[][] table = new Writer[matrix.length * LEVEL_COUNT][];
+
+		for (int tagIndex = 0; tagIndex < matrix.length; ++tagIndex) {
+			for (int levelIndex = 0; levelIndex < LEVEL_COUNT; ++levelIndex) {
+				Collection<Writer> writers = matrix[tagIndex][levelIndex];
+				table[tagIndex * LEVEL_COUNT + levelIndex] = writers.toArray(new Writer[writers.size()]);
 			}
 		}
-		return minimumLevel;
+
+		return table;
 	}
 
 	/**
-	 * Creates a matrix with all required log entry values for each tag and severity level.
+	 * Creates a table with all required log entry values as bitmask for each tag and severity level.
 	 *
 	 * @param writers
-	 *            Matrix with registered writers
-	 * @return Matrix with all required log entry values
+	 *            Table with registered writers
+	 * @return Table with bitmasks of all required log entry values
 	 */
-	@SuppressWarnings("unchecked")
-	private static Collection<LogEntryValue>[][] calculateRequiredLogEntryValues(final Collection<Writer>[][] writers) {
-		Collection<LogEntryValue>[][] logEntryValues = new Collection[writers.length][Level.values().length - 1];
-
-		for (int tagIndex = 0; tagIndex < writers.length; ++tagIndex) {
-			for (int levelIndex = 0; levelIndex < Level.OFF.ordinal(); ++levelIndex) {
-				Set<LogEntryValue> values = EnumSet.noneOf(LogEntryValue.class);
-				for (Writer writer : writers[tagIndex][levelIndex]) {
-					values.addAll(writer.getRequiredLogEntryValues());
+	private static int[] calculateRequiredLogEntryValues(final Writer[][] writers) {
+		int[] logEntryValues = new int[writers.length];
+
+		for (int i = 0; i < writers.length; ++i) {
+			for (Writer writer : writers[i]) {
+				for (LogEntryValue value : writer.getRequiredLogEntryValues()) {
+					logEntryValues[i] |= toBitmask(value);
 				}
-				logEntryValues[tagIndex][levelIndex] = values;
 			}
 		}
 
@@ -228,93 +574,144 @@ public class TinylogLoggingProvider implements LoggingProvider {
 	}
 
 	/**
-	 * Calculates for which tag a full stack trace element with method name, file name and line number is required.
+	 * Converts a log entry value into a bitmask with a single set bit.
 	 *
-	 * @param logEntryValues
-	 *            Matrix with required log entry values
-	 * @return Each set bit represents a tag that requires a full stack trace element
+	 * @param value
+	 *            Log entry value
+	 * @return Bitmask that represents the passed log entry value
 	 */
-	private static BitSet calculateFullStackTraceRequirements(final Collection<LogEntryValue>[][] logEntryValues) {
-		BitSet result = new BitSet(logEntryValues.length);
-		for (int i = 0; i < logEntryValues.length; ++i) {
-			Collection<LogEntryValue> values = logEntryValues[i][Level.ERROR.ordinal()];
-			if (values.contains(LogEntryValue.METHOD) || values.contains(LogEntryValue.FILE) || values.contains(LogEntryValue.LINE)) {
-				result.set(i);
-			}
-		}
-		return result;
+	private static int toBitmask(final LogEntryValue value) {
+		return 1 << value.ordinal();
 	}
 
 	/**
-	 * Creates a writing thread for a matrix of writers.
+	 * Creates a writing thread for a table of writers.
 	 *
-	 * @param matrix
+	 * @param table
 	 *            All writers
+	 * @param metrics
+	 *            Metrics for reporting the queue size or {@code null} if metrics are disabled
 	 * @return Initialized and running writhing thread
 	 */
-	private static WritingThread createWritingThread(final Collection<Writer>[][] matrix) {
-		Collection<Writer> writers = getAllWriters(matrix);
-		WritingThread thread = new WritingThread(writers);
+	private static WritingThread createWritingThread(final Writer[][] table, final LoggingMetrics metrics) {
+		Collection<Writer> writers = ActiveWriters.getAllWriters(table);
+		WritingThread thread = new WritingThread(writers, metrics);
 		thread.start();
 		return thread;
 	}
 
 	/**
-	 * Collects all writer instances from a matrix of writers.
+	 * Gets the current snapshot of tags, filters and writers. If writers are initialized lazily and not created yet,
+	 * they will be created.
 	 *
-	 * @param matrix
-	 *            All writers
-	 * @return Collection that contains each writer only once
+	 * @return Current snapshot
 	 */
-	private static Collection<Writer> getAllWriters(final Collection<Writer>[][] matrix) {
-		Collection<Writer> writers = Collections.newSetFromMap(new IdentityHashMap<Writer, Boolean>());
-		for (int i = 0; i < matrix.length; ++i) {
-			for (int j = 0; j < matrix[i].length; ++j) {
-				writers.addAll(matrix[i][j]);
-			}
-		}
-		return writers;
+	private ActiveWriters getActiveWriters() {
+		ActiveWriters active = activeWriters;
+		return active == null ? initialize() : active;
 	}
 
 	/**
-	 * Gets the index of a tag.
+	 * Gets the current snapshot of tags, filters and writers and {@link ActiveWriters#enter() enters} it. The caller
+	 * has to {@link ActiveWriters#exit() exit} the returned snapshot after use.
 	 *
-	 * @param tag
-	 *            Name of tag
-	 * @return Index of tag
+	 * @return Entered current snapshot
 	 */
-	private int getTagIndex(final String tag) {
-		if (tag == null) {
-			return 0;
-		} else {
-			int index = knownTags.indexOf(tag);
-			return index == -1 ? knownTags.size() + 1 : index + 1;
+	private ActiveWriters enterActiveWriters() {
+		while (true) {
+			ActiveWriters active = getActiveWriters();
+			if (active.enter()) {
+				return active;
+			}
 		}
 	}
 
 	/**
-	 * Gets the severity level for a class. If there is no custom severity level for the class or one of it's
-	 * (sub-)packages, the global severity level will be returned.
+	 * Creates tags, filters and writers, if they are not created yet. After shutdown, an empty snapshot without any
+	 * writers will be created instead, so that no files or connections are opened anymore.
 	 *
-	 * @param className
-	 *            Fully-qualified class name
-	 * @return Severity level for given class
+	 * @return Current snapshot
 	 */
-	private Level getLevel(final String className) {
-		String key = className;
-		while (true) {
-			Level customLevel = customLevels.get(key);
-			if (customLevel == null) {
-				int index = key.lastIndexOf('.');
-				if (index == -1) {
-					return globalLevel;
+	private ActiveWriters initialize() {
+		synchronized (mutex) {
+			if (activeWriters == null) {
+				if (shutdown) {
+					activeWriters = createEmptyActiveWriters();
 				} else {
-					key = key.substring(0, index);
+					activeWriters = createActiveWriters(this, activeLevels, metrics);
+					exportMetrics();
 				}
+			}
+			return activeWriters;
+		}
+	}
+
+	/**
+	 * Creates a snapshot without any tags, filters and writers.
+	 *
+	 * @return Empty snapshot
+	 */
+	private static ActiveWriters createEmptyActiveWriters() {
+		Writer[][] writers = new Writer[2 * LEVEL_COUNT][];
+		Arrays.fill(writers, new Writer[0]);
+		return new ActiveWriters(Collections.<String>emptyList(), new Filter[0], writers, new int[writers.length], null);
+	}
+
+	/**
+	 * Registers the current metrics as MBeans, if JMX is enabled.
+	 */
+	private void exportMetrics() {
+		if (exporter != null) {
+			synchronized (mutex) {
+				exporter.update();
+			}
+		}
+	}
+
+	/**
+	 * Closes a replaced snapshot of tags, filters and writers. The snapshot remains registered as retired until it is
+	 * completely closed. Thus, a concurrent shutdown waits for the closing of the snapshot.
+	 *
+	 * @param snapshot
+	 *            Replaced snapshot
+	 */
+	private void retire(final ActiveWriters snapshot) {
+		snapshot.close();
+
+		synchronized (mutex) {
+			retiredWriters.remove(snapshot);
+		}
+	}
+
+	/**
+	 * Passes an issued log entry through all configured filters. Evaluation stops at the first filter that discards
+	 * the log entry.
+	 *
+	 * @param filters
+	 *            All filters in order of evaluation
+	 * @param stackTraceElement
+	 *            Optional stack trace element of caller
+	 * @param tag
+	 *            Tag name if issued from a tagged logger
+	 * @param level
+	 *            Severity level
+	 * @param message
+	 *            Lazily resolved message or {@code null} if there are no filters
+	 * @return {@link Filter#DISCARD} if the log entry should be discarded, otherwise the total number of previously
+	 *         discarded similar log entries to report
+	 */
+	private static long filter(final Filter[] filters, final StackTraceElement stackTraceElement, final String tag, final Level level,
+		final LogMessage message) {
+		long suppressed = Filter.ACCEPT;
+		for (Filter filter : filters) {
+			long result = filter.filter(stackTraceElement, tag, level, message);
+			if (result == Filter.DISCARD) {
+				return Filter.DISCARD;
 			} else {
-				return customLevel;
+				suppressed += result;
 			}
 		}
+		return suppressed;
 	}
 
 	/**
@@ -324,8 +721,8 @@ public class TinylogLoggingProvider implements LoggingProvider {
 	 *            Optional stack trace element of caller
 	 * @param tag
 	 *            Tag name if issued from a tagged logger
-	 * @param tagIndex
-	 *            Index of tag
+	 * @param required
+	 *            Bitmask of required log entry values
 	 * @param level
 	 *            Severity level
 	 * @param exception
@@ -334,15 +731,15 @@ public class TinylogLoggingProvider implements LoggingProvider {
 	 *            Message to log
 	 * @param arguments
 	 *            Arguments for message
+	 * @param suppressed
+	 *            Number of previously discarded similar log entries to report
 	 * @return Filled log entry
 	 */
-	private LogEntry createLogEntry(final StackTraceElement stackTraceElement, final String tag, final int tagIndex, final Level level,
-		final Throwable exception, final Object obj, final Object[] arguments) {
-		Collection<LogEntryValue> required = requiredLogEntryValues[tagIndex][level.ordinal()];
-
+	private LogEntry createLogEntry(final StackTraceElement stackTraceElement, final String tag, final int required, final Level level,
+		final Throwable exception, final Object obj, final Object[] arguments, final long suppressed) {
 		Timestamp timestamp = RuntimeProvider.createTimestamp();
-		Thread thread = required.contains(LogEntryValue.THREAD) ? Thread.currentThread() : null;
-		Map<String, String> context = required.contains(LogEntryValue.CONTEXT) ? this.context.getMapping() : null;
+		Thread thread = (required & THREAD) != 0 ? Thread.currentThread() : null;
+		Map<String, String> context = (required & CONTEXT) != 0 ? this.context.getMapping() : null;
 
 		String className;
 		String methodName;
@@ -368,29 +765,92 @@ public class TinylogLoggingProvider implements LoggingProvider {
 			message = formatter.format((String) obj, arguments);
 		}
 
+		if (suppressed > 0) {
+			String summary = suppressed + (suppressed == 1 ? " similar log entry suppressed" : " similar log entries suppressed");
+			message = message == null ? summary : message + " (" + summary + ")";
+		}
+
 		return new LogEntry(timestamp, thread, context, className, methodName, fileName, lineNumber, tag, level, message, exception);
 	}
 
+	/**
+	 * Outputs a summary log entry for suppressed log entries.
+	 *
+	 * @param active
+	 *            Snapshot whose writers should output the summary
+	 * @param stackTraceElement
+	 *            Optional stack trace element of the suppressed log entries
+	 * @param tag
+	 *            Tag name of the suppressed log entries
+	 * @param level
+	 *            Severity level of the suppressed log entries
+	 * @param message
+	 *            Resolved message of the suppressed log entries
+	 * @param suppressed
+	 *            Number of suppressed log entries
+	 */
+	private void report(final ActiveWriters active, final StackTraceElement stackTraceElement, final String tag, final Level level,
+		final String message, final long suppressed) {
+		int index = active.getTagIndex(tag) * LEVEL_COUNT + level.ordinal();
+		Writer[] writers = active.getWriters()[index];
+		if (writers.length > 0) {
+			int required = active.getRequiredLogEntryValues()[index];
+			LogEntry logEntry = createLogEntry(stackTraceElement, tag, required, level, null, message, null, suppressed);
+			output(active.getWritingThread(), logEntry, writers);
+		}
+	}
+
+	/**
+	 * Removes all sampling writers that discard a log entry from the passed writers. The sampling decision is made
+	 * before the log entry is created, so that discarded log entries are never formatted.
+	 *
+	 * @param writers
+	 *            All writers for outputting a log entry
+	 * @param level
+	 *            Severity level of the log entry
+	 * @param context
+	 *            Context provider for sampling by context values
+	 * @return Passed writers if all accept the log entry, otherwise a new array with all accepting writers
+	 */
+	private static Writer[] sample(final Writer[] writers, final Level level, final ContextProvider context) {
+		List<Writer> accepted = null;
+
+		for (int i = 0; i < writers.length; ++i) {
+			Writer writer = writers[i];
+			if (writer instanceof SamplingWriter && !((SamplingWriter) writer).isSampled(level, context)) {
+				if (accepted == null) {
+					accepted = new ArrayList<Writer>(Arrays.asList(writers).subList(0, i));
+				}
+			} else if (accepted != null) {
+				accepted.add(writer);
+			}
+		}
+
+		return accepted == null ? writers : accepted.toArray(new Writer[accepted.size()]);
+	}
+
 	/**
 	 * Outputs a log entry to all passed writers.
 	 * 
+	 * @param writingThread
+	 *            Writing thread or {@code null} for calling the writers directly
 	 * @param logEntry
 	 *            Log entry to be output
 	 * @param writers
 	 *            All writers for outputting the passed log entry
 	 */
-	private void output(final LogEntry logEntry, final Iterable<Writer> writers) {
+	private static void output(final WritingThread writingThread, final LogEntry logEntry, final Writer[] writers) {
 		if (writingThread == null) {
-			for (Writer writer : writers) {
+			for (int i = 0; i < writers.length; ++i) {
 				try {
-					writer.write(logEntry);
+					writers[i].write(logEntry);
 				} catch (Exception ex) {
 					InternalLogger.log(Level.ERROR, ex, "Failed to write log entry '" + logEntry.getMessage() + "'");
 				}
 			}
 		} else {
-			for (Writer writer : writers) {
-				writingThread.add(writer, logEntry);
+			for (int i = 0; i < writers.length; ++i) {
+				writingThread.add(writers[i], logEntry);
 			}
 		}
 	}
@@ -17,8 +17,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.LockSupport;
 
 import org.tinylog.Level;
+import org.tinylog.metrics.LoggingMetrics;
 import org.tinylog.provider.InternalLogger;
 import org.tinylog.writers.Writer;
 
@@ -28,10 +30,11 @@ import org.tinylog.writers.Writer;
 final class WritingThread extends Thread {
 
 	private static final String THREAD_NAME = "tinylog-WritingThread";
-	private static final long MILLISECONDS_TO_SLEEP = 10L;
+	private static final long NANOSECONDS_TO_SLEEP = 10000000L; // 10 ms
 
 	private final Object mutex;
 	private final Collection<Writer> writers;
+	private final LoggingMetrics metrics;
 	private List<Task> tasks;
 
 	/**
@@ -39,8 +42,19 @@ final class WritingThread extends Thread {
 	 *            Open writers
 	 */
 	WritingThread(final Collection<Writer> writers) {
+		this(writers, null);
+	}
+
+	/**
+	 * @param writers
+	 *            Open writers
+	 * @param metrics
+	 *            Metrics for reporting the queue size or {@code null} if metrics are disabled
+	 */
+	WritingThread(final Collection<Writer> writers, final LoggingMetrics metrics) {
 		this.mutex = new Object();
 		this.writers = writers;
+		this.metrics = metrics;
 		this.tasks = new ArrayList<Task>();
 
 		setName(THREAD_NAME);
@@ -68,11 +82,7 @@ final class WritingThread extends Thread {
 			flush(writers);
 			writers.clear();
 
-			try {
-				sleep(MILLISECONDS_TO_SLEEP);
-			} catch (InterruptedException ex) {
-				// Ignore and continue
-			}
+			LockSupport.parkNanos(NANOSECONDS_TO_SLEEP);
 		}
 	}
 
@@ -88,6 +98,9 @@ final class WritingThread extends Thread {
 		Task task = new Task(writer, logEntry);
 		synchronized (mutex) {
 			tasks.add(task);
+			if (metrics != null) {
+				metrics.updateQueueSize(tasks.size());
+			}
 		}
 	}
 
@@ -96,7 +109,8 @@ final class WritingThread extends Thread {
 	 *
 	 * <p>
 	 * This method doesn't wait until the writing thread is down. {@link Thread#join()} can be used afterwards to wait
-	 * for termination.
+	 * for termination. The writing thread is woken up by unparking instead of interrupting, as an interrupt would close
+	 * interruptible file channels of writers that are currently writing or waiting for a file lock.
 	 * </p>
 	 */
 	void shutdown() {
@@ -104,7 +118,7 @@ final class WritingThread extends Thread {
 			tasks.add(Task.POISON);
 		}
 
-		interrupt();
+		LockSupport.unpark(this);
 	}
 
 	/**
@@ -119,6 +133,9 @@ final class WritingThread extends Thread {
 			} else {
 				List<Task> currentTasks = tasks;
 				tasks = new ArrayList<Task>();
+				if (metrics != null) {
+					metrics.updateQueueSize(0);
+				}
 				return currentTasks;
 			}
 		}
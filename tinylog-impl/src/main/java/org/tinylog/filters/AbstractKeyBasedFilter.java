@@ -0,0 +1,292 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.filters;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.tinylog.Level;
+
+/**
+ * Base filter that groups log entries by configurable keys and keeps a separate state for each group. The key
+ * components can be defined via the property <tt>key</tt> as comma-separated list. Supported components are
+ * <tt>site</tt> (call site), <tt>tag</tt>, <tt>level</tt>, <tt>message</tt> (resolved message with all arguments) and
+ * <tt>pattern</tt> (message object or format pattern before resolving any arguments).
+ *
+ * <p>
+ * The call site is the stack trace element of the caller. If no writer requires any location information, the stack
+ * trace element will be not available and the message object or format pattern will be used instead, as it is usually
+ * a constant for each logging statement.
+ * </p>
+ *
+ * <p>
+ * At most 10,000 groups are kept. If this limit is reached, all expired states are evicted. If more than 9,000 states
+ * remain, arbitrary states will be evicted until 9,000 states remain. Thus, the costs of an eviction are spread over at
+ * least 1,000 new groups.
+ * </p>
+ *
+ * @param <T>
+ *            Type of state
+ */
+public abstract class AbstractKeyBasedFilter<T> implements Filter {
+
+	private static final int MAX_KEYS = 10000;
+	private static final int RETAINED_KEYS = 9000;
+
+	private final boolean useSite;
+	private final boolean useTag;
+	private final boolean useLevel;
+	private final boolean useMessage;
+	private final boolean usePattern;
+
+	private final ConcurrentMap<Key, T> states;
+	private final AtomicBoolean evicting;
+
+	/**
+	 * @param properties
+	 *            Configuration for filter
+	 * @param defaultKey
+	 *            Comma-separated key components to use, if no key is configured
+	 *
+	 * @throws IllegalArgumentException
+	 *             Configured key contains an unknown component
+	 */
+	public AbstractKeyBasedFilter(final Map<String, String> properties, final String defaultKey) {
+		String key = properties.get("key");
+		if (key == null || key.trim().isEmpty()) {
+			key = defaultKey;
+		}
+
+		boolean site = false;
+		boolean tag = false;
+		boolean level = false;
+		boolean message = false;
+		boolean pattern = false;
+
+		for (String component : key.split(",")) {
+			String name = component.trim().toLowerCase(Locale.ROOT);
+			if ("site".equals(name)) {
+				site = true;
+			} else if ("tag".equals(name)) {
+				tag = true;
+			} else if ("level".equals(name)) {
+				level = true;
+			} else if ("message".equals(name)) {
+				message = true;
+			} else if ("pattern".equals(name)) {
+				pattern = true;
+			} else if (!name.isEmpty()) {
+				throw new IllegalArgumentException("Unknown key component \"" + name + "\" for filter");
+			}
+		}
+
+		useSite = site;
+		useTag = tag;
+		useLevel = level;
+		useMessage = message;
+		usePattern = pattern;
+
+		states = new ConcurrentHashMap<Key, T>();
+		evicting = new AtomicBoolean();
+	}
+
+	@Override
+	public final long filter(final StackTraceElement stackTraceElement, final String tag, final Level level, final LogMessage message) {
+		Key key = new Key(
+			useSite ? (stackTraceElement == null ? message.getObject() : stackTraceElement) : null,
+			useTag ? tag : null,
+			useLevel ? level : null,
+			useMessage ? message.getText() : null,
+			usePattern ? message.getObject() : null
+		);
+
+		long timestamp = System.currentTimeMillis();
+
+		T state = states.get(key);
+		if (state == null) {
+			if (states.size() >= MAX_KEYS && evicting.compareAndSet(false, true)) {
+				try {
+					evict(timestamp);
+				} finally {
+					evicting.set(false);
+				}
+			}
+
+			T newState = createState(stackTraceElement, tag, level, message.getText());
+			state = states.putIfAbsent(key, newState);
+			if (state == null) {
+				state = newState;
+			}
+		}
+
+		return filter(state, timestamp);
+	}
+
+	/**
+	 * Gets the states of all currently known groups of log entries. The returned collection is a live view and
+	 * supports concurrent modifications.
+	 *
+	 * @return States of all groups
+	 */
+	protected final Collection<T> getStates() {
+		return states.values();
+	}
+
+	/**
+	 * Creates a new state for a group of log entries that has been not seen before.
+	 *
+	 * @param stackTraceElement
+	 *            Stack trace element of the caller or {@code null} if no writer requires any location information
+	 * @param tag
+	 *            Tag name if issued from a tagged logger, otherwise {@code null}
+	 * @param level
+	 *            Severity level
+	 * @param message
+	 *            Resolved message of the first log entry of the group
+	 * @return New state
+	 */
+	protected abstract T createState(StackTraceElement stackTraceElement, String tag, Level level, String message);
+
+	/**
+	 * Checks whether a state can be evicted without losing any information. Expired states are evicted first, if the
+	 * maximum number of groups is reached.
+	 *
+	 * @param state
+	 *            State to check
+	 * @param timestamp
+	 *            Current time in milliseconds
+	 * @return {@code true} if the state would behave like a new state, {@code false} if not
+	 */
+	protected abstract boolean isExpired(T state, long timestamp);
+
+	/**
+	 * Handles a state that has been evicted although it has not been expired yet.
+	 *
+	 * @param state
+	 *            Evicted state
+	 */
+	protected abstract void discard(T state);
+
+	/**
+	 * Checks whether an issued log entry should be output.
+	 *
+	 * <p>
+	 * This method can be called simultaneously by multiple threads for the same state.
+	 * </p>
+	 *
+	 * @param state
+	 *            State of the group to which the log entry belongs
+	 * @param timestamp
+	 *            Current time in milliseconds
+	 * @return {@link #DISCARD} if the log entry should be discarded, otherwise the number of previously discarded
+	 *         similar log entries that should be reported ({@link #ACCEPT} for none)
+	 */
+	protected abstract long filter(T state, long timestamp);
+
+	/**
+	 * Evicts all expired states. If there are still more states than should be retained, arbitrary states will be
+	 * evicted as well.
+	 *
+	 * @param timestamp
+	 *            Current time in milliseconds
+	 */
+	private void evict(final long timestamp) {
+		for (Iterator<T> iterator = states.values().iterator(); iterator.hasNext();) {
+			if (isExpired(iterator.next(), timestamp)) {
+				iterator.remove();
+			}
+		}
+
+		for (Iterator<T> iterator = states.values().iterator(); states.size() > RETAINED_KEYS && iterator.hasNext();) {
+			T state = iterator.next();
+			iterator.remove();
+			discard(state);
+		}
+	}
+
+	/**
+	 * Composite key for grouping log entries. Unused components are {@code null}.
+	 */
+	private static final class Key {
+
+		private static final int HASH_MULTIPLIER = 31;
+
+		private final Object site;
+		private final String tag;
+		private final Level level;
+		private final String message;
+		private final Object pattern;
+
+		/**
+		 * @param site
+		 *            Call site
+		 * @param tag
+		 *            Tag name
+		 * @param level
+		 *            Severity level
+		 * @param message
+		 *            Resolved message
+		 * @param pattern
+		 *            Message object or format pattern
+		 */
+		private Key(final Object site, final String tag, final Level level, final String message, final Object pattern) {
+			this.site = site;
+			this.tag = tag;
+			this.level = level;
+			this.message = message;
+			this.pattern = pattern;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = site == null ? 0 : site.hashCode();
+			hash = hash * HASH_MULTIPLIER + (tag == null ? 0 : tag.hashCode());
+			hash = hash * HASH_MULTIPLIER + (level == null ? 0 : level.hashCode());
+			hash = hash * HASH_MULTIPLIER + (message == null ? 0 : message.hashCode());
+			hash = hash * HASH_MULTIPLIER + (pattern == null ? 0 : pattern.hashCode());
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj instanceof Key) {
+				Key other = (Key) obj;
+				return equals(site, other.site) && equals(tag, other.tag) && level == other.level && equals(message, other.message)
+					&& equals(pattern, other.pattern);
+			} else {
+				return false;
+			}
+		}
+
+		/**
+		 * Compares two nullable objects.
+		 *
+		 * @param first
+		 *            First object
+		 * @param second
+		 *            Second object
+		 * @return {@code true} if both objects are {@code null} or equal, otherwise {@code false}
+		 */
+		private static boolean equals(final Object first, final Object second) {
+			return first == null ? second == null : first.equals(second);
+		}
+
+	}
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.filters;
+
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+
+import org.tinylog.Level;
+import org.tinylog.core.ConfigurationParser;
+
+/**
+ * Filter for suppressing duplicate log entries. Only the first log entry of a group will be output within a defined
+ * interval. By default, log entries are grouped by resolved message, tag and severity level.
+ *
+ * <p>
+ * The interval can be defined via the property <tt>interval</tt> (e.g. "30s" or "5m"). Numbers without unit are
+ * interpreted as seconds. The default interval is one minute. The number of suppressed log entries will be reported as
+ * separate summary log entry as soon as the interval has elapsed. A background thread checks all groups once per
+ * interval. Pending summaries are reported at the latest when the filter is stopped.
+ * </p>
+ */
+public final class DuplicateFilter extends AbstractKeyBasedFilter<DuplicateFilter.Window> implements SummarizingFilter {
+
+	private static final String DEFAULT_KEY = "message, tag, level";
+	private static final String DEFAULT_INTERVAL = "1m";
+	private static final String THREAD_NAME = "tinylog-DuplicateFilterThread";
+
+	private final long interval;
+	private final Object mutex;
+
+	private volatile Reporter reporter;
+	private Timer timer;
+
+	/**
+	 * @param properties
+	 *            Configuration for filter
+	 *
+	 * @throws IllegalArgumentException
+	 *             A property has an invalid value
+	 */
+	public DuplicateFilter(final Map<String, String> properties) {
+		super(properties, DEFAULT_KEY);
+
+		String value = properties.get("interval");
+		interval = ConfigurationParser.parseDuration(value == null ? DEFAULT_INTERVAL : value, TimeUnit.SECONDS);
+		mutex = new Object();
+	}
+
+	@Override
+	public void start(final Reporter reporter) {
+		synchronized (mutex) {
+			this.reporter = reporter;
+			timer = new Timer(THREAD_NAME, true);
+			timer.schedule(new TimerTask() {
+				@Override
+				public void run() {
+					synchronized (mutex) {
+						if (timer != null) {
+							summarize(System.currentTimeMillis());
+						}
+					}
+				}
+			}, interval, interval);
+		}
+	}
+
+	@Override
+	public void stop() {
+		synchronized (mutex) {
+			if (timer != null) {
+				timer.cancel();
+				timer = null;
+			}
+
+			summarize(Long.MAX_VALUE);
+			reporter = null;
+		}
+	}
+
+	/**
+	 * Reports the numbers of suppressed log entries of all groups whose interval has elapsed.
+	 *
+	 * @param timestamp
+	 *            Current time in milliseconds
+	 */
+	void summarize(final long timestamp) {
+		Reporter current = reporter;
+		if (current == null) {
+			return;
+		}
+
+		for (Window window : getStates()) {
+			long suppressed;
+			synchronized (window) {
+				if (timestamp >= window.end) {
+					suppressed = window.suppressed;
+					window.suppressed = 0L;
+				} else {
+					suppressed = 0L;
+				}
+			}
+
+			if (suppressed > 0L) {
+				window.report(current, suppressed);
+			}
+		}
+	}
+
+	@Override
+	protected Window createState(final StackTraceElement stackTraceElement, final String tag, final Level level, final String message) {
+		return new Window(stackTraceElement, tag, level, message);
+	}
+
+	@Override
+	protected long filter(final Window window, final long timestamp) {
+		long suppressed;
+
+		synchronized (window) {
+			if (window.end == 0L || timestamp >= window.end) {
+				window.end = timestamp + interval;
+				suppressed = window.suppressed;
+				window.suppressed = 0L;
+			} else {
+				window.suppressed += 1L;
+				return DISCARD;
+			}
+		}
+
+		Reporter current = reporter;
+		if (current == null) {
+			return suppressed;
+		} else {
+			if (suppressed > 0L) {
+				window.report(current, suppressed);
+			}
+			return ACCEPT;
+		}
+	}
+
+	@Override
+	protected boolean isExpired(final Window window, final long timestamp) {
+		synchronized (window) {
+			return window.suppressed == 0L && timestamp >= window.end;
+		}
+	}
+
+	@Override
+	protected void discard(final Window window) {
+		Reporter current = reporter;
+		if (current != null) {
+			long suppressed;
+			synchronized (window) {
+				suppressed = window.suppressed;
+				window.suppressed = 0L;
+			}
+
+			if (suppressed > 0L) {
+				window.report(current, suppressed);
+			}
+		}
+	}
+
+	/**
+	 * Suppression window for a group of log entries.
+	 */
+	static final class Window {
+
+		private final StackTraceElement stackTraceElement;
+		private final String tag;
+		private final Level level;
+		private final String message;
+
+		private long end;
+		private long suppressed;
+
+		/**
+		 * @param stackTraceElement
+		 *            Stack trace element of the first log entry
+		 * @param tag
+		 *            Tag of the first log entry
+		 * @param level
+		 *            Severity level of the first log entry
+		 * @param message
+		 *            Resolved message of the first log entry
+		 */
+		private Window(final StackTraceElement stackTraceElement, final String tag, final Level level, final String message) {
+			this.stackTraceElement = stackTraceElement;
+			this.tag = tag;
+			this.level = level;
+			this.message = message;
+		}
+
+		/**
+		 * Reports a number of suppressed log entries of this group.
+		 *
+		 * @param reporter
+		 *            Receiver for the summary
+		 * @param suppressed
+		 *            Number of suppressed log entries
+		 */
+		private void report(final Reporter reporter, final long suppressed) {
+			reporter.report(stackTraceElement, tag, level, message, suppressed);
+		}
+
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.filters;
+
+import org.tinylog.Level;
+
+/**
+ * Filters decide whether an issued log entry will be output. They are evaluated by the logging provider before a log
+ * entry is created. Therefore, discarded log entries cause no further costs. If a filter resolves the message, the
+ * resolved message will be reused for the log entry instead of being resolved a second time.
+ *
+ * <p>
+ * Filters can report the number of previously discarded log entries. This number will be added to the message of the
+ * accepted log entry. Alternatively, {@link SummarizingFilter summarizing filters} report discarded log entries via
+ * separate summary log entries.
+ * </p>
+ */
+public interface Filter {
+
+	/**
+	 * Result for log entries that should be discarded.
+	 */
+	long DISCARD = -1L;
+
+	/**
+	 * Result for log entries that should be output without reporting any discarded log entries.
+	 */
+	long ACCEPT = 0L;
+
+	/**
+	 * Checks whether an issued log entry should be output.
+	 *
+	 * <p>
+	 * This method can be called simultaneously by multiple threads and must be therefore thread-safe.
+	 * </p>
+	 *
+	 * @param stackTraceElement
+	 *            Stack trace element of the caller or {@code null} if no writer requires any location information
+	 * @param tag
+	 *            Tag name if issued from a tagged logger, otherwise {@code null}
+	 * @param level
+	 *            Severity level
+	 * @param message
+	 *            Message that is resolved lazily and can be reused for the log entry
+	 * @return {@link #DISCARD} if the log entry should be discarded, otherwise the number of previously discarded
+	 *         similar log entries that should be reported ({@link #ACCEPT} for none)
+	 */
+	long filter(StackTraceElement stackTraceElement, String tag, Level level, LogMessage message);
+
+}
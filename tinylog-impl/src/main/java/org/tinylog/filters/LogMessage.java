@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.filters;
+
+import org.tinylog.Supplier;
+import org.tinylog.core.MessageFormatter;
+
+/**
+ * Message of an issued log entry that is resolved lazily. Lazy messages are evaluated and placeholders are replaced
+ * at most once, even if the resolved message is requested by multiple filters and for creating the log entry.
+ *
+ * <p>
+ * Instances are created for a single log entry and must not be shared between threads.
+ * </p>
+ */
+public final class LogMessage {
+
+	private final Object object;
+	private final Object[] arguments;
+	private final MessageFormatter formatter;
+
+	private boolean resolved;
+	private String text;
+
+	/**
+	 * @param object
+	 *            Message object or format pattern
+	 * @param arguments
+	 *            Arguments for the format pattern or {@code null} if there are none
+	 * @param formatter
+	 *            Formatter for replacing placeholders with arguments
+	 */
+	public LogMessage(final Object object, final Object[] arguments, final MessageFormatter formatter) {
+		this.object = object;
+		this.arguments = arguments;
+		this.formatter = formatter;
+	}
+
+	/**
+	 * Gets the message object or format pattern before resolving any arguments.
+	 *
+	 * @return Message object or format pattern
+	 */
+	public Object getObject() {
+		return object;
+	}
+
+	/**
+	 * Gets the arguments for the format pattern.
+	 *
+	 * @return Arguments or {@code null} if there are none
+	 */
+	public Object[] getArguments() {
+		return arguments;
+	}
+
+	/**
+	 * Checks whether the message has been already resolved.
+	 *
+	 * @return {@code true} if {@link #getText()} has been called, otherwise {@code false}
+	 */
+	public boolean isResolved() {
+		return resolved;
+	}
+
+	/**
+	 * Gets the resolved message. Lazy messages are evaluated and placeholders are replaced with the arguments on the
+	 * first call.
+	 *
+	 * @return Resolved message
+	 */
+	public String getText() {
+		if (!resolved) {
+			if (arguments == null || arguments.length == 0) {
+				Object evaluatedObject = object instanceof Supplier<?> ? ((Supplier<?>) object).get() : object;
+				text = evaluatedObject == null ? null : evaluatedObject.toString();
+			} else {
+				text = formatter.format((String) object, arguments);
+			}
+			resolved = true;
+		}
+
+		return text;
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.filters;
+
+import java.util.Map;
+
+import org.tinylog.Level;
+
+/**
+ * Filter for limiting the number of log entries per time via token buckets. Each group of log entries has its own
+ * bucket. By default, log entries are grouped by call site, tag and severity level.
+ *
+ * <p>
+ * The rate of log entries per second must be defined via the property <tt>rate</tt>. Short bursts can be allowed via
+ * the property <tt>burst</tt> that defines the capacity of each bucket. By default, the burst capacity is the rate.
+ * The number of discarded log entries will be reported with the next accepted log entry of the same group.
+ * </p>
+ */
+public final class RateLimitFilter extends AbstractKeyBasedFilter<RateLimitFilter.Bucket> {
+
+	private static final String DEFAULT_KEY = "site, tag, level";
+	private static final double MILLISECONDS_PER_SECOND = 1000d;
+
+	private final double tokensPerMillisecond;
+	private final double capacity;
+
+	/**
+	 * @param properties
+	 *            Configuration for filter
+	 *
+	 * @throws IllegalArgumentException
+	 *             A property has an invalid value or is missing in configuration
+	 */
+	public RateLimitFilter(final Map<String, String> properties) {
+		super(properties, DEFAULT_KEY);
+
+		double rate = parsePositiveNumber(properties.get("rate"), "rate");
+		tokensPerMillisecond = rate / MILLISECONDS_PER_SECOND;
+
+		String burst = properties.get("burst");
+		capacity = burst == null ? Math.max(1d, rate) : Math.max(1d, parsePositiveNumber(burst, "burst"));
+	}
+
+	@Override
+	protected Bucket createState(final StackTraceElement stackTraceElement, final String tag, final Level level, final String message) {
+		return new Bucket(capacity);
+	}
+
+	@Override
+	protected boolean isExpired(final Bucket bucket, final long timestamp) {
+		synchronized (bucket) {
+			return bucket.discarded == 0L && bucket.tokens + (timestamp - bucket.timestamp) * tokensPerMillisecond >= capacity;
+		}
+	}
+
+	@Override
+	protected void discard(final Bucket bucket) {
+		// Number of discarded log entries cannot be reported without accepted log entry
+	}
+
+	@Override
+	protected long filter(final Bucket bucket, final long timestamp) {
+		synchronized (bucket) {
+			if (bucket.timestamp != 0L && timestamp > bucket.timestamp) {
+				bucket.tokens = Math.min(capacity, bucket.tokens + (timestamp - bucket.timestamp) * tokensPerMillisecond);
+			}
+			bucket.timestamp = timestamp;
+
+			if (bucket.tokens >= 1d) {
+				bucket.tokens -= 1d;
+				long discarded = bucket.discarded;
+				bucket.discarded = 0L;
+				return discarded;
+			} else {
+				bucket.discarded += 1L;
+				return DISCARD;
+			}
+		}
+	}
+
+	/**
+	 * Parses a positive number from a property.
+	 *
+	 * @param value
+	 *            Value of property
+	 * @param name
+	 *            Name of property
+	 * @return Parsed number
+	 *
+	 * @throws IllegalArgumentException
+	 *             Passed value is missing or not a positive number
+	 */
+	private static double parsePositiveNumber(final String value, final String name) {
+		if (value == null || value.trim().isEmpty()) {
+			throw new IllegalArgumentException("No " + name + " defined for rate limit filter");
+		}
+
+		double number;
+		try {
+			number = Double.parseDouble(value.trim());
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid " + name + " \"" + value + "\" for rate limit filter");
+		}
+
+		if (number > 0d && !Double.isInfinite(number)) {
+			return number;
+		} else {
+			throw new IllegalArgumentException("Invalid " + name + " \"" + value + "\" for rate limit filter");
+		}
+	}
+
+	/**
+	 * Token bucket for a group of log entries.
+	 */
+	static final class Bucket {
+
+		private double tokens;
+		private long timestamp;
+		private long discarded;
+
+		/**
+		 * @param tokens
+		 *            Initial number of available tokens
+		 */
+		private Bucket(final double tokens) {
+			this.tokens = tokens;
+		}
+
+	}
+
+}
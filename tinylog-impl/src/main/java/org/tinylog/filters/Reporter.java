@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.filters;
+
+import org.tinylog.Level;
+
+/**
+ * Receiver for summaries of suppressed log entries. Summaries are output as separate log entries.
+ */
+public interface Reporter {
+
+	/**
+	 * Reports a number of suppressed log entries.
+	 *
+	 * <p>
+	 * This method can be called simultaneously by multiple threads.
+	 * </p>
+	 *
+	 * @param stackTraceElement
+	 *            Stack trace element of the caller or {@code null} if no writer requires any location information
+	 * @param tag
+	 *            Tag name if issued from a tagged logger, otherwise {@code null}
+	 * @param level
+	 *            Severity level
+	 * @param message
+	 *            Resolved message of the suppressed log entries
+	 * @param suppressed
+	 *            Number of suppressed log entries
+	 */
+	void report(StackTraceElement stackTraceElement, String tag, Level level, String message, long suppressed);
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.filters;
+
+/**
+ * Filter that reports the number of discarded log entries via separate summary log entries instead of adding it to the
+ * message of the next accepted log entry.
+ */
+public interface SummarizingFilter extends Filter {
+
+	/**
+	 * Starts reporting summaries. This method is called once by the logging provider before the filter is used.
+	 *
+	 * @param reporter
+	 *            Receiver for summaries
+	 */
+	void start(Reporter reporter);
+
+	/**
+	 * Reports all pending summaries and stops reporting. This method is called once by the logging provider before
+	 * the writers are closed.
+	 */
+	void stop();
+
+}
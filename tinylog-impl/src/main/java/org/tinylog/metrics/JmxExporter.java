@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.tinylog.Level;
+import org.tinylog.provider.InternalLogger;
+
+/**
+ * Exporter for registering logging metrics as MBeans at the platform MBean server.
+ *
+ * <p>
+ * The metrics of the logging pipeline are registered as "org.tinylog:type=Logging" and the metrics of each writer as
+ * "org.tinylog:type=Writer,name=&lt;key&gt;". This class is only loaded if JMX is enabled, as the JMX API is not
+ * available on all platforms, for example on Android.
+ * </p>
+ */
+public final class JmxExporter {
+
+	/**
+	 * Object name of the MBean for the metrics of the logging pipeline.
+	 */
+	public static final String LOGGING_NAME = "org.tinylog:type=Logging";
+
+	/**
+	 * Prefix of object names of MBeans for writer metrics.
+	 */
+	public static final String WRITER_NAME_PREFIX = "org.tinylog:type=Writer,name=";
+
+	private final LoggingMetrics metrics;
+	private final MBeanServer server;
+	private final Collection<ObjectName> registered;
+
+	/**
+	 * @param metrics
+	 *            Metrics to export
+	 */
+	public JmxExporter(final LoggingMetrics metrics) {
+		this.metrics = metrics;
+		this.server = ManagementFactory.getPlatformMBeanServer();
+		this.registered = new ArrayList<ObjectName>();
+	}
+
+	/**
+	 * Registers the metrics of the logging pipeline and of all current writers. Previously registered writer metrics
+	 * are unregistered before. This method has to be called again after replacing writer metrics.
+	 */
+	public void update() {
+		unregister();
+
+		register(LOGGING_NAME, metrics);
+		for (WriterMetrics writer : metrics.getWriters()) {
+			register(WRITER_NAME_PREFIX + ObjectName.quote(writer.getName()), writer);
+		}
+	}
+
+	/**
+	 * Unregisters all registered MBeans.
+	 */
+	public void unregister() {
+		for (ObjectName name : registered) {
+			try {
+				server.unregisterMBean(name);
+			} catch (JMException ex) {
+				InternalLogger.log(Level.WARN, ex, "Failed to unregister MBean '" + name + "'");
+			}
+		}
+
+		registered.clear();
+	}
+
+	/**
+	 * Registers a single MBean.
+	 *
+	 * @param name
+	 *            Object name for MBean
+	 * @param bean
+	 *            MBean to register
+	 */
+	private void register(final String name, final Object bean) {
+		try {
+			ObjectName objectName = new ObjectName(name);
+			server.registerMBean(bean, objectName);
+			registered.add(objectName);
+		} catch (JMException ex) {
+			InternalLogger.log(Level.WARN, ex, "Failed to register MBean '" + name + "'");
+		}
+	}
+
+}
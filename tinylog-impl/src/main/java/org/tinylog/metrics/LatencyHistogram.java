@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram for latencies in nanoseconds.
+ *
+ * <p>
+ * Latencies are counted in buckets with power of two boundaries. The bucket with the index <i>n</i> contains all
+ * latencies from 2<sup>n-1</sup> to 2<sup>n</sup>-1 nanoseconds. Thus, percentiles are approximated by the upper
+ * boundary of a bucket and are at most twice as high as the exact values. As for {@link StripedCounter}, each thread
+ * updates its own stripe of buckets to avoid contention.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+	private static final int BUCKETS = Long.SIZE;
+	private static final double PERCENT = 100d;
+
+	private final AtomicLongArray buckets;
+	private final StripedCounter total;
+	private final AtomicLong maximum;
+
+	/** */
+	public LatencyHistogram() {
+		buckets = new AtomicLongArray(StripedCounter.STRIPES * BUCKETS);
+		total = new StripedCounter();
+		maximum = new AtomicLong();
+	}
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanoseconds
+	 *            Measured latency in nanoseconds (negative values are recorded as zero)
+	 */
+	public void record(final long nanoseconds) {
+		long value = Math.max(0L, nanoseconds);
+
+		buckets.getAndIncrement(StripedCounter.getStripe() * BUCKETS + getBucket(value));
+		total.add(value);
+
+		long current = maximum.get();
+		while (value > current && !maximum.compareAndSet(current, value)) {
+			current = maximum.get();
+		}
+	}
+
+	/**
+	 * Gets the number of recorded latencies.
+	 *
+	 * @return Number of recorded latencies
+	 */
+	public long getCount() {
+		long count = 0L;
+		for (long value : getBucketCounts()) {
+			count += value;
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the sum of all recorded latencies.
+	 *
+	 * @return Total latency in nanoseconds
+	 */
+	public long getTotal() {
+		return total.sum();
+	}
+
+	/**
+	 * Gets the average of all recorded latencies.
+	 *
+	 * @return Average latency in nanoseconds or {@code 0} if no latencies are recorded
+	 */
+	public long getMean() {
+		long count = getCount();
+		return count == 0L ? 0L : getTotal() / count;
+	}
+
+	/**
+	 * Gets the highest recorded latency.
+	 *
+	 * @return Highest latency in nanoseconds or {@code 0} if no latencies are recorded
+	 */
+	public long getMaximum() {
+		return maximum.get();
+	}
+
+	/**
+	 * Gets the approximated latency for a percentile. The result is the upper boundary of the bucket that contains the
+	 * percentile, but never higher than the highest recorded latency.
+	 *
+	 * @param percentile
+	 *            Percentile between 0 and 100 (e.g. 99.9)
+	 * @return Latency in nanoseconds or {@code 0} if no latencies are recorded
+	 */
+	public long getPercentile(final double percentile) {
+		long[] counts = getBucketCounts();
+
+		long count = 0L;
+		for (long value : counts) {
+			count += value;
+		}
+
+		if (count == 0L) {
+			return 0L;
+		}
+
+		long rank = Math.max(1L, (long) Math.ceil(count * Math.min(PERCENT, Math.max(0d, percentile)) / PERCENT));
+		long maximum = getMaximum();
+		long seen = 0L;
+
+		for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+			seen += counts[bucket];
+			if (seen >= rank) {
+				return Math.min(getUpperBoundary(bucket), maximum);
+			}
+		}
+
+		return maximum;
+	}
+
+	/**
+	 * Sums the counts of all stripes for each bucket.
+	 *
+	 * @return Number of recorded latencies for each bucket
+	 */
+	private long[] getBucketCounts() {
+		long[] counts = new long[BUCKETS];
+		for (int stripe = 0; stripe < StripedCounter.STRIPES; ++stripe) {
+			for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+				counts[bucket] += buckets.get(stripe * BUCKETS + bucket);
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Gets the bucket for a latency.
+	 *
+	 * @param nanoseconds
+	 *            Non-negative latency in nanoseconds
+	 * @return Index of bucket
+	 */
+	private static int getBucket(final long nanoseconds) {
+		return Long.SIZE - Long.numberOfLeadingZeros(nanoseconds);
+	}
+
+	/**
+	 * Gets the highest latency that is counted by a bucket.
+	 *
+	 * @param bucket
+	 *            Index of bucket
+	 * @return Upper boundary in nanoseconds
+	 */
+	private static long getUpperBoundary(final int bucket) {
+		return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1L;
+	}
+
+}
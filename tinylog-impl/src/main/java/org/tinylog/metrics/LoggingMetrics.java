@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.tinylog.Level;
+
+/**
+ * Metrics of the entire logging pipeline.
+ *
+ * <p>
+ * Issued log entries are counted per severity level after passing the severity level check. Log entries that are
+ * discarded afterwards by a filter or by sampling are counted as dropped. The queue size is the number of log entries
+ * that wait for the writing thread. All counters are striped, so that updating them doesn't add contention between
+ * logging threads. Metrics of writers are replaced when the configuration is reloaded, while all other metrics are
+ * kept.
+ * </p>
+ */
+public final class LoggingMetrics implements LoggingMetricsMBean {
+
+	private static final int LEVEL_COUNT = Level.OFF.ordinal();
+
+	private final StripedCounter[] issued;
+	private final StripedCounter dropped;
+	private final AtomicInteger maximumQueueSize;
+
+	private volatile int queueSize;
+	private volatile List<WriterMetrics> writers;
+
+	/** */
+	public LoggingMetrics() {
+		issued = new StripedCounter[LEVEL_COUNT];
+		for (int i = 0; i < LEVEL_COUNT; ++i) {
+			issued[i] = new StripedCounter();
+		}
+
+		dropped = new StripedCounter();
+		maximumQueueSize = new AtomicInteger();
+		writers = Collections.emptyList();
+	}
+
+	/**
+	 * Counts an issued log entry.
+	 *
+	 * @param level
+	 *            Severity level of log entry
+	 */
+	public void countIssued(final Level level) {
+		issued[level.ordinal()].increment();
+	}
+
+	/**
+	 * Counts a log entry that has been discarded by a filter or by sampling.
+	 */
+	public void countDropped() {
+		dropped.increment();
+	}
+
+	/**
+	 * Updates the current queue size of the writing thread. The high-water mark will be raised if the passed queue
+	 * size exceeds it.
+	 *
+	 * @param size
+	 *            Number of log entries that wait for the writing thread
+	 */
+	public void updateQueueSize(final int size) {
+		queueSize = size;
+
+		int maximum = maximumQueueSize.get();
+		while (size > maximum && !maximumQueueSize.compareAndSet(maximum, size)) {
+			maximum = maximumQueueSize.get();
+		}
+	}
+
+	/**
+	 * Gets the number of issued log entries for a severity level.
+	 *
+	 * @param level
+	 *            Severity level
+	 * @return Number of issued log entries or {@code 0} for {@link Level#OFF}
+	 */
+	public long getIssuedEntries(final Level level) {
+		return level == Level.OFF ? 0L : issued[level.ordinal()].sum();
+	}
+
+	@Override
+	public long getTraceEntries() {
+		return getIssuedEntries(Level.TRACE);
+	}
+
+	@Override
+	public long getDebugEntries() {
+		return getIssuedEntries(Level.DEBUG);
+	}
+
+	@Override
+	public long getInfoEntries() {
+		return getIssuedEntries(Level.INFO);
+	}
+
+	@Override
+	public long getWarnEntries() {
+		return getIssuedEntries(Level.WARN);
+	}
+
+	@Override
+	public long getErrorEntries() {
+		return getIssuedEntries(Level.ERROR);
+	}
+
+	@Override
+	public long getDroppedEntries() {
+		return dropped.sum();
+	}
+
+	@Override
+	public int getQueueSize() {
+		return queueSize;
+	}
+
+	@Override
+	public int getMaximumQueueSize() {
+		return maximumQueueSize.get();
+	}
+
+	/**
+	 * Gets the metrics of all active writers.
+	 *
+	 * @return Unmodifiable list of writer metrics
+	 */
+	public List<WriterMetrics> getWriters() {
+		return writers;
+	}
+
+	/**
+	 * Replaces the metrics of all writers, for example after reloading the configuration.
+	 *
+	 * @param writers
+	 *            Metrics of all active writers
+	 */
+	public void setWriters(final Collection<WriterMetrics> writers) {
+		this.writers = Collections.unmodifiableList(new ArrayList<WriterMetrics>(writers));
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+/**
+ * JMX interface of {@link LoggingMetrics}.
+ */
+public interface LoggingMetricsMBean {
+
+	/**
+	 * Gets the number of issued log entries with the severity level trace.
+	 *
+	 * @return Number of issued trace log entries
+	 */
+	long getTraceEntries();
+
+	/**
+	 * Gets the number of issued log entries with the severity level debug.
+	 *
+	 * @return Number of issued debug log entries
+	 */
+	long getDebugEntries();
+
+	/**
+	 * Gets the number of issued log entries with the severity level info.
+	 *
+	 * @return Number of issued info log entries
+	 */
+	long getInfoEntries();
+
+	/**
+	 * Gets the number of issued log entries with the severity level warning.
+	 *
+	 * @return Number of issued warning log entries
+	 */
+	long getWarnEntries();
+
+	/**
+	 * Gets the number of issued log entries with the severity level error.
+	 *
+	 * @return Number of issued error log entries
+	 */
+	long getErrorEntries();
+
+	/**
+	 * Gets the number of log entries that have been discarded by filters or sampling.
+	 *
+	 * @return Number of dropped log entries
+	 */
+	long getDroppedEntries();
+
+	/**
+	 * Gets the number of log entries that are currently waiting for the writing thread.
+	 *
+	 * @return Current queue size or {@code 0} if the writing thread is disabled
+	 */
+	int getQueueSize();
+
+	/**
+	 * Gets the highest number of log entries that have been waiting for the writing thread at the same time.
+	 *
+	 * @return High-water mark of the queue size
+	 */
+	int getMaximumQueueSize();
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe counter that is optimized for concurrent updates and rare reads.
+ *
+ * <p>
+ * The counter is split into multiple cells. Each thread updates the cell that is selected by its thread ID. Cells are
+ * padded to separate cache lines, so that threads updating different cells don't contend with each other. The total
+ * value is the sum of all cells and is calculated on demand. Unlike {@code LongAdder}, which requires Java 8, this
+ * counter is compatible with Java 6 and doesn't grow dynamically.
+ * </p>
+ */
+public final class StripedCounter {
+
+	/**
+	 * Number of cells for each counter. It is a power of two and depends on the number of available processors.
+	 */
+	static final int STRIPES = calculateStripes(Runtime.getRuntime().availableProcessors());
+
+	private static final int MAXIMUM_STRIPES = 16;
+	private static final int PADDING = 8; // 64 bytes cache line / 8 bytes per long value
+	private static final long HASH_MULTIPLIER = 0x9e3779b97f4a7c15L;
+	private static final int HASH_SHIFT = 32;
+
+	private final AtomicLongArray cells;
+
+	/** */
+	public StripedCounter() {
+		cells = new AtomicLongArray(STRIPES * PADDING);
+	}
+
+	/**
+	 * Increments the counter by one.
+	 */
+	public void increment() {
+		cells.getAndIncrement(getStripe() * PADDING);
+	}
+
+	/**
+	 * Adds a value to the counter.
+	 *
+	 * @param value
+	 *            Value to add
+	 */
+	public void add(final long value) {
+		cells.getAndAdd(getStripe() * PADDING, value);
+	}
+
+	/**
+	 * Calculates the current total value. Concurrent updates might be reflected only partially.
+	 *
+	 * @return Sum of all cells
+	 */
+	public long sum() {
+		long sum = 0L;
+		for (int i = 0; i < STRIPES; ++i) {
+			sum += cells.get(i * PADDING);
+		}
+		return sum;
+	}
+
+	/**
+	 * Gets the cell index for the current thread.
+	 *
+	 * @return Index between 0 (inclusive) and {@link #STRIPES} (exclusive)
+	 */
+	static int getStripe() {
+		long hash = Thread.currentThread().getId() * HASH_MULTIPLIER;
+		return (int) (hash >>> HASH_SHIFT) & (STRIPES - 1);
+	}
+
+	/**
+	 * Calculates the number of cells for a given number of processors.
+	 *
+	 * @param processors
+	 *            Number of available processors
+	 * @return Smallest power of two that is equal or greater than the number of processors, but not greater than
+	 *         {@link #MAXIMUM_STRIPES}
+	 */
+	static int calculateStripes(final int processors) {
+		int stripes = 1;
+		while (stripes < processors && stripes < MAXIMUM_STRIPES) {
+			stripes <<= 1;
+		}
+		return stripes;
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+import org.tinylog.writers.AbstractFormatPatternWriter;
+import org.tinylog.writers.JdbcWriter;
+import org.tinylog.writers.Writer;
+
+/**
+ * Metrics of a single writer.
+ *
+ * <p>
+ * Written bytes are provided by writers that extend {@link AbstractFormatPatternWriter}. Only log entries that are
+ * encoded by the writer itself are counted. Therefore, the unbuffered console writer, which prints strings via
+ * {@link System#out} and {@link System#err}, doesn't count any bytes. Other writers, like the JDBC writer, report
+ * {@code -1} as bytes.
+ * </p>
+ *
+ * <p>
+ * Spooled, replayed and lost log entries are provided by the {@link JdbcWriter} only. All other writers report
+ * {@code -1} for these metrics.
+ * </p>
+ */
+public final class WriterMetrics implements WriterMetricsMBean {
+
+	private static final double MEDIAN = 50d;
+	private static final double HIGH_PERCENTILE = 99d;
+
+	private final String name;
+	private final Writer writer;
+	private final StripedCounter entries;
+	private final StripedCounter errors;
+	private final LatencyHistogram writeLatency;
+	private final LatencyHistogram flushLatency;
+
+	/**
+	 * @param name
+	 *            Configuration key of the writer (e.g. "writer1")
+	 * @param writer
+	 *            Measured writer
+	 */
+	public WriterMetrics(final String name, final Writer writer) {
+		this.name = name;
+		this.writer = writer;
+		this.entries = new StripedCounter();
+		this.errors = new StripedCounter();
+		this.writeLatency = new LatencyHistogram();
+		this.flushLatency = new LatencyHistogram();
+	}
+
+	/**
+	 * Records a successfully written log entry.
+	 *
+	 * @param nanoseconds
+	 *            Latency of the write operation
+	 */
+	public void recordWrite(final long nanoseconds) {
+		entries.increment();
+		writeLatency.record(nanoseconds);
+	}
+
+	/**
+	 * Records a flush operation.
+	 *
+	 * @param nanoseconds
+	 *            Latency of the flush operation
+	 */
+	public void recordFlush(final long nanoseconds) {
+		flushLatency.record(nanoseconds);
+	}
+
+	/**
+	 * Records a failed write or flush operation.
+	 */
+	public void recordError() {
+		errors.increment();
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String getType() {
+		return writer.getClass().getName();
+	}
+
+	@Override
+	public long getEntries() {
+		return entries.sum();
+	}
+
+	@Override
+	public long getBytes() {
+		return writer instanceof AbstractFormatPatternWriter ? ((AbstractFormatPatternWriter) writer).getOutputBytes() : -1L;
+	}
+
+	@Override
+	public long getSpooledEntries() {
+		return writer instanceof JdbcWriter ? ((JdbcWriter) writer).getSpooledEntries() : -1L;
+	}
+
+	@Override
+	public long getReplayedEntries() {
+		return writer instanceof JdbcWriter ? ((JdbcWriter) writer).getReplayedEntries() : -1L;
+	}
+
+	@Override
+	public long getLostEntries() {
+		return writer instanceof JdbcWriter ? ((JdbcWriter) writer).getLostEntries() : -1L;
+	}
+
+	@Override
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	/**
+	 * Gets the histogram of all write latencies.
+	 *
+	 * @return Write latencies in nanoseconds
+	 */
+	public LatencyHistogram getWriteLatency() {
+		return writeLatency;
+	}
+
+	/**
+	 * Gets the histogram of all flush latencies.
+	 *
+	 * @return Flush latencies in nanoseconds
+	 */
+	public LatencyHistogram getFlushLatency() {
+		return flushLatency;
+	}
+
+	@Override
+	public long getWriteLatencyMean() {
+		return writeLatency.getMean();
+	}
+
+	@Override
+	public long getWriteLatencyP50() {
+		return writeLatency.getPercentile(MEDIAN);
+	}
+
+	@Override
+	public long getWriteLatencyP99() {
+		return writeLatency.getPercentile(HIGH_PERCENTILE);
+	}
+
+	@Override
+	public long getWriteLatencyMax() {
+		return writeLatency.getMaximum();
+	}
+
+	@Override
+	public long getFlushes() {
+		return flushLatency.getCount();
+	}
+
+	@Override
+	public long getFlushLatencyMean() {
+		return flushLatency.getMean();
+	}
+
+	@Override
+	public long getFlushLatencyP99() {
+		return flushLatency.getPercentile(HIGH_PERCENTILE);
+	}
+
+	@Override
+	public long getFlushLatencyMax() {
+		return flushLatency.getMaximum();
+	}
+
+}
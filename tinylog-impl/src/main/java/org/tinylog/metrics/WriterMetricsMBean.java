@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+/**
+ * JMX interface of {@link WriterMetrics}. All latencies are in nanoseconds.
+ */
+public interface WriterMetricsMBean {
+
+	/**
+	 * Gets the configuration key of the writer.
+	 *
+	 * @return Property key of the writer (e.g. "writer1")
+	 */
+	String getName();
+
+	/**
+	 * Gets the fully-qualified class name of the writer.
+	 *
+	 * @return Class name of the writer
+	 */
+	String getType();
+
+	/**
+	 * Gets the number of successfully written log entries.
+	 *
+	 * @return Number of written log entries
+	 */
+	long getEntries();
+
+	/**
+	 * Gets the number of written bytes.
+	 *
+	 * @return Number of written bytes or {@code -1} if the writer is not based on a format pattern
+	 */
+	long getBytes();
+
+	/**
+	 * Gets the number of log entries that have been written to a spool file due to a broken database connection.
+	 *
+	 * @return Number of spooled log entries or {@code -1} if the writer is not a JDBC writer
+	 */
+	long getSpooledEntries();
+
+	/**
+	 * Gets the number of log entries that have been inserted from a spool file after re-establishing the database
+	 * connection.
+	 *
+	 * @return Number of replayed log entries or {@code -1} if the writer is not a JDBC writer
+	 */
+	long getReplayedEntries();
+
+	/**
+	 * Gets the number of log entries that have been lost due to a broken database connection.
+	 *
+	 * @return Number of lost log entries or {@code -1} if the writer is not a JDBC writer
+	 */
+	long getLostEntries();
+
+	/**
+	 * Gets the number of failed write and flush operations.
+	 *
+	 * @return Number of errors
+	 */
+	long getErrors();
+
+	/**
+	 * Gets the average latency of writing a log entry.
+	 *
+	 * @return Average write latency
+	 */
+	long getWriteLatencyMean();
+
+	/**
+	 * Gets the approximated median latency of writing a log entry.
+	 *
+	 * @return 50th percentile of write latencies
+	 */
+	long getWriteLatencyP50();
+
+	/**
+	 * Gets the approximated 99th percentile latency of writing a log entry.
+	 *
+	 * @return 99th percentile of write latencies
+	 */
+	long getWriteLatencyP99();
+
+	/**
+	 * Gets the highest latency of writing a log entry.
+	 *
+	 * @return Maximum write latency
+	 */
+	long getWriteLatencyMax();
+
+	/**
+	 * Gets the number of flush operations.
+	 *
+	 * @return Number of flushes
+	 */
+	long getFlushes();
+
+	/**
+	 * Gets the average latency of flushing the writer.
+	 *
+	 * @return Average flush latency
+	 */
+	long getFlushLatencyMean();
+
+	/**
+	 * Gets the approximated 99th percentile latency of flushing the writer.
+	 *
+	 * @return 99th percentile of flush latencies
+	 */
+	long getFlushLatencyP99();
+
+	/**
+	 * Gets the highest latency of flushing the writer.
+	 *
+	 * @return Maximum flush latency
+	 */
+	long getFlushLatencyMax();
+
+}
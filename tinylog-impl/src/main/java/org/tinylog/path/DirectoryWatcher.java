@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.path;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.codehaus.mojo.animal_sniffer.IgnoreJRERequirement;
+import org.tinylog.Level;
+import org.tinylog.provider.InternalLogger;
+
+/**
+ * Watcher for detecting new files in a folder and all nested sub folders via a {@link WatchService}. All new files and
+ * folders are passed to the owning {@link DynamicPath}.
+ *
+ * <p>
+ * The watch service is polled by a separate daemon thread, which is the only thread that accesses the registered
+ * folders after construction. This class requires Java 7 or later and must be only used
+ * if {@link #isSupported()} returns {@code true}.
+ * </p>
+ */
+@IgnoreJRERequirement
+final class DirectoryWatcher implements Runnable {
+
+	private static final String THREAD_NAME = "tinylog-WatchThread";
+
+	private final DynamicPath path;
+	private final WatchService service;
+	private final Map<WatchKey, Path> directories;
+
+	/**
+	 * @param path
+	 *            Dynamic path that will be informed about new files
+	 * @param folder
+	 *            Base folder to watch
+	 *
+	 * @throws IOException
+	 *             Failed to watch base folder
+	 */
+	DirectoryWatcher(final DynamicPath path, final File folder) throws IOException {
+		this.path = path;
+		this.service = FileSystems.getDefault().newWatchService();
+		this.directories = new HashMap<WatchKey, Path>();
+
+		try {
+			register(folder.toPath());
+		} catch (IOException ex) {
+			service.close();
+			throw ex;
+		}
+
+		Thread thread = new Thread(this, THREAD_NAME);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Checks if the current Java runtime provides a {@link WatchService}.
+	 *
+	 * @return {@code true} if watching folders is supported, {@code false} if not
+	 */
+	static boolean isSupported() {
+		try {
+			Class.forName("java.nio.file.WatchService");
+			return true;
+		} catch (ClassNotFoundException ex) {
+			return false;
+		}
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (true) {
+				WatchKey key = service.take();
+				Path directory = directories.get(key);
+
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (directory == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+						path.invalidate();
+					} else {
+						File file = directory.resolve((Path) event.context()).toFile();
+						if (file.isDirectory()) {
+							try {
+								register(file.toPath());
+							} catch (IOException ex) {
+								String folder = file.getAbsolutePath();
+								InternalLogger.log(Level.ERROR, ex, "Failed to watch folder '" + folder + "'");
+							}
+						}
+						path.discover(file);
+					}
+				}
+
+				if (!key.reset()) {
+					directories.remove(key);
+				}
+			}
+		} catch (InterruptedException ex) {
+			// Watcher has been interrupted
+		} catch (ClosedWatchServiceException ex) {
+			// Watcher has been closed
+		}
+	}
+
+	/**
+	 * Stops watching. The watch thread will terminate.
+	 */
+	void close() {
+		try {
+			service.close();
+		} catch (IOException ex) {
+			InternalLogger.log(Level.ERROR, ex, "Failed to close watch service");
+		}
+	}
+
+	/**
+	 * Registers a folder and all nested sub folders.
+	 *
+	 * @param directory
+	 *            Folder to register
+	 * @throws IOException
+	 *             Failed to register folder
+	 */
+	private void register(final Path directory) throws IOException {
+		WatchKey key = directory.register(service, StandardWatchEventKinds.ENTRY_CREATE);
+		directories.put(key, directory);
+
+		File[] children = directory.toFile().listFiles();
+		if (children != null) {
+			for (File child : children) {
+				if (child.isDirectory()) {
+					register(child.toPath());
+				}
+			}
+		}
+	}
+
+}
@@ -14,15 +14,28 @@
 package org.tinylog.path;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.tinylog.Level;
+import org.tinylog.provider.InternalLogger;
 import org.tinylog.runtime.RuntimeProvider;
 import org.tinylog.runtime.Timestamp;
 
 /**
  * A dynamic path represents a path with patterns that can be resolved as a real path to a file at runtime.
+ *
+ * <p>
+ * Compatible files are indexed in memory. The folder is scanned only once when {@link #getAllFiles()} is called for
+ * the first time. Afterwards, the index is updated incrementally with resolved paths, and deleted or compressed files
+ * are detected by checking only the indexed files. Files created by other processes can be found by
+ * {@link #watch() watching} the folder.
+ * </p>
  */
 public final class DynamicPath {
 
@@ -32,12 +45,32 @@ public final class DynamicPath {
 	private final File folder;
 	private final List<String> plainTexts;
 	private final String suffix;
+	private final String[] extensions;
+	private final Object mutex;
+
+	private Set<File> index;
+	private DirectoryWatcher watcher;
+	private boolean changed;
 
 	/**
 	 * @param path
 	 *            Path with patterns
 	 */
 	public DynamicPath(final String path) {
+		this(path, new String[0]);
+	}
+
+	/**
+	 * @param path
+	 *            Path with patterns
+	 * @param extensions
+	 *            Additional file extensions of sibling files, such as compressed copies, that should be found by
+	 *            {@link #getAllFiles()}
+	 */
+	public DynamicPath(final String path, final String... extensions) {
+		this.extensions = extensions.clone();
+		this.mutex = new Object();
+
 		String normalizedPath = path.replace('/', File.separatorChar);
 
 		segments = new ArrayList<Segment>();
@@ -101,7 +134,8 @@ public final class DynamicPath {
 	}
 
 	/**
-	 * Resolves all patterns and generates a real path for a (new) file.
+	 * Resolves all patterns and generates a real path for a (new) file. The generated path is added to the index of
+	 * known files.
 	 *
 	 * @return Generated path
 	 */
@@ -111,22 +145,108 @@ public final class DynamicPath {
 		for (Segment segment : segments) {
 			builder.append(segment.createToken(builder.toString(), timestamp));
 		}
-		return builder.toString();
+
+		String path = builder.toString();
+
+		synchronized (mutex) {
+			if (index != null) {
+				index.add(new File(path));
+			}
+		}
+
+		return path;
 	}
 
 	/**
-	 * Gets all files that are compatible with the dynamic path. The returned files are sorted by the last modification
-	 * date. The most recently modified files are at the top, the oldest at the bottom of the list.
+	 * Checks if the resolved path depends on the current date and time. Time independent paths can be resolved in
+	 * advance.
+	 *
+	 * @return {@code true} if the path contains at least one date pattern, {@code false} if not
+	 */
+	public boolean isTimeDependent() {
+		for (Segment segment : segments) {
+			if (segment instanceof DateSegment) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets all files that are compatible with the dynamic path, including sibling files with one of the additional
+	 * file extensions. The returned files are sorted by the last modification date. The most recently modified files
+	 * are at the top, the oldest at the bottom of the list.
 	 *
 	 * @return Found files
 	 */
 	public List<File> getAllFiles() {
-		List<File> files = new ArrayList<File>();
-		collectFiles(folder, files);
+		List<File> files;
+
+		synchronized (mutex) {
+			if (index == null) {
+				files = new ArrayList<File>();
+				collectFiles(folder, files);
+				index = new LinkedHashSet<File>(files);
+			} else {
+				refreshIndex();
+				files = new ArrayList<File>(index);
+			}
+		}
+
 		Collections.sort(files, LastModifiedFileComparator.INSTANCE);
 		return files;
 	}
 
+	/**
+	 * Starts watching the folder of this dynamic path and all nested sub folders for compatible files that are created
+	 * by other processes. Found files are added to the index of known files. Watching requires Java 7 or later.
+	 *
+	 * @return {@code true} if the folder is watched, {@code false} if watching is not supported or failed
+	 */
+	public boolean watch() {
+		synchronized (mutex) {
+			if (watcher == null && DirectoryWatcher.isSupported()) {
+				try {
+					watcher = new DirectoryWatcher(this, folder);
+				} catch (IOException ex) {
+					InternalLogger.log(Level.ERROR, ex, "Failed to watch folder '" + folder.getAbsolutePath() + "'");
+				}
+			}
+
+			return watcher != null;
+		}
+	}
+
+	/**
+	 * Stops watching the folder of this dynamic path, if it is watched.
+	 */
+	public void unwatch() {
+		DirectoryWatcher oldWatcher;
+
+		synchronized (mutex) {
+			oldWatcher = watcher;
+			watcher = null;
+		}
+
+		if (oldWatcher != null) {
+			oldWatcher.close();
+		}
+	}
+
+	/**
+	 * Checks whether compatible files have been created by other processes since the last call of this method. Such
+	 * files can only be detected, if the folder is {@link #watch() watched}.
+	 *
+	 * @return {@code true} if new files have been found, {@code false} if not
+	 */
+	public boolean pollChanges() {
+		synchronized (mutex) {
+			boolean result = changed;
+			changed = false;
+			return result;
+		}
+	}
+
 	/**
 	 * Checks if an already existing file is compatible with this dynamic path.
 	 *
@@ -138,6 +258,71 @@ public final class DynamicPath {
 		return isValid(file.getPath(), 0, 0);
 	}
 
+	/**
+	 * Adds a file or all files in a folder to the index, if they are compatible with this dynamic path and not yet
+	 * known.
+	 *
+	 * @param file
+	 *            New file or folder
+	 */
+	void discover(final File file) {
+		if (file.isDirectory()) {
+			File[] files = file.listFiles();
+			if (files != null) {
+				for (File child : files) {
+					discover(child);
+				}
+			}
+		} else if (file.isFile() && isCompatible(file)) {
+			synchronized (mutex) {
+				if (index == null) {
+					changed = true;
+				} else if (index.add(file)) {
+					String path = stripExtension(file.getPath());
+					if (path.equals(file.getPath()) || !index.contains(new File(path))) {
+						changed = true;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Discards the index of known files. The folder will be scanned again on the next call of {@link #getAllFiles()}.
+	 */
+	void invalidate() {
+		synchronized (mutex) {
+			index = null;
+			changed = true;
+		}
+	}
+
+	/**
+	 * Removes all deleted files from the index. If a deleted file has been replaced by a sibling file with one of the
+	 * additional file extensions, the sibling file will be added instead. This method must be called while holding
+	 * the mutex.
+	 */
+	private void refreshIndex() {
+		List<File> siblings = new ArrayList<File>();
+
+		for (Iterator<File> iterator = index.iterator(); iterator.hasNext();) {
+			File file = iterator.next();
+			if (!file.isFile()) {
+				iterator.remove();
+
+				String path = stripExtension(file.getPath());
+				for (String extension : extensions) {
+					File sibling = new File(path + extension);
+					if (sibling.isFile()) {
+						siblings.add(sibling);
+					}
+				}
+			}
+		}
+
+		index.addAll(siblings);
+	}
+
 	/**
 	 * Collects files from a folder and all nested sub folders.
 	 *
@@ -152,22 +337,52 @@ public final class DynamicPath {
 			for (File file : files) {
 				if (file.isDirectory()) {
 					collectFiles(file, found);
-				} else if (file.isFile() && file.getPath().endsWith(suffix)) {
-					int index = 0;
+				} else if (file.isFile() && isCompatible(file)) {
+					found.add(file);
+				}
+			}
+		}
+	}
 
-					for (String text : plainTexts) {
-						index = file.getPath().indexOf(text, index);
-						if (index == -1) {
-							break;
-						}
-					}
+	/**
+	 * Checks quickly if a file could be compatible with this dynamic path by comparing the plain texts.
+	 *
+	 * @param file
+	 *            File to check
+	 * @return {@code true} if all plain texts are contained in the path to the passed file, {@code false} if not
+	 */
+	private boolean isCompatible(final File file) {
+		String path = stripExtension(file.getPath());
+		if (path.endsWith(suffix)) {
+			int position = 0;
 
-					if (index >= 0) {
-						found.add(file);
-					}
+			for (String text : plainTexts) {
+				position = path.indexOf(text, position);
+				if (position == -1) {
+					return false;
 				}
 			}
+
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	/**
+	 * Removes an additional file extension from a path.
+	 *
+	 * @param path
+	 *            Path to file
+	 * @return Passed path without additional file extension
+	 */
+	private String stripExtension(final String path) {
+		for (String extension : extensions) {
+			if (path.endsWith(extension)) {
+				return path.substring(0, path.length() - extension.length());
+			}
 		}
+		return path;
 	}
 
 	/**
@@ -18,18 +18,44 @@ import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Collections;
 
+import org.tinylog.core.ConfigurationParser;
 import org.tinylog.core.LogEntry;
 import org.tinylog.core.LogEntryValue;
+import org.tinylog.pattern.ThrowableCache.Fingerprint;
+import org.tinylog.pattern.ThrowableCache.Rendering;
 
 /**
  * Token for outputting the exception or throwable of a log entry.
+ *
+ * <p>
+ * Rendered throwables can be cached for reusing the rendered text, if the same throwable with identical class, message
+ * and stack trace is output repeatedly. In reference mode, a cached throwable is output with the full stack trace only
+ * once. Afterwards, only the first line, a short reference ID and the number of occurrences are output.
+ * </p>
  */
 final class ExceptionToken implements Token {
 
 	private static final String NEW_LINE = System.getProperty("line.separator");
 
-	/** */
+	private final ThrowableCache cache;
+	private final boolean referencing;
+
+	/**
+	 * Caching and reference mode are loaded from configuration.
+	 */
 	ExceptionToken() {
+		this(ConfigurationParser.getExceptionCacheSize(), ConfigurationParser.isExceptionReferencingEnabled());
+	}
+
+	/**
+	 * @param cacheSize
+	 *            Maximum number of cached rendered throwables (caching is disabled for zero)
+	 * @param referencing
+	 *            Cached throwables should be output as reference after first occurrence
+	 */
+	ExceptionToken(final int cacheSize, final boolean referencing) {
+		this.cache = cacheSize > 0 ? new ThrowableCache(cacheSize) : null;
+		this.referencing = referencing && cache != null;
 	}
 
 	@Override
@@ -57,6 +83,42 @@ final class ExceptionToken implements Token {
 		}
 	}
 
+	/**
+	 * Renders a throwable. If caching is enabled, an already rendered text will be reused.
+	 *
+	 * @param throwable
+	 *            Throwable to render
+	 * @param builder
+	 *            Output will be appended to this string builder
+	 */
+	private void render(final Throwable throwable, final StringBuilder builder) {
+		if (cache == null) {
+			renderFully(throwable, builder);
+		} else {
+			Fingerprint fingerprint = new Fingerprint(throwable);
+			Rendering rendering = cache.get(fingerprint);
+
+			if (rendering == null) {
+				StringBuilder header = new StringBuilder();
+				renderHeader(throwable, header);
+
+				StringBuilder text = new StringBuilder(header);
+				if (referencing) {
+					text.append(" [#").append(fingerprint.getId()).append("]");
+				}
+				renderBody(throwable, text);
+
+				rendering = cache.put(fingerprint, header.toString(), text.toString());
+				builder.append(rendering.getText());
+			} else if (referencing) {
+				builder.append(rendering.getHeader());
+				builder.append(" [#").append(rendering.getId()).append(", ").append(rendering.getOccurrences()).append(" times]");
+			} else {
+				builder.append(rendering.getText());
+			}
+		}
+	}
+
 	/**
 	 * Renders a throwable including stack trace and cause throwables.
 	 *
@@ -65,14 +127,37 @@ final class ExceptionToken implements Token {
 	 * @param builder
 	 *            Output will be appended to this string builder
 	 */
-	private static void render(final Throwable throwable, final StringBuilder builder) {
+	private static void renderFully(final Throwable throwable, final StringBuilder builder) {
+		renderHeader(throwable, builder);
+		renderBody(throwable, builder);
+	}
+
+	/**
+	 * Renders the first line of a throwable with class name and message.
+	 *
+	 * @param throwable
+	 *            Throwable to render
+	 * @param builder
+	 *            Output will be appended to this string builder
+	 */
+	private static void renderHeader(final Throwable throwable, final StringBuilder builder) {
 		builder.append(throwable.getClass().getName());
 		String message = throwable.getMessage();
 		if (message != null) {
 			builder.append(": ");
 			builder.append(message);
 		}
+	}
 
+	/**
+	 * Renders stack trace and cause throwables of a throwable.
+	 *
+	 * @param throwable
+	 *            Throwable to render
+	 * @param builder
+	 *            Output will be appended to this string builder
+	 */
+	private static void renderBody(final Throwable throwable, final StringBuilder builder) {
 		StackTraceElement[] stackTrace = throwable.getStackTrace();
 		for (int i = 0; i < stackTrace.length; ++i) {
 			builder.append(NEW_LINE);
@@ -84,7 +169,7 @@ final class ExceptionToken implements Token {
 		if (cause != null) {
 			builder.append(NEW_LINE);
 			builder.append("Caused by: ");
-			render(cause, builder);
+			renderFully(cause, builder);
 		}
 	}
 
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.pattern;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache for rendered throwables. Throwables are identified by their {@link Fingerprint fingerprint}. If the
+ * cache is full, the least recently used rendering will be dropped.
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+final class ThrowableCache {
+
+	private final Map<Fingerprint, Rendering> renderings;
+
+	/**
+	 * @param capacity
+	 *            Maximum number of renderings to keep
+	 */
+	ThrowableCache(final int capacity) {
+		renderings = new LeastRecentlyUsedMap(capacity);
+	}
+
+	/**
+	 * Looks up the rendering of a throwable. The occurrence counter of a found rendering will be incremented.
+	 *
+	 * @param fingerprint
+	 *            Fingerprint of throwable
+	 * @return Found rendering including the current occurrence or {@code null} if the throwable is not cached
+	 */
+	Rendering get(final Fingerprint fingerprint) {
+		synchronized (renderings) {
+			Rendering rendering = renderings.get(fingerprint);
+			if (rendering == null) {
+				return null;
+			} else {
+				rendering = rendering.increment();
+				renderings.put(fingerprint, rendering);
+				return rendering;
+			}
+		}
+	}
+
+	/**
+	 * Stores a new rendering for a throwable. An already existing rendering will be overridden.
+	 *
+	 * @param fingerprint
+	 *            Fingerprint of throwable
+	 * @param header
+	 *            Rendered first line with class name and message
+	 * @param text
+	 *            Full rendered throwable including stack trace and causes
+	 * @return Stored rendering with exactly one occurrence
+	 */
+	Rendering put(final Fingerprint fingerprint, final String header, final String text) {
+		Rendering rendering = new Rendering(fingerprint.getId(), header, text, 1);
+		synchronized (renderings) {
+			renderings.put(fingerprint, rendering);
+		}
+		return rendering;
+	}
+
+	/**
+	 * Cheap identity for throwables. Two throwables have equal fingerprints if they have the same class, message and
+	 * stack trace, including all their causes.
+	 */
+	static final class Fingerprint {
+
+		private static final int HASH_MULTIPLIER = 31;
+
+		private final Class<?> type;
+		private final String message;
+		private final StackTraceElement[] stackTrace;
+		private final Fingerprint cause;
+		private final int hash;
+
+		/**
+		 * @param throwable
+		 *            Throwable to identify
+		 */
+		Fingerprint(final Throwable throwable) {
+			Throwable cause = throwable.getCause();
+
+			this.type = throwable.getClass();
+			this.message = throwable.getMessage();
+			this.stackTrace = throwable.getStackTrace();
+			this.cause = cause == null ? null : new Fingerprint(cause);
+
+			int hash = type.hashCode();
+			hash = hash * HASH_MULTIPLIER + (message == null ? 0 : message.hashCode());
+			hash = hash * HASH_MULTIPLIER + Arrays.hashCode(stackTrace);
+			hash = hash * HASH_MULTIPLIER + (this.cause == null ? 0 : this.cause.hash);
+			this.hash = hash;
+		}
+
+		/**
+		 * Gets a short reference ID for this fingerprint. The ID is derived from the hash code and therefore not
+		 * necessarily unique.
+		 *
+		 * @return Hexadecimal reference ID
+		 */
+		String getId() {
+			return Integer.toHexString(hash);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			} else if (obj instanceof Fingerprint) {
+				Fingerprint other = (Fingerprint) obj;
+				return hash == other.hash
+					&& type == other.type
+					&& (message == null ? other.message == null : message.equals(other.message))
+					&& Arrays.equals(stackTrace, other.stackTrace)
+					&& (cause == null ? other.cause == null : cause.equals(other.cause));
+			} else {
+				return false;
+			}
+		}
+
+	}
+
+	/**
+	 * Map that drops the least recently used entry, if the maximum capacity is exceeded.
+	 */
+	private static final class LeastRecentlyUsedMap extends LinkedHashMap<Fingerprint, Rendering> {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final int INITIAL_CAPACITY = 16;
+		private static final float LOAD_FACTOR = 0.75f;
+
+		private final int capacity;
+
+		/**
+		 * @param capacity
+		 *            Maximum number of entries to keep
+		 */
+		private LeastRecentlyUsedMap(final int capacity) {
+			super(INITIAL_CAPACITY, LOAD_FACTOR, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Fingerprint, Rendering> eldest) {
+			return size() > capacity;
+		}
+
+	}
+
+	/**
+	 * Immutable rendering of a throwable.
+	 */
+	static final class Rendering {
+
+		private final String id;
+		private final String header;
+		private final String text;
+		private final long occurrences;
+
+		/**
+		 * @param id
+		 *            Short reference ID
+		 * @param header
+		 *            Rendered first line with class name and message
+		 * @param text
+		 *            Full rendered throwable including stack trace and causes
+		 * @param occurrences
+		 *            Number of times the throwable has been rendered
+		 */
+		private Rendering(final String id, final String header, final String text, final long occurrences) {
+			this.id = id;
+			this.header = header;
+			this.text = text;
+			this.occurrences = occurrences;
+		}
+
+		/**
+		 * Gets the short reference ID.
+		 *
+		 * @return Hexadecimal reference ID
+		 */
+		String getId() {
+			return id;
+		}
+
+		/**
+		 * Gets the rendered first line with class name and message.
+		 *
+		 * @return First line of rendered throwable
+		 */
+		String getHeader() {
+			return header;
+		}
+
+		/**
+		 * Gets the full rendered throwable including stack trace and causes.
+		 *
+		 * @return Full rendered throwable
+		 */
+		String getText() {
+			return text;
+		}
+
+		/**
+		 * Gets the number of times the throwable has been rendered.
+		 *
+		 * @return Number of occurrences
+		 */
+		long getOccurrences() {
+			return occurrences;
+		}
+
+		/**
+		 * Creates a copy with an incremented number of occurrences.
+		 *
+		 * @return New rendering with one more occurrence
+		 */
+		private Rendering increment() {
+			return new Rendering(id, header, text, occurrences + 1);
+		}
+
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.policies;
+
+import java.io.File;
+import java.util.Calendar;
+
+/**
+ * Base policy for triggering rollovers at regular date and time boundaries. The next rollover event is computed in
+ * advance by {@link #reset()}.
+ */
+public abstract class AbstractDatePolicy implements Policy {
+
+	private final Calendar calendar;
+	private final int field;
+	private final int amount;
+
+	private long start;
+	private long end;
+
+	/**
+	 * @param calendar
+	 *            Any rollover event, which can be in the past or in the future
+	 * @param field
+	 *            Calendar field of the period between two rollover events (e.g. {@link Calendar#DATE})
+	 * @param amount
+	 *            Number of units of the calendar field between two rollover events
+	 */
+	protected AbstractDatePolicy(final Calendar calendar, final int field, final int amount) {
+		this.calendar = calendar;
+		this.field = field;
+		this.amount = amount;
+
+		reset();
+	}
+
+	@Override
+	public final boolean continueExistingFile(final String path) {
+		return start <= new File(path).lastModified();
+	}
+
+	@Override
+	public final long getSizeLimit() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public final long getTimeLimit() {
+		return end;
+	}
+
+	@Override
+	public final void reset() {
+		long now = System.currentTimeMillis();
+
+		while (calendar.getTimeInMillis() <= now) {
+			calendar.add(field, amount);
+		}
+
+		Calendar previous = (Calendar) calendar.clone();
+		previous.add(field, -amount);
+		while (previous.getTimeInMillis() > now) {
+			calendar.add(field, -amount);
+			previous.add(field, -amount);
+		}
+
+		start = previous.getTimeInMillis();
+		end = calendar.getTimeInMillis();
+	}
+
+	/**
+	 * Creates a calendar for the current date with the passed time.
+	 *
+	 * @param hour
+	 *            Hour of day (0-23)
+	 * @param minute
+	 *            Minute of hour (0-59)
+	 * @return Created calendar
+	 */
+	protected static Calendar createCalendar(final int hour, final int minute) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.set(Calendar.HOUR_OF_DAY, hour);
+		calendar.set(Calendar.MINUTE, minute);
+		calendar.set(Calendar.SECOND, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		return calendar;
+	}
+
+}
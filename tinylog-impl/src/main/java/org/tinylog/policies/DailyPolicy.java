@@ -13,7 +13,6 @@
 
 package org.tinylog.policies;
 
-import java.io.File;
 import java.util.Calendar;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -21,7 +20,7 @@ import java.util.regex.Pattern;
 /**
  * Policy for triggering a rollover every day at a define time. The default time is 00:00.
  */
-public final class DailyPolicy implements Policy {
+public final class DailyPolicy extends AbstractDatePolicy {
 
 	/* Regular expression for a time with hours and optional minutes */
 	private static final Pattern TIME_PATTERN = Pattern.compile("^([01]?[0-9]|2[0-3])([^\\d]+([0-5]?[0-9]))?$");
@@ -29,52 +28,36 @@ public final class DailyPolicy implements Policy {
 	private static final int GROUP_HOUR = 1;
 	private static final int GROUP_MINUTE = 3;
 
-	private final Calendar calendar;
-
 	/**
 	 * @param argument
 	 *            Time for starting new log file (e.g. "23:30")
 	 */
 	public DailyPolicy(final String argument) {
-		calendar = Calendar.getInstance();
-		calendar.set(Calendar.SECOND, 0);
-		calendar.set(Calendar.MILLISECOND, 0);
+		super(parse(argument), Calendar.DATE, 1);
+	}
 
+	/**
+	 * Creates a calendar for today with the time of the rollover event.
+	 *
+	 * @param argument
+	 *            Time for starting new log file (e.g. "23:30")
+	 * @return Calendar with the configured time
+	 * @throws IllegalArgumentException
+	 *             Invalid time
+	 */
+	private static Calendar parse(final String argument) {
 		if (argument == null || argument.isEmpty()) {
-			calendar.set(Calendar.HOUR_OF_DAY, 0);
-			calendar.set(Calendar.MINUTE, 0);
+			return createCalendar(0, 0);
 		} else {
 			Matcher matcher = TIME_PATTERN.matcher(argument);
 			if (matcher.matches()) {
 				String hour = matcher.group(GROUP_HOUR);
 				String minute = matcher.group(GROUP_MINUTE);
-				calendar.set(Calendar.HOUR_OF_DAY, Integer.parseInt(hour));
-				calendar.set(Calendar.MINUTE, minute == null ? 0 : Integer.parseInt(minute));
+				return createCalendar(Integer.parseInt(hour), minute == null ? 0 : Integer.parseInt(minute));
 			} else {
 				throw new IllegalArgumentException("Invalid time for daily policy: " + argument);
 			}
 		}
-
-		reset();
-	}
-
-	@Override
-	public boolean continueExistingFile(final String path) {
-		Calendar clone = (Calendar) calendar.clone();
-		clone.add(Calendar.DATE, -1);
-		return clone.getTimeInMillis() <= new File(path).lastModified();
-	}
-
-	@Override
-	public boolean continueCurrentFile(final byte[] entry) {
-		return calendar.getTimeInMillis() > System.currentTimeMillis();
-	}
-
-	@Override
-	public void reset() {
-		while (calendar.getTimeInMillis() <= System.currentTimeMillis()) {
-			calendar.add(Calendar.DATE, 1);
-		}
 	}
 
 }
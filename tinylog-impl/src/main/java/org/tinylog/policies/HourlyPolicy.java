@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.policies;
+
+import java.util.Calendar;
+import java.util.regex.Pattern;
+
+/**
+ * Policy for triggering a rollover every hour at a defined minute. The default minute is 0, which means at the full
+ * hour.
+ */
+public final class HourlyPolicy extends AbstractDatePolicy {
+
+	/* Regular expression for a minute */
+	private static final Pattern MINUTE_PATTERN = Pattern.compile("^:?[0-5]?[0-9]$");
+
+	/**
+	 * @param argument
+	 *            Minute of the hour for starting new log file (e.g. "30")
+	 */
+	public HourlyPolicy(final String argument) {
+		super(parse(argument), Calendar.HOUR_OF_DAY, 1);
+	}
+
+	/**
+	 * Creates a calendar for today with the minute of the rollover event.
+	 *
+	 * @param argument
+	 *            Minute of the hour for starting new log file (e.g. "30")
+	 * @return Calendar with the configured minute
+	 * @throws IllegalArgumentException
+	 *             Invalid minute
+	 */
+	private static Calendar parse(final String argument) {
+		if (argument == null || argument.isEmpty()) {
+			return createCalendar(0, 0);
+		} else if (MINUTE_PATTERN.matcher(argument).matches()) {
+			return createCalendar(0, Integer.parseInt(argument.startsWith(":") ? argument.substring(1) : argument));
+		} else {
+			throw new IllegalArgumentException("Invalid minute for hourly policy: " + argument);
+		}
+	}
+
+}
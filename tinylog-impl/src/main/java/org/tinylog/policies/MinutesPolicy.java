@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.policies;
+
+import java.util.Calendar;
+
+/**
+ * Policy for triggering a rollover every N minutes. Rollover events are counted from midnight. Therefore, the
+ * interval should be a divisor of 1440 minutes (one day) like 5, 10, 15 or 30 for getting the same rollover events
+ * every day.
+ */
+public final class MinutesPolicy extends AbstractDatePolicy {
+
+	private static final int MINUTES_PER_DAY = 24 * 60;
+
+	/**
+	 * @param argument
+	 *            Number of minutes between two rollover events (e.g. "15")
+	 */
+	public MinutesPolicy(final String argument) {
+		super(createCalendar(0, 0), Calendar.MINUTE, parse(argument));
+	}
+
+	/**
+	 * Parses the number of minutes between two rollover events.
+	 *
+	 * @param argument
+	 *            Number of minutes as text
+	 * @return Number of minutes
+	 * @throws IllegalArgumentException
+	 *             Missing or invalid number of minutes
+	 */
+	private static int parse(final String argument) {
+		if (argument == null || argument.isEmpty()) {
+			throw new IllegalArgumentException("Number of minutes is missing for minutes policy");
+		}
+
+		int minutes;
+		try {
+			minutes = Integer.parseInt(argument.trim());
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid number of minutes for minutes policy: " + argument);
+		}
+
+		if (minutes <= 0 || minutes > MINUTES_PER_DAY) {
+			throw new IllegalArgumentException("Invalid number of minutes for minutes policy: " + argument);
+		} else {
+			return minutes;
+		}
+	}
+
+}
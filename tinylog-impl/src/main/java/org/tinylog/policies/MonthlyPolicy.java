@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.policies;
+
+import java.util.Calendar;
+
+import org.tinylog.Level;
+import org.tinylog.provider.InternalLogger;
+
+/**
+ * Policy for triggering a rollover every month at midnight of the first day of month.
+ */
+public final class MonthlyPolicy extends AbstractDatePolicy {
+
+	/**
+	 * @param argument
+	 *            Should be always {@code null} as monthly policy does not support arguments
+	 */
+	public MonthlyPolicy(final String argument) {
+		super(createFirstDayOfMonth(), Calendar.MONTH, 1);
+
+		if (argument != null) {
+			InternalLogger.log(Level.WARN, "Monthly policy does not support arguments");
+		}
+	}
+
+	/**
+	 * Creates a calendar for midnight of the first day of the current month.
+	 *
+	 * @return Calendar for the first day of the current month
+	 */
+	private static Calendar createFirstDayOfMonth() {
+		Calendar calendar = createCalendar(0, 0);
+		calendar.set(Calendar.DAY_OF_MONTH, 1);
+		return calendar;
+	}
+
+}
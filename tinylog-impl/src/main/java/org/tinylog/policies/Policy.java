@@ -15,6 +15,11 @@ package org.tinylog.policies;
 
 /**
  * Policies are used by {@link org.tinylog.writers.RollingFileWriter RollingFileWriter} for triggering rollover events.
+ *
+ * <p>
+ * Policies are not checked for each log entry. Instead, each policy provides a maximum file size and a point in time
+ * for the next rollover event, which are combined and checked by a {@link PolicyEvaluator}.
+ * </p>
  */
 public interface Policy {
 
@@ -28,14 +33,19 @@ public interface Policy {
 	boolean continueExistingFile(String path);
 
 	/**
-	 * Checks if a log entry can be appended to the current log file.
-	 * 
-	 * @param entry
-	 *            Log entry
-	 * @return {@code true} if log entry can be appended to the current log file, {@code false} if a new log file should
-	 *         be created
+	 * Gets the maximum size for the current log file.
+	 *
+	 * @return Maximum file size in bytes or {@link Long#MAX_VALUE} if this policy doesn't limit the file size
+	 */
+	long getSizeLimit();
+
+	/**
+	 * Gets the point in time at which a new log file should be started.
+	 *
+	 * @return Milliseconds since 1970-01-01T00:00:00Z or {@link Long#MAX_VALUE} if this policy doesn't limit the
+	 *         time
 	 */
-	boolean continueCurrentFile(byte[] entry);
+	long getTimeLimit();
 
 	/**
 	 * Resets this policy as a new log file has been started.
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.policies;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Evaluator for combining multiple {@link Policy policies}. The smallest size and time limits of all policies are
+ * computed in advance, when a log file is started. Therefore, checking whether a log entry can be appended to the
+ * current log file requires only comparisons with these precomputed thresholds.
+ *
+ * <p>
+ * Evaluators are not thread-safe.
+ * </p>
+ */
+public final class PolicyEvaluator {
+
+	private final Policy[] policies;
+
+	private long size;
+	private long sizeLimit;
+	private long timeLimit;
+
+	/**
+	 * @param policies
+	 *            Policies to combine
+	 */
+	public PolicyEvaluator(final List<Policy> policies) {
+		this.policies = policies.toArray(new Policy[policies.size()]);
+		this.size = 0;
+		updateLimits();
+	}
+
+	/**
+	 * Checks if an existing log file can be continued. All policies have to agree to continue the existing log file.
+	 * If the log file is continued, its current file size will be taken into account for size limits.
+	 *
+	 * @param path
+	 *            Path to log file
+	 * @return {@code true} if existing log file can be continued, {@code false} if a new log file should be created
+	 */
+	public boolean continueExistingFile(final String path) {
+		boolean result = true;
+		for (Policy policy : policies) {
+			result &= policy.continueExistingFile(path);
+		}
+
+		if (result) {
+			size = new File(path).length();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Checks if a log entry can be appended to the current log file.
+	 *
+	 * @param length
+	 *            Length of the encoded log entry in bytes
+	 * @return {@code true} if log entry can be appended to the current log file, {@code false} if a new log file should
+	 *         be created
+	 */
+	public boolean continueCurrentFile(final int length) {
+		size += length;
+		return size <= sizeLimit && (timeLimit == Long.MAX_VALUE || System.currentTimeMillis() < timeLimit);
+	}
+
+	/**
+	 * Updates the current size of the log file without resetting any policy. This is required if other processes write
+	 * to the same log file as well.
+	 *
+	 * @param size
+	 *            Current size of the log file in bytes
+	 */
+	public void updateSize(final long size) {
+		this.size = size;
+	}
+
+	/**
+	 * Resets all policies as a new log file has been started.
+	 *
+	 * @param initialSize
+	 *            Number of bytes that will be written to the new log file immediately
+	 */
+	public void reset(final long initialSize) {
+		for (Policy policy : policies) {
+			policy.reset();
+		}
+
+		size = initialSize;
+		updateLimits();
+	}
+
+	/**
+	 * Computes the smallest size and time limits of all policies.
+	 */
+	private void updateLimits() {
+		sizeLimit = Long.MAX_VALUE;
+		timeLimit = Long.MAX_VALUE;
+
+		for (Policy policy : policies) {
+			sizeLimit = Math.min(sizeLimit, policy.getSizeLimit());
+			timeLimit = Math.min(timeLimit, policy.getTimeLimit());
+		}
+	}
+
+}
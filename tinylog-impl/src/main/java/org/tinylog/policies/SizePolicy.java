@@ -26,7 +26,6 @@ public final class SizePolicy implements Policy {
 	private static final long GB = MB * 1024L;
 
 	private final long maximum;
-	private long count;
 
 	/**
 	 * @param argument
@@ -49,20 +48,21 @@ public final class SizePolicy implements Policy {
 
 	@Override
 	public boolean continueExistingFile(final String path) {
-		File file = new File(path);
-		count = file.length();
-		return count <= maximum;
+		return new File(path).length() <= maximum;
 	}
 
 	@Override
-	public boolean continueCurrentFile(final byte[] entry) {
-		count += entry.length;
-		return count <= maximum;
+	public long getSizeLimit() {
+		return maximum;
+	}
+
+	@Override
+	public long getTimeLimit() {
+		return Long.MAX_VALUE;
 	}
 
 	@Override
 	public void reset() {
-		count = 0;
 	}
 
 	/**
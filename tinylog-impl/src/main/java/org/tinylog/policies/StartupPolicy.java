@@ -37,8 +37,13 @@ public final class StartupPolicy implements Policy {
 	}
 
 	@Override
-	public boolean continueCurrentFile(final byte[] entry) {
-		return true;
+	public long getSizeLimit() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public long getTimeLimit() {
+		return Long.MAX_VALUE;
 	}
 
 	@Override
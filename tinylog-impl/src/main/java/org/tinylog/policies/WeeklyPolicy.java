@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.policies;
+
+import java.text.DateFormatSymbols;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * Policy for triggering a rollover every week at midnight of a defined day of week. The default day is Monday. Days
+ * can be defined by their English names (e.g. "sunday") or abbreviations (e.g. "sun").
+ */
+public final class WeeklyPolicy extends AbstractDatePolicy {
+
+	private static final int DAYS_PER_WEEK = 7;
+	private static final int ABBREVIATION_LENGTH = 3;
+
+	/**
+	 * @param argument
+	 *            Day of week for starting new log file (e.g. "monday")
+	 */
+	public WeeklyPolicy(final String argument) {
+		super(parse(argument), Calendar.DATE, DAYS_PER_WEEK);
+	}
+
+	/**
+	 * Creates a calendar for the current week with the day of week of the rollover event.
+	 *
+	 * @param argument
+	 *            Day of week for starting new log file (e.g. "monday")
+	 * @return Calendar with the configured day of week
+	 * @throws IllegalArgumentException
+	 *             Invalid day of week
+	 */
+	private static Calendar parse(final String argument) {
+		Calendar calendar = createCalendar(0, 0);
+
+		if (argument == null || argument.isEmpty()) {
+			calendar.set(Calendar.DAY_OF_WEEK, Calendar.MONDAY);
+			return calendar;
+		}
+
+		String day = argument.trim().toLowerCase(Locale.ENGLISH);
+		String[] names = new DateFormatSymbols(Locale.ENGLISH).getWeekdays();
+		for (int i = Calendar.SUNDAY; i <= Calendar.SATURDAY; ++i) {
+			String name = names[i].toLowerCase(Locale.ENGLISH);
+			if (name.equals(day) || (day.length() == ABBREVIATION_LENGTH && name.startsWith(day))) {
+				calendar.set(Calendar.DAY_OF_WEEK, i);
+				return calendar;
+			}
+		}
+
+		throw new IllegalArgumentException("Invalid day of week for weekly policy: " + argument);
+	}
+
+}
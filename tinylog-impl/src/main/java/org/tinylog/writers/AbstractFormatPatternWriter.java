@@ -16,24 +16,34 @@ package org.tinylog.writers;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Map;
+import java.util.zip.Deflater;
 
 import org.tinylog.Level;
 import org.tinylog.core.LogEntry;
 import org.tinylog.core.LogEntryValue;
+import org.tinylog.metrics.StripedCounter;
 import org.tinylog.pattern.FormatPatternParser;
 import org.tinylog.pattern.Token;
 import org.tinylog.provider.InternalLogger;
+import org.tinylog.writers.raw.AppendingFileOutputStreamWriter;
 import org.tinylog.writers.raw.BufferedWriterDecorator;
 import org.tinylog.writers.raw.ByteArrayWriter;
+import org.tinylog.writers.raw.GzipWriterDecorator;
 import org.tinylog.writers.raw.LockedFileOutputStreamWriter;
 import org.tinylog.writers.raw.OutputStreamWriter;
 import org.tinylog.writers.raw.SynchronizedWriterDecorator;
 
 /**
  * Base writer for outputting rendered log entries. The format pattern will be read from property <tt>format</tt>.
+ *
+ * <p>
+ * If metrics are enabled, the property <tt>metrics</tt> is passed as "true" and the number of bytes of all log entries
+ * that are rendered via {@link #render(LogEntry, Charset)} will be counted.
+ * </p>
  */
 public abstract class AbstractFormatPatternWriter implements Writer {
 
@@ -43,6 +53,7 @@ public abstract class AbstractFormatPatternWriter implements Writer {
 
 	private final StringBuilder builder;
 	private final Token token;
+	private final StripedCounter outputBytes;
 
 	/**
 	 * @param properties
@@ -56,6 +67,7 @@ public abstract class AbstractFormatPatternWriter implements Writer {
 
 		token = FormatPatternParser.parse(pattern + NEW_LINE);
 		builder = Boolean.parseBoolean(properties.get("writingthread")) ? new StringBuilder(BUILDER_CAPACITY) : null;
+		outputBytes = Boolean.parseBoolean(properties.get("metrics")) ? new StripedCounter() : null;
 	}
 
 	/**
@@ -69,6 +81,15 @@ public abstract class AbstractFormatPatternWriter implements Writer {
 		return token.getRequiredLogEntryValues();
 	}
 
+	/**
+	 * Gets the total number of bytes of all log entries that have been rendered via {@link #render(LogEntry, Charset)}.
+	 *
+	 * @return Number of rendered bytes or {@code -1} if metrics are not enabled
+	 */
+	public final long getOutputBytes() {
+		return outputBytes == null ? -1L : outputBytes.sum();
+	}
+
 	/**
 	 * Extracts the log file name from configuration.
 	 *
@@ -105,6 +126,36 @@ public abstract class AbstractFormatPatternWriter implements Writer {
 		}
 	}
 
+	/**
+	 * Extracts the compression level from configuration.
+	 *
+	 * @param properties
+	 *            Configuration for writer
+	 * @return Compression level between 0 and 9 or {@link Deflater#DEFAULT_COMPRESSION} if no compression level is
+	 *         defined
+	 * @throws IllegalArgumentException
+	 *             Invalid compression level
+	 */
+	protected static int getCompressionLevel(final Map<String, String> properties) {
+		String level = properties.get("compression.level");
+		if (level == null) {
+			return Deflater.DEFAULT_COMPRESSION;
+		}
+
+		int result;
+		try {
+			result = Integer.parseInt(level.trim());
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		}
+
+		if (result < Deflater.NO_COMPRESSION || result > Deflater.BEST_COMPRESSION) {
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		} else {
+			return result;
+		}
+	}
+
 	/**
 	 * Creates a {@link ByteArrayWriter} for a file.
 	 *
@@ -124,12 +175,94 @@ public abstract class AbstractFormatPatternWriter implements Writer {
 	 */
 	protected static ByteArrayWriter createByteArrayWriter(final String fileName, final boolean append, final boolean buffered,
 		final boolean threadSafe, final boolean shared) throws FileNotFoundException {
+		return createByteArrayWriter(fileName, append, buffered, threadSafe, shared, false, Deflater.DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * Creates a {@link ByteArrayWriter} for a file that optionally compresses all output data in GZIP format.
+	 *
+	 * @param fileName
+	 *            Name of file to open for writing
+	 * @param append
+	 *            An already existing file should be continued
+	 * @param buffered
+	 *            Output should be buffered
+	 * @param threadSafe
+	 *            Created writer must be thread-safe
+	 * @param shared
+	 *            Output file is shared with other processes
+	 * @param compressed
+	 *            Output should be compressed in GZIP format
+	 * @param compressionLevel
+	 *            Compression level between 0 and 9 or {@link Deflater#DEFAULT_COMPRESSION} for default level
+	 * @return Writer for writing to passed file
+	 * @throws FileNotFoundException
+	 *             File does not exist or cannot be opened for any other reason
+	 */
+	protected static ByteArrayWriter createByteArrayWriter(final String fileName, final boolean append, final boolean buffered,
+		final boolean threadSafe, final boolean shared, final boolean compressed, final int compressionLevel)
+		throws FileNotFoundException {
 		File file = new File(fileName).getAbsoluteFile();
 		file.getParentFile().mkdirs();
 
 		FileOutputStream stream = new FileOutputStream(file, append);
 		ByteArrayWriter writer = shared ? new LockedFileOutputStreamWriter(stream) : new OutputStreamWriter(stream);
 
+		if (compressed) {
+			try {
+				writer = new GzipWriterDecorator(writer, compressionLevel);
+			} catch (IOException ex) {
+				close(stream);
+				FileNotFoundException exception = new FileNotFoundException("Failed to write GZIP header to " + file);
+				exception.initCause(ex);
+				throw exception;
+			}
+		}
+
+		if (buffered) {
+			writer = new BufferedWriterDecorator(writer);
+		}
+
+		if (threadSafe) {
+			writer = new SynchronizedWriterDecorator(writer, stream);
+		}
+
+		return writer;
+	}
+
+	/**
+	 * Creates a {@link ByteArrayWriter} for a file that relies on the append mode of the operating system instead of
+	 * locking for each write operation.
+	 *
+	 * @param fileName
+	 *            Name of file to open for writing
+	 * @param append
+	 *            An already existing file should be continued
+	 * @param buffered
+	 *            Output should be buffered
+	 * @param threadSafe
+	 *            Created writer must be thread-safe
+	 * @return Writer for writing to passed file
+	 * @throws IOException
+	 *             File cannot be opened or truncated
+	 */
+	protected static ByteArrayWriter createAppendingByteArrayWriter(final String fileName, final boolean append,
+		final boolean buffered, final boolean threadSafe) throws IOException {
+		File file = new File(fileName).getAbsoluteFile();
+		file.getParentFile().mkdirs();
+
+		FileOutputStream stream = new FileOutputStream(file, true);
+		if (!append) {
+			try {
+				stream.getChannel().truncate(0);
+			} catch (IOException ex) {
+				stream.close();
+				throw ex;
+			}
+		}
+
+		ByteArrayWriter writer = new AppendingFileOutputStreamWriter(stream);
+
 		if (buffered) {
 			writer = new BufferedWriterDecorator(writer);
 		}
@@ -141,6 +274,20 @@ public abstract class AbstractFormatPatternWriter implements Writer {
 		return writer;
 	}
 
+	/**
+	 * Closes a stream silently.
+	 *
+	 * @param stream
+	 *            Stream to close
+	 */
+	private static void close(final FileOutputStream stream) {
+		try {
+			stream.close();
+		} catch (IOException ex) {
+			InternalLogger.log(Level.ERROR, ex, "Failed to close file");
+		}
+	}
+
 	/**
 	 * Renders a log entry as string.
 	 *
@@ -160,4 +307,21 @@ public abstract class AbstractFormatPatternWriter implements Writer {
 		}
 	}
 
+	/**
+	 * Renders a log entry as byte array. If metrics are enabled, the number of bytes will be counted.
+	 *
+	 * @param logEntry
+	 *            Log entry to render
+	 * @param charset
+	 *            Charset for encoding the rendered log entry
+	 * @return Rendered and encoded log entry
+	 */
+	protected final byte[] render(final LogEntry logEntry, final Charset charset) {
+		byte[] data = render(logEntry).getBytes(charset);
+		if (outputBytes != null) {
+			outputBytes.add(data.length);
+		}
+		return data;
+	}
+
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.writers;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.tinylog.Level;
+import org.tinylog.core.ConfigurationParser;
+import org.tinylog.provider.InternalLogger;
+
+/**
+ * Retention of backups for rolled log files. Obsolete backups can be deleted by count, by total size and by age.
+ *
+ * <p>
+ * All backups are kept in an in-memory index, which is seeded once at startup. Newly rolled log files are added to
+ * the index, so that retention decisions never have to scan the log directory again. Backups that have been replaced
+ * by a compressed sibling are tracked transparently.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+final class BackupRetention {
+
+	private static final long KB = 1024L;
+	private static final long MB = KB * 1024L;
+	private static final long GB = MB * 1024L;
+
+	private final int count;
+	private final long size;
+	private final long age;
+	private final String extension;
+
+	private final LinkedList<Backup> backups;
+	private long totalSize;
+
+	/**
+	 * @param count
+	 *            Maximum number of backups or -1 for unlimited backups
+	 * @param size
+	 *            Maximum total size of all backups in bytes or -1 for unlimited size
+	 * @param age
+	 *            Maximum age of backups in milliseconds or -1 for unlimited age
+	 * @param extension
+	 *            File extension of compressed backups (can be {@code null} if backups are not compressed)
+	 */
+	BackupRetention(final int count, final long size, final long age, final String extension) {
+		this.count = count;
+		this.size = size;
+		this.age = age;
+		this.extension = extension;
+		this.backups = new LinkedList<Backup>();
+		this.totalSize = 0;
+	}
+
+	/**
+	 * Checks if any retention limit is defined.
+	 *
+	 * @return {@code true} if at least one limit is defined, {@code false} if all backups are kept forever
+	 */
+	boolean isEnabled() {
+		return count >= 0 || size >= 0 || age >= 0;
+	}
+
+	/**
+	 * Seeds the index with existing backups. All previously indexed backups are discarded. Nothing will be indexed, if
+	 * no retention limit is defined.
+	 *
+	 * @param files
+	 *            Existing backups sorted by last modification date, the most recently modified file first
+	 */
+	void seed(final List<File> files) {
+		backups.clear();
+		totalSize = 0;
+
+		if (!isEnabled()) {
+			return;
+		}
+
+		for (File file : files) {
+			Backup backup = new Backup(file);
+			backups.addLast(backup);
+			totalSize += backup.size;
+		}
+	}
+
+	/**
+	 * Adds a newly rolled log file as the most recent backup.
+	 *
+	 * @param file
+	 *            Rolled log file
+	 */
+	void add(final File file) {
+		if (!isEnabled()) {
+			return;
+		}
+
+		Backup backup = new Backup(file);
+		backups.addFirst(backup);
+		totalSize += backup.size;
+	}
+
+	/**
+	 * Deletes all backups that exceed the maximum number of backups, the maximum total size or the maximum age. Older
+	 * backups are deleted first.
+	 */
+	void apply() {
+		long now = System.currentTimeMillis();
+		int index = 0;
+		long accumulatedSize = 0;
+
+		for (Iterator<Backup> iterator = backups.iterator(); iterator.hasNext(); ++index) {
+			Backup backup = iterator.next();
+
+			if (size >= 0 && accumulatedSize + backup.size > size) {
+				backup.refresh();
+			}
+
+			boolean obsolete = (count >= 0 && index >= count)
+				|| (size >= 0 && accumulatedSize + backup.size > size)
+				|| (age >= 0 && backup.lastModified < now - age);
+
+			if (obsolete) {
+				backup.refresh();
+				backup.delete();
+				iterator.remove();
+				totalSize -= backup.size;
+				--index;
+			} else {
+				accumulatedSize += backup.size;
+			}
+		}
+	}
+
+	/**
+	 * Gets the total size of all indexed backups.
+	 *
+	 * @return Total size in bytes
+	 */
+	long getTotalSize() {
+		return totalSize;
+	}
+
+	/**
+	 * Gets the number of indexed backups.
+	 *
+	 * @return Number of backups
+	 */
+	int getCount() {
+		return backups.size();
+	}
+
+	/**
+	 * Parses a file size. The units GB, MB, KB and bytes are supported. A number without any unit is interpreted as
+	 * bytes.
+	 *
+	 * @param text
+	 *            File size as text (e.g. "100MB")
+	 * @return File size in bytes or -1 if the passed text is {@code null}
+	 * @throws IllegalArgumentException
+	 *             Invalid file size
+	 */
+	static long parseSize(final String text) {
+		if (text == null) {
+			return -1;
+		}
+
+		String value = text.trim().toLowerCase(Locale.ROOT);
+		long factor;
+		if (value.endsWith("gb")) {
+			factor = GB;
+		} else if (value.endsWith("mb")) {
+			factor = MB;
+		} else if (value.endsWith("kb")) {
+			factor = KB;
+		} else {
+			factor = 1;
+		}
+
+		return parsePositiveNumber(text, value.replaceAll("[a-z]+$", "")) * factor;
+	}
+
+	/**
+	 * Parses an age. The units d (days), h (hours), m (minutes), s (seconds) and ms (milliseconds) are supported. A
+	 * number without any unit is interpreted as days.
+	 *
+	 * @param text
+	 *            Age as text (e.g. "30d")
+	 * @return Age in milliseconds or -1 if the passed text is {@code null}
+	 * @throws IllegalArgumentException
+	 *             Invalid age
+	 */
+	static long parseAge(final String text) {
+		if (text == null) {
+			return -1;
+		} else {
+			return ConfigurationParser.parseDuration(text, TimeUnit.DAYS);
+		}
+	}
+
+	/**
+	 * Parses a positive number.
+	 *
+	 * @param text
+	 *            Original text for error messages
+	 * @param number
+	 *            Number to parse
+	 * @return Parsed number
+	 * @throws IllegalArgumentException
+	 *             Number is invalid or not positive
+	 */
+	private static long parsePositiveNumber(final String text, final String number) {
+		long result;
+		try {
+			result = Long.parseLong(number.trim());
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid value \"" + text + "\" for backup retention");
+		}
+
+		if (result <= 0) {
+			throw new IllegalArgumentException("Invalid value \"" + text + "\" for backup retention");
+		} else {
+			return result;
+		}
+	}
+
+	/**
+	 * Indexed backup.
+	 */
+	private final class Backup {
+
+		private File file;
+		private long size;
+		private final long lastModified;
+
+		/**
+		 * @param file
+		 *            Backup file
+		 */
+		private Backup(final File file) {
+			this.file = file;
+			this.size = file.length();
+			this.lastModified = file.lastModified();
+		}
+
+		/**
+		 * Updates the file and size, if the backup has been replaced by a compressed sibling in the meantime.
+		 */
+		private void refresh() {
+			if (extension != null && !file.getPath().endsWith(extension) && !file.exists()) {
+				File compressed = new File(file.getPath() + extension);
+				if (compressed.exists()) {
+					totalSize -= size;
+					file = compressed;
+					size = compressed.length();
+					totalSize += size;
+				}
+			}
+		}
+
+		/**
+		 * Deletes the backup file.
+		 */
+		private void delete() {
+			if (!file.delete() && file.exists()) {
+				InternalLogger.log(Level.WARN, "Failed to delete log file '" + file.getAbsolutePath() + "'");
+			}
+		}
+
+	}
+
+}
@@ -13,25 +13,51 @@
 
 package org.tinylog.writers;
 
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Collection;
+import java.util.Locale;
 import java.util.Map;
 
 import org.tinylog.Level;
 import org.tinylog.core.LogEntry;
 import org.tinylog.core.LogEntryValue;
 import org.tinylog.provider.InternalLogger;
+import org.tinylog.writers.raw.BufferedWriterDecorator;
+import org.tinylog.writers.raw.ByteArrayWriter;
+import org.tinylog.writers.raw.OutputStreamWriter;
 
 /**
  * Writer for outputting log entries to system output streams.
  *
  * <p>
  * The error output stream will be used for log entries with the severity level warning and error. The standard output
- * stream will used for all other log entries.
+ * stream will used for all other log entries. The property <tt>stream</tt> can be set to "out" or "err" for using
+ * only one of both streams, or to "err@&lt;level&gt;" for using the error output stream for all log entries with the
+ * defined severity level or higher.
+ * </p>
+ *
+ * <p>
+ * By default, log entries are printed via {@link System#out} and {@link System#err}, which synchronize and flush each
+ * log entry. If the property <tt>buffered</tt> is set to "true", log entries are written directly to the file
+ * descriptors of the system output streams through separate buffers instead. Buffered output is flushed, when a buffer
+ * is full, at the latest at {@link #flush()}. Therefore, buffered output requires the writing thread, which flushes
+ * after each batch of log entries. Without the writing thread, the property <tt>buffered</tt> is ignored. Before
+ * writing a log entry to the other output stream, the buffer of the previous output stream is flushed, so that log
+ * entries keep their order across both streams. Output of other code via {@link System#out} and {@link System#err} can
+ * interleave with buffered log entries only at buffer boundaries.
  * </p>
  */
 public final class ConsoleWriter extends AbstractFormatPatternWriter {
 
 	private final Level errorLevel;
+	private final Charset charset;
+	private final ByteArrayWriter standardWriter;
+	private final ByteArrayWriter errorWriter;
+
+	private ByteArrayWriter lastWriter;
 
 	/**
 	 * @param properties
@@ -39,17 +65,23 @@ public final class ConsoleWriter extends AbstractFormatPatternWriter {
 	 */
 	public ConsoleWriter(final Map<String, String> properties) {
 		super(properties);
-		
-		String stream = properties.get("stream");
-		if (stream == null) {
-			errorLevel = Level.WARN;
-		} else if ("err".equalsIgnoreCase(stream)) {
-			errorLevel = Level.TRACE;
-		} else if ("out".equalsIgnoreCase(stream)) {
-			errorLevel = Level.OFF;
+
+		errorLevel = getErrorLevel(properties.get("stream"));
+
+		boolean buffered = Boolean.parseBoolean(properties.get("buffered"));
+		if (buffered && !Boolean.parseBoolean(properties.get("writingthread"))) {
+			InternalLogger.log(Level.WARN, "Buffered console output requires the writing thread, output will be unbuffered");
+			buffered = false;
+		}
+
+		if (buffered) {
+			charset = getCharset(properties);
+			standardWriter = createWriter(FileDescriptor.out);
+			errorWriter = createWriter(FileDescriptor.err);
 		} else {
-			InternalLogger.log(Level.ERROR, "Stream must be \"out\" or \"err\", \"" + stream + "\" is an invalid stream name");
-			errorLevel = Level.WARN;
+			charset = null;
+			standardWriter = null;
+			errorWriter = null;
 		}
 	}
 
@@ -61,20 +93,87 @@ public final class ConsoleWriter extends AbstractFormatPatternWriter {
 	}
 
 	@Override
-	public void write(final LogEntry logEntry) {
-		if (logEntry.getLevel().ordinal() < errorLevel.ordinal()) {
-			System.out.print(render(logEntry));
+	public void write(final LogEntry logEntry) throws IOException {
+		boolean standard = logEntry.getLevel().ordinal() < errorLevel.ordinal();
+
+		if (standardWriter == null) {
+			if (standard) {
+				System.out.print(render(logEntry));
+			} else {
+				System.err.print(render(logEntry));
+			}
 		} else {
-			System.err.print(render(logEntry));
+			byte[] data = render(logEntry, charset);
+			ByteArrayWriter writer = standard ? standardWriter : errorWriter;
+			if (lastWriter != writer) {
+				if (lastWriter != null) {
+					lastWriter.flush();
+				}
+				lastWriter = writer;
+			}
+			writer.write(data, data.length);
 		}
 	}
 
 	@Override
-	public void flush() {
+	public void flush() throws IOException {
+		if (standardWriter != null) {
+			try {
+				standardWriter.flush();
+			} finally {
+				errorWriter.flush();
+			}
+		}
 	}
 
+	/**
+	 * Buffered output is only flushed, as the file descriptors of the system output streams must stay open.
+	 *
+	 * @throws IOException
+	 *             Flushing failed
+	 */
 	@Override
-	public void close() {
+	public void close() throws IOException {
+		flush();
+	}
+
+	/**
+	 * Extracts the severity level from which on log entries will be written to the error output stream.
+	 *
+	 * @param stream
+	 *            Value of the property "stream" or {@code null} if not defined
+	 * @return Severity level for the error output stream
+	 */
+	private static Level getErrorLevel(final String stream) {
+		if (stream == null) {
+			return Level.WARN;
+		} else if ("err".equalsIgnoreCase(stream)) {
+			return Level.TRACE;
+		} else if ("out".equalsIgnoreCase(stream)) {
+			return Level.OFF;
+		} else if (stream.toLowerCase(Locale.ROOT).startsWith("err@")) {
+			String level = stream.substring("err@".length()).trim();
+			try {
+				return Level.valueOf(level.toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException ex) {
+				InternalLogger.log(Level.ERROR, "Invalid severity level \"" + level + "\" for error output stream");
+				return Level.WARN;
+			}
+		} else {
+			InternalLogger.log(Level.ERROR, "Stream must be \"out\" or \"err\", \"" + stream + "\" is an invalid stream name");
+			return Level.WARN;
+		}
+	}
+
+	/**
+	 * Creates a buffered writer for a file descriptor of a system output stream.
+	 *
+	 * @param descriptor
+	 *            {@link FileDescriptor#out} or {@link FileDescriptor#err}
+	 * @return Buffered writer for the passed file descriptor
+	 */
+	private static ByteArrayWriter createWriter(final FileDescriptor descriptor) {
+		return new BufferedWriterDecorator(new OutputStreamWriter(new FileOutputStream(descriptor)));
 	}
 
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.writers;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.tinylog.Level;
+import org.tinylog.provider.InternalLogger;
+
+/**
+ * Compressor for rolled log files. Files are compressed synchronously by the calling thread, which should be a
+ * background thread. The original file will be deleted after successful compression and the compressed file gets the
+ * last modification date of the original file.
+ *
+ * <p>
+ * Supported algorithms are "gzip" (file extension ".gz") and "deflate" (zlib format, file extension ".deflate"). The
+ * compression level can be between 0 (no compression) and 9 (best compression). Lower levels are faster.
+ * </p>
+ */
+final class FileCompressor {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final String TEMPORARY_EXTENSION = ".tmp";
+
+	private final boolean gzip;
+	private final int level;
+
+	/**
+	 * @param algorithm
+	 *            Compression algorithm ("gzip" or "deflate")
+	 * @param level
+	 *            Compression level between 0 and 9 or {@link Deflater#DEFAULT_COMPRESSION} for default level
+	 *
+	 * @throws IllegalArgumentException
+	 *             Unsupported algorithm
+	 */
+	FileCompressor(final String algorithm, final int level) {
+		String name = algorithm.trim().toLowerCase(Locale.ROOT);
+		if ("gzip".equals(name)) {
+			gzip = true;
+		} else if ("deflate".equals(name)) {
+			gzip = false;
+		} else {
+			throw new IllegalArgumentException("Unsupported compression algorithm: " + algorithm);
+		}
+
+		this.level = level;
+	}
+
+	/**
+	 * Gets the file extension for compressed files.
+	 *
+	 * @return File extension including the leading dot
+	 */
+	String getExtension() {
+		return gzip ? ".gz" : ".deflate";
+	}
+
+	/**
+	 * Compresses a file synchronously. Nothing happens if the file doesn't exist anymore.
+	 *
+	 * @param file
+	 *            File to compress
+	 * @return Compressed file or the passed file, if it could not be compressed
+	 */
+	File compress(final File file) {
+		if (!file.isFile()) {
+			return file;
+		}
+
+		File target = new File(file.getPath() + getExtension());
+		File temporary = new File(target.getPath() + TEMPORARY_EXTENSION);
+
+		try {
+			long lastModified = file.lastModified();
+
+			InputStream input = new FileInputStream(file);
+			try {
+				write(input, temporary);
+			} finally {
+				input.close();
+			}
+
+			if (target.exists() && !target.delete()) {
+				InternalLogger.log(Level.WARN, "Failed to overwrite compressed log file '" + target.getAbsolutePath() + "'");
+				delete(temporary);
+			} else if (temporary.renameTo(target)) {
+				if (!target.setLastModified(lastModified)) {
+					InternalLogger.log(Level.WARN, "Failed to set last modification date of '" + target.getAbsolutePath() + "'");
+				}
+				if (!file.delete() && file.exists()) {
+					InternalLogger.log(Level.WARN, "Failed to delete log file '" + file.getAbsolutePath() + "' after compression");
+				}
+				return target;
+			} else {
+				InternalLogger.log(Level.WARN, "Failed to rename compressed log file '" + temporary.getAbsolutePath() + "'");
+				delete(temporary);
+			}
+		} catch (IOException ex) {
+			InternalLogger.log(Level.ERROR, ex, "Failed to compress log file '" + file.getAbsolutePath() + "'");
+			delete(temporary);
+		}
+
+		return file;
+	}
+
+	/**
+	 * Writes compressed data from an input stream to a file.
+	 *
+	 * @param input
+	 *            Uncompressed data
+	 * @param file
+	 *            Target file for compressed data
+	 *
+	 * @throws IOException
+	 *             Failed to read or write data
+	 */
+	private void write(final InputStream input, final File file) throws IOException {
+		Deflater deflater = gzip ? null : new Deflater(level, false);
+		try {
+			OutputStream output = gzip
+				? new LeveledGzipOutputStream(new FileOutputStream(file), level)
+				: new DeflaterOutputStream(new FileOutputStream(file), deflater, BUFFER_SIZE);
+			try {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				for (int count = input.read(buffer); count >= 0; count = input.read(buffer)) {
+					output.write(buffer, 0, count);
+				}
+			} finally {
+				output.close();
+			}
+		} finally {
+			if (deflater != null) {
+				deflater.end();
+			}
+		}
+	}
+
+	/**
+	 * Deletes a file silently.
+	 *
+	 * @param file
+	 *            File to delete
+	 */
+	private static void delete(final File file) {
+		if (!file.delete() && file.exists()) {
+			InternalLogger.log(Level.WARN, "Failed to delete temporary file '" + file.getAbsolutePath() + "'");
+		}
+	}
+
+	/**
+	 * GZIP output stream with configurable compression level.
+	 */
+	private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+		/**
+		 * @param stream
+		 *            Target output stream
+		 * @param level
+		 *            Compression level
+		 *
+		 * @throws IOException
+		 *             Failed to write GZIP header
+		 */
+		private LeveledGzipOutputStream(final OutputStream stream, final int level) throws IOException {
+			super(stream, BUFFER_SIZE);
+			def.setLevel(level);
+		}
+
+	}
+
+}
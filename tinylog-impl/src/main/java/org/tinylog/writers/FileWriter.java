@@ -24,6 +24,12 @@ import org.tinylog.writers.raw.ByteArrayWriter;
 /**
  * Writer for outputting log entries to a log file. Already existing files can be continued and the output can be
  * buffered for improving performance.
+ *
+ * <p>
+ * The output can be compressed on the fly in GZIP format by setting the property <tt>compression</tt> to "gzip". The
+ * compression level can be defined via the property <tt>compression.level</tt> (0-9). Compressed data is sync
+ * flushed in blocks, so the log file stays readable up to the last completed block.
+ * </p>
  */
 public final class FileWriter extends AbstractFormatPatternWriter {
 
@@ -46,14 +52,15 @@ public final class FileWriter extends AbstractFormatPatternWriter {
 		boolean append = Boolean.parseBoolean(properties.get("append"));
 		boolean buffered = Boolean.parseBoolean(properties.get("buffered"));
 		boolean writingThread = Boolean.parseBoolean(properties.get("writingthread"));
+		boolean compressed = isCompressed(properties.get("compression"));
 
 		charset = getCharset(properties);
-		writer = createByteArrayWriter(fileName, append, buffered, !writingThread, false);
+		writer = createByteArrayWriter(fileName, append, buffered, !writingThread, false, compressed, getCompressionLevel(properties));
 	}
 
 	@Override
 	public void write(final LogEntry logEntry) throws IOException {
-		byte[] data = render(logEntry).getBytes(charset);
+		byte[] data = render(logEntry, charset);
 		writer.write(data, data.length);
 	}
 
@@ -67,4 +74,23 @@ public final class FileWriter extends AbstractFormatPatternWriter {
 		writer.close();
 	}
 
+	/**
+	 * Checks if the output should be compressed.
+	 *
+	 * @param algorithm
+	 *            Configured compression algorithm (can be {@code null})
+	 * @return {@code true} for GZIP compression, {@code false} for uncompressed output
+	 * @throws IllegalArgumentException
+	 *             Unsupported compression algorithm
+	 */
+	private static boolean isCompressed(final String algorithm) {
+		if (algorithm == null || algorithm.isEmpty() || "none".equalsIgnoreCase(algorithm.trim())) {
+			return false;
+		} else if ("gzip".equalsIgnoreCase(algorithm.trim())) {
+			return true;
+		} else {
+			throw new IllegalArgumentException("Unsupported compression algorithm: " + algorithm);
+		}
+	}
+
 }
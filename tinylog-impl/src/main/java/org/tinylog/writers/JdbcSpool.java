@@ -0,0 +1,624 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.writers;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.tinylog.Level;
+import org.tinylog.core.LogEntry;
+import org.tinylog.pattern.Token;
+import org.tinylog.provider.InternalLogger;
+
+/**
+ * Local spool file for log entries that cannot be inserted into the database due to a broken connection. Instead of
+ * the log entries themselves, the values that the tokens bind to the prepared insert statement are stored in a compact
+ * binary format. Thus, spooled log entries can be replayed with exactly the same values and types later.
+ *
+ * <p>
+ * The spool file starts with the position of the first pending record as long. This position is updated after each
+ * committed batch. Thus, already inserted log entries are not replayed again by the next writer instance after a
+ * partial replay, a close or a crash. Each record starts with its length as integer, followed by the number of values
+ * and the typed values. Incomplete records at the end of an existing spool file, for example due to a crash, are
+ * discarded.
+ * </p>
+ *
+ * <p>
+ * The spool file is kept open for appending as long as there are pending log entries. Each record is written by a
+ * single write operation.
+ * </p>
+ */
+final class JdbcSpool {
+
+	private static final int TYPE_NULL = 0;
+	private static final int TYPE_STRING = 1;
+	private static final int TYPE_LONG = 2;
+	private static final int TYPE_INT = 3;
+	private static final int TYPE_TIMESTAMP = 4;
+
+	private static final int FILE_HEADER_SIZE = 8;
+	private static final int RECORD_HEADER_SIZE = 4;
+	private static final int BUFFER_SIZE = 1024;
+	private static final String CHARSET = "UTF-8";
+
+	private final File file;
+	private final long maxSize;
+
+	private final AtomicLong spooledCount;
+	private final AtomicLong replayedCount;
+
+	private FileOutputStream output;
+	private long size;
+	private long records;
+	private long offset;
+
+	/**
+	 * Log entries from an already existing spool file will be taken over.
+	 *
+	 * @param path
+	 *            Path to spool file
+	 * @param maxSize
+	 *            Maximum size of spool file in bytes
+	 */
+	JdbcSpool(final String path, final long maxSize) {
+		this.file = new File(path);
+		this.maxSize = maxSize;
+		this.spooledCount = new AtomicLong();
+		this.replayedCount = new AtomicLong();
+
+		if (file.isFile()) {
+			try {
+				recover();
+			} catch (IOException ex) {
+				InternalLogger.log(Level.ERROR, ex, "Failed to read existing spool file '" + path + "'");
+				clear();
+			}
+		}
+	}
+
+	/**
+	 * Gets the path to the spool file.
+	 *
+	 * @return Path to spool file
+	 */
+	String getPath() {
+		return file.getPath();
+	}
+
+	/**
+	 * Checks whether there are spooled log entries that have not been replayed yet.
+	 *
+	 * @return {@code true} if there are no pending log entries, {@code false} if there are any
+	 */
+	boolean isEmpty() {
+		return records == 0;
+	}
+
+	/**
+	 * Gets the number of pending log entries.
+	 *
+	 * @return Number of spooled log entries that have not been replayed yet
+	 */
+	long getPendingCount() {
+		return records;
+	}
+
+	/**
+	 * Gets the total number of log entries that have been spooled. This method can be called by any thread.
+	 *
+	 * @return Number of spooled log entries since creation
+	 */
+	long getSpooledCount() {
+		return spooledCount.get();
+	}
+
+	/**
+	 * Gets the total number of log entries that have been replayed. This method can be called by any thread.
+	 *
+	 * @return Number of replayed log entries since creation
+	 */
+	long getReplayedCount() {
+		return replayedCount.get();
+	}
+
+	/**
+	 * Appends a log entry to the spool file.
+	 *
+	 * @param tokens
+	 *            Tokens for the columns of the insert statement
+	 * @param logEntry
+	 *            Log entry to spool
+	 * @return {@code true} if the log entry has been spooled, {@code false} if the maximum size would be exceeded
+	 *
+	 * @throws IOException
+	 *             Failed to write spool file
+	 * @throws SQLException
+	 *             Failed to render values
+	 */
+	boolean append(final List<Token> tokens, final LogEntry logEntry) throws IOException, SQLException {
+		Recorder recorder = new Recorder(tokens.size());
+		PreparedStatement statement = recorder.createStatement();
+		for (int i = 0; i < tokens.size(); ++i) {
+			tokens.get(i).apply(logEntry, statement, i + 1);
+		}
+
+		byte[] data = encode(recorder.values);
+		int header = size == 0 ? FILE_HEADER_SIZE : 0;
+		if (size + header + RECORD_HEADER_SIZE + data.length > maxSize) {
+			return false;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(header + RECORD_HEADER_SIZE + data.length);
+		if (header > 0) {
+			buffer.putLong(FILE_HEADER_SIZE);
+		}
+		byte[] record = buffer.putInt(data.length).put(data).array();
+
+		if (output == null) {
+			output = new FileOutputStream(file, true);
+		}
+
+		try {
+			output.write(record);
+		} catch (IOException ex) {
+			close();
+			throw ex;
+		}
+
+		if (header > 0) {
+			offset = FILE_HEADER_SIZE;
+		}
+
+		size += record.length;
+		records += 1;
+		spooledCount.incrementAndGet();
+
+		return true;
+	}
+
+	/**
+	 * Inserts all pending log entries via JDBC batch execution. The spool file will be deleted afterwards. Each batch
+	 * is committed as a single transaction, if the connection is in auto-commit mode. The position of the next pending
+	 * record is stored in the spool file after each committed batch. Thus, already inserted batches will not be
+	 * replayed again, if execution fails or the writer is closed before all log entries could be replayed.
+	 *
+	 * @param statement
+	 *            Prepared insert statement
+	 * @param batchSize
+	 *            Maximum number of log entries per batch
+	 * @return Number of replayed log entries
+	 *
+	 * @throws IOException
+	 *             Failed to read spool file
+	 * @throws SQLException
+	 *             Failed to insert log entries
+	 */
+	long replay(final PreparedStatement statement, final int batchSize) throws IOException, SQLException {
+		long replayed = 0;
+
+		Connection connection = statement.getConnection();
+		boolean autoCommit = connection.getAutoCommit();
+		if (autoCommit) {
+			connection.setAutoCommit(false);
+		}
+
+		DataInputStream stream = open();
+		try {
+			long batchEnd = offset;
+			int batchCount = 0;
+
+			while (records - replayed - batchCount > 0) {
+				int length = stream.readInt();
+				if (length < 0) {
+					throw new IOException("Corrupt spool file, invalid record length: " + length);
+				}
+
+				byte[] data = new byte[length];
+				stream.readFully(data);
+				bind(statement, data);
+				statement.addBatch();
+
+				batchCount += 1;
+				batchEnd += RECORD_HEADER_SIZE + length;
+
+				if (batchCount >= batchSize || records - replayed - batchCount == 0) {
+					try {
+						statement.executeBatch();
+						if (autoCommit) {
+							connection.commit();
+						}
+					} catch (SQLException ex) {
+						if (autoCommit) {
+							rollbackSilently(connection);
+						}
+						throw ex;
+					}
+
+					storeOffset(batchEnd);
+					replayed += batchCount;
+					replayedCount.addAndGet(batchCount);
+					offset = batchEnd;
+					batchCount = 0;
+				}
+			}
+		} finally {
+			stream.close();
+			records -= replayed;
+			if (autoCommit) {
+				connection.setAutoCommit(true);
+			}
+		}
+
+		if (records == 0) {
+			clear();
+		}
+
+		return replayed;
+	}
+
+	/**
+	 * Discards all pending log entries and deletes the spool file.
+	 *
+	 * @return Number of discarded log entries
+	 */
+	long clear() {
+		long discarded = records;
+		close();
+		if (!file.delete() && file.exists()) {
+			try {
+				RandomAccessFile access = new RandomAccessFile(file, "rw");
+				try {
+					access.setLength(0);
+				} finally {
+					access.close();
+				}
+			} catch (IOException ex) {
+				// Ignore
+			}
+		}
+		size = 0;
+		records = 0;
+		offset = 0;
+		return discarded;
+	}
+
+	/**
+	 * Closes the spool file, if it is opened for appending. Pending log entries remain in the spool file.
+	 */
+	void close() {
+		if (output != null) {
+			try {
+				output.close();
+			} catch (IOException ex) {
+				InternalLogger.log(Level.ERROR, ex, "Failed to close spool file '" + file.getPath() + "'");
+			} finally {
+				output = null;
+			}
+		}
+	}
+
+	/**
+	 * Stores the position of the first pending record in the header of the spool file.
+	 *
+	 * @param position
+	 *            Position of the first pending record
+	 *
+	 * @throws IOException
+	 *             Failed to write spool file
+	 */
+	private void storeOffset(final long position) throws IOException {
+		RandomAccessFile access = new RandomAccessFile(file, "rw");
+		try {
+			access.writeLong(position);
+		} finally {
+			access.close();
+		}
+	}
+
+	/**
+	 * Reads an existing spool file for counting complete pending records. Incomplete records at the end will be cut
+	 * off.
+	 *
+	 * @throws IOException
+	 *             Failed to read spool file
+	 */
+	private void recover() throws IOException {
+		long length = file.length();
+		long valid = length < FILE_HEADER_SIZE ? length : loadOffset(length);
+		offset = valid;
+
+		DataInputStream stream = open();
+		try {
+			while (valid + RECORD_HEADER_SIZE <= length) {
+				int recordLength = stream.readInt();
+				if (recordLength < 0 || valid + RECORD_HEADER_SIZE + recordLength > length) {
+					break;
+				}
+				skipFully(stream, recordLength);
+				valid += RECORD_HEADER_SIZE + recordLength;
+				records += 1;
+			}
+		} catch (EOFException ex) {
+			// Incomplete record will be cut off
+		} finally {
+			stream.close();
+		}
+
+		if (records == 0) {
+			clear();
+		} else {
+			if (valid < length) {
+				RandomAccessFile access = new RandomAccessFile(file, "rw");
+				try {
+					access.setLength(valid);
+				} finally {
+					access.close();
+				}
+			}
+
+			size = valid;
+		}
+	}
+
+	/**
+	 * Loads the position of the first pending record from the header of the spool file.
+	 *
+	 * @param length
+	 *            Current length of the spool file in bytes
+	 * @return Position of the first pending record
+	 *
+	 * @throws IOException
+	 *             Failed to read spool file or stored position is invalid
+	 */
+	private long loadOffset(final long length) throws IOException {
+		long position;
+
+		DataInputStream stream = new DataInputStream(new FileInputStream(file));
+		try {
+			position = stream.readLong();
+		} finally {
+			stream.close();
+		}
+
+		if (position < FILE_HEADER_SIZE || position > length) {
+			throw new IOException("Corrupt spool file, invalid position of first pending record: " + position);
+		} else {
+			return position;
+		}
+	}
+
+	/**
+	 * Rolls back the current transaction without throwing any exceptions.
+	 *
+	 * @param connection
+	 *            Database connection with the transaction to roll back
+	 */
+	private static void rollbackSilently(final Connection connection) {
+		try {
+			connection.rollback();
+		} catch (SQLException ex) {
+			// Ignore
+		}
+	}
+
+	/**
+	 * Opens the spool file for reading from the first pending record.
+	 *
+	 * @return Opened input stream
+	 *
+	 * @throws IOException
+	 *             Failed to open spool file
+	 */
+	private DataInputStream open() throws IOException {
+		InputStream stream = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+		try {
+			skipFully(stream, offset);
+			return new DataInputStream(stream);
+		} catch (IOException ex) {
+			stream.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Skips an exact number of bytes.
+	 *
+	 * @param stream
+	 *            Input stream
+	 * @param count
+	 *            Number of bytes to skip
+	 *
+	 * @throws IOException
+	 *             Failed to read input stream or end of stream reached
+	 */
+	private static void skipFully(final InputStream stream, final long count) throws IOException {
+		long remaining = count;
+		while (remaining > 0) {
+			long skipped = stream.skip(remaining);
+			if (skipped <= 0) {
+				if (stream.read() < 0) {
+					throw new EOFException();
+				}
+				skipped = 1;
+			}
+			remaining -= skipped;
+		}
+	}
+
+	/**
+	 * Encodes recorded values.
+	 *
+	 * @param values
+	 *            Recorded values
+	 * @return Binary representation
+	 *
+	 * @throws IOException
+	 *             Failed to encode values
+	 */
+	private static byte[] encode(final Object[] values) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream stream = new DataOutputStream(buffer);
+
+		stream.writeInt(values.length);
+		for (Object value : values) {
+			if (value instanceof String) {
+				byte[] bytes = ((String) value).getBytes(CHARSET);
+				stream.writeByte(TYPE_STRING);
+				stream.writeInt(bytes.length);
+				stream.write(bytes);
+			} else if (value instanceof Long) {
+				stream.writeByte(TYPE_LONG);
+				stream.writeLong((Long) value);
+			} else if (value instanceof Integer) {
+				stream.writeByte(TYPE_INT);
+				stream.writeInt((Integer) value);
+			} else if (value instanceof Timestamp) {
+				stream.writeByte(TYPE_TIMESTAMP);
+				stream.writeLong(((Timestamp) value).getTime());
+				stream.writeInt(((Timestamp) value).getNanos());
+			} else {
+				stream.writeByte(TYPE_NULL);
+				stream.writeInt(value instanceof SqlNull ? ((SqlNull) value).type : Types.NULL);
+			}
+		}
+
+		stream.flush();
+		return buffer.toByteArray();
+	}
+
+	/**
+	 * Binds encoded values to a prepared statement.
+	 *
+	 * @param statement
+	 *            Prepared statement
+	 * @param data
+	 *            Binary representation of values
+	 *
+	 * @throws IOException
+	 *             Failed to decode values
+	 * @throws SQLException
+	 *             Failed to bind values
+	 */
+	private static void bind(final PreparedStatement statement, final byte[] data) throws IOException, SQLException {
+		DataInputStream stream = new DataInputStream(new ByteArrayInputStream(data));
+
+		int count = stream.readInt();
+		for (int index = 1; index <= count; ++index) {
+			int type = stream.readByte();
+			if (type == TYPE_STRING) {
+				byte[] bytes = new byte[stream.readInt()];
+				stream.readFully(bytes);
+				statement.setString(index, new String(bytes, CHARSET));
+			} else if (type == TYPE_LONG) {
+				statement.setLong(index, stream.readLong());
+			} else if (type == TYPE_INT) {
+				statement.setInt(index, stream.readInt());
+			} else if (type == TYPE_TIMESTAMP) {
+				Timestamp timestamp = new Timestamp(stream.readLong());
+				timestamp.setNanos(stream.readInt());
+				statement.setTimestamp(index, timestamp);
+			} else if (type == TYPE_NULL) {
+				statement.setNull(index, stream.readInt());
+			} else {
+				throw new IOException("Corrupt spool file, unknown value type: " + type);
+			}
+		}
+	}
+
+	/**
+	 * Null value with SQL type.
+	 */
+	private static final class SqlNull {
+
+		private final int type;
+
+		/**
+		 * @param type
+		 *            SQL type from {@link java.sql.Types}
+		 */
+		private SqlNull(final int type) {
+			this.type = type;
+		}
+
+	}
+
+	/**
+	 * Records all values that are bound to a prepared statement.
+	 */
+	private static final class Recorder implements InvocationHandler {
+
+		private final Object[] values;
+
+		/**
+		 * @param count
+		 *            Number of parameters of the prepared statement
+		 */
+		private Recorder(final int count) {
+			values = new Object[count];
+		}
+
+		/**
+		 * Creates a recording prepared statement that supports all setter methods used by tokens.
+		 *
+		 * @return Recording prepared statement
+		 */
+		private PreparedStatement createStatement() {
+			return (PreparedStatement) Proxy.newProxyInstance(
+				PreparedStatement.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class },
+				this
+			);
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) throws SQLException {
+			String name = method.getName();
+			if ("setNull".equals(name)) {
+				values[(Integer) args[0] - 1] = new SqlNull((Integer) args[1]);
+			} else if ("setString".equals(name)) {
+				values[(Integer) args[0] - 1] = args[1] == null ? new SqlNull(Types.VARCHAR) : args[1];
+			} else if ("setTimestamp".equals(name)) {
+				values[(Integer) args[0] - 1] = args[1] == null ? new SqlNull(Types.TIMESTAMP) : args[1];
+			} else if ("setLong".equals(name) || "setInt".equals(name)) {
+				values[(Integer) args[0] - 1] = args[1];
+			} else {
+				throw new SQLException("Unsupported method for spooling: " + name);
+			}
+			return null;
+		}
+
+	}
+
+}
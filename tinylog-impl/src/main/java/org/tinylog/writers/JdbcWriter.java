@@ -13,17 +13,24 @@
 
 package org.tinylog.writers;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.naming.InitialContext;
 import javax.naming.NamingException;
@@ -38,28 +45,75 @@ import org.tinylog.provider.InternalLogger;
 
 /**
  * Writer for inserting log entries into a SQL database table.
+ *
+ * <p>
+ * If batch execution is enabled, log entries are collected and inserted as soon as the configured batch size (property
+ * <tt>batch.size</tt>) is reached or the configured interval in milliseconds (property <tt>batch.interval</tt>) has
+ * elapsed since the first collected log entry. If an interval is configured, a background thread inserts the collected
+ * log entries as soon as the interval has elapsed, even if no further log entries are written. Collected log entries
+ * can be inserted via a single multi-row insert statement instead of JDBC batch execution (property
+ * <tt>multirow</tt>).
+ * </p>
+ *
+ * <p>
+ * If reconnecting is enabled, log entries that cannot be inserted due to a broken database connection are retained
+ * in a bounded buffer (property <tt>buffer</tt>) and inserted after re-establishing the connection. Log entries that
+ * don't fit into the buffer are lost, unless a spool file is configured (property <tt>spool</tt>). Then the buffered
+ * log entries and all further log entries are written to the spool file up to a maximum size in bytes (property
+ * <tt>spool.size</tt>) as soon as the buffer is full, and inserted in batches after re-establishing the connection.
+ * Thus, log entries are always inserted in chronological order. Spooled log entries that could not be inserted before
+ * closing the writer remain in the spool file and will be inserted by the next writer instance.
+ * </p>
+ *
+ * <p>
+ * Only log entries that failed due to a broken database connection are retained. Log entries that are rejected by the
+ * database itself, for example due to too long values, are discarded. Multiple log entries are inserted within a
+ * single transaction. If such a transaction fails without a broken connection, the log entries are inserted one by one
+ * so that only the rejected log entries are discarded.
+ * </p>
+ *
+ * <p>
+ * The number of spooled, replayed and lost log entries is provided for metrics.
+ * </p>
  */
 public final class JdbcWriter implements Writer {
 
 	private static final String FIELD_PREFIX = "field.";
-	private static final long MAX_BATCH_SIZE = 100;
+	private static final String VALUES_KEYWORD = " VALUES ";
+	private static final int DEFAULT_BATCH_SIZE = 100;
 	private static final long MIN_RETRY_INTERVAL = 1000;
+	private static final int VALIDATION_TIMEOUT = 5;
+	private static final String CONNECTION_ERROR_CLASS = "08";
+	private static final long DEFAULT_SPOOL_SIZE = 10 * 1024 * 1024;
+	private static final String THREAD_NAME = "tinylog-JdbcWriterThread";
 
 	private final String url;
 	private final String user;
 	private final String password;
 	private final boolean reconnect;
 	private final boolean batch;
+	private final int batchSize;
+	private final long batchInterval;
+	private final boolean multiRow;
+	private final int bufferSize;
 
 	private final Object mutex;
 	private final String sql;
 	private final List<Token> tokens;
 
+	private final List<LogEntry> pending;
+	private final List<LogEntry> retained;
+	private final JdbcSpool spool;
+	private final AtomicLong lostEntries;
+
 	private Connection connection;
 	private PreparedStatement statement;
-	private long batchCount;
+	private PreparedStatement multiRowStatement;
+	private long batchTimestamp;
 	private long lostCount;
 	private long reconnectTimestamp;
+	private Timer timer;
+	private boolean flushScheduled;
 
 	/**
 	 * @param properties
@@ -76,13 +130,31 @@ public final class JdbcWriter implements Writer {
 		password = properties.get("password");
 		reconnect = Boolean.parseBoolean(properties.get("reconnect"));
 		batch = Boolean.parseBoolean(properties.get("batch"));
+		batchSize = (int) parseNumber(properties, "batch.size", DEFAULT_BATCH_SIZE, 1, Integer.MAX_VALUE);
+		batchInterval = parseNumber(properties, "batch.interval", 0, 0, Long.MAX_VALUE);
+		multiRow = Boolean.parseBoolean(properties.get("multirow"));
+		bufferSize = (int) parseNumber(properties, "buffer", 0, 0, Integer.MAX_VALUE);
 
-		mutex = Boolean.parseBoolean(properties.get("writingthread")) ? null : new Object();
+		boolean timed = batch && batchInterval > 0;
+		mutex = Boolean.parseBoolean(properties.get("writingthread")) && !timed ? null : new Object();
+
+		pending = new ArrayList<LogEntry>();
+		retained = new ArrayList<LogEntry>();
+		spool = createSpool(properties);
+		lostEntries = new AtomicLong();
 
 		connection = connect(url, user, password);
 		sql = renderSql(properties, connection.getMetaData().getIdentifierQuoteString());
 		statement = connection.prepareStatement(sql);
 		tokens = createTokens(properties);
+
+		if (spool != null && !spool.isEmpty()) {
+			replaySpool();
+		}
+
+		if (timed) {
+			timer = new Timer(THREAD_NAME, true);
+		}
 	}
 
 	@Override
@@ -94,6 +166,36 @@ public final class JdbcWriter implements Writer {
 		return values;
 	}
 
+	/**
+	 * Gets the total number of log entries that have been written to the spool file. This method can be called by any
+	 * thread.
+	 *
+	 * @return Number of spooled log entries since creation or {@code 0} if no spool file is configured
+	 */
+	public long getSpooledEntries() {
+		return spool == null ? 0L : spool.getSpooledCount();
+	}
+
+	/**
+	 * Gets the total number of log entries that have been inserted from the spool file. This method can be called by
+	 * any thread.
+	 *
+	 * @return Number of replayed log entries since creation or {@code 0} if no spool file is configured
+	 */
+	public long getReplayedEntries() {
+		return spool == null ? 0L : spool.getReplayedCount();
+	}
+
+	/**
+	 * Gets the total number of log entries that have been lost due to a broken database connection. This method can be
+	 * called by any thread.
+	 *
+	 * @return Number of lost log entries since creation
+	 */
+	public long getLostEntries() {
+		return lostEntries.get();
+	}
+
 	@Override
 	public void write(final LogEntry logEntry) throws SQLException {
 		if (mutex == null) {
@@ -107,13 +209,11 @@ public final class JdbcWriter implements Writer {
 
 	@Override
 	public void flush() throws SQLException {
-		if (batch) {
-			if (mutex == null) {
+		if (mutex == null) {
+			doFlush();
+		} else {
+			synchronized (mutex) {
 				doFlush();
-			} else {
-				synchronized (mutex) {
-					doFlush();
-				}
 			}
 		}
 	}
@@ -141,52 +241,43 @@ public final class JdbcWriter implements Writer {
 	private void doWrite(final LogEntry logEntry) throws SQLException {
 		if (checkConnection()) {
 			if (batch) {
-				batchCount += 1;
-			}
-
-			try {
-				for (int i = 0; i < tokens.size(); ++i) {
-					tokens.get(i).apply(logEntry, statement, i + 1);
+				if (pending.isEmpty() && batchInterval > 0) {
+					batchTimestamp = System.currentTimeMillis();
 				}
-			} catch (SQLException ex) {
-				resetConnection();
-				throw ex;
-			}
 
-			try {
-				if (batch) {
-					statement.addBatch();
-					if (batchCount >= MAX_BATCH_SIZE) {
-						statement.executeBatch();
-						batchCount = 0;
+				pending.add(logEntry);
+
+				if (pending.size() >= batchSize || (batchInterval > 0 && System.currentTimeMillis() - batchTimestamp >= batchInterval)) {
+					executePending();
+				} else if (timer != null && !flushScheduled) {
+					scheduleFlush(batchInterval);
+				}
+			} else {
+				try {
+					insert(logEntry);
+				} catch (SQLException ex) {
+					if (isConnectionBroken(ex)) {
+						resetConnection(Collections.singletonList(logEntry));
 					}
-				} else {
-					statement.executeUpdate();
+					throw ex;
 				}
-			} catch (SQLException ex) {
-				resetConnection();
-				throw ex;
 			}
 		} else {
-			lostCount += 1;
+			retain(logEntry);
 		}
 	}
 
 	/**
-	 * Unsynchronized method for flushing all cached batch insert statements.
+	 * Unsynchronized method for flushing all collected log entries.
 	 *
 	 * @throws SQLException
 	 *             Database access failed
 	 */
 	private void doFlush() throws SQLException {
-		if (batchCount > 0) {
-			try {
-				statement.executeBatch();
-				batchCount = 0;
-			} catch (SQLException ex) {
-				resetConnection();
-				throw ex;
-			}
+		if (!pending.isEmpty()) {
+			executePending();
+		} else if (!retained.isEmpty() || (spool != null && !spool.isEmpty())) {
+			checkConnection();
 		}
 	}
 
@@ -197,23 +288,414 @@ public final class JdbcWriter implements Writer {
 	 *             Database access failed
 	 */
 	private void doClose() throws SQLException {
+		if (timer != null) {
+			timer.cancel();
+			timer = null;
+		}
+
 		try {
-			if (batch) {
-				doFlush();
-			}
+			doFlush();
 		} finally {
+			spoolRetained();
+
 			if (lostCount > 0) {
 				InternalLogger.log(Level.ERROR, "Lost log entries due to broken database connection: " + lostCount);
 			}
 
+			if (spool != null && !spool.isEmpty()) {
+				InternalLogger.log(Level.WARN, "Log entries remain in spool file '" + spool.getPath() + "': " + spool.getPendingCount());
+			}
+
+			if (spool != null) {
+				spool.close();
+			}
+
 			if (connection != null) {
 				connection.close();
 			}
 		}
 	}
 
+	/**
+	 * Schedules the insertion of collected log entries by the background thread.
+	 *
+	 * @param delay
+	 *            Delay in milliseconds
+	 */
+	private void scheduleFlush(final long delay) {
+		flushScheduled = true;
+		timer.schedule(new TimerTask() {
+			@Override
+			public void run() {
+				synchronized (mutex) {
+					flushScheduled = false;
+					if (timer != null && !pending.isEmpty()) {
+						long remaining = batchTimestamp + batchInterval - System.currentTimeMillis();
+						if (remaining > 0) {
+							scheduleFlush(remaining);
+						} else {
+							try {
+								executePending();
+							} catch (SQLException ex) {
+								InternalLogger.log(Level.ERROR, ex, "Failed to insert collected log entries");
+							}
+						}
+					}
+				}
+			}
+		}, delay);
+	}
+
+	/**
+	 * Inserts all collected log entries.
+	 *
+	 * @throws SQLException
+	 *             Database access failed
+	 */
+	private void executePending() throws SQLException {
+		try {
+			store(pending);
+		} finally {
+			pending.clear();
+		}
+	}
+
+	/**
+	 * Inserts multiple log entries. If the insertion fails due to a broken database connection, all passed log entries
+	 * will be retained. Otherwise, the log entries are inserted one by one and only the rejected log entries are
+	 * discarded.
+	 *
+	 * @param logEntries
+	 *            Log entries to insert
+	 *
+	 * @throws SQLException
+	 *             Database access failed
+	 */
+	private void store(final List<LogEntry> logEntries) throws SQLException {
+		try {
+			insert(logEntries);
+		} catch (SQLException ex) {
+			if (isConnectionBroken(ex)) {
+				resetConnection(logEntries);
+				throw ex;
+			} else if (logEntries.size() == 1) {
+				throw ex;
+			} else {
+				insertSeparately(logEntries, ex);
+			}
+		}
+	}
+
+	/**
+	 * Inserts multiple log entries one by one after a failed insertion of all log entries at once. Rejected log
+	 * entries are discarded. If the database connection breaks, the remaining log entries will be retained.
+	 *
+	 * @param logEntries
+	 *            Log entries to insert
+	 * @param cause
+	 *            Exception of the failed insertion of all log entries at once
+	 *
+	 * @throws SQLException
+	 *             At least one log entry has been rejected or database connection is broken
+	 */
+	private void insertSeparately(final List<LogEntry> logEntries, final SQLException cause) throws SQLException {
+		SQLException rejection = null;
+
+		for (int i = 0; i < logEntries.size(); ++i) {
+			try {
+				insert(logEntries.get(i));
+			} catch (SQLException ex) {
+				if (isConnectionBroken(ex)) {
+					resetConnection(logEntries.subList(i, logEntries.size()));
+					throw ex;
+				} else if (rejection == null) {
+					rejection = ex;
+				}
+			}
+		}
+
+		if (rejection != null) {
+			throw rejection;
+		}
+	}
+
+	/**
+	 * Inserts a single log entry immediately.
+	 *
+	 * @param logEntry
+	 *            Log entry to insert
+	 *
+	 * @throws SQLException
+	 *             Database access failed
+	 */
+	private void insert(final LogEntry logEntry) throws SQLException {
+		for (int i = 0; i < tokens.size(); ++i) {
+			tokens.get(i).apply(logEntry, statement, i + 1);
+		}
+		statement.executeUpdate();
+	}
+
+	/**
+	 * Inserts multiple log entries either via JDBC batch execution or via multi-row insert statements. If the
+	 * connection is in auto-commit mode, all log entries are inserted within a single transaction. Thus, either all or
+	 * none of the log entries are inserted.
+	 *
+	 * @param logEntries
+	 *            Log entries to insert
+	 *
+	 * @throws SQLException
+	 *             Database access failed
+	 */
+	private void insert(final List<LogEntry> logEntries) throws SQLException {
+		if (logEntries.size() == 1) {
+			insert(logEntries.get(0));
+		} else if (connection.getAutoCommit()) {
+			connection.setAutoCommit(false);
+			try {
+				insertAll(logEntries);
+				connection.commit();
+			} catch (SQLException ex) {
+				rollbackSilently();
+				throw ex;
+			} finally {
+				restoreAutoCommitSilently();
+			}
+		} else {
+			insertAll(logEntries);
+		}
+	}
+
+	/**
+	 * Inserts multiple log entries either via JDBC batch execution or via multi-row insert statements without any
+	 * transaction handling.
+	 *
+	 * @param logEntries
+	 *            Log entries to insert
+	 *
+	 * @throws SQLException
+	 *             Database access failed
+	 */
+	private void insertAll(final List<LogEntry> logEntries) throws SQLException {
+		if (multiRow) {
+			for (int offset = 0; offset < logEntries.size(); offset += batchSize) {
+				int rows = Math.min(batchSize, logEntries.size() - offset);
+				if (rows == batchSize) {
+					if (multiRowStatement == null) {
+						multiRowStatement = connection.prepareStatement(renderMultiRowSql(sql, batchSize));
+					}
+					insert(multiRowStatement, logEntries, offset, rows);
+				} else {
+					PreparedStatement partialStatement = connection.prepareStatement(renderMultiRowSql(sql, rows));
+					try {
+						insert(partialStatement, logEntries, offset, rows);
+					} finally {
+						partialStatement.close();
+					}
+				}
+			}
+		} else {
+			for (LogEntry logEntry : logEntries) {
+				for (int i = 0; i < tokens.size(); ++i) {
+					tokens.get(i).apply(logEntry, statement, i + 1);
+				}
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+	}
+
+	/**
+	 * Inserts multiple log entries via a multi-row insert statement.
+	 *
+	 * @param multiRowStatement
+	 *            Prepared multi-row insert statement with placeholders for exactly the passed number of rows
+	 * @param logEntries
+	 *            Log entries to insert
+	 * @param offset
+	 *            Index of first log entry to insert
+	 * @param rows
+	 *            Number of log entries to insert
+	 *
+	 * @throws SQLException
+	 *             Database access failed
+	 */
+	private void insert(final PreparedStatement multiRowStatement, final List<LogEntry> logEntries, final int offset, final int rows)
+		throws SQLException {
+		for (int row = 0; row < rows; ++row) {
+			LogEntry logEntry = logEntries.get(offset + row);
+			for (int i = 0; i < tokens.size(); ++i) {
+				tokens.get(i).apply(logEntry, multiRowStatement, row * tokens.size() + i + 1);
+			}
+		}
+		multiRowStatement.executeUpdate();
+	}
+
+	/**
+	 * Rolls back the current transaction without throwing any exceptions.
+	 */
+	private void rollbackSilently() {
+		try {
+			connection.rollback();
+		} catch (SQLException ex) {
+			// Ignore
+		}
+	}
+
+	/**
+	 * Enables the auto-commit mode again without throwing any exceptions.
+	 */
+	private void restoreAutoCommitSilently() {
+		try {
+			connection.setAutoCommit(true);
+		} catch (SQLException ex) {
+			// Ignore
+		}
+	}
+
+	/**
+	 * Checks if a failed database access is caused by a broken database connection. Only in this case, it makes sense
+	 * to retain log entries and retry the insertion later.
+	 *
+	 * @param ex
+	 *            Thrown exception of the failed database access
+	 * @return {@code true} if the database connection is broken, {@code false} if the database has rejected the
+	 *         statement
+	 */
+	private boolean isConnectionBroken(final SQLException ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLTransientConnectionException || cause instanceof SQLRecoverableException) {
+				return true;
+			} else if (cause instanceof SQLException) {
+				String state = ((SQLException) cause).getSQLState();
+				if (state != null && state.startsWith(CONNECTION_ERROR_CLASS)) {
+					return true;
+				}
+			}
+		}
+
+		try {
+			return connection == null || !connection.isValid(VALIDATION_TIMEOUT);
+		} catch (SQLException validationException) {
+			return true;
+		}
+	}
+
+	/**
+	 * Retains a log entry that cannot be inserted due to a broken database connection. If the buffer is full, the
+	 * buffered log entries and the passed log entry will be spooled, if a spool file is configured, or otherwise the
+	 * passed log entry is counted as lost.
+	 *
+	 * @param logEntry
+	 *            Log entry to retain
+	 */
+	private void retain(final LogEntry logEntry) {
+		if (retained.size() < bufferSize && (spool == null || spool.isEmpty())) {
+			retained.add(logEntry);
+		} else if (spool == null) {
+			lose(1);
+		} else {
+			spoolRetained();
+			if (!spool(logEntry)) {
+				lose(1);
+			}
+		}
+	}
+
+	/**
+	 * Moves all buffered log entries to the spool file, if a spool file is configured, or otherwise counts them as
+	 * lost. Buffered log entries are always older than spooled log entries, as the buffer is only used as long as the
+	 * spool file is empty.
+	 */
+	private void spoolRetained() {
+		if (spool == null) {
+			lose(retained.size());
+		} else {
+			for (LogEntry logEntry : retained) {
+				if (!spool(logEntry)) {
+					lose(1);
+				}
+			}
+		}
+		retained.clear();
+	}
+
+	/**
+	 * Counts lost log entries.
+	 *
+	 * @param count
+	 *            Number of lost log entries
+	 */
+	private void lose(final long count) {
+		lostCount += count;
+		lostEntries.addAndGet(count);
+	}
+
+	/**
+	 * Writes a log entry to the spool file.
+	 *
+	 * @param logEntry
+	 *            Log entry to spool
+	 * @return {@code true} if the log entry has been spooled, {@code false} if the spool file is full or cannot be
+	 *         written
+	 */
+	private boolean spool(final LogEntry logEntry) {
+		boolean first = spool.isEmpty();
+		try {
+			boolean spooled = spool.append(tokens, logEntry);
+			if (spooled && first) {
+				InternalLogger.log(Level.WARN, "Spooling log entries to '" + spool.getPath() + "' due to broken database connection");
+			}
+			return spooled;
+		} catch (IOException ex) {
+			InternalLogger.log(Level.ERROR, ex, "Failed to write spool file '" + spool.getPath() + "'");
+			return false;
+		} catch (SQLException ex) {
+			InternalLogger.log(Level.ERROR, ex, "Failed to render log entry for spool file '" + spool.getPath() + "'");
+			return false;
+		}
+	}
+
+	/**
+	 * Inserts all spooled log entries. If the spool file cannot be read, all spooled log entries will be discarded.
+	 *
+	 * @throws SQLException
+	 *             Database access failed
+	 */
+	private void replaySpool() throws SQLException {
+		try {
+			long count = spool.replay(statement, batchSize);
+			InternalLogger.log(Level.WARN, "Inserted spooled log entries from '" + spool.getPath() + "': " + count);
+		} catch (IOException ex) {
+			InternalLogger.log(Level.ERROR, ex, "Failed to read spool file '" + spool.getPath() + "', discarded log entries: "
+				+ spool.clear());
+		}
+	}
+
+	/**
+	 * Inserts all retained log entries. Log entries that are rejected by the database are discarded and reported,
+	 * whereas log entries are retained again if the database connection breaks once more.
+	 *
+	 * @throws SQLException
+	 *             Database connection is broken
+	 */
+	private void insertRetained() throws SQLException {
+		List<LogEntry> logEntries = new ArrayList<LogEntry>(retained);
+		retained.clear();
+
+		try {
+			store(logEntries);
+		} catch (SQLException ex) {
+			if (connection == null) {
+				throw ex;
+			} else {
+				InternalLogger.log(Level.ERROR, ex, "Failed to insert retained log entries");
+			}
+		}
+	}
+
 	/**
 	 * Checks if database connection is opened. Regular attempts are made to reestablish a broken database connection.
+	 * Retained log entries will be inserted after reestablishing the database connection.
 	 *
 	 * @return {@code true} if database connection is opened, otherwise {@code false}
 	 */
@@ -224,8 +706,20 @@ public final class JdbcWriter implements Writer {
 				try {
 					connection = connect(url, user, password);
 					statement = connection.prepareStatement(sql);
-					InternalLogger.log(Level.ERROR, "Lost log entries due to broken database connection: " + lostCount);
-					lostCount = 0;
+
+					if (lostCount > 0) {
+						InternalLogger.log(Level.ERROR, "Lost log entries due to broken database connection: " + lostCount);
+						lostCount = 0;
+					}
+
+					if (!retained.isEmpty()) {
+						insertRetained();
+					}
+
+					if (spool != null && !spool.isEmpty()) {
+						replaySpool();
+					}
+
 					return true;
 				} catch (NamingException ex) {
 					long now = System.currentTimeMillis();
@@ -247,14 +741,18 @@ public final class JdbcWriter implements Writer {
 	}
 
 	/**
-	 * Resets the database connection after an error, if automatic reconnection is enabled.
+	 * Resets the database connection after an error, if automatic reconnection is enabled. Log entries that could not
+	 * be inserted will be retained as long as there is space in the buffer.
+	 *
+	 * @param failed
+	 *            Log entries that could not be inserted
 	 */
-	private void resetConnection() {
+	private void resetConnection(final List<LogEntry> failed) {
 		if (reconnect) {
 			closeConnectionSilently();
-			statement = null;
-			lostCount = batch ? batchCount : 1;
-			batchCount = 0;
+			for (LogEntry logEntry : failed) {
+				retain(logEntry);
+			}
 			reconnectTimestamp = 0;
 		}
 	}
@@ -272,6 +770,8 @@ public final class JdbcWriter implements Writer {
 				}
 			} finally {
 				connection = null;
+				statement = null;
+				multiRowStatement = null;
 			}
 		}
 	}
@@ -328,6 +828,61 @@ public final class JdbcWriter implements Writer {
 		}
 	}
 
+	/**
+	 * Extracts an optional number from configuration.
+	 *
+	 * @param properties
+	 *            Configuration for writer
+	 * @param key
+	 *            Name of property
+	 * @param defaultValue
+	 *            Default value, if the property is not defined
+	 * @param minimum
+	 *            Minimum valid value
+	 * @param maximum
+	 *            Maximum valid value
+	 * @return Configured number or default value
+	 *
+	 * @throws IllegalArgumentException
+	 *             Property value is not a valid number
+	 */
+	private static long parseNumber(final Map<String, String> properties, final String key, final long defaultValue,
+		final long minimum, final long maximum) {
+		String value = properties.get(key);
+		if (value == null) {
+			return defaultValue;
+		} else {
+			long number;
+			try {
+				number = Long.parseLong(value.trim());
+			} catch (NumberFormatException ex) {
+				throw new IllegalArgumentException("Invalid " + key + " \"" + value + "\" for JDBC writer");
+			}
+
+			if (number < minimum || number > maximum) {
+				throw new IllegalArgumentException("Invalid " + key + " \"" + value + "\" for JDBC writer");
+			} else {
+				return number;
+			}
+		}
+	}
+
+	/**
+	 * Creates the spool file for log entries that cannot be inserted due to a broken database connection.
+	 *
+	 * @param properties
+	 *            Configuration for writer
+	 * @return Spool file or {@code null} if no spool file is configured
+	 */
+	private static JdbcSpool createSpool(final Map<String, String> properties) {
+		String path = properties.get("spool");
+		if (path == null || path.isEmpty()) {
+			return null;
+		} else {
+			return new JdbcSpool(path, parseNumber(properties, "spool.size", DEFAULT_SPOOL_SIZE, 1, Long.MAX_VALUE));
+		}
+	}
+
 	/**
 	 * Extracts the database table name from configuration.
 	 *
@@ -380,7 +935,7 @@ public final class JdbcWriter implements Writer {
 			}
 		}
 
-		builder.append(") VALUES (");
+		builder.append(")").append(VALUES_KEYWORD).append("(");
 
 		for (int i = 0; i < count; ++i) {
 			if (i > 0) {
@@ -395,6 +950,27 @@ public final class JdbcWriter implements Writer {
 		return builder.toString();
 	}
 
+	/**
+	 * Generates a multi-row insert SQL statement from a single-row insert SQL statement.
+	 *
+	 * @param sql
+	 *            Single-row insert SQL statement
+	 * @param rows
+	 *            Number of rows to insert
+	 * @return SQL statement for {@link PreparedStatement}
+	 */
+	private static String renderMultiRowSql(final String sql, final int rows) {
+		String placeholders = sql.substring(sql.lastIndexOf(VALUES_KEYWORD) + VALUES_KEYWORD.length());
+
+		StringBuilder builder = new StringBuilder(sql.length() + (placeholders.length() + 2) * (rows - 1));
+		builder.append(sql);
+		for (int i = 1; i < rows; ++i) {
+			builder.append(", ").append(placeholders);
+		}
+
+		return builder.toString();
+	}
+
 	/**
 	 * Appends a database identifier securely to a builder that is building a SQL statement.
 	 *
@@ -21,12 +21,20 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.tinylog.Level;
 import org.tinylog.configuration.ServiceLoader;
 import org.tinylog.core.LogEntry;
 import org.tinylog.path.DynamicPath;
 import org.tinylog.policies.Policy;
+import org.tinylog.policies.PolicyEvaluator;
 import org.tinylog.policies.StartupPolicy;
 import org.tinylog.provider.InternalLogger;
 import org.tinylog.writers.raw.ByteArrayWriter;
@@ -35,17 +43,50 @@ import org.tinylog.writers.raw.ByteArrayWriter;
  * Writer for outputting log entries to rolling log files. Rollover strategies can be defined via {@link Policy
  * policies} and the output can be buffered for improving performance. The path to the log file can contain one or more
  * patterns that will be resolved at runtime.
+ *
+ * <p>
+ * Rolled log files can be compressed in background via the property <tt>compression</tt> ("gzip" or "deflate"). The
+ * compression level can be defined via the property <tt>compression.level</tt> (0-9). Compressed log files are
+ * counted as backups. Alternatively, if <tt>compression.streaming</tt> is enabled, log files are compressed on the
+ * fly in GZIP format while writing.
+ * </p>
+ *
+ * <p>
+ * Obsolete backups can be deleted by count via the property <tt>backups</tt>, by total size via <tt>backups.size</tt>
+ * (e.g. "1GB") and by age via <tt>backups.age</tt> (e.g. "30d"). Existing backups are indexed once at startup and
+ * the index is updated at each rollover, so that the log directory is not scanned again. If the property
+ * <tt>watch</tt> is enabled, the log directory is watched for log files created by other processes (requires Java 7
+ * or later). Such files are taken into account at the next rollover.
+ * </p>
+ *
+ * <p>
+ * Rollovers don't block the writing thread for longer than necessary. The old log file is closed and obsolete backups
+ * are deleted by a background thread. If the path doesn't contain any date patterns, the next log file will be
+ * resolved and opened in advance by the background thread, so that a rollover just swaps the underlying writer. If the
+ * path resolves to the current log file again, for example for static paths, the current log file is closed and
+ * truncated synchronously and never passed to compression or backup retention.
+ * </p>
  */
 public final class RollingFileWriter extends AbstractFormatPatternWriter {
 
+	private static final String HOUSEKEEPING_THREAD_NAME = "tinylog-RolloverThread";
+
 	private final DynamicPath path;
-	private final List<Policy> policies;
-	private final int backups;
+	private final PolicyEvaluator policies;
+	private final BackupRetention retention;
 	private final boolean buffered;
 	private final boolean writingThread;
 	private final Charset charset;
+	private final FileCompressor compressor;
+	private final boolean streaming;
+	private final int compressionLevel;
+	private final boolean preopening;
+	private final ExecutorService housekeeper;
+	private final Object mutex;
 
 	private ByteArrayWriter writer;
+	private String fileName;
+	private Future<NextFile> nextFile;
 
 	/**
 	 * @param properties
@@ -59,43 +100,72 @@ public final class RollingFileWriter extends AbstractFormatPatternWriter {
 	public RollingFileWriter(final Map<String, String> properties) throws FileNotFoundException {
 		super(properties);
 
-		path = new DynamicPath(getFileName(properties));
-		policies = createPolicies(properties.get("policies"));
-		backups = properties.containsKey("backups") ? Integer.parseInt(properties.get("backups")) : -1;
+		streaming = Boolean.parseBoolean(properties.get("compression.streaming"));
+		compressionLevel = getCompressionLevel(properties);
+		compressor = streaming ? null : createCompressor(properties, compressionLevel);
+		path = compressor == null
+			? new DynamicPath(getFileName(properties))
+			: new DynamicPath(getFileName(properties), compressor.getExtension());
+		policies = new PolicyEvaluator(createPolicies(properties.get("policies")));
+		int backups = properties.containsKey("backups") ? Integer.parseInt(properties.get("backups")) : -1;
+		long backupsSize = BackupRetention.parseSize(properties.get("backups.size"));
+		long backupsAge = BackupRetention.parseAge(properties.get("backups.age"));
+		retention = new BackupRetention(backups, backupsSize, backupsAge, compressor == null ? null : compressor.getExtension());
 
 		List<File> files = path.getAllFiles();
 
-		String fileName;
 		boolean append;
+		List<File> existingBackups;
 
 		if (files.size() > 0 && path.isValid(files.get(0))) {
 			fileName = files.get(0).getPath();
-			if (canBeContinued(fileName, policies)) {
+			if (policies.continueExistingFile(fileName)) {
 				append = true;
-				deleteBackups(files.subList(1, files.size()), backups);
+				existingBackups = files.subList(1, files.size());
 			} else {
 				fileName = path.resolve();
 				append = false;
-				deleteBackups(files, backups);
+				existingBackups = exclude(files, fileName);
 			}
 		} else {
 			fileName = path.resolve();
 			append = false;
+			existingBackups = exclude(files, fileName);
 		}
 
+		retention.seed(existingBackups);
+		retention.apply();
+
 		charset = getCharset(properties);
 		buffered = Boolean.parseBoolean(properties.get("buffered"));
 		writingThread = Boolean.parseBoolean(properties.get("writingthread"));
-		writer = createByteArrayWriter(fileName, append, buffered, false, false);
+		writer = createByteArrayWriter(fileName, append, buffered, false, false, streaming, compressionLevel);
+
+		if (Boolean.parseBoolean(properties.get("watch"))) {
+			path.watch();
+		}
+
+		preopening = !path.isTimeDependent();
+		housekeeper = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+			new DaemonThreadFactory(HOUSEKEEPING_THREAD_NAME));
+		mutex = new Object();
+
+		if (compressor != null) {
+			housekeeper.execute(new Compression(new ArrayList<File>(existingBackups)));
+		}
+
+		if (preopening) {
+			nextFile = housekeeper.submit(new Preparation(fileName));
+		}
 	}
 
 	@Override
 	public void write(final LogEntry logEntry) throws IOException {
-		byte[] data = render(logEntry).getBytes(charset);
+		byte[] data = render(logEntry, charset);
 		if (writingThread) {
 			internalWrite(data);
 		} else {
-			synchronized (writer) {
+			synchronized (mutex) {
 				internalWrite(data);
 			}
 		}
@@ -106,7 +176,7 @@ public final class RollingFileWriter extends AbstractFormatPatternWriter {
 		if (writingThread) {
 			internalFlush();
 		} else {
-			synchronized (writer) {
+			synchronized (mutex) {
 				internalFlush();
 			}
 		}
@@ -117,7 +187,7 @@ public final class RollingFileWriter extends AbstractFormatPatternWriter {
 		if (writingThread) {
 			internalClose();
 		} else {
-			synchronized (writer) {
+			synchronized (mutex) {
 				internalClose();
 			}
 		}
@@ -132,15 +202,30 @@ public final class RollingFileWriter extends AbstractFormatPatternWriter {
 	 *             Writing failed
 	 */
 	private void internalWrite(final byte[] data) throws IOException {
-		if (!canBeContinued(data, policies)) {
-			writer.close();
+		if (!policies.continueCurrentFile(data.length)) {
+			ByteArrayWriter oldWriter = writer;
+			String oldFileName = fileName;
 
-			String fileName = path.resolve();
-			deleteBackups(path.getAllFiles(), backups);
-			writer = createByteArrayWriter(fileName, false, buffered, false, false);
+			NextFile next = takeNextFile();
+			if (next == null) {
+				fileName = path.resolve();
+				if (isSameFile(fileName, oldFileName)) {
+					oldWriter.close();
+					oldWriter = null;
+				}
+				writer = createByteArrayWriter(fileName, false, buffered, false, false, streaming, compressionLevel);
+			} else {
+				fileName = next.fileName;
+				writer = next.writer;
+			}
 
-			for (Policy policy : policies) {
-				policy.reset();
+			policies.reset(data.length);
+
+			if (oldWriter != null) {
+				housekeeper.execute(new Housekeeping(oldWriter, oldFileName, fileName));
+			}
+			if (preopening) {
+				nextFile = housekeeper.submit(new Preparation(fileName));
 			}
 		}
 
@@ -164,7 +249,115 @@ public final class RollingFileWriter extends AbstractFormatPatternWriter {
 	 *             Closing failed
 	 */
 	private void internalClose() throws IOException {
-		writer.close();
+		try {
+			writer.close();
+		} finally {
+			housekeeper.shutdown();
+			try {
+				while (!housekeeper.awaitTermination(1, TimeUnit.SECONDS)) {
+					continue;
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+
+			discardNextFile();
+			path.unwatch();
+		}
+	}
+
+	/**
+	 * Takes the log file that has been opened in advance. If the log file is still being prepared, this method waits
+	 * until the preparation is complete.
+	 *
+	 * @return Opened next log file or {@code null} if there is none
+	 */
+	private NextFile takeNextFile() {
+		if (nextFile == null) {
+			return null;
+		}
+
+		try {
+			return nextFile.get();
+		} catch (ExecutionException ex) {
+			InternalLogger.log(Level.ERROR, ex.getCause(), "Failed to open next log file in advance");
+			return null;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			nextFile.cancel(false);
+			return null;
+		} finally {
+			nextFile = null;
+		}
+	}
+
+	/**
+	 * Closes and deletes an unused log file that has been opened in advance.
+	 */
+	private void discardNextFile() {
+		NextFile next = takeNextFile();
+		if (next != null) {
+			try {
+				next.writer.close();
+			} catch (IOException ex) {
+				InternalLogger.log(Level.ERROR, ex, "Failed to close unused log file '" + next.fileName + "'");
+			}
+
+			File file = new File(next.fileName);
+			if (!file.delete() && file.exists()) {
+				InternalLogger.log(Level.WARN, "Failed to delete unused log file '" + file.getAbsolutePath() + "'");
+			}
+		}
+	}
+
+	/**
+	 * Checks whether two paths point to the same file.
+	 *
+	 * @param first
+	 *            First path
+	 * @param second
+	 *            Second path
+	 * @return {@code true} if both paths point to the same file, {@code false} if not
+	 */
+	private static boolean isSameFile(final String first, final String second) {
+		return new File(first).getAbsoluteFile().equals(new File(second).getAbsoluteFile());
+	}
+
+	/**
+	 * Removes the current log file from a list of files.
+	 *
+	 * @param files
+	 *            All found log files
+	 * @param current
+	 *            Path to the current log file
+	 * @return All passed files except the current log file
+	 */
+	private static List<File> exclude(final List<File> files, final String current) {
+		List<File> result = new ArrayList<File>(files.size());
+		for (File file : files) {
+			if (!isSameFile(file.getPath(), current)) {
+				result.add(file);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a compressor for rolled log files, if compression is enabled.
+	 *
+	 * @param properties
+	 *            Configuration for writer
+	 * @param level
+	 *            Compression level
+	 * @return Compressor or {@code null} if compression is disabled
+	 */
+	private static FileCompressor createCompressor(final Map<String, String> properties, final int level) {
+		String algorithm = properties.get("compression");
+		if (algorithm == null || algorithm.isEmpty() || "none".equalsIgnoreCase(algorithm)) {
+			return null;
+		} else {
+			return new FileCompressor(algorithm, level);
+		}
 	}
 
 	/**
@@ -174,7 +367,7 @@ public final class RollingFileWriter extends AbstractFormatPatternWriter {
 	 *            Nullable string with policies to create
 	 * @return Created policies
 	 */
-	private static List<Policy> createPolicies(final String property) {
+	static List<Policy> createPolicies(final String property) {
 		if (property == null || property.isEmpty()) {
 			return Collections.<Policy>singletonList(new StartupPolicy(null));
 		} else {
@@ -195,55 +388,127 @@ public final class RollingFileWriter extends AbstractFormatPatternWriter {
 	}
 
 	/**
-	 * Checks if an already existing log file can be continued.
-	 *
-	 * @param fileName
-	 *            Log file
-	 * @param policies
-	 *            Policies that should be applied
-	 * @return {@code true} if the passed log file can be continued, {@code false} if a new log file should be started
+	 * Log file that has been opened in advance.
 	 */
-	private static boolean canBeContinued(final String fileName, final List<Policy> policies) {
-		boolean result = true;
-		for (Policy policy : policies) {
-			result &= policy.continueExistingFile(fileName);
+	private static final class NextFile {
+
+		private final String fileName;
+		private final ByteArrayWriter writer;
+
+		/**
+		 * @param fileName
+		 *            Path to log file
+		 * @param writer
+		 *            Writer for log file
+		 */
+		private NextFile(final String fileName, final ByteArrayWriter writer) {
+			this.fileName = fileName;
+			this.writer = writer;
 		}
-		return result;
+
 	}
 
 	/**
-	 * Checks if a new log entry can be still written to the current log file.
-	 *
-	 * @param data
-	 *            Log entry
-	 * @param policies
-	 *            Policies that should be applied
-	 * @return {@code true} if the current log file can be continued, {@code false} if a new log file should be started
+	 * Background task for compressing all uncompressed backups that have existed at startup.
 	 */
-	private static boolean canBeContinued(final byte[] data, final List<Policy> policies) {
-		boolean result = true;
-		for (Policy policy : policies) {
-			result &= policy.continueCurrentFile(data);
+	private final class Compression implements Runnable {
+
+		private final List<File> files;
+
+		/**
+		 * @param files
+		 *            Existing backups
+		 */
+		private Compression(final List<File> files) {
+			this.files = files;
 		}
-		return result;
+
+		@Override
+		public void run() {
+			for (File file : files) {
+				if (file.isFile() && path.isValid(file)) {
+					compressor.compress(file);
+				}
+			}
+		}
+
 	}
 
 	/**
-	 * Deletes old log files.
-	 *
-	 * @param files
-	 *            All existing log files
-	 * @param count
-	 *            Number of log files to keep
+	 * Background task for closing the previous log file after a rollover, compressing it and deleting obsolete
+	 * backups. The previous log file is passed to the backup retention not until its compression is complete, so that
+	 * backups are never deleted while being compressed.
 	 */
-	private static void deleteBackups(final List<File> files, final int count) {
-		if (count >= 0) {
-			for (int i = files.size() - Math.max(0, files.size() - count); i < files.size(); ++i) {
-				if (!files.get(i).delete()) {
-					InternalLogger.log(Level.WARN, "Failed to delete log file '" + files.get(i).getAbsolutePath() + "'");
-				}
+	private final class Housekeeping implements Runnable {
+
+		private final ByteArrayWriter oldWriter;
+		private final String oldFileName;
+		private final String currentFileName;
+
+		/**
+		 * @param oldWriter
+		 *            Writer of the previous log file
+		 * @param oldFileName
+		 *            Path to the previous log file
+		 * @param currentFileName
+		 *            Path to the new current log file
+		 */
+		private Housekeeping(final ByteArrayWriter oldWriter, final String oldFileName, final String currentFileName) {
+			this.oldWriter = oldWriter;
+			this.oldFileName = oldFileName;
+			this.currentFileName = currentFileName;
+		}
+
+		@Override
+		public void run() {
+			try {
+				oldWriter.close();
+			} catch (IOException ex) {
+				InternalLogger.log(Level.ERROR, ex, "Failed to close log file '" + oldFileName + "'");
 			}
+
+			File backup = isSameFile(oldFileName, currentFileName) ? null : new File(oldFileName);
+			if (backup != null && compressor != null) {
+				backup = compressor.compress(backup);
+			}
+
+			if (path.pollChanges()) {
+				retention.seed(exclude(path.getAllFiles(), currentFileName));
+			} else if (backup != null) {
+				retention.add(backup);
+			}
+
+			retention.apply();
 		}
+
+	}
+
+	/**
+	 * Background task for resolving and opening the next log file in advance.
+	 */
+	private final class Preparation implements Callable<NextFile> {
+
+		private final String currentFileName;
+
+		/**
+		 * @param currentFileName
+		 *            Path to the current log file
+		 */
+		private Preparation(final String currentFileName) {
+			this.currentFileName = currentFileName;
+		}
+
+		@Override
+		public NextFile call() throws FileNotFoundException {
+			String nextFileName = path.resolve();
+			if (isSameFile(nextFileName, currentFileName)) {
+				return null;
+			} else {
+				return new NextFile(nextFileName, createByteArrayWriter(nextFileName, false, buffered, false, false, streaming,
+					compressionLevel));
+			}
+		}
+
 	}
 
 }
@@ -23,6 +23,7 @@ import java.util.Map;
 import org.tinylog.Level;
 import org.tinylog.core.LogEntry;
 import org.tinylog.provider.InternalLogger;
+import org.tinylog.writers.raw.AppendingFileOutputStreamWriter;
 import org.tinylog.writers.raw.ByteArrayWriter;
 
 /**
@@ -30,6 +31,15 @@ import org.tinylog.writers.raw.ByteArrayWriter;
  * file. The shared file writer ensures that no process overrides log entries of another process. Already existing files
  * can be continued. The output can be buffered for improving performance, but is not recommended as outputs of
  * different processes will be not in chronological order.
+ *
+ * <p>
+ * By default, every write operation acquires an exclusive file lock. If the property <tt>locking</tt> is set to
+ * "false", the log file is opened in append mode instead and no lock is acquired. In this mode, the operating system
+ * only guarantees that each write operation is appended to the end of the file, so that no data is overwritten. Log
+ * entries of different processes can still interleave on some file systems, and network file systems like NFS don't
+ * support appending without locking at all (see {@link AppendingFileOutputStreamWriter}). All processes that share a
+ * log file must use the same mode.
+ * </p>
  */
 public final class SharedFileWriter extends AbstractFormatPatternWriter {
 
@@ -57,6 +67,7 @@ public final class SharedFileWriter extends AbstractFormatPatternWriter {
 		boolean append = Boolean.parseBoolean(properties.get("append"));
 		boolean buffered = Boolean.parseBoolean(properties.get("buffered"));
 		boolean writingThread = Boolean.parseBoolean(properties.get("writingthread"));
+		boolean locking = !"false".equalsIgnoreCase(properties.get("locking"));
 
 		if (append) {
 			lockFile = null;
@@ -80,12 +91,16 @@ public final class SharedFileWriter extends AbstractFormatPatternWriter {
 		}
 
 		charset = getCharset(properties);
-		writer = createByteArrayWriter(fileName, append, buffered, !writingThread, true);
+		if (locking) {
+			writer = createByteArrayWriter(fileName, append, buffered, !writingThread, true);
+		} else {
+			writer = createAppendingByteArrayWriter(fileName, append, buffered, !writingThread);
+		}
 	}
 
 	@Override
 	public void write(final LogEntry logEntry) throws IOException {
-		byte[] data = render(logEntry).getBytes(charset);
+		byte[] data = render(logEntry, charset);
 		writer.write(data, data.length);
 	}
 
@@ -0,0 +1,419 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.writers;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.tinylog.Level;
+import org.tinylog.core.LogEntry;
+import org.tinylog.policies.Policy;
+import org.tinylog.policies.PolicyEvaluator;
+import org.tinylog.provider.InternalLogger;
+import org.tinylog.writers.raw.ByteArrayWriter;
+
+/**
+ * Writer for outputting log entries to a rolling log file that is shared by multiple processes. Rollover strategies can
+ * be defined via {@link Policy policies} as for the {@link RollingFileWriter}.
+ *
+ * <p>
+ * The log file has a fixed name. At a rollover, the log file is renamed to "&lt;file&gt;.&lt;generation&gt;", where
+ * the generation is incremented at each rollover ("&lt;file&gt;.1" for the first backup, "&lt;file&gt;.2" for the
+ * second backup and so on). Existing backups are never renamed, so that a rollover costs the same regardless of the
+ * number of backups. The maximum number of backups can be defined via the property <tt>backups</tt>. Obsolete backups
+ * are deleted at rollovers, but only if they have not been modified for twice the check interval. Other processes
+ * that have not detected the rollover yet can still write to a just rolled log file. Therefore, obsolete backups that
+ * are still in use are kept until a later rollover. This applies also if backups are disabled by setting
+ * <tt>backups</tt> to "0".
+ * </p>
+ *
+ * <p>
+ * Processes coordinate rollovers via the lock file "&lt;file&gt;.lock". A rollover is performed while holding an
+ * exclusive lock on the lock file and increments a generation counter stored in the lock file. Other processes compare
+ * the generation counter lazily, at least once per second and always before rolling themselves, and reopen the log
+ * file if another process has rolled it in the meantime. Until then, they continue writing to the renamed backup, so
+ * that no log entries are lost. The size of the log file is synchronized at the same interval, as all processes
+ * contribute to it.
+ * </p>
+ *
+ * <p>
+ * As for the {@link SharedFileWriter}, each write operation acquires a file lock by default. If the property
+ * <tt>locking</tt> is set to "false", the operating system's append mode is used instead. Renaming a log file that
+ * is opened by other processes requires POSIX file system semantics. On Windows, rollovers will fail while other
+ * processes have the log file opened.
+ * </p>
+ */
+public final class SharedRollingFileWriter extends AbstractFormatPatternWriter {
+
+	private static final long CHECK_INTERVAL = 1000; // 1 second
+	private static final long DELETION_DELAY = 2 * CHECK_INTERVAL;
+	private static final int GENERATION_SIZE = 8; // Bytes of a long value
+	private static final int MAX_DIGITS = 18; // Maximum number of digits that always fit into a long value
+
+	private final String fileName;
+	private final PolicyEvaluator policies;
+	private final int backups;
+	private final boolean buffered;
+	private final boolean writingThread;
+	private final boolean locking;
+	private final Charset charset;
+	private final RandomAccessFile lockFile;
+	private final ByteBuffer generationBuffer;
+	private final Object mutex;
+
+	private ByteArrayWriter writer;
+	private long generation;
+	private long nextCheck;
+
+	/**
+	 * @param properties
+	 *            Configuration for writer
+	 *
+	 * @throws FileNotFoundException
+	 *             Log file does not exist or cannot be opened for any other reason
+	 * @throws IOException
+	 *             Lock file cannot be accessed
+	 * @throws IllegalArgumentException
+	 *             A property has an invalid value or is missing in configuration
+	 */
+	public SharedRollingFileWriter(final Map<String, String> properties) throws FileNotFoundException, IOException {
+		super(properties);
+
+		fileName = getFileName(properties);
+		policies = new PolicyEvaluator(RollingFileWriter.createPolicies(properties.get("policies")));
+		backups = properties.containsKey("backups") ? Integer.parseInt(properties.get("backups")) : -1;
+		buffered = Boolean.parseBoolean(properties.get("buffered"));
+		writingThread = Boolean.parseBoolean(properties.get("writingthread"));
+		locking = !"false".equalsIgnoreCase(properties.get("locking"));
+		charset = getCharset(properties);
+		generationBuffer = ByteBuffer.allocate(GENERATION_SIZE);
+		mutex = new Object();
+
+		File file = new File(fileName).getAbsoluteFile();
+		File folder = file.getParentFile();
+		if (!folder.mkdirs() && !folder.isDirectory()) {
+			throw new FileNotFoundException("Failed to create folder '" + folder + "'");
+		}
+
+		lockFile = new RandomAccessFile(fileName + ".lock", "rw");
+
+		FileLock lock = lockFile.getChannel().lock();
+		try {
+			generation = readGeneration();
+			if (file.exists() && !policies.continueExistingFile(fileName)) {
+				rotate();
+				policies.reset(0);
+			}
+
+			writer = openWriter();
+		} finally {
+			lock.release();
+		}
+
+		nextCheck = System.currentTimeMillis() + CHECK_INTERVAL;
+	}
+
+	@Override
+	public void write(final LogEntry logEntry) throws IOException {
+		byte[] data = render(logEntry, charset);
+		if (writingThread) {
+			internalWrite(data);
+		} else {
+			synchronized (mutex) {
+				internalWrite(data);
+			}
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (writingThread) {
+			writer.flush();
+		} else {
+			synchronized (mutex) {
+				writer.flush();
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (writingThread) {
+			internalClose();
+		} else {
+			synchronized (mutex) {
+				internalClose();
+			}
+		}
+	}
+
+	/**
+	 * Outputs a passed byte array unsynchronized. Rollovers by other processes are detected lazily before.
+	 *
+	 * @param data
+	 *            Byte array to output
+	 * @throws IOException
+	 *             Writing failed
+	 */
+	private void internalWrite(final byte[] data) throws IOException {
+		long now = System.currentTimeMillis();
+		if (now >= nextCheck) {
+			nextCheck = now + CHECK_INTERVAL;
+			if (readGeneration() == generation) {
+				policies.updateSize(new File(fileName).length());
+			} else {
+				reopen();
+			}
+		}
+
+		if (!policies.continueCurrentFile(data.length)) {
+			rollOver(data.length);
+		}
+
+		writer.write(data, data.length);
+	}
+
+	/**
+	 * Closes the writer unsynchronized.
+	 *
+	 * @throws IOException
+	 *             Closing failed
+	 */
+	private void internalClose() throws IOException {
+		try {
+			writer.close();
+		} finally {
+			lockFile.close();
+		}
+	}
+
+	/**
+	 * Starts a new log file while holding an exclusive lock on the lock file. If another process has already rolled the
+	 * log file in the meantime, the new log file of the other process is just reopened.
+	 *
+	 * @param length
+	 *            Number of bytes that will be written to the new log file immediately
+	 * @throws IOException
+	 *             Failed to access lock file or to open the new log file
+	 */
+	private void rollOver(final int length) throws IOException {
+		FileLock lock = lockFile.getChannel().lock();
+		try {
+			writer.close();
+
+			long current = readGeneration();
+			if (current == generation) {
+				rotate();
+			} else {
+				generation = current;
+			}
+
+			writer = openWriter();
+			policies.reset(new File(fileName).length() + length);
+		} finally {
+			lock.release();
+		}
+
+		nextCheck = System.currentTimeMillis() + CHECK_INTERVAL;
+	}
+
+	/**
+	 * Reopens the log file after another process has rolled it.
+	 *
+	 * @throws IOException
+	 *             Failed to open log file
+	 */
+	private void reopen() throws IOException {
+		writer.close();
+		generation = readGeneration();
+		writer = openWriter();
+		policies.reset(new File(fileName).length());
+	}
+
+	/**
+	 * Opens the log file for appending.
+	 *
+	 * @return Writer for the log file
+	 * @throws IOException
+	 *             Failed to open log file
+	 */
+	private ByteArrayWriter openWriter() throws IOException {
+		if (locking) {
+			return createByteArrayWriter(fileName, true, buffered, false, true);
+		} else {
+			return createAppendingByteArrayWriter(fileName, true, buffered, false);
+		}
+	}
+
+	/**
+	 * Renames the current log file to the backup of the next generation and stores the new generation counter in the
+	 * lock file. Afterwards, obsolete backups are deleted. This method must be called while holding an exclusive lock
+	 * on the lock file.
+	 *
+	 * @throws IOException
+	 *             Failed to write lock file
+	 */
+	private void rotate() throws IOException {
+		long next = generation + 1;
+		while (getBackup(next).exists()) {
+			++next;
+		}
+
+		rename(new File(fileName), getBackup(next));
+		writeGeneration(next);
+		generation = next;
+
+		deleteObsoleteBackups();
+	}
+
+	/**
+	 * Deletes all backups that exceed the maximum number of backups. Backups that have been modified recently are kept,
+	 * as other processes might still write to them.
+	 */
+	private void deleteObsoleteBackups() {
+		if (backups < 0) {
+			return;
+		}
+
+		File file = new File(fileName).getAbsoluteFile();
+		String prefix = file.getName() + ".";
+		File[] files = file.getParentFile().listFiles();
+		if (files == null) {
+			return;
+		}
+
+		long[] generations = new long[files.length];
+		int count = 0;
+		for (File backup : files) {
+			String name = backup.getName();
+			if (name.startsWith(prefix) && name.length() > prefix.length() && isNumber(name.substring(prefix.length()))) {
+				generations[count++] = Long.parseLong(name.substring(prefix.length()));
+			}
+		}
+
+		Arrays.sort(generations, 0, count);
+
+		long deadline = System.currentTimeMillis() - DELETION_DELAY;
+		for (int i = count - backups - 1; i >= 0; --i) {
+			File backup = getBackup(generations[i]);
+			if (backup.lastModified() < deadline) {
+				delete(backup);
+			}
+		}
+	}
+
+	/**
+	 * Gets a backup file.
+	 *
+	 * @param generation
+	 *            Generation of backup, starting with 1 for the first backup
+	 * @return Backup file
+	 */
+	private File getBackup(final long generation) {
+		return new File(fileName + "." + generation);
+	}
+
+	/**
+	 * Checks whether a text consists of decimal digits only and fits into a long value.
+	 *
+	 * @param text
+	 *            Text to check
+	 * @return {@code true} if the passed text is a number, otherwise {@code false}
+	 */
+	private static boolean isNumber(final String text) {
+		if (text.length() > MAX_DIGITS) {
+			return false;
+		}
+
+		for (int i = 0; i < text.length(); ++i) {
+			char character = text.charAt(i);
+			if (character < '0' || character > '9') {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Reads the generation counter from the lock file.
+	 *
+	 * @return Current generation counter or 0 if none has been written yet
+	 * @throws IOException
+	 *             Failed to read lock file
+	 */
+	private long readGeneration() throws IOException {
+		FileChannel channel = lockFile.getChannel();
+		generationBuffer.clear();
+		while (generationBuffer.hasRemaining()) {
+			if (channel.read(generationBuffer, generationBuffer.position()) <= 0) {
+				return 0;
+			}
+		}
+		return generationBuffer.getLong(0);
+	}
+
+	/**
+	 * Writes a new generation counter to the lock file.
+	 *
+	 * @param value
+	 *            New generation counter
+	 * @throws IOException
+	 *             Failed to write lock file
+	 */
+	private void writeGeneration(final long value) throws IOException {
+		FileChannel channel = lockFile.getChannel();
+		generationBuffer.clear();
+		generationBuffer.putLong(0, value);
+		while (generationBuffer.hasRemaining()) {
+			channel.write(generationBuffer, generationBuffer.position());
+		}
+	}
+
+	/**
+	 * Deletes a file and outputs a warning if deletion fails.
+	 *
+	 * @param file
+	 *            File to delete
+	 */
+	private static void delete(final File file) {
+		if (!file.delete() && file.exists()) {
+			InternalLogger.log(Level.WARN, "Failed to delete log file '" + file.getAbsolutePath() + "'");
+		}
+	}
+
+	/**
+	 * Renames a file and outputs an error if renaming fails.
+	 *
+	 * @param source
+	 *            File to rename
+	 * @param target
+	 *            New name for file
+	 */
+	private static void rename(final File source, final File target) {
+		if (!source.renameTo(target) && source.exists()) {
+			InternalLogger.log(Level.ERROR, "Failed to rename log file '" + source.getAbsolutePath() + "' to '"
+				+ target.getAbsolutePath() + "'");
+		}
+	}
+
+}
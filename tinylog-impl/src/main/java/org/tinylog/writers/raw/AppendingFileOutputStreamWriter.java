@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.writers.raw;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Wrapper for using a {@link FileOutputStream} in append mode as writer. Multiple processes can write simultaneously to
+ * the same file without locking.
+ *
+ * <p>
+ * The only guarantee is that the operating system positions each write operation at the current end of the file
+ * (O_APPEND), so that no process overwrites data of another process. POSIX does not guarantee that the bytes of a
+ * single write operation to a regular file are stored contiguously, if other processes append concurrently. The
+ * well-known PIPE_BUF limit applies to pipes only. Local file systems on Linux usually don't interleave writes, but
+ * network file systems like NFS don't support atomic appending at all. If interleaving must be ruled out, the file
+ * has to be written with locking by {@link LockedFileOutputStreamWriter} instead.
+ * </p>
+ */
+public final class AppendingFileOutputStreamWriter implements ByteArrayWriter {
+
+	private final FileOutputStream stream;
+
+	/**
+	 * @param stream
+	 *            Underlying output stream, which must be opened in append mode
+	 */
+	public AppendingFileOutputStreamWriter(final FileOutputStream stream) {
+		this.stream = stream;
+	}
+
+	@Override
+	public void write(final byte[] data, final int length) throws IOException {
+		stream.write(data, 0, length);
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	@Override
+	public void close() throws IOException {
+		stream.close();
+	}
+
+}
@@ -24,6 +24,7 @@ public final class BufferedWriterDecorator implements ByteArrayWriter {
 	private static final int BUFFER_CAPACITY = 64 * 1024; // 64 KB
 
 	private final ByteArrayWriter writer;
+	private final int capacity;
 	private final byte[] buffer;
 	private int position;
 
@@ -32,19 +33,30 @@ public final class BufferedWriterDecorator implements ByteArrayWriter {
 	 *            Underlying writer
 	 */
 	public BufferedWriterDecorator(final ByteArrayWriter writer) {
+		this(writer, BUFFER_CAPACITY);
+	}
+
+	/**
+	 * @param writer
+	 *            Underlying writer
+	 * @param capacity
+	 *            Buffer capacity in bytes
+	 */
+	public BufferedWriterDecorator(final ByteArrayWriter writer, final int capacity) {
 		this.writer = writer;
-		this.buffer = new byte[BUFFER_CAPACITY];
+		this.capacity = capacity;
+		this.buffer = new byte[capacity];
 		this.position = 0;
 	}
 
 	@Override
 	public void write(final byte[] data, final int length) throws IOException {
-		if (position > 0 && BUFFER_CAPACITY - position < length) {
+		if (position > 0 && capacity - position < length) {
 			writer.write(buffer, position);
 			position = 0;
 		}
 
-		if (BUFFER_CAPACITY < length) {
+		if (capacity < length) {
 			writer.write(data, length);
 		} else {
 			System.arraycopy(data, 0, buffer, position, length);
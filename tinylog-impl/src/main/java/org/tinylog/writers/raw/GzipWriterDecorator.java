@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.writers.raw;
+
+import java.io.IOException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.codehaus.mojo.animal_sniffer.IgnoreJRERequirement;
+
+/**
+ * Decorator to compress output data for any {@link ByteArrayWriter} implementation in GZIP format. Data is compressed
+ * on the fly by a {@link Deflater} and written as a new GZIP member, which allows continuing existing GZIP files.
+ *
+ * <p>
+ * Compressed data is sync flushed whenever at least 64 KB of uncompressed data has been collected and on
+ * {@link #flush()}. Therefore, the output stays readable up to the last completed block, even if the application
+ * crashes. Sync flushing requires Java 7 or later. On older Java versions, the output is only complete after
+ * {@link #close()}.
+ * </p>
+ */
+public final class GzipWriterDecorator implements ByteArrayWriter {
+
+	private static final int BUFFER_CAPACITY = 64 * 1024; // 64 KB
+	private static final int SYNC_INTERVAL = 64 * 1024; // 64 KB
+
+	private static final byte[] HEADER = new byte[] {
+		(byte) 0x1f, (byte) 0x8b, // Magic number
+		Deflater.DEFLATED, // Compression method
+		0, // Flags
+		0, 0, 0, 0, // Modification time
+		0, // Extra flags
+		0 // Operating system
+	};
+
+	private static final boolean SYNC_FLUSH_SUPPORTED = isSyncFlushSupported();
+
+	private final ByteArrayWriter writer;
+	private final Deflater deflater;
+	private final CRC32 checksum;
+	private final byte[] buffer;
+
+	private int size;
+	private int pending;
+
+	/**
+	 * @param writer
+	 *            Underlying writer
+	 * @param level
+	 *            Compression level between 0 (no compression) and 9 (best compression) or -1 for default compression
+	 *
+	 * @throws IOException
+	 *             Failed to write GZIP header
+	 * @throws IllegalArgumentException
+	 *             Invalid compression level
+	 */
+	public GzipWriterDecorator(final ByteArrayWriter writer, final int level) throws IOException {
+		if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		}
+
+		this.writer = writer;
+		this.deflater = new Deflater(level, true);
+		this.checksum = new CRC32();
+		this.buffer = new byte[BUFFER_CAPACITY];
+		this.size = 0;
+		this.pending = 0;
+
+		writer.write(HEADER, HEADER.length);
+	}
+
+	@Override
+	public void write(final byte[] data, final int length) throws IOException {
+		checksum.update(data, 0, length);
+		size += length;
+		pending += length;
+
+		deflater.setInput(data, 0, length);
+		while (!deflater.needsInput()) {
+			int count = deflater.deflate(buffer);
+			if (count > 0) {
+				writer.write(buffer, count);
+			}
+		}
+
+		if (pending >= SYNC_INTERVAL) {
+			sync();
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (pending > 0) {
+			sync();
+		}
+
+		writer.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			deflater.finish();
+			while (!deflater.finished()) {
+				int count = deflater.deflate(buffer);
+				if (count > 0) {
+					writer.write(buffer, count);
+				}
+			}
+
+			byte[] trailer = new byte[Integer.SIZE / Byte.SIZE * 2];
+			writeInt(trailer, 0, (int) checksum.getValue());
+			writeInt(trailer, Integer.SIZE / Byte.SIZE, size);
+			writer.write(trailer, trailer.length);
+		} finally {
+			deflater.end();
+			writer.close();
+		}
+	}
+
+	/**
+	 * Checks if {@link Deflater} supports sync flushing. This feature has been introduced in Java 7.
+	 *
+	 * @return {@code true} if sync flushing is supported, {@code false} if not
+	 */
+	private static boolean isSyncFlushSupported() {
+		try {
+			Deflater.class.getMethod("deflate", byte[].class, int.class, int.class, int.class);
+			return true;
+		} catch (NoSuchMethodException ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * Writes all pending compressed data to the underlying writer, if sync flushing is supported by the current Java
+	 * runtime. All output up to this point can be decompressed afterwards.
+	 *
+	 * @throws IOException
+	 *             Writing failed
+	 */
+	@IgnoreJRERequirement
+	private void sync() throws IOException {
+		if (SYNC_FLUSH_SUPPORTED) {
+			int count;
+			do {
+				count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+				if (count > 0) {
+					writer.write(buffer, count);
+				}
+			} while (count == buffer.length);
+		}
+
+		pending = 0;
+	}
+
+	/**
+	 * Stores an integer in little endian byte order.
+	 *
+	 * @param array
+	 *            Target byte array
+	 * @param offset
+	 *            Position of the first byte in the target byte array
+	 * @param value
+	 *            Integer to store
+	 */
+	private static void writeInt(final byte[] array, final int offset, final int value) {
+		for (int i = 0; i < Integer.SIZE / Byte.SIZE; ++i) {
+			array[offset + i] = (byte) (value >> (i * Byte.SIZE));
+		}
+	}
+
+}
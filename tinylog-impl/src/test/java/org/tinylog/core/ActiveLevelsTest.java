@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.core;
+
+import java.util.Map;
+
+import org.junit.Test;
+import org.tinylog.Level;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ActiveLevels}.
+ */
+public final class ActiveLevelsTest {
+
+	/**
+	 * Verifies that the global severity level is used, if there are no custom severity levels.
+	 */
+	@Test
+	public void globalLevel() {
+		ActiveLevels levels = new ActiveLevels(Level.INFO, emptyMap(), emptyMap());
+
+		assertThat(levels.getGlobalLevel()).isEqualTo(Level.INFO);
+		assertThat(levels.getMinimumLevel()).isEqualTo(Level.INFO);
+		assertThat(levels.hasCustomLevels()).isFalse();
+		assertThat(levels.getLevel("org.test.MyClass")).isEqualTo(Level.INFO);
+		assertThat(levels.getTagLevel("test")).isNull();
+	}
+
+	/**
+	 * Verifies that custom severity levels are resolved for classes and their packages.
+	 */
+	@Test
+	public void customLevels() {
+		ActiveLevels levels = new ActiveLevels(Level.INFO, singletonMap("org.test", Level.DEBUG), emptyMap());
+
+		assertThat(levels.getMinimumLevel()).isEqualTo(Level.DEBUG);
+		assertThat(levels.hasCustomLevels()).isTrue();
+		assertThat(levels.getLevel("org.test.MyClass")).isEqualTo(Level.DEBUG);
+		assertThat(levels.getLevel("org.other.MyClass")).isEqualTo(Level.INFO);
+	}
+
+	/**
+	 * Verifies that custom severity levels for tags are resolved and taken into account for the minimum severity level.
+	 */
+	@Test
+	public void tagLevels() {
+		ActiveLevels levels = new ActiveLevels(Level.INFO, emptyMap(), singletonMap("test", Level.TRACE));
+
+		assertThat(levels.getMinimumLevel()).isEqualTo(Level.TRACE);
+		assertThat(levels.hasCustomLevels()).isFalse();
+		assertThat(levels.getTagLevel("test")).isEqualTo(Level.TRACE);
+		assertThat(levels.getTagLevel("other")).isNull();
+		assertThat(levels.getTagLevel(null)).isNull();
+	}
+
+	/**
+	 * Verifies that changes create new snapshots and leave the original snapshot untouched.
+	 */
+	@Test
+	public void changeLevels() {
+		Map<String, Level> empty = emptyMap();
+		ActiveLevels original = new ActiveLevels(Level.INFO, empty, empty);
+
+		ActiveLevels changed = original.withGlobalLevel(Level.WARN)
+			.withCustomLevel("org.test", Level.DEBUG)
+			.withTagLevel("test", Level.ERROR);
+		assertThat(changed.getGlobalLevel()).isEqualTo(Level.WARN);
+		assertThat(changed.getLevel("org.test.MyClass")).isEqualTo(Level.DEBUG);
+		assertThat(changed.getTagLevel("test")).isEqualTo(Level.ERROR);
+		assertThat(changed.getMinimumLevel()).isEqualTo(Level.DEBUG);
+
+		assertThat(original.getGlobalLevel()).isEqualTo(Level.INFO);
+		assertThat(original.hasCustomLevels()).isFalse();
+		assertThat(original.getTagLevel("test")).isNull();
+	}
+
+	/**
+	 * Verifies that custom severity levels can be removed.
+	 */
+	@Test
+	public void removeLevels() {
+		ActiveLevels levels = new ActiveLevels(Level.INFO, singletonMap("org.test", Level.DEBUG), singletonMap("test", Level.TRACE));
+
+		levels = levels.withCustomLevel("org.test", null).withTagLevel("test", null);
+		assertThat(levels.hasCustomLevels()).isFalse();
+		assertThat(levels.getTagLevel("test")).isNull();
+		assertThat(levels.getMinimumLevel()).isEqualTo(Level.INFO);
+	}
+
+}
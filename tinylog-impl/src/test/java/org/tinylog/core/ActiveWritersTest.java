@@ -0,0 +1,195 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.tinylog.filters.Filter;
+import org.tinylog.rules.SystemStreamCollector;
+import org.tinylog.util.EvilWriter;
+import org.tinylog.writers.Writer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ActiveWriters}.
+ */
+public final class ActiveWritersTest {
+
+	private static final int NUMBER_OF_THREADS = 8;
+	private static final int NUMBER_OF_CALLS = 1000;
+
+	/**
+	 * Redirects and collects system output streams.
+	 */
+	@Rule
+	public final SystemStreamCollector systemStream = new SystemStreamCollector(true);
+
+	/**
+	 * Verifies that untagged log entries get the index 0, known tags their position plus one and unknown tags the
+	 * last index.
+	 */
+	@Test
+	public void tagIndex() {
+		ActiveWriters active = create(new Writer[0][]);
+
+		assertThat(active.getTagIndex(null)).isEqualTo(0);
+		assertThat(active.getTagIndex("first")).isEqualTo(1);
+		assertThat(active.getTagIndex("second")).isEqualTo(2);
+		assertThat(active.getTagIndex("other")).isEqualTo(3);
+	}
+
+	/**
+	 * Verifies that a snapshot is idle as soon as all entered log calls have exited.
+	 */
+	@Test
+	public void enterAndExit() {
+		ActiveWriters active = create(new Writer[0][]);
+		assertThat(active.isIdle()).isTrue();
+
+		assertThat(active.enter()).isTrue();
+		assertThat(active.enter()).isTrue();
+		assertThat(active.isIdle()).isFalse();
+
+		active.exit();
+		assertThat(active.isIdle()).isFalse();
+
+		active.exit();
+		assertThat(active.isIdle()).isTrue();
+	}
+
+	/**
+	 * Verifies that a retired snapshot cannot be entered anymore, but log calls that have already entered can still
+	 * exit.
+	 */
+	@Test
+	public void retire() {
+		ActiveWriters active = create(new Writer[0][]);
+		assertThat(active.enter()).isTrue();
+
+		active.retire();
+		assertThat(active.enter()).isFalse();
+		assertThat(active.isIdle()).isFalse();
+
+		active.exit();
+		assertThat(active.isIdle()).isTrue();
+	}
+
+	/**
+	 * Verifies that log calls from multiple threads are counted correctly, even if they use different counter cells.
+	 *
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for threads
+	 */
+	@Test
+	public void concurrentLogCalls() throws InterruptedException {
+		ActiveWriters active = create(new Writer[0][]);
+
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_THREADS; ++i) {
+			threads.add(new Thread(() -> {
+				for (int j = 0; j < NUMBER_OF_CALLS; ++j) {
+					assertThat(active.enter()).isTrue();
+					active.exit();
+				}
+				assertThat(active.enter()).isTrue();
+			}));
+		}
+
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(active.isIdle()).isFalse();
+		active.retire();
+		assertThat(active.enter()).isFalse();
+	}
+
+	/**
+	 * Verifies that each writer is closed exactly once, even if it is registered for multiple severity levels.
+	 *
+	 * @throws Exception
+	 *             Failed to verify closing writers
+	 */
+	@Test
+	public void closeWriters() throws Exception {
+		Writer first = mock(Writer.class);
+		Writer second = mock(Writer.class);
+
+		create(new Writer[][] { { first }, { first, second }, {} }).close();
+
+		verify(first, times(1)).close();
+		verify(second, times(1)).close();
+	}
+
+	/**
+	 * Verifies that writers are closed only once, if a snapshot is closed multiple times.
+	 *
+	 * @throws Exception
+	 *             Failed to verify closing writers
+	 */
+	@Test
+	public void closeTwice() throws Exception {
+		Writer writer = mock(Writer.class);
+
+		ActiveWriters active = create(new Writer[][] { { writer } });
+		active.close();
+		active.close();
+
+		verify(writer, times(1)).close();
+	}
+
+	/**
+	 * Verifies that an exception will be reported, if a writer cannot be closed.
+	 */
+	@Test
+	public void closingFailed() {
+		create(new Writer[][] { { new EvilWriter(emptyMap()) } }).close();
+		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").containsOnlyOnce("close");
+	}
+
+	/**
+	 * Verifies that all distinct writers are collected from a table of writers.
+	 */
+	@Test
+	public void allWriters() {
+		Writer first = mock(Writer.class);
+		Writer second = mock(Writer.class);
+
+		Collection<Writer> writers = ActiveWriters.getAllWriters(new Writer[][] { { first, second }, { second }, {} });
+		assertThat(writers).containsExactlyInAnyOrder(first, second);
+	}
+
+	/**
+	 * Creates a snapshot with the tags "first" and "second".
+	 *
+	 * @param writers
+	 *            Table of writers
+	 * @return Created snapshot
+	 */
+	private static ActiveWriters create(final Writer[][] writers) {
+		return new ActiveWriters(asList("first", "second"), new Filter[0], writers, new int[writers.length], null);
+	}
+
+}
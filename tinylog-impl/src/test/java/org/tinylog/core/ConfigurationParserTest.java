@@ -19,12 +19,17 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
 import org.tinylog.Level;
 import org.tinylog.configuration.Configuration;
+import org.tinylog.filters.DuplicateFilter;
+import org.tinylog.filters.RateLimitFilter;
+import org.tinylog.metrics.LoggingMetrics;
+import org.tinylog.metrics.WriterMetrics;
 import org.tinylog.rules.SystemStreamCollector;
 import org.tinylog.writers.ConsoleWriter;
 import org.tinylog.writers.FileWriter;
@@ -34,6 +39,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 
 /**
@@ -136,6 +142,25 @@ public final class ConfigurationParserTest {
 			.containsOnlyOnce("ERROR").containsOnlyOnce("severity level").containsOnlyOnce("test");
 	}
 
+	/**
+	 * Verifies that severity levels cannot be lowered at runtime by default.
+	 */
+	@Test
+	public void defaultAdjustableLevel() {
+		Level level = ConfigurationParser.getAdjustableLevel();
+		assertThat(level).isEqualTo(Level.OFF);
+	}
+
+	/**
+	 * Verifies that a defined lowest severity level for changing severity levels at runtime will be parsed correctly.
+	 */
+	@Test
+	public void definedAdjustableLevel() {
+		Configuration.set("level.adjustable", "debug");
+		Level level = ConfigurationParser.getAdjustableLevel();
+		assertThat(level).isEqualTo(Level.DEBUG);
+	}
+
 	/**
 	 * Verifies that no severity levels will be returned for an empty configuration.
 	 */
@@ -282,6 +307,57 @@ public final class ConfigurationParserTest {
 		assertThat(enabled).isTrue();
 	}
 
+	/**
+	 * Verifies that writers are initialized eagerly by default.
+	 */
+	@Test
+	public void noConfiguredInitialization() {
+		assertThat(ConfigurationParser.isLazyInitializationEnabled()).isFalse();
+		assertThat(ConfigurationParser.isBackgroundInitializationEnabled()).isFalse();
+	}
+
+	/**
+	 * Verifies that lazy initialization of writers will be detected.
+	 */
+	@Test
+	public void lazyInitialization() {
+		Configuration.set("initialization", "lazy");
+
+		assertThat(ConfigurationParser.isLazyInitializationEnabled()).isTrue();
+		assertThat(ConfigurationParser.isBackgroundInitializationEnabled()).isFalse();
+	}
+
+	/**
+	 * Verifies that initialization of writers by a separate thread will be detected.
+	 */
+	@Test
+	public void backgroundInitialization() {
+		Configuration.set("initialization", "background");
+
+		assertThat(ConfigurationParser.isLazyInitializationEnabled()).isTrue();
+		assertThat(ConfigurationParser.isBackgroundInitializationEnabled()).isTrue();
+	}
+
+	/**
+	 * Verifies that automatic reloading is disabled by default.
+	 */
+	@Test
+	public void noConfiguredAutoReload() {
+		boolean enabled = ConfigurationParser.isAutoReloadEnabled();
+		assertThat(enabled).isFalse();
+	}
+
+	/**
+	 * Verifies that enabling of automatic reloading will be detected.
+	 */
+	@Test
+	public void enabledAutoReload() {
+		Configuration.set("autoreload", "true");
+
+		boolean enabled = ConfigurationParser.isAutoReloadEnabled();
+		assertThat(enabled).isTrue();
+	}
+
 	/**
 	 * Verifies that auto shutdown is disabled by default.
 	 */
@@ -313,6 +389,161 @@ public final class ConfigurationParserTest {
 		assertThat(enabled).isTrue();
 	}
 
+	/**
+	 * Verifies that exception caching is disabled by default.
+	 */
+	@Test
+	public void noConfiguredExceptionCache() {
+		assertThat(ConfigurationParser.getExceptionCacheSize()).isZero();
+		assertThat(ConfigurationParser.isExceptionReferencingEnabled()).isFalse();
+	}
+
+	/**
+	 * Verifies that a configured exception cache size will be parsed correctly.
+	 */
+	@Test
+	public void configuredExceptionCache() {
+		Configuration.set("exception.cache", "100");
+		assertThat(ConfigurationParser.getExceptionCacheSize()).isEqualTo(100);
+	}
+
+	/**
+	 * Verifies that an invalid exception cache size will be detected and caching disabled.
+	 */
+	@Test
+	public void invalidExceptionCache() {
+		Configuration.set("exception.cache", "abc");
+		assertThat(ConfigurationParser.getExceptionCacheSize()).isZero();
+
+		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").containsOnlyOnce("abc");
+	}
+
+	/**
+	 * Verifies that enabling of exception reference mode will be detected and enables the exception cache implicitly.
+	 */
+	@Test
+	public void enabledExceptionReferencing() {
+		Configuration.set("exception.reference", "true");
+
+		assertThat(ConfigurationParser.isExceptionReferencingEnabled()).isTrue();
+		assertThat(ConfigurationParser.getExceptionCacheSize()).isPositive();
+	}
+
+	/**
+	 * Verifies that metrics and JMX are disabled by default.
+	 */
+	@Test
+	public void noConfiguredMetrics() {
+		assertThat(ConfigurationParser.isMetricsEnabled()).isFalse();
+		assertThat(ConfigurationParser.isJmxEnabled()).isFalse();
+	}
+
+	/**
+	 * Verifies that enabling of metrics will be detected.
+	 */
+	@Test
+	public void enabledMetrics() {
+		Configuration.set("metrics", "true");
+
+		assertThat(ConfigurationParser.isMetricsEnabled()).isTrue();
+		assertThat(ConfigurationParser.isJmxEnabled()).isFalse();
+	}
+
+	/**
+	 * Verifies that enabling of JMX will be detected and enables metrics implicitly.
+	 */
+	@Test
+	public void enabledJmx() {
+		Configuration.set("metrics.jmx", "true");
+
+		assertThat(ConfigurationParser.isMetricsEnabled()).isTrue();
+		assertThat(ConfigurationParser.isJmxEnabled()).isTrue();
+	}
+
+	/**
+	 * Verifies that durations with all supported units can be parsed and numbers without unit are interpreted in the
+	 * passed default unit.
+	 */
+	@Test
+	public void parseDuration() {
+		assertThat(ConfigurationParser.parseDuration("500ms", TimeUnit.DAYS)).isEqualTo(500);
+		assertThat(ConfigurationParser.parseDuration("30s", TimeUnit.DAYS)).isEqualTo(TimeUnit.SECONDS.toMillis(30));
+		assertThat(ConfigurationParser.parseDuration("15 m", TimeUnit.DAYS)).isEqualTo(TimeUnit.MINUTES.toMillis(15));
+		assertThat(ConfigurationParser.parseDuration("12H", TimeUnit.DAYS)).isEqualTo(TimeUnit.HOURS.toMillis(12));
+		assertThat(ConfigurationParser.parseDuration(" 7d ", TimeUnit.SECONDS)).isEqualTo(TimeUnit.DAYS.toMillis(7));
+		assertThat(ConfigurationParser.parseDuration("10", TimeUnit.SECONDS)).isEqualTo(TimeUnit.SECONDS.toMillis(10));
+		assertThat(ConfigurationParser.parseDuration("10", TimeUnit.DAYS)).isEqualTo(TimeUnit.DAYS.toMillis(10));
+	}
+
+	/**
+	 * Verifies that durations with unknown units as well as invalid and non-positive durations are rejected.
+	 */
+	@Test
+	public void invalidDuration() {
+		assertThatThrownBy(() -> ConfigurationParser.parseDuration("2w", TimeUnit.DAYS))
+			.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("2w");
+		assertThatThrownBy(() -> ConfigurationParser.parseDuration("5 sec", TimeUnit.DAYS))
+			.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("5 sec");
+		assertThatThrownBy(() -> ConfigurationParser.parseDuration("abc", TimeUnit.DAYS))
+			.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("abc");
+		assertThatThrownBy(() -> ConfigurationParser.parseDuration("1.5h", TimeUnit.DAYS))
+			.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("1.5h");
+		assertThatThrownBy(() -> ConfigurationParser.parseDuration("0s", TimeUnit.DAYS))
+			.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("0s");
+		assertThatThrownBy(() -> ConfigurationParser.parseDuration("-1d", TimeUnit.DAYS))
+			.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("-1d");
+	}
+
+	/**
+	 * Verifies that no filters will be created, if there are no defined filters.
+	 */
+	@Test
+	public void noFilters() {
+		assertThat(ConfigurationParser.createFilters()).isEmpty();
+	}
+
+	/**
+	 * Verifies that multiple filters will be created in the order of their property keys.
+	 */
+	@Test
+	public void multipleFilters() {
+		Configuration.set("filter2", "duplicate");
+		Configuration.set("filter1", "rate limit");
+		Configuration.set("filter1.rate", "10");
+
+		assertThat(ConfigurationParser.createFilters())
+			.hasSize(2)
+			.hasOnlyElementsOfTypes(RateLimitFilter.class, DuplicateFilter.class)
+			.extracting(Object::getClass)
+			.containsExactly(RateLimitFilter.class, DuplicateFilter.class);
+	}
+
+	/**
+	 * Verifies that filters will be ordered by the numeric suffixes of their property keys instead of
+	 * lexicographically.
+	 */
+	@Test
+	public void numericFilterOrder() {
+		Configuration.set("filter10", "duplicate");
+		Configuration.set("filter2", "rate limit");
+		Configuration.set("filter2.rate", "10");
+
+		assertThat(ConfigurationParser.createFilters())
+			.extracting(Object::getClass)
+			.containsExactly(RateLimitFilter.class, DuplicateFilter.class);
+	}
+
+	/**
+	 * Verifies that an accurate error message will be output, if a filter cannot be created.
+	 */
+	@Test
+	public void invalidFilter() {
+		Configuration.set("filter", "rate limit");
+
+		assertThat(ConfigurationParser.createFilters()).isEmpty();
+		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").contains("rate");
+	}
+
 	/**
 	 * Verifies that a default writer will be created for all tags and severity levels, if logging is enabled but no
 	 * writer explicitly defined.
@@ -463,4 +694,63 @@ public final class ConfigurationParserTest {
 		});
 	}
 
+	/**
+	 * Verifies that a writer with sampling configuration will be decorated by a sampling writer.
+	 */
+	@Test
+	public void samplingWriter() {
+		Configuration.set("writer", "console");
+		Configuration.set("writer.sampling", "10%");
+		Configuration.set("writer.sampling.key", "request");
+
+		Collection<Writer>[][] writers = ConfigurationParser.createWriters(emptyList(), Level.TRACE, false);
+
+		assertThat(writers).hasSize(2).allSatisfy(element ->
+			assertThat(element).hasSize(5).allSatisfy(collection ->
+				assertThat(collection).hasSize(1).allSatisfy(writer -> assertThat(writer).isInstanceOf(SamplingWriter.class))
+			)
+		);
+	}
+
+	/**
+	 * Verifies that an accurate error message will be output and the writer will be used without sampling, if the
+	 * sampling configuration is invalid.
+	 */
+	@Test
+	public void invalidSampling() {
+		Configuration.set("writer", "console");
+		Configuration.set("writer.sampling", "abc");
+
+		Collection<Writer>[][] writers = ConfigurationParser.createWriters(emptyList(), Level.TRACE, false);
+
+		assertThat(writers[0][Level.TRACE.ordinal()])
+			.hasSize(1)
+			.allSatisfy(writer -> assertThat(writer).isInstanceOf(ConsoleWriter.class));
+
+		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").containsOnlyOnce("abc");
+	}
+
+	/**
+	 * Verifies that writers will be decorated for recording metrics and their metrics are registered by their
+	 * configuration keys, if metrics are passed.
+	 */
+	@Test
+	public void meteredWriters() {
+		Configuration.set("writer1", "console");
+		Configuration.set("writer2", "console");
+		Configuration.set("writer2.sampling", "10%");
+
+		LoggingMetrics metrics = new LoggingMetrics();
+		Collection<Writer>[][] writers = ConfigurationParser.createWriters(emptyList(), Level.TRACE, false, metrics);
+
+		assertThat(writers[0][Level.TRACE.ordinal()])
+			.hasSize(2)
+			.hasAtLeastOneElementOfType(MeteredWriter.class)
+			.hasAtLeastOneElementOfType(SamplingWriter.class);
+
+		assertThat(metrics.getWriters())
+			.extracting(WriterMetrics::getName)
+			.containsExactlyInAnyOrder("writer1", "writer2");
+	}
+
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.tinylog.configuration.Configuration;
+import org.tinylog.rules.SystemStreamCollector;
+import org.tinylog.util.FileSystem;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.tinylog.util.ResultObserver.waitFor;
+
+/**
+ * Tests for {@link ConfigurationWatcher}.
+ */
+public final class ConfigurationWatcherTest {
+
+	private static final String CONFIGURATION_PROPERTY = "tinylog.configuration";
+
+	/**
+	 * Redirects and collects system output streams.
+	 */
+	@Rule
+	public final SystemStreamCollector systemStream = new SystemStreamCollector(false);
+
+	/**
+	 * Removes the configuration file from system properties and clears global tinylog configuration.
+	 */
+	@After
+	public void clear() {
+		System.clearProperty(CONFIGURATION_PROPERTY);
+		Configuration.replace(emptyMap());
+	}
+
+	/**
+	 * Verifies that watching files is supported by the current Java runtime.
+	 */
+	@Test
+	public void supported() {
+		assertThat(ConfigurationWatcher.isSupported()).isTrue();
+	}
+
+	/**
+	 * Verifies that the configuration is reloaded, if the configuration file has been changed.
+	 *
+	 * @throws IOException
+	 *             Failed to create or change temporary file
+	 */
+	@Test
+	public void reloadOnChange() throws IOException {
+		String path = FileSystem.createTemporaryFile("test = 1");
+		System.setProperty(CONFIGURATION_PROPERTY, path);
+
+		ConfigurationWatcher watcher = new ConfigurationWatcher(new File(path));
+		try {
+			Files.write(Paths.get(path), Collections.singletonList("test = 2"));
+			String value = waitFor(() -> Configuration.get("test"), "2"::equals, 10_000);
+			assertThat(value).isEqualTo("2");
+		} finally {
+			watcher.close();
+		}
+	}
+
+	/**
+	 * Verifies that changes of other files in the same folder are ignored.
+	 *
+	 * @throws IOException
+	 *             Failed to create or change temporary files
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for a potential reload
+	 */
+	@Test
+	public void ignoreOtherFiles() throws IOException, InterruptedException {
+		String path = FileSystem.createTemporaryFile("test = 1");
+		System.setProperty(CONFIGURATION_PROPERTY, path);
+		Configuration.replace(Collections.singletonMap("test", "0"));
+
+		ConfigurationWatcher watcher = new ConfigurationWatcher(new File(path));
+		try {
+			Files.write(Paths.get(FileSystem.createTemporaryFile()), Collections.singletonList("test = 2"));
+			Thread.sleep(500);
+			assertThat(Configuration.get("test")).isEqualTo("0");
+		} finally {
+			watcher.close();
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.core;
+
+import java.io.IOException;
+import java.util.EnumSet;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.tinylog.metrics.WriterMetrics;
+import org.tinylog.util.EvilWriter;
+import org.tinylog.util.LogEntryBuilder;
+import org.tinylog.util.StorageWriter;
+import org.tinylog.writers.Writer;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link MeteredWriter}.
+ */
+public final class MeteredWriterTest {
+
+	/**
+	 * Clears previously stored log entries.
+	 */
+	@Before
+	public void init() {
+		StorageWriter.consumeEntries();
+	}
+
+	/**
+	 * Verifies that the required log entry values of the decorated writer are passed through.
+	 */
+	@Test
+	public void requiredLogEntryValues() {
+		Writer writer = new StorageWriter(singletonMap("values", "level, message"));
+		MeteredWriter meteredWriter = new MeteredWriter(writer, new WriterMetrics("writer", writer));
+
+		assertThat(meteredWriter.getRequiredLogEntryValues()).isEqualTo(EnumSet.of(LogEntryValue.LEVEL, LogEntryValue.MESSAGE));
+	}
+
+	/**
+	 * Verifies that log entries are passed to the decorated writer and recorded with their latency.
+	 *
+	 * @throws Exception
+	 *             Failed writing or flushing
+	 */
+	@Test
+	public void writeAndFlush() throws Exception {
+		Writer writer = new StorageWriter(emptyMap());
+		WriterMetrics metrics = new WriterMetrics("writer", writer);
+		MeteredWriter meteredWriter = new MeteredWriter(writer, metrics);
+
+		meteredWriter.write(LogEntryBuilder.empty().message("First").create());
+		meteredWriter.write(LogEntryBuilder.empty().message("Second").create());
+		meteredWriter.flush();
+		meteredWriter.close();
+
+		assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMessage).containsExactly("First", "Second");
+		assertThat(metrics.getEntries()).isEqualTo(2);
+		assertThat(metrics.getWriteLatency().getCount()).isEqualTo(2);
+		assertThat(metrics.getFlushes()).isEqualTo(1);
+		assertThat(metrics.getErrors()).isZero();
+	}
+
+	/**
+	 * Verifies that exceptions of the decorated writer are counted as errors and passed through.
+	 */
+	@Test
+	public void failures() {
+		Writer writer = new EvilWriter(emptyMap());
+		WriterMetrics metrics = new WriterMetrics("writer", writer);
+		MeteredWriter meteredWriter = new MeteredWriter(writer, metrics);
+
+		assertThatThrownBy(() -> meteredWriter.write(LogEntryBuilder.empty().create())).isInstanceOf(IOException.class);
+		assertThatThrownBy(meteredWriter::flush).isInstanceOf(IOException.class);
+
+		assertThat(metrics.getErrors()).isEqualTo(2);
+		assertThat(metrics.getEntries()).isZero();
+		assertThat(metrics.getFlushes()).isZero();
+	}
+
+}
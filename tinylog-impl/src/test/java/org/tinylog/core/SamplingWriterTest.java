@@ -0,0 +1,305 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.tinylog.Level;
+import org.tinylog.metrics.LoggingMetrics;
+import org.tinylog.util.LogEntryBuilder;
+import org.tinylog.util.StorageWriter;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.tinylog.util.Maps.doubletonMap;
+
+/**
+ * Tests for {@link SamplingWriter}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(SamplingWriter.class)
+public final class SamplingWriterTest {
+
+	private static final int NUMBER_OF_THREADS = 4;
+	private static final int NUMBER_OF_ENTRIES = 1000;
+
+	private final TinylogContextProvider context = new TinylogContextProvider();
+
+	/**
+	 * Initialize mocking of {@link System} and clears previously stored log entries.
+	 */
+	@Before
+	public void init() {
+		mockStatic(System.class);
+		setTime(1000);
+		StorageWriter.consumeEntries();
+	}
+
+	/**
+	 * Clears the thread context.
+	 */
+	@After
+	public void clear() {
+		context.clear();
+	}
+
+	/**
+	 * Verifies that a fixed ratio outputs evenly distributed log entries.
+	 *
+	 * @throws Exception
+	 *             Failed writing log entries
+	 */
+	@Test
+	public void fixedRatio() throws Exception {
+		SamplingWriter writer = new SamplingWriter(new StorageWriter(emptyMap()), singletonMap("sampling", "0.25"));
+
+		for (int i = 0; i < 100; ++i) {
+			issue(writer, LogEntryBuilder.empty().level(Level.INFO).message(Integer.toString(i)).create());
+		}
+
+		List<LogEntry> entries = StorageWriter.consumeEntries();
+		assertThat(entries).hasSize(25).extracting(LogEntry::getMessage).startsWith("3", "7", "11");
+	}
+
+	/**
+	 * Verifies that discarded log entries are counted as dropped, if metrics are passed.
+	 *
+	 * @throws Exception
+	 *             Failed writing log entries
+	 */
+	@Test
+	public void countDropped() throws Exception {
+		LoggingMetrics metrics = new LoggingMetrics();
+		SamplingWriter writer = new SamplingWriter(new StorageWriter(emptyMap()), singletonMap("sampling", "0.25"), metrics);
+
+		for (int i = 0; i < 100; ++i) {
+			issue(writer, LogEntryBuilder.empty().level(Level.INFO).message(Integer.toString(i)).create());
+		}
+
+		assertThat(StorageWriter.consumeEntries()).hasSize(25);
+		assertThat(metrics.getDroppedEntries()).isEqualTo(75);
+	}
+
+	/**
+	 * Verifies that a ratio can be defined as percentage.
+	 *
+	 * @throws Exception
+	 *             Failed writing log entries
+	 */
+	@Test
+	public void percentage() throws Exception {
+		SamplingWriter writer = new SamplingWriter(new StorageWriter(emptyMap()), singletonMap("sampling", "10%"));
+
+		for (int i = 0; i < 100; ++i) {
+			issue(writer, LogEntryBuilder.empty().level(Level.INFO).create());
+		}
+
+		assertThat(StorageWriter.consumeEntries()).hasSize(10);
+	}
+
+	/**
+	 * Verifies that either all or none of the log entries with the same context value will be output.
+	 *
+	 * @throws Exception
+	 *             Failed writing log entries
+	 */
+	@Test
+	public void consistentByContextValue() throws Exception {
+		Map<String, String> properties = doubletonMap("sampling", "0.5", "sampling.key", "request");
+		SamplingWriter writer = new SamplingWriter(new StorageWriter(emptyMap()), properties);
+
+		for (int request = 0; request < 100; ++request) {
+			for (int i = 0; i < 3; ++i) {
+				issue(writer, LogEntryBuilder.empty().level(Level.INFO).context("request", Integer.toString(request)).create());
+			}
+		}
+
+		List<LogEntry> entries = StorageWriter.consumeEntries();
+		assertThat(entries.size()).isBetween(90, 210);
+		assertThat(entries.size() % 3).isZero();
+		IntStream.range(0, 100).mapToObj(Integer::toString).forEach(request ->
+			assertThat(entries.stream().filter(entry -> request.equals(entry.getContext().get("request"))).count()).isIn(0L, 3L)
+		);
+	}
+
+	/**
+	 * Verifies that log entries above the sampling level will be always output.
+	 *
+	 * @throws Exception
+	 *             Failed writing log entries
+	 */
+	@Test
+	public void samplingLevel() throws Exception {
+		SamplingWriter writer = new SamplingWriter(new StorageWriter(emptyMap()), doubletonMap("sampling", "0", "sampling.level", "debug"));
+
+		issue(writer, LogEntryBuilder.empty().level(Level.TRACE).create());
+		issue(writer, LogEntryBuilder.empty().level(Level.DEBUG).create());
+		issue(writer, LogEntryBuilder.empty().level(Level.INFO).create());
+		issue(writer, LogEntryBuilder.empty().level(Level.ERROR).create());
+
+		assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getLevel).containsExactly(Level.INFO, Level.ERROR);
+	}
+
+	/**
+	 * Verifies that errors are never sampled by default.
+	 *
+	 * @throws Exception
+	 *             Failed writing log entries
+	 */
+	@Test
+	public void errorsNotSampledByDefault() throws Exception {
+		SamplingWriter writer = new SamplingWriter(new StorageWriter(emptyMap()), singletonMap("sampling", "0"));
+
+		issue(writer, LogEntryBuilder.empty().level(Level.INFO).create());
+		issue(writer, LogEntryBuilder.empty().level(Level.WARN).create());
+		issue(writer, LogEntryBuilder.empty().level(Level.ERROR).create());
+
+		assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getLevel).containsExactly(Level.ERROR);
+	}
+
+	/**
+	 * Verifies that exactly the expected share of log entries is sampled, if multiple threads issue log entries
+	 * simultaneously.
+	 *
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for threads
+	 */
+	@Test
+	public void concurrentSampling() throws InterruptedException {
+		LoggingMetrics metrics = new LoggingMetrics();
+		SamplingWriter writer = new SamplingWriter(new StorageWriter(emptyMap()), singletonMap("sampling", "0.25"), metrics);
+
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_THREADS; ++i) {
+			threads.add(new Thread(() -> {
+				for (int j = 0; j < NUMBER_OF_ENTRIES; ++j) {
+					writer.isSampled(Level.INFO, context);
+				}
+			}));
+		}
+
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(metrics.getDroppedEntries()).isEqualTo(NUMBER_OF_THREADS * NUMBER_OF_ENTRIES * 3 / 4);
+	}
+
+	/**
+	 * Verifies that a target rate outputs all log entries in the first second up to the target rate and adapts the
+	 * ratio in the following seconds.
+	 *
+	 * @throws Exception
+	 *             Failed writing log entries
+	 */
+	@Test
+	public void adaptiveRate() throws Exception {
+		SamplingWriter writer = new SamplingWriter(new StorageWriter(emptyMap()), singletonMap("sampling", "10/s"));
+
+		for (int i = 0; i < 40; ++i) {
+			issue(writer, LogEntryBuilder.empty().level(Level.INFO).create());
+		}
+		assertThat(StorageWriter.consumeEntries()).hasSize(10);
+
+		setTime(2000);
+		for (int i = 0; i < 40; ++i) {
+			issue(writer, LogEntryBuilder.empty().level(Level.INFO).message(Integer.toString(i)).create());
+		}
+		assertThat(StorageWriter.consumeEntries()).hasSize(10).extracting(LogEntry::getMessage).startsWith("3", "7");
+
+		setTime(5000);
+		for (int i = 0; i < 5; ++i) {
+			issue(writer, LogEntryBuilder.empty().level(Level.INFO).create());
+		}
+		assertThat(StorageWriter.consumeEntries()).hasSize(5);
+	}
+
+	/**
+	 * Verifies that required log entry values of the decorated writer are passed through, as the sampling decision is
+	 * made before creating log entries.
+	 */
+	@Test
+	public void requiredLogEntryValues() {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("sampling", "0.5");
+		properties.put("sampling.key", "request");
+		properties.put("sampling.level", "info");
+
+		SamplingWriter writer = new SamplingWriter(new StorageWriter(singletonMap("values", "message")), properties);
+		assertThat(writer.getRequiredLogEntryValues())
+			.containsExactlyInAnyOrder(LogEntryValue.MESSAGE);
+	}
+
+	/**
+	 * Verifies that an exception will be thrown for invalid sampling configurations.
+	 */
+	@Test
+	public void invalidConfiguration() {
+		assertThatThrownBy(() -> new SamplingWriter(new StorageWriter(emptyMap()), singletonMap("sampling", "abc")))
+			.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("abc");
+		assertThatThrownBy(() -> new SamplingWriter(new StorageWriter(emptyMap()), singletonMap("sampling", "1.5")))
+			.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("1.5");
+		assertThatThrownBy(() -> new SamplingWriter(new StorageWriter(emptyMap()), singletonMap("sampling", "0/s")))
+			.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("0/s");
+		assertThatThrownBy(() -> new SamplingWriter(new StorageWriter(emptyMap()), doubletonMap("sampling", "1", "sampling.level", "foo")))
+			.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("foo");
+	}
+
+	/**
+	 * Issues a log entry like the logging provider. The log entry is only written, if it belongs to the sample.
+	 *
+	 * @param writer
+	 *            Sampling writer
+	 * @param logEntry
+	 *            Log entry to issue
+	 * @throws Exception
+	 *             Failed writing log entry
+	 */
+	private void issue(final SamplingWriter writer, final LogEntry logEntry) throws Exception {
+		context.clear();
+		for (Map.Entry<String, String> entry : logEntry.getContext().entrySet()) {
+			context.put(entry.getKey(), entry.getValue());
+		}
+
+		if (writer.isSampled(logEntry.getLevel(), context)) {
+			writer.write(logEntry);
+		}
+	}
+
+	/**
+	 * Sets the current time.
+	 *
+	 * @param milliseconds
+	 *            Milliseconds since 1970-01-01T00:00:00Z
+	 */
+	private static void setTime(final long milliseconds) {
+		when(System.currentTimeMillis()).thenReturn(milliseconds);
+	}
+
+}
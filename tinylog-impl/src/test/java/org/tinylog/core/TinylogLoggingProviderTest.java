@@ -13,10 +13,22 @@
 
 package org.tinylog.core;
 
+import java.io.File;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.assertj.core.api.Condition;
 import org.junit.After;
@@ -26,19 +38,29 @@ import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
+import org.powermock.reflect.Whitebox;
 import org.tinylog.Level;
 import org.tinylog.Supplier;
 import org.tinylog.configuration.Configuration;
 import org.tinylog.configuration.ServiceLoader;
+import org.tinylog.filters.Filter;
+import org.tinylog.filters.LogMessage;
+import org.tinylog.metrics.JmxExporter;
+import org.tinylog.metrics.LoggingMetrics;
+import org.tinylog.metrics.WriterMetrics;
 import org.tinylog.provider.LoggingProvider;
 import org.tinylog.rules.SystemStreamCollector;
 import org.tinylog.util.EvilWriter;
+import org.tinylog.util.FileSystem;
+import org.tinylog.util.LogEntryBuilder;
 import org.tinylog.util.StorageWriter;
 import org.tinylog.util.Strings;
 import org.tinylog.writers.ConsoleWriter;
+import org.tinylog.writers.Writer;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
@@ -620,273 +642,798 @@ public final class TinylogLoggingProviderTest {
 	}
 
 	/**
-	 * Tests for receiving context provider.
-	 */
-	public static final class ContextProvider extends AbstractTest {
-
-		/**
-		 * Verifies that the correct context provider will be returned.
-		 */
-		@Test
-		public void type() {
-			assertThat(provider.getContextProvider()).isInstanceOf(TinylogContextProvider.class);
-		}
-
-	}
-
-	/**
-	 * Tests for logging with enabled writing thread.
+	 * Tests for changing severity levels at runtime (global severity level is {@link Level#INFO} and severity levels can
+	 * be lowered to {@link Level#DEBUG}).
 	 */
-	public static final class WritingThreadEnabled extends AbstractTest {
-
-		private static final Condition<Thread> writingThread = new Condition<>(WritingThread.class::isInstance, "WritingThread");
+	public static final class AdjustableSeverityLevels extends AbstractTest {
 
 		/**
-		 * Activates writing thread and disables auto shutdown.
+		 * Sets severity levels.
 		 */
 		@BeforeClass
 		public static void configure() {
-			Configuration.replace(doubletonMap("writingthread", "true", "autoshutdown", "false"));
+			Configuration.replace(emptyMap());
+
+			Configuration.set("writer", "console");
+			Configuration.set("writer.format", "{level}: {message}");
+
+			Configuration.set("level", "info");
+			Configuration.set("level.adjustable", "debug");
 		}
 
 		/**
-		 * Shuts down the logging provider.
-		 * 
-		 * @throws InterruptedException
-		 *             Interrupted while waiting for complete shutdown
+		 * Verifies that the minimum severity level is the lowest severity level that can be enabled at runtime.
 		 */
-		@After
-		public void shutdown() throws InterruptedException {
-			provider.shutdown();
-			assertThat(Thread.getAllStackTraces().keySet()).doNotHave(writingThread);
+		@Test
+		public void minimumLevel() {
+			assertThat(provider.getMinimumLevel(null)).isEqualTo(Level.DEBUG);
+			assertThat(provider.getMinimumLevel("test")).isEqualTo(Level.DEBUG);
 		}
 
 		/**
-		 * Verifies that writing thread is running.
+		 * Verifies that debug severity level is disabled at startup.
 		 */
 		@Test
-		public void running() {
-			assertThat(Thread.getAllStackTraces().keySet()).haveExactly(1, writingThread);
+		public void debugDisabledAtStartup() {
+			assertThat(provider.isEnabled(1, null, Level.DEBUG)).isFalse();
+
+			provider.log(1, null, Level.DEBUG, null, "Hello World!");
+			assertThat(systemStream.consumeStandardOutput()).isEmpty();
 		}
 
 		/**
-		 * Verifies that log entries will be output.
+		 * Verifies that the global severity level can be lowered and raised at runtime.
 		 */
 		@Test
-		public void logging() {
-			provider.log(1, null, Level.INFO, null, "Hello World!");
-			String output = waitFor(systemStream::consumeStandardOutput, Strings::isNeitherNullNorEmpty, 100);
-			assertThat(output).containsOnlyOnce(Level.INFO.toString()).containsOnlyOnce("Hello World!");
-		}
+		public void changeGlobalLevel() {
+			provider.setGlobalLevel(Level.DEBUG);
+			assertThat(provider.isEnabled(1, null, Level.DEBUG)).isTrue();
 
-	}
+			provider.log(1, null, Level.DEBUG, null, "Hello World!");
+			assertThat(systemStream.consumeStandardOutput()).isEqualTo(Level.DEBUG + ": Hello World!" + NEW_LINE);
 
-	/**
-	 * Tests for writer operations that throw an exception.
-	 */
-	public static final class WritingFailed extends AbstractTest {
+			provider.setGlobalLevel(Level.WARN);
+			assertThat(provider.isEnabled(1, null, Level.INFO)).isFalse();
+
+			provider.log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, "Hello World!");
+			assertThat(systemStream.consumeStandardOutput()).isEmpty();
+		}
 
 		/**
-		 * Activates {@link EvilWriter} and disables auto shutdown.
+		 * Verifies that severity levels below the lowest adjustable severity level cannot be enabled.
 		 */
-		@BeforeClass
-		public static void configure() {
-			Configuration.replace(doubletonMap("writer", EvilWriter.class.getName(), "autoshutdown", "false"));
+		@Test
+		public void traceNotAdjustable() {
+			provider.setGlobalLevel(Level.TRACE);
+			assertThat(provider.isEnabled(1, null, Level.TRACE)).isFalse();
+
+			provider.log(1, null, Level.TRACE, null, "Hello World!");
+			assertThat(systemStream.consumeStandardOutput()).isEmpty();
 		}
 
 		/**
-		 * Verifies that a thrown exception will be reported while writing.
+		 * Verifies that a custom severity level for a package can be set and removed at runtime.
 		 */
 		@Test
-		public void logging() {
-			provider.log(1, null, Level.INFO, null, "Hello World!");
-			assertThat(systemStream.consumeErrorOutput())
-					.containsOnlyOnce("ERROR")
-					.containsOnlyOnce(IOException.class.getName())
-					.containsOnlyOnce("Hello World!");
+		public void changePackageLevel() {
+			provider.setLevel(TinylogLoggingProviderTest.class.getPackage().getName(), Level.DEBUG);
+			assertThat(provider.isEnabled(1, null, Level.DEBUG)).isTrue();
+
+			provider.log(1, null, Level.DEBUG, null, "Hello World!");
+			assertThat(systemStream.consumeStandardOutput()).isEqualTo(Level.DEBUG + ": Hello World!" + NEW_LINE);
+
+			provider.setLevel("org.other", Level.DEBUG);
+			provider.setLevel(TinylogLoggingProviderTest.class.getPackage().getName(), null);
+			assertThat(provider.isEnabled(1, null, Level.DEBUG)).isFalse();
+
+			provider.log(1, null, Level.DEBUG, null, "Hello World!");
+			assertThat(systemStream.consumeStandardOutput()).isEmpty();
 		}
 
 		/**
-		 * Verifies that a thrown exception will be reported while shutting down a writer.
-		 * 
-		 * @throws InterruptedException
-		 *             Interrupted while waiting for complete shutdown
+		 * Verifies that a custom severity level for a tag can be set at runtime and affects only the tag.
 		 */
 		@Test
-		public void shutdown() throws InterruptedException {
-			provider.shutdown();
-			assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").containsOnlyOnce(IOException.class.getName());
+		public void changeTagLevel() {
+			provider.setTagLevel("test", Level.DEBUG);
+
+			assertThat(provider.isEnabled(1, "test", Level.DEBUG)).isTrue();
+			assertThat(provider.isEnabled(1, null, Level.DEBUG)).isFalse();
+
+			provider.log(1, "test", Level.DEBUG, null, "Hello World!");
+			assertThat(systemStream.consumeStandardOutput()).isEqualTo(Level.DEBUG + ": Hello World!" + NEW_LINE);
+
+			provider.log(TinylogLoggingProvider.class.getName(), null, Level.DEBUG, null, "Hello World!");
+			assertThat(systemStream.consumeStandardOutput()).isEmpty();
 		}
 
 	}
 
 	/**
-	 * Tests for integrity of created log entries.
+	 * Tests for reloading the configuration at runtime.
 	 */
-	public static final class LogEntryValues {
+	public static final class ConfigurationReload {
+
+		private static final int NUMBER_OF_THREADS = 4;
+		private static final int NUMBER_OF_ENTRIES = 1000;
+		private static final int NUMBER_OF_RELOADS = 5;
 
 		/**
-		 * Activates {@link StorageWriter}.
+		 * Redirects and collects system output streams.
 		 */
-		@Before
-		public void configure() {
-			Configuration.replace(singletonMap("writer", StorageWriter.class.getName()));
-		}
+		@Rule
+		public final SystemStreamCollector systemStream = new SystemStreamCollector(true);
 
 		/**
 		 * Clears global tinylog configuration.
 		 */
-		@After
-		public void clear() {
+		@AfterClass
+		public static void clear() {
 			Configuration.replace(emptyMap());
 		}
 
 		/**
-		 * Verifies that the date of issue is present in received log entry.
+		 * Verifies that log entries are output by the new writers after reloading and the previous writers are closed.
+		 *
+		 * @throws IOException
+		 *             Failed to access temporary files
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
 		 */
 		@Test
-		public void date() {
-			Configuration.set("writer.values", "date");
+		public void replaceWriters() throws IOException, InterruptedException {
+			String first = FileSystem.createTemporaryFile();
+			String second = FileSystem.createTemporaryFile();
 
-			Instant beforeIndexLog = Instant.now();
-			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
-			Instant afterIndexLog = Instant.now();
-
-			assertThat(StorageWriter.consumeEntries()).hasSize(1).extracting(LogEntry::getTimestamp).allSatisfy(timestamp -> {
-				assertThat(timestamp.toInstant()).isBetween(beforeIndexLog, afterIndexLog);
-			});
+			configure(first, false);
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			provider.log(1, null, Level.INFO, null, "First");
 
-			Instant beforeClassLog = Instant.now();
-			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
-			Instant afterClassLog = Instant.now();
+			configure(second, false);
+			provider.reload();
+			provider.log(1, null, Level.INFO, null, "Second");
+			provider.shutdown();
 
-			assertThat(StorageWriter.consumeEntries()).hasSize(1).extracting(LogEntry::getTimestamp).allSatisfy(timestamp -> {
-				assertThat(timestamp.toInstant()).isBetween(beforeClassLog, afterClassLog);
-			});
+			assertThat(FileSystem.readFile(first)).isEqualTo("First" + NEW_LINE);
+			assertThat(FileSystem.readFile(second)).isEqualTo("Second" + NEW_LINE);
 		}
 
 		/**
-		 * Verifies that the current thread is present in received log entry.
+		 * Verifies that the previous writers are not closed as long as a log call is still using them, even if the log
+		 * call takes longer than the reload.
+		 *
+		 * @throws Exception
+		 *             Failed to access temporary files or to write log entry
 		 */
 		@Test
-		public void thread() {
-			Configuration.set("writer.values", "thread");
+		public void waitForInFlightLogCalls() throws Exception {
+			String first = FileSystem.createTemporaryFile();
+			String second = FileSystem.createTemporaryFile();
 
-			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getThread).containsOnly(Thread.currentThread());
+			configure(first, false);
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			ActiveWriters previous = Whitebox.getInternalState(provider, "activeWriters");
+			assertThat(previous.enter()).isTrue();
 
-			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getThread).containsOnly(Thread.currentThread());
+			configure(second, false);
+			provider.reload();
+
+			assertThat(waitFor(() -> Whitebox.<Boolean>getInternalState(previous, "retired"), retired -> retired, 1000)).isTrue();
+			Thread.sleep(100);
+			assertThat(Whitebox.<Boolean>getInternalState(previous, "closed")).isFalse();
+
+			previous.getWriters()[Level.INFO.ordinal()][0].write(LogEntryBuilder.empty().message("Late").create());
+			previous.exit();
+
+			assertThat(waitFor(() -> Whitebox.<Boolean>getInternalState(previous, "closed"), closed -> closed, 1000)).isTrue();
+			previous.close(); // Waits until closing by the retirement thread is complete
+			assertThat(FileSystem.readFile(first)).isEqualTo("Late" + NEW_LINE);
+
+			provider.shutdown();
 		}
 
 		/**
-		 * Verifies that set context values are present in received log entry.
+		 * Verifies that the previous writing thread writes all remaining log entries before closing the previous
+		 * writers.
+		 *
+		 * @throws IOException
+		 *             Failed to access temporary files
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
 		 */
-		@SuppressWarnings("unchecked")
 		@Test
-		public void context() {
-			Configuration.set("writer.values", "context");
+		public void replaceWritingThread() throws IOException, InterruptedException {
+			String first = FileSystem.createTemporaryFile();
+			String second = FileSystem.createTemporaryFile();
 
+			configure(first, true);
 			TinylogLoggingProvider provider = new TinylogLoggingProvider();
-			provider.getContextProvider().put("test", "42");
+			WritingThread previous = Whitebox.<ActiveWriters>getInternalState(provider, "activeWriters").getWritingThread();
+			provider.log(1, null, Level.INFO, null, "First");
 
-			provider.log(1, null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getContext).containsOnly(singletonMap("test", "42"));
+			configure(second, true);
+			provider.reload();
+			provider.log(1, null, Level.INFO, null, "Second");
 
-			provider.log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getContext).containsOnly(singletonMap("test", "42"));
+			previous.join();
+			assertThat(FileSystem.readFile(first)).isEqualTo("First" + NEW_LINE);
+
+			provider.shutdown();
+			assertThat(FileSystem.readFile(second)).isEqualTo("Second" + NEW_LINE);
 		}
 
 		/**
-		 * Verifies that the issuing class name is present in received log entry.
+		 * Verifies that severity levels that have been changed at runtime are reset to the reloaded configuration.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
 		 */
 		@Test
-		public void className() {
-			Configuration.set("writer.values", "class");
+		public void resetLevels() throws InterruptedException {
+			Configuration.replace(doubletonMap("writer", "console", "autoshutdown", "false"));
+			Configuration.set("level", "info");
 
-			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getClassName).containsOnly(LogEntryValues.class.getName());
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			provider.setGlobalLevel(Level.ERROR);
+			assertThat(provider.isEnabled(1, null, Level.INFO)).isFalse();
 
-			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getClassName).containsOnly(LogEntryValues.class.getName());
+			Configuration.set("level", "warn");
+			provider.reload();
+			assertThat(provider.isEnabled(1, null, Level.INFO)).isFalse();
+			assertThat(provider.isEnabled(1, null, Level.WARN)).isTrue();
+
+			provider.shutdown();
 		}
 
 		/**
-		 * Verifies that the issuing method name is present in received log entry.
+		 * Verifies that no log entries are lost while reloading the configuration concurrently to logging.
+		 *
+		 * @throws IOException
+		 *             Failed to access temporary files
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for threads or for complete shutdown
 		 */
 		@Test
-		public void methodName() {
-			Configuration.set("writer.values", "method");
-			String method = new Throwable().getStackTrace()[0].getMethodName();
+		public void concurrentLogging() throws IOException, InterruptedException {
+			List<String> files = new ArrayList<>();
+			files.add(FileSystem.createTemporaryFile());
+			configure(files.get(0), false);
 
-			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMethodName).containsOnly(method);
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
 
-			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMethodName).containsOnly(method);
+			List<Thread> threads = new ArrayList<>();
+			for (int i = 0; i < NUMBER_OF_THREADS; ++i) {
+				Thread thread = new Thread(() -> {
+					for (int j = 0; j < NUMBER_OF_ENTRIES; ++j) {
+						provider.log(1, null, Level.INFO, null, "Hello World!");
+					}
+				});
+				threads.add(thread);
+				thread.start();
+			}
+
+			for (int i = 0; i < NUMBER_OF_RELOADS; ++i) {
+				files.add(FileSystem.createTemporaryFile());
+				configure(files.get(files.size() - 1), false);
+				provider.reload();
+			}
+
+			for (Thread thread : threads) {
+				thread.join();
+			}
+
+			provider.shutdown();
+
+			int lines = 0;
+			for (String file : files) {
+				lines += Files.readAllLines(Paths.get(file)).size();
+			}
+			assertThat(lines).isEqualTo(NUMBER_OF_THREADS * NUMBER_OF_ENTRIES);
 		}
 
 		/**
-		 * Verifies that the issuing source file name is present in received log entry.
+		 * Verifies that a warning will be output, if automatic reloading is enabled without a configuration file.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
 		 */
 		@Test
-		public void fileName() {
-			Configuration.set("writer.values", "file");
+		public void autoReloadWithoutFile() throws InterruptedException {
+			Configuration.replace(doubletonMap("autoreload", "true", "autoshutdown", "false"));
 
-			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries())
-					.extracting(LogEntry::getFileName)
-					.containsOnly(TinylogLoggingProviderTest.class.getSimpleName() + ".java");
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("WARN").contains("cannot be watched");
 
-			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries())
-					.extracting(LogEntry::getFileName)
-					.containsOnly(TinylogLoggingProviderTest.class.getSimpleName() + ".java");
+			provider.shutdown();
 		}
 
 		/**
-		 * Verifies that the issuing line number in source file is present in received log entry.
+		 * Configures a buffered file writer that outputs the message only.
+		 *
+		 * @param file
+		 *            Path to log file
+		 * @param writingThread
+		 *            {@code true} to enable the writing thread, {@code false} to disable
 		 */
-		@Test
-		public void lineNumber() {
-			Configuration.set("writer.values", "file");
+		private static void configure(final String file, final boolean writingThread) {
+			Configuration.replace(doubletonMap("writer", "file", "writer.file", file));
+			Configuration.set("writer.format", "{message}");
+			Configuration.set("writer.buffered", "true");
+			Configuration.set("writingthread", Boolean.toString(writingThread));
+			Configuration.set("autoshutdown", "false");
+		}
 
-			int line = new Throwable().getStackTrace()[0].getLineNumber() + 1;
-			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getLineNumber).containsOnly(line);
+	}
 
-			line = new Throwable().getStackTrace()[0].getLineNumber() + 1;
-			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getLineNumber).containsOnly(line);
-		}
+	/**
+	 * Tests for deferred initialization of writers.
+	 */
+	public static final class LazyInitialization {
 
 		/**
-		 * Verifies that a tag is present in received log entry.
+		 * Redirects and collects system output streams.
 		 */
-		@Test
-		public void tag() {
-			Configuration.set("writer.values", "tag");
+		@Rule
+		public final SystemStreamCollector systemStream = new SystemStreamCollector(true);
 
-			new TinylogLoggingProvider().log(1, "test", Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getTag).containsOnly("test");
+		/**
+		 * Temporary folder for creating log files.
+		 */
+		@Rule
+		public final TemporaryFolder folder = new TemporaryFolder();
 
-			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), "test", Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getTag).containsOnly("test");
+		/**
+		 * Clears global tinylog configuration.
+		 */
+		@AfterClass
+		public static void clear() {
+			Configuration.replace(emptyMap());
 		}
 
 		/**
-		 * Verifies that severity level is present in received log entry.
+		 * Verifies that writers are created by the first log entry that passes the severity level check.
+		 *
+		 * @throws IOException
+		 *             Failed to read log file
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
 		 */
 		@Test
-		public void level() {
-			Configuration.set("writer.values", "level");
+		public void createWritersOnFirstLogEntry() throws IOException, InterruptedException {
+			File file = new File(folder.getRoot(), "logs/test.log");
+			configure(file, "lazy");
 
-			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getLevel).containsOnly(Level.INFO);
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			assertThat(file.getParentFile()).doesNotExist();
 
-			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
-			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getLevel).containsOnly(Level.INFO);
-		}
+			provider.log(1, null, Level.DEBUG, null, "Hello World!");
+			assertThat(file.getParentFile()).doesNotExist();
+
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.shutdown();
+
+			assertThat(FileSystem.readFile(file.getPath())).isEqualTo("Hello World!" + NEW_LINE);
+		}
+
+		/**
+		 * Verifies that the minimum severity level is estimated from configured severity levels without creating
+		 * writers.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 */
+		@Test
+		public void estimateMinimumLevel() throws InterruptedException {
+			File file = new File(folder.getRoot(), "logs/test.log");
+			configure(file, "lazy");
+
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			assertThat(provider.getMinimumLevel(null)).isEqualTo(Level.INFO);
+			assertThat(provider.getMinimumLevel("test")).isEqualTo(Level.INFO);
+			assertThat(file.getParentFile()).doesNotExist();
+
+			provider.shutdown();
+			assertThat(file.getParentFile()).doesNotExist();
+		}
+
+		/**
+		 * Verifies that checking whether a severity level is enabled creates the writers.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 */
+		@Test
+		public void createWritersOnEnabledCheck() throws InterruptedException {
+			File file = new File(folder.getRoot(), "logs/test.log");
+			configure(file, "lazy");
+
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			assertThat(provider.isEnabled(1, null, Level.INFO)).isTrue();
+			assertThat(file).exists();
+
+			provider.shutdown();
+		}
+
+		/**
+		 * Verifies that a reload before creating writers takes effect as soon as the writers are created.
+		 *
+		 * @throws IOException
+		 *             Failed to read log file
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 */
+		@Test
+		public void reloadBeforeCreatingWriters() throws IOException, InterruptedException {
+			File first = new File(folder.getRoot(), "first/test.log");
+			File second = new File(folder.getRoot(), "second/test.log");
+
+			configure(first, "lazy");
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+
+			configure(second, "lazy");
+			provider.reload();
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.shutdown();
+
+			assertThat(first.getParentFile()).doesNotExist();
+			assertThat(FileSystem.readFile(second.getPath())).isEqualTo("Hello World!" + NEW_LINE);
+		}
+
+		/**
+		 * Verifies that writers are created by a separate thread at startup.
+		 *
+		 * @throws IOException
+		 *             Failed to read log file
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 */
+		@Test
+		public void createWritersInBackground() throws IOException, InterruptedException {
+			File file = new File(folder.getRoot(), "logs/test.log");
+			configure(file, "background");
+
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			assertThat(waitFor(file::exists, Boolean::booleanValue, 1000)).isTrue();
+
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.shutdown();
+
+			assertThat(FileSystem.readFile(file.getPath())).isEqualTo("Hello World!" + NEW_LINE);
+		}
+
+		/**
+		 * Verifies that no writers are created by log entries that are issued after shutdown.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 */
+		@Test
+		public void noWritersAfterShutdown() throws InterruptedException {
+			File file = new File(folder.getRoot(), "logs/test.log");
+			configure(file, "lazy");
+
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			provider.shutdown();
+
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.reload();
+
+			assertThat(provider.isEnabled(1, null, Level.INFO)).isFalse();
+			assertThat(provider.getMinimumLevel(null)).isEqualTo(Level.OFF);
+			assertThat(file.getParentFile()).doesNotExist();
+		}
+
+		/**
+		 * Verifies that writers created in background are closed, even if the provider is shut down before the
+		 * initialization has been completed.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 */
+		@Test
+		public void shutdownDuringBackgroundInitialization() throws InterruptedException {
+			File file = new File(folder.getRoot(), "logs/test.log");
+			configure(file, "background");
+			Configuration.set("writingthread", "true");
+
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			provider.shutdown();
+
+			for (Thread thread : Thread.getAllStackTraces().keySet()) {
+				if ("tinylog-InitializationThread".equals(thread.getName())) {
+					thread.join();
+				}
+			}
+
+			assertThat(Thread.getAllStackTraces().keySet()).extracting(Thread::getName).doesNotContain("tinylog-WritingThread");
+		}
+
+		/**
+		 * Configures a file writer that outputs the message only for severity level {@link Level#INFO} and above.
+		 *
+		 * @param file
+		 *            Log file
+		 * @param initialization
+		 *            Initialization mode for writers
+		 */
+		private static void configure(final File file, final String initialization) {
+			Configuration.replace(doubletonMap("writer", "file", "writer.file", file.getPath()));
+			Configuration.set("writer.format", "{message}");
+			Configuration.set("level", "info");
+			Configuration.set("initialization", initialization);
+			Configuration.set("autoshutdown", "false");
+		}
+
+	}
+
+	/**
+	 * Tests for receiving context provider.
+	 */
+	public static final class ContextProvider extends AbstractTest {
+
+		/**
+		 * Verifies that the correct context provider will be returned.
+		 */
+		@Test
+		public void type() {
+			assertThat(provider.getContextProvider()).isInstanceOf(TinylogContextProvider.class);
+		}
+
+	}
+
+	/**
+	 * Tests for logging with enabled writing thread.
+	 */
+	public static final class WritingThreadEnabled extends AbstractTest {
+
+		private static final Condition<Thread> writingThread = new Condition<>(WritingThread.class::isInstance, "WritingThread");
+
+		/**
+		 * Activates writing thread and disables auto shutdown.
+		 */
+		@BeforeClass
+		public static void configure() {
+			Configuration.replace(doubletonMap("writingthread", "true", "autoshutdown", "false"));
+		}
+
+		/**
+		 * Shuts down the logging provider.
+		 * 
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 */
+		@After
+		public void shutdown() throws InterruptedException {
+			provider.shutdown();
+			assertThat(Thread.getAllStackTraces().keySet()).doNotHave(writingThread);
+		}
+
+		/**
+		 * Verifies that writing thread is running.
+		 */
+		@Test
+		public void running() {
+			assertThat(Thread.getAllStackTraces().keySet()).haveExactly(1, writingThread);
+		}
+
+		/**
+		 * Verifies that log entries will be output.
+		 */
+		@Test
+		public void logging() {
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			String output = waitFor(systemStream::consumeStandardOutput, Strings::isNeitherNullNorEmpty, 100);
+			assertThat(output).containsOnlyOnce(Level.INFO.toString()).containsOnlyOnce("Hello World!");
+		}
+
+	}
+
+	/**
+	 * Tests for writer operations that throw an exception.
+	 */
+	public static final class WritingFailed extends AbstractTest {
+
+		/**
+		 * Activates {@link EvilWriter} and disables auto shutdown.
+		 */
+		@BeforeClass
+		public static void configure() {
+			Configuration.replace(doubletonMap("writer", EvilWriter.class.getName(), "autoshutdown", "false"));
+		}
+
+		/**
+		 * Verifies that a thrown exception will be reported while writing.
+		 */
+		@Test
+		public void logging() {
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			assertThat(systemStream.consumeErrorOutput())
+					.containsOnlyOnce("ERROR")
+					.containsOnlyOnce(IOException.class.getName())
+					.containsOnlyOnce("Hello World!");
+		}
+
+		/**
+		 * Verifies that a thrown exception will be reported while shutting down a writer.
+		 * 
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 */
+		@Test
+		public void shutdown() throws InterruptedException {
+			provider.shutdown();
+			assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").containsOnlyOnce(IOException.class.getName());
+		}
+
+	}
+
+	/**
+	 * Tests for integrity of created log entries.
+	 */
+	public static final class LogEntryValues {
+
+		/**
+		 * Activates {@link StorageWriter}.
+		 */
+		@Before
+		public void configure() {
+			Configuration.replace(singletonMap("writer", StorageWriter.class.getName()));
+		}
+
+		/**
+		 * Clears global tinylog configuration.
+		 */
+		@After
+		public void clear() {
+			Configuration.replace(emptyMap());
+		}
+
+		/**
+		 * Verifies that the date of issue is present in received log entry.
+		 */
+		@Test
+		public void date() {
+			Configuration.set("writer.values", "date");
+
+			Instant beforeIndexLog = Instant.now();
+			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
+			Instant afterIndexLog = Instant.now();
+
+			assertThat(StorageWriter.consumeEntries()).hasSize(1).extracting(LogEntry::getTimestamp).allSatisfy(timestamp -> {
+				assertThat(timestamp.toInstant()).isBetween(beforeIndexLog, afterIndexLog);
+			});
+
+			Instant beforeClassLog = Instant.now();
+			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
+			Instant afterClassLog = Instant.now();
+
+			assertThat(StorageWriter.consumeEntries()).hasSize(1).extracting(LogEntry::getTimestamp).allSatisfy(timestamp -> {
+				assertThat(timestamp.toInstant()).isBetween(beforeClassLog, afterClassLog);
+			});
+		}
+
+		/**
+		 * Verifies that the current thread is present in received log entry.
+		 */
+		@Test
+		public void thread() {
+			Configuration.set("writer.values", "thread");
+
+			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getThread).containsOnly(Thread.currentThread());
+
+			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getThread).containsOnly(Thread.currentThread());
+		}
+
+		/**
+		 * Verifies that set context values are present in received log entry.
+		 */
+		@SuppressWarnings("unchecked")
+		@Test
+		public void context() {
+			Configuration.set("writer.values", "context");
+
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			provider.getContextProvider().put("test", "42");
+
+			provider.log(1, null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getContext).containsOnly(singletonMap("test", "42"));
+
+			provider.log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getContext).containsOnly(singletonMap("test", "42"));
+		}
+
+		/**
+		 * Verifies that the issuing class name is present in received log entry.
+		 */
+		@Test
+		public void className() {
+			Configuration.set("writer.values", "class");
+
+			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getClassName).containsOnly(LogEntryValues.class.getName());
+
+			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getClassName).containsOnly(LogEntryValues.class.getName());
+		}
+
+		/**
+		 * Verifies that the issuing method name is present in received log entry.
+		 */
+		@Test
+		public void methodName() {
+			Configuration.set("writer.values", "method");
+			String method = new Throwable().getStackTrace()[0].getMethodName();
+
+			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMethodName).containsOnly(method);
+
+			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMethodName).containsOnly(method);
+		}
+
+		/**
+		 * Verifies that the issuing source file name is present in received log entry.
+		 */
+		@Test
+		public void fileName() {
+			Configuration.set("writer.values", "file");
+
+			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries())
+					.extracting(LogEntry::getFileName)
+					.containsOnly(TinylogLoggingProviderTest.class.getSimpleName() + ".java");
+
+			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries())
+					.extracting(LogEntry::getFileName)
+					.containsOnly(TinylogLoggingProviderTest.class.getSimpleName() + ".java");
+		}
+
+		/**
+		 * Verifies that the issuing line number in source file is present in received log entry.
+		 */
+		@Test
+		public void lineNumber() {
+			Configuration.set("writer.values", "file");
+
+			int line = new Throwable().getStackTrace()[0].getLineNumber() + 1;
+			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getLineNumber).containsOnly(line);
+
+			line = new Throwable().getStackTrace()[0].getLineNumber() + 1;
+			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getLineNumber).containsOnly(line);
+		}
+
+		/**
+		 * Verifies that a tag is present in received log entry.
+		 */
+		@Test
+		public void tag() {
+			Configuration.set("writer.values", "tag");
+
+			new TinylogLoggingProvider().log(1, "test", Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getTag).containsOnly("test");
+
+			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), "test", Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getTag).containsOnly("test");
+		}
+
+		/**
+		 * Verifies that severity level is present in received log entry.
+		 */
+		@Test
+		public void level() {
+			Configuration.set("writer.values", "level");
+
+			new TinylogLoggingProvider().log(1, null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getLevel).containsOnly(Level.INFO);
+
+			new TinylogLoggingProvider().log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getLevel).containsOnly(Level.INFO);
+		}
 
 		/**
 		 * Verifies that logged text message is present in received log entry.
@@ -919,6 +1466,481 @@ public final class TinylogLoggingProviderTest {
 
 	}
 
+	/**
+	 * Tests for filtering log entries before creating them.
+	 */
+	public static final class Filters {
+
+		/**
+		 * Activates {@link StorageWriter} and a duplicate filter.
+		 */
+		@Before
+		public void configure() {
+			Configuration.replace(doubletonMap("writer", StorageWriter.class.getName(), "writer.values", "message"));
+			Configuration.set("filter", "duplicate");
+			Configuration.set("filter.interval", "1h");
+		}
+
+		/**
+		 * Clears global tinylog configuration.
+		 */
+		@After
+		public void clear() {
+			Configuration.replace(emptyMap());
+		}
+
+		/**
+		 * Verifies that duplicate log entries are discarded when issued via the depth based log method.
+		 */
+		@Test
+		public void discardDuplicatesByDepth() {
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.log(1, null, Level.INFO, null, "Goodbye!");
+
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMessage).containsExactly("Hello World!", "Goodbye!");
+		}
+
+		/**
+		 * Verifies that duplicate log entries are discarded when issued via the logger class name based log method.
+		 */
+		@Test
+		public void discardDuplicatesByLoggerClassName() {
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			String className = TinylogLoggingProvider.class.getName();
+
+			provider.log(className, null, Level.INFO, null, "Hello {}!", "World");
+			provider.log(className, null, Level.INFO, null, "Hello {}!", "World");
+			provider.log(className, null, Level.INFO, null, "Hello {}!", "Moon");
+			provider.log(className, null, Level.WARN, null, "Hello {}!", "World");
+
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMessage)
+				.containsExactly("Hello World!", "Hello Moon!", "Hello World!");
+		}
+
+		/**
+		 * Verifies that lazy messages are evaluated only once, even if the filter resolves the message for grouping
+		 * log entries.
+		 */
+		@Test
+		public void evaluateLazyMessageOnce() {
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+
+			AtomicInteger evaluations = new AtomicInteger();
+			Supplier<String> supplier = () -> "Evaluation #" + evaluations.incrementAndGet();
+
+			provider.log(1, null, Level.INFO, null, supplier);
+
+			assertThat(evaluations.get()).isEqualTo(1);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMessage).containsExactly("Evaluation #1");
+		}
+
+		/**
+		 * Verifies that duplicate log entries are reported as separate summary log entry at shutdown.
+		 *
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for the writing thread
+		 */
+		@Test
+		public void reportDuplicatesAtShutdown() throws InterruptedException {
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.log(1, null, Level.INFO, null, "Goodbye!");
+			provider.shutdown();
+
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMessage).containsExactly(
+				"Hello World!",
+				"Goodbye!",
+				"Hello World! (2 similar log entries suppressed)"
+			);
+		}
+
+		/**
+		 * Verifies that the number of discarded log entries is reported with the next accepted log entry.
+		 */
+		@Test
+		public void reportSuppressedLogEntries() {
+			Configuration.set("filter", ReportingFilter.class.getName());
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.log(TinylogLoggingProvider.class.getName(), null, Level.INFO, null, null);
+
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMessage).containsExactly(
+				"Hello World! (3 similar log entries suppressed)",
+				"3 similar log entries suppressed"
+			);
+		}
+
+		/**
+		 * Filter that accepts all log entries and always reports three suppressed log entries.
+		 */
+		public static final class ReportingFilter implements Filter {
+
+			/**
+			 * @param properties
+			 *            Configuration for filter
+			 */
+			public ReportingFilter(final Map<String, String> properties) {
+			}
+
+			@Override
+			public long filter(final StackTraceElement stackTraceElement, final String tag, final Level level, final LogMessage message) {
+				return 3;
+			}
+
+		}
+
+	}
+
+	/**
+	 * Tests for the flat dispatch table that contains the writers and required log entry values for each tag and severity
+	 * level at the index {@code tagIndex * LEVEL_COUNT + level}.
+	 */
+	public static final class DispatchTable {
+
+		private static final int LEVEL_COUNT = Level.OFF.ordinal();
+
+		private static final int UNTAGGED = 0;
+		private static final int FIRST_TAG = 1;
+		private static final int UNKNOWN_TAG = 2;
+
+		/**
+		 * Configures a writer for untagged log entries, a writer for the tag "first" and a writer for all log entries,
+		 * all with different severity levels and required log entry values.
+		 */
+		@Before
+		public void configure() {
+			Configuration.replace(doubletonMap("autoshutdown", "false", "writer1", StorageWriter.class.getName()));
+			Configuration.set("writer1.tag", "-");
+			Configuration.set("writer1.level", "info");
+			Configuration.set("writer1.values", "message");
+
+			Configuration.set("writer2", StorageWriter.class.getName());
+			Configuration.set("writer2.tag", "first");
+			Configuration.set("writer2.level", "warn");
+			Configuration.set("writer2.values", "thread");
+
+			Configuration.set("writer3", StorageWriter.class.getName());
+			Configuration.set("writer3.level", "error");
+			Configuration.set("writer3.values", "class");
+		}
+
+		/**
+		 * Clears global tinylog configuration and stored log entries.
+		 */
+		@After
+		public void clear() {
+			Configuration.replace(emptyMap());
+			StorageWriter.consumeEntries();
+		}
+
+		/**
+		 * Verifies that the table contains one slot for each severity level of untagged log entries, each known tag and
+		 * unknown tags, and that writers are registered in the slots of their tag from their severity level upwards.
+		 */
+		@Test
+		public void slotMapping() {
+			ActiveWriters active = getActiveWriters(new TinylogLoggingProvider());
+			Writer[][] writers = active.getWriters();
+
+			assertThat(writers).hasSize(3 * LEVEL_COUNT);
+
+			assertThat(active.getTagIndex(null)).isEqualTo(UNTAGGED);
+			assertThat(active.getTagIndex("first")).isEqualTo(FIRST_TAG);
+			assertThat(active.getTagIndex("other")).isEqualTo(UNKNOWN_TAG);
+
+			assertThat(writers[slot(UNTAGGED, Level.TRACE)]).isEmpty();
+			assertThat(writers[slot(UNTAGGED, Level.DEBUG)]).isEmpty();
+			assertThat(writers[slot(UNTAGGED, Level.INFO)]).hasSize(1);
+			assertThat(writers[slot(UNTAGGED, Level.WARN)]).hasSize(1);
+			assertThat(writers[slot(UNTAGGED, Level.ERROR)]).hasSize(2);
+
+			assertThat(writers[slot(FIRST_TAG, Level.TRACE)]).isEmpty();
+			assertThat(writers[slot(FIRST_TAG, Level.DEBUG)]).isEmpty();
+			assertThat(writers[slot(FIRST_TAG, Level.INFO)]).isEmpty();
+			assertThat(writers[slot(FIRST_TAG, Level.WARN)]).hasSize(1);
+			assertThat(writers[slot(FIRST_TAG, Level.ERROR)]).hasSize(2);
+
+			assertThat(writers[slot(UNKNOWN_TAG, Level.TRACE)]).isEmpty();
+			assertThat(writers[slot(UNKNOWN_TAG, Level.DEBUG)]).isEmpty();
+			assertThat(writers[slot(UNKNOWN_TAG, Level.INFO)]).isEmpty();
+			assertThat(writers[slot(UNKNOWN_TAG, Level.WARN)]).isEmpty();
+			assertThat(writers[slot(UNKNOWN_TAG, Level.ERROR)]).hasSize(1);
+		}
+
+		/**
+		 * Verifies that a writer with the tag "-" is registered only for untagged log entries, whereas a writer without
+		 * tag is registered for untagged, known tags and unknown tags.
+		 */
+		@Test
+		public void untaggedAndDashSlots() {
+			Writer[][] writers = getActiveWriters(new TinylogLoggingProvider()).getWriters();
+
+			Writer dashWriter = writers[slot(UNTAGGED, Level.INFO)][0];
+			Writer tagWriter = writers[slot(FIRST_TAG, Level.WARN)][0];
+			Writer globalWriter = writers[slot(UNKNOWN_TAG, Level.ERROR)][0];
+
+			assertThat(writers[slot(UNTAGGED, Level.ERROR)]).containsExactlyInAnyOrder(dashWriter, globalWriter);
+			assertThat(writers[slot(FIRST_TAG, Level.ERROR)]).containsExactlyInAnyOrder(tagWriter, globalWriter);
+			assertThat(writers[slot(UNKNOWN_TAG, Level.ERROR)]).containsExactly(globalWriter);
+		}
+
+		/**
+		 * Verifies that the required log entry values of all writers in a slot are combined to a bitmask.
+		 */
+		@Test
+		public void requiredLogEntryValues() {
+			int[] values = getActiveWriters(new TinylogLoggingProvider()).getRequiredLogEntryValues();
+
+			assertThat(values).hasSize(3 * LEVEL_COUNT);
+
+			assertThat(values[slot(UNTAGGED, Level.DEBUG)]).isZero();
+			assertThat(values[slot(UNTAGGED, Level.INFO)]).isEqualTo(bitmask(LogEntryValue.MESSAGE));
+			assertThat(values[slot(UNTAGGED, Level.ERROR)]).isEqualTo(bitmask(LogEntryValue.MESSAGE, LogEntryValue.CLASS));
+
+			assertThat(values[slot(FIRST_TAG, Level.INFO)]).isZero();
+			assertThat(values[slot(FIRST_TAG, Level.WARN)]).isEqualTo(bitmask(LogEntryValue.THREAD));
+			assertThat(values[slot(FIRST_TAG, Level.ERROR)]).isEqualTo(bitmask(LogEntryValue.THREAD, LogEntryValue.CLASS));
+
+			assertThat(values[slot(UNKNOWN_TAG, Level.WARN)]).isZero();
+			assertThat(values[slot(UNKNOWN_TAG, Level.ERROR)]).isEqualTo(bitmask(LogEntryValue.CLASS));
+		}
+
+		/**
+		 * Verifies that the full stack trace element is resolved for all severity levels of a tag, if a writer in the
+		 * ERROR slot of this tag requires the method name, file name or line number.
+		 */
+		@Test
+		public void fullStackTraceFromErrorSlot() {
+			Configuration.set("writer4", StorageWriter.class.getName());
+			Configuration.set("writer4.tag", "first");
+			Configuration.set("writer4.level", "info");
+			Configuration.set("writer4.values", "message");
+
+			Configuration.set("writer5", StorageWriter.class.getName());
+			Configuration.set("writer5.tag", "first");
+			Configuration.set("writer5.level", "error");
+			Configuration.set("writer5.values", "method");
+
+			String method = new Throwable().getStackTrace()[0].getMethodName();
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+
+			provider.log(1, "first", Level.INFO, null, "Tagged");
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMethodName).containsOnly(method);
+
+			provider.log(1, null, Level.INFO, null, "Untagged");
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMethodName).containsOnly((String) null);
+		}
+
+		/**
+		 * Gets the active writers of a logging provider.
+		 *
+		 * @param provider
+		 *            Logging provider
+		 * @return Snapshot with created tags, filters and writers
+		 */
+		private static ActiveWriters getActiveWriters(final TinylogLoggingProvider provider) {
+			return Whitebox.getInternalState(provider, "activeWriters");
+		}
+
+		/**
+		 * Calculates the index of a slot in the dispatch table.
+		 *
+		 * @param tagIndex
+		 *            Index of the tag
+		 * @param level
+		 *            Severity level
+		 * @return Index in dispatch table
+		 */
+		private static int slot(final int tagIndex, final Level level) {
+			return tagIndex * LEVEL_COUNT + level.ordinal();
+		}
+
+		/**
+		 * Converts log entry values into a bitmask.
+		 *
+		 * @param values
+		 *            Log entry values
+		 * @return Bitmask with a set bit for each passed log entry value
+		 */
+		private static int bitmask(final LogEntryValue... values) {
+			int bitmask = 0;
+			for (LogEntryValue value : values) {
+				bitmask |= 1 << value.ordinal();
+			}
+			return bitmask;
+		}
+
+	}
+
+	/**
+	 * Tests for writers with sampling.
+	 */
+	public static final class Sampling {
+
+		/**
+		 * Activates {@link StorageWriter} with sampling and disables auto shutdown.
+		 */
+		@Before
+		public void configure() {
+			Configuration.replace(doubletonMap("writer", StorageWriter.class.getName(), "autoshutdown", "false"));
+			Configuration.set("writer.sampling", "0");
+		}
+
+		/**
+		 * Clears global tinylog configuration and stored log entries.
+		 */
+		@After
+		public void clear() {
+			Configuration.replace(emptyMap());
+			StorageWriter.consumeEntries();
+		}
+
+		/**
+		 * Verifies that the message of a log entry that is discarded by sampling is never evaluated, whereas errors are
+		 * not sampled by default.
+		 */
+		@Test
+		public void sampleBeforeFormatting() {
+			AtomicInteger evaluations = new AtomicInteger();
+			Supplier<String> supplier = () -> "Evaluation #" + evaluations.incrementAndGet();
+
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			provider.log(1, null, Level.INFO, null, supplier);
+			assertThat(evaluations.get()).isZero();
+			assertThat(StorageWriter.consumeEntries()).isEmpty();
+
+			provider.log(1, null, Level.ERROR, null, supplier);
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMessage).containsExactly("Evaluation #1");
+		}
+
+		/**
+		 * Verifies that a log entry is still output by writers without sampling, if another writer discards it.
+		 */
+		@Test
+		public void sampleForEachWriter() {
+			Configuration.set("writer2", StorageWriter.class.getName());
+
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+
+			assertThat(StorageWriter.consumeEntries()).extracting(LogEntry::getMessage).containsExactly("Hello World!");
+		}
+
+	}
+
+	/**
+	 * Tests for recording metrics of the logging pipeline.
+	 */
+	public static final class Metrics {
+
+		/**
+		 * Activates {@link StorageWriter}, a duplicate filter and disables auto shutdown.
+		 */
+		@Before
+		public void configure() {
+			Configuration.replace(doubletonMap("writer", StorageWriter.class.getName(), "autoshutdown", "false"));
+			Configuration.set("filter", "duplicate");
+			Configuration.set("filter.interval", "1h");
+		}
+
+		/**
+		 * Clears global tinylog configuration and stored log entries.
+		 */
+		@After
+		public void clear() {
+			Configuration.replace(emptyMap());
+			StorageWriter.consumeEntries();
+		}
+
+		/**
+		 * Verifies that no metrics are recorded by default.
+		 */
+		@Test
+		public void disabledByDefault() {
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			assertThat(provider.getMetrics()).isNull();
+		}
+
+		/**
+		 * Verifies that issued, dropped and written log entries are recorded, if metrics are enabled.
+		 */
+		@Test
+		public void recordLogEntries() {
+			Configuration.set("metrics", "true");
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+			provider.log(TinylogLoggingProvider.class.getName(), null, Level.WARN, null, "Goodbye!");
+
+			LoggingMetrics metrics = provider.getMetrics();
+			assertThat(metrics.getInfoEntries()).isEqualTo(2);
+			assertThat(metrics.getWarnEntries()).isEqualTo(1);
+			assertThat(metrics.getDroppedEntries()).isEqualTo(1);
+
+			assertThat(metrics.getWriters()).hasSize(1);
+			WriterMetrics writer = metrics.getWriters().get(0);
+			assertThat(writer.getName()).isEqualTo("writer");
+			assertThat(writer.getEntries()).isEqualTo(2);
+			assertThat(writer.getErrors()).isZero();
+		}
+
+		/**
+		 * Verifies that writer metrics are replaced at reloading, while all other metrics are kept.
+		 */
+		@Test
+		public void reload() {
+			Configuration.set("metrics", "true");
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			provider.log(1, null, Level.INFO, null, "Hello World!");
+
+			Configuration.set("writer2", StorageWriter.class.getName());
+			provider.reload();
+
+			LoggingMetrics metrics = provider.getMetrics();
+			assertThat(metrics.getInfoEntries()).isEqualTo(1);
+			assertThat(metrics.getWriters()).extracting(WriterMetrics::getName).containsExactlyInAnyOrder("writer", "writer2");
+			assertThat(metrics.getWriters()).extracting(WriterMetrics::getEntries).containsOnly(0L);
+		}
+
+		/**
+		 * Verifies that metrics are registered as MBeans until shutdown, if JMX is enabled.
+		 *
+		 * @throws JMException
+		 *             Failed to read attribute
+		 * @throws InterruptedException
+		 *             Interrupted while waiting for complete shutdown
+		 */
+		@Test
+		public void jmx() throws JMException, InterruptedException {
+			Configuration.set("metrics.jmx", "true");
+			TinylogLoggingProvider provider = new TinylogLoggingProvider();
+			provider.log(1, null, Level.ERROR, null, "Hello World!");
+
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName logging = new ObjectName(JmxExporter.LOGGING_NAME);
+			ObjectName writer = new ObjectName(JmxExporter.WRITER_NAME_PREFIX + ObjectName.quote("writer"));
+
+			try {
+				assertThat(server.getAttribute(logging, "ErrorEntries")).isEqualTo(1L);
+				assertThat(server.getAttribute(writer, "Entries")).isEqualTo(1L);
+			} finally {
+				provider.shutdown();
+			}
+
+			assertThat(server.isRegistered(logging)).isFalse();
+			assertThat(server.isRegistered(writer)).isFalse();
+		}
+
+	}
+
 	/**
 	 * Tests for the different types of messages to log.
 	 */
@@ -20,9 +20,12 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.tinylog.metrics.LoggingMetrics;
 import org.tinylog.rules.SystemStreamCollector;
 import org.tinylog.util.FileSystem;
 import org.tinylog.util.LogEntryBuilder;
@@ -32,6 +35,7 @@ import org.tinylog.writers.Writer;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -116,6 +120,40 @@ public final class WritingThreadTest {
 		assertThat(Files.readAllLines(Paths.get(file))).hasSize(10 * 1000).containsOnly("Hello World!");
 	}
 
+	/**
+	 * Verifies that the writing thread will not be interrupted by a shutdown, while it is still writing a log entry.
+	 * Interrupts would close interruptible file channels of writers.
+	 *
+	 * @throws Exception
+	 *             Illegal thread or mock invocation
+	 */
+	@Test
+	public void shutdownWithoutInterrupting() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch shutdown = new CountDownLatch(1);
+		AtomicBoolean interrupted = new AtomicBoolean();
+
+		Writer writer = mock(Writer.class);
+		doAnswer(invocation -> {
+			writing.countDown();
+			shutdown.await();
+			interrupted.set(Thread.currentThread().isInterrupted());
+			return null;
+		}).when(writer).write(any());
+
+		WritingThread thread = new WritingThread(singletonList(writer));
+		thread.start();
+
+		thread.add(writer, LogEntryBuilder.empty().create());
+		writing.await();
+		thread.shutdown();
+		shutdown.countDown();
+		thread.join();
+
+		assertThat(interrupted).isFalse();
+		verify(writer).close();
+	}
+
 	/**
 	 * Verifies that a thrown exception will be reported while writing.
 	 *
@@ -184,4 +222,31 @@ public final class WritingThreadTest {
 		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").containsOnlyOnce(IOException.class.getName());
 	}
 
+	/**
+	 * Verifies that the number of waiting log entries is reported to the metrics and kept as high-water mark.
+	 *
+	 * @throws Exception
+	 *             Illegal thread or mock invocation
+	 */
+	@Test
+	public void reportQueueSize() throws Exception {
+		Writer writer = mock(Writer.class);
+		LoggingMetrics metrics = new LoggingMetrics();
+
+		WritingThread thread = new WritingThread(singletonList(writer), metrics);
+		thread.add(writer, LogEntryBuilder.empty().create());
+		thread.add(writer, LogEntryBuilder.empty().create());
+		thread.add(writer, LogEntryBuilder.empty().create());
+
+		assertThat(metrics.getQueueSize()).isEqualTo(3);
+		assertThat(metrics.getMaximumQueueSize()).isEqualTo(3);
+
+		thread.start();
+		thread.shutdown();
+		thread.join();
+
+		assertThat(metrics.getQueueSize()).isZero();
+		assertThat(metrics.getMaximumQueueSize()).isEqualTo(3);
+	}
+
 }
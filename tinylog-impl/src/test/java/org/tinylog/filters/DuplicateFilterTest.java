@@ -0,0 +1,325 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.filters;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.tinylog.Level;
+import org.tinylog.Supplier;
+import org.tinylog.configuration.ServiceLoader;
+import org.tinylog.core.MessageFormatter;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+/**
+ * Tests for {@link DuplicateFilter}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(AbstractKeyBasedFilter.class)
+public final class DuplicateFilterTest {
+
+	/**
+	 * Initialize mocking of {@link System}.
+	 */
+	@Before
+	public void init() {
+		mockStatic(System.class);
+		setTime(1000);
+	}
+
+	/**
+	 * Verifies that duplicates will be suppressed within the default interval of one minute.
+	 */
+	@Test
+	public void defaultInterval() {
+		DuplicateFilter filter = new DuplicateFilter(new HashMap<>());
+
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+
+		setTime(60_999);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+
+		setTime(61_000);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(2);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+	}
+
+	/**
+	 * Verifies that a custom interval can be defined with different units.
+	 */
+	@Test
+	public void customInterval() {
+		DuplicateFilter filter = new DuplicateFilter(singletonMap("interval", "500ms"));
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		setTime(1499);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+		setTime(1500);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(1);
+
+		filter = new DuplicateFilter(singletonMap("interval", "2h"));
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		setTime(1500 + 2 * 60 * 60 * 1000 - 1);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+		setTime(1500 + 2 * 60 * 60 * 1000);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(1);
+
+		filter = new DuplicateFilter(singletonMap("interval", "10"));
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		setTime(1500 + 2 * 60 * 60 * 1000 + 9_999);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+	}
+
+	/**
+	 * Verifies that log entries with different messages, tags, or severity levels are no duplicates by default.
+	 */
+	@Test
+	public void distinguishByDefault() {
+		DuplicateFilter filter = new DuplicateFilter(new HashMap<>());
+
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(null, null, Level.INFO, message("Goodbye", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(null, "test", Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(null, null, Level.WARN, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+
+		StackTraceElement site = new StackTraceElement("Example", "run", "Example.java", 1);
+		assertThat(filter.filter(site, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+	}
+
+	/**
+	 * Verifies that log entries are grouped by the resolved message by default, so that log entries with the same format
+	 * pattern but different arguments are no duplicates.
+	 */
+	@Test
+	public void distinguishResolvedMessages() {
+		DuplicateFilter filter = new DuplicateFilter(new HashMap<>());
+
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello {}!", new Object[] { "World" }))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello {}!", new Object[] { "Moon" }))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello {}!", new Object[] { "World" }))).isEqualTo(Filter.DISCARD);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello World!", null))).isEqualTo(Filter.DISCARD);
+		assertThat(filter.filter(null, null, Level.INFO, message((Supplier<String>) () -> "Hello World!", null))).isEqualTo(Filter.DISCARD);
+	}
+
+	/**
+	 * Verifies that log entries can be grouped by the format pattern before resolving any arguments.
+	 */
+	@Test
+	public void distinguishPatterns() {
+		DuplicateFilter filter = new DuplicateFilter(singletonMap("key", "pattern"));
+
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello {}!", new Object[] { "World" }))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello {}!", new Object[] { "Moon" }))).isEqualTo(Filter.DISCARD);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello World!", null))).isEqualTo(Filter.ACCEPT);
+	}
+
+	/**
+	 * Verifies that suppressed log entries are reported as separate summary, if the interval has elapsed, and not
+	 * added to the next accepted log entry.
+	 */
+	@Test
+	public void reportElapsedSummaries() {
+		Reporter reporter = mock(Reporter.class);
+		StackTraceElement site = new StackTraceElement("Example", "run", "Example.java", 1);
+
+		DuplicateFilter filter = new DuplicateFilter(new HashMap<>());
+		filter.start(reporter);
+		try {
+			assertThat(filter.filter(site, "test", Level.INFO, message("Hello {}!", new Object[] { "World" }))).isEqualTo(Filter.ACCEPT);
+			assertThat(filter.filter(site, "test", Level.INFO, message("Hello {}!", new Object[] { "World" }))).isEqualTo(Filter.DISCARD);
+			assertThat(filter.filter(site, "test", Level.INFO, message("Hello {}!", new Object[] { "World" }))).isEqualTo(Filter.DISCARD);
+
+			filter.summarize(60_999);
+			verifyZeroInteractions(reporter);
+
+			filter.summarize(61_000);
+			verify(reporter).report(site, "test", Level.INFO, "Hello World!", 2);
+
+			setTime(61_000);
+			assertThat(filter.filter(site, "test", Level.INFO, message("Hello {}!", new Object[] { "World" }))).isEqualTo(Filter.ACCEPT);
+			verifyNoMoreInteractions(reporter);
+		} finally {
+			filter.stop();
+		}
+	}
+
+	/**
+	 * Verifies that pending suppressed log entries are reported before accepting the next log entry of the same group,
+	 * if the background thread has not reported them yet.
+	 */
+	@Test
+	public void reportBeforeAccepting() {
+		Reporter reporter = mock(Reporter.class);
+
+		DuplicateFilter filter = new DuplicateFilter(new HashMap<>());
+		filter.start(reporter);
+		try {
+			assertThat(filter.filter(null, null, Level.WARN, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+			assertThat(filter.filter(null, null, Level.WARN, message("Hello", null))).isEqualTo(Filter.DISCARD);
+
+			setTime(61_000);
+			assertThat(filter.filter(null, null, Level.WARN, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+			verify(reporter).report(null, null, Level.WARN, "Hello", 1);
+		} finally {
+			filter.stop();
+		}
+
+		verifyNoMoreInteractions(reporter);
+	}
+
+	/**
+	 * Verifies that all pending suppressed log entries are reported when stopping the filter, even if the interval has
+	 * not elapsed yet.
+	 */
+	@Test
+	public void reportWhenStopping() {
+		Reporter reporter = mock(Reporter.class);
+
+		DuplicateFilter filter = new DuplicateFilter(new HashMap<>());
+		filter.start(reporter);
+		filter.filter(null, null, Level.INFO, message("Hello", null));
+		filter.filter(null, null, Level.INFO, message("Hello", null));
+		filter.filter(null, null, Level.INFO, message("Hello", null));
+		filter.filter(null, null, Level.INFO, message("Goodbye", null));
+		filter.stop();
+
+		verify(reporter).report(null, null, Level.INFO, "Hello", 2);
+		verifyNoMoreInteractions(reporter);
+	}
+
+	/**
+	 * Verifies that only expired groups are evicted, if the maximum number of groups is reached.
+	 */
+	@Test
+	public void evictExpiredGroups() {
+		DuplicateFilter filter = new DuplicateFilter(singletonMap("interval", "1s"));
+
+		filter.filter(null, null, Level.INFO, message("Hello", null));
+		filter.filter(null, null, Level.INFO, message("Hello", null));
+		for (int i = 1; i < 9_999; ++i) {
+			filter.filter(null, null, Level.INFO, message("Message " + i, null));
+		}
+
+		setTime(1500);
+		filter.filter(null, null, Level.INFO, message("Recent", null));
+		assertThat(filter.getStates()).hasSize(10_000);
+
+		setTime(2000);
+		filter.filter(null, null, Level.INFO, message("Goodbye", null));
+		assertThat(filter.getStates()).hasSize(3);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(1);
+		assertThat(filter.filter(null, null, Level.INFO, message("Recent", null))).isEqualTo(Filter.DISCARD);
+	}
+
+	/**
+	 * Verifies that a batch of groups will be evicted and their suppressed log entries reported, if the maximum number
+	 * of groups is reached and no group is expired.
+	 */
+	@Test
+	public void evictBatchOfGroups() {
+		Reporter reporter = mock(Reporter.class);
+
+		DuplicateFilter filter = new DuplicateFilter(new HashMap<>());
+		filter.start(reporter);
+		try {
+			for (int i = 0; i < 10_000; ++i) {
+				filter.filter(null, null, Level.INFO, message("Message " + i, null));
+				filter.filter(null, null, Level.INFO, message("Message " + i, null));
+			}
+
+			filter.filter(null, null, Level.INFO, message("Goodbye", null));
+			assertThat(filter.getStates()).hasSize(9_001);
+			verify(reporter, times(1_000)).report(isNull(), isNull(), eq(Level.INFO), startsWith("Message "), eq(1L));
+
+			for (int i = 1; i < 1_000; ++i) {
+				filter.filter(null, null, Level.INFO, message("Goodbye " + i, null));
+			}
+
+			assertThat(filter.getStates()).hasSize(10_000);
+			verifyNoMoreInteractions(reporter);
+		} finally {
+			filter.stop();
+		}
+	}
+
+	/**
+	 * Verifies that an exception will be thrown, if the interval is invalid.
+	 */
+	@Test
+	public void invalidInterval() {
+		assertThatThrownBy(() -> new DuplicateFilter(singletonMap("interval", "abc")))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("abc");
+
+		assertThatThrownBy(() -> new DuplicateFilter(singletonMap("interval", "0s")))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("0s");
+
+		assertThatThrownBy(() -> new DuplicateFilter(singletonMap("interval", "2w")))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("2w");
+	}
+
+	/**
+	 * Verifies that duplicate filter is registered as service under the name "duplicate".
+	 */
+	@Test
+	public void isRegistered() {
+		Filter filter = new ServiceLoader<>(Filter.class, Map.class).create("duplicate", new HashMap<>());
+		assertThat(filter).isInstanceOf(DuplicateFilter.class);
+	}
+
+	/**
+	 * Sets the current time.
+	 *
+	 * @param milliseconds
+	 *            Milliseconds since 1970-01-01T00:00:00Z
+	 */
+	private static void setTime(final long milliseconds) {
+		when(System.currentTimeMillis()).thenReturn(milliseconds);
+	}
+
+	/**
+	 * Creates a lazily resolved message.
+	 *
+	 * @param message
+	 *            Message object or format pattern
+	 * @param arguments
+	 *            Arguments for the format pattern or {@code null} if there are none
+	 * @return Created message
+	 */
+	private static LogMessage message(final Object message, final Object[] arguments) {
+		return new LogMessage(message, arguments, new MessageFormatter(Locale.ROOT));
+	}
+
+}
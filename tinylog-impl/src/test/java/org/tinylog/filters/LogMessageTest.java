@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.filters;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.tinylog.Supplier;
+import org.tinylog.core.MessageFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LogMessage}.
+ */
+public final class LogMessageTest {
+
+	private final MessageFormatter formatter = new MessageFormatter(Locale.ROOT);
+
+	/**
+	 * Verifies that the message object and arguments are provided as passed.
+	 */
+	@Test
+	public void unresolvedMessage() {
+		Object[] arguments = new Object[] { "World" };
+		LogMessage message = new LogMessage("Hello {}!", arguments, formatter);
+
+		assertThat(message.getObject()).isEqualTo("Hello {}!");
+		assertThat(message.getArguments()).isSameAs(arguments);
+		assertThat(message.isResolved()).isFalse();
+	}
+
+	/**
+	 * Verifies that placeholders are replaced with the passed arguments.
+	 */
+	@Test
+	public void formatPattern() {
+		LogMessage message = new LogMessage("Hello {}!", new Object[] { "World" }, formatter);
+
+		assertThat(message.getText()).isEqualTo("Hello World!");
+		assertThat(message.isResolved()).isTrue();
+	}
+
+	/**
+	 * Verifies that a missing message is resolved as {@code null}.
+	 */
+	@Test
+	public void nullMessage() {
+		LogMessage message = new LogMessage(null, null, formatter);
+
+		assertThat(message.getText()).isNull();
+		assertThat(message.isResolved()).isTrue();
+	}
+
+	/**
+	 * Verifies that a lazy message is evaluated only once, even if the resolved message is requested multiple times.
+	 */
+	@Test
+	public void evaluateLazyMessageOnce() {
+		AtomicInteger evaluations = new AtomicInteger();
+		Supplier<String> supplier = () -> "Evaluation #" + evaluations.incrementAndGet();
+		LogMessage message = new LogMessage(supplier, null, formatter);
+
+		assertThat(message.getText()).isEqualTo("Evaluation #1");
+		assertThat(message.getText()).isEqualTo("Evaluation #1");
+		assertThat(evaluations.get()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.filters;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.tinylog.Level;
+import org.tinylog.configuration.ServiceLoader;
+import org.tinylog.core.MessageFormatter;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.tinylog.util.Maps.doubletonMap;
+
+/**
+ * Tests for {@link RateLimitFilter}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(AbstractKeyBasedFilter.class)
+public final class RateLimitFilterTest {
+
+	private static final StackTraceElement FIRST_SITE = new StackTraceElement("Example", "first", "Example.java", 1);
+	private static final StackTraceElement SECOND_SITE = new StackTraceElement("Example", "second", "Example.java", 2);
+
+	/**
+	 * Initialize mocking of {@link System}.
+	 */
+	@Before
+	public void init() {
+		mockStatic(System.class);
+		setTime(1000);
+	}
+
+	/**
+	 * Verifies that log entries will be discarded if the rate is exceeded and accepted again after refilling.
+	 */
+	@Test
+	public void limitRate() {
+		RateLimitFilter filter = new RateLimitFilter(singletonMap("rate", "2"));
+
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+
+		setTime(1499);
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+
+		setTime(1500);
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(2);
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+	}
+
+	/**
+	 * Verifies that a configured burst capacity allows more log entries at once than the rate.
+	 */
+	@Test
+	public void burst() {
+		RateLimitFilter filter = new RateLimitFilter(doubletonMap("rate", "1", "burst", "3"));
+
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+	}
+
+	/**
+	 * Verifies that the number of tokens doesn't exceed the burst capacity after a long time without log entries.
+	 */
+	@Test
+	public void limitRefillingToBurstCapacity() {
+		RateLimitFilter filter = new RateLimitFilter(singletonMap("rate", "1"));
+
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+
+		setTime(60_000);
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+	}
+
+	/**
+	 * Verifies that log entries from different call sites, tags, and severity levels are limited independently by
+	 * default.
+	 */
+	@Test
+	public void separateBucketsByDefault() {
+		RateLimitFilter filter = new RateLimitFilter(singletonMap("rate", "1"));
+
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(SECOND_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(FIRST_SITE, "test", Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(FIRST_SITE, null, Level.WARN, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Goodbye", null))).isEqualTo(Filter.DISCARD);
+	}
+
+	/**
+	 * Verifies that the message object will be used as call site, if there is no stack trace element available.
+	 */
+	@Test
+	public void messageAsFallbackForCallSite() {
+		RateLimitFilter filter = new RateLimitFilter(singletonMap("rate", "1"));
+
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(null, null, Level.INFO, message("Goodbye", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(null, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.DISCARD);
+	}
+
+	/**
+	 * Verifies that a configured key can merge log entries from different call sites and tags.
+	 */
+	@Test
+	public void customKey() {
+		RateLimitFilter filter = new RateLimitFilter(doubletonMap("rate", "1", "key", "level"));
+
+		assertThat(filter.filter(FIRST_SITE, null, Level.INFO, message("Hello", null))).isEqualTo(Filter.ACCEPT);
+		assertThat(filter.filter(SECOND_SITE, "test", Level.INFO, message("Goodbye", null))).isEqualTo(Filter.DISCARD);
+		assertThat(filter.filter(SECOND_SITE, "test", Level.WARN, message("Goodbye", null))).isEqualTo(Filter.ACCEPT);
+	}
+
+	/**
+	 * Verifies that an exception will be thrown, if the rate is missing.
+	 */
+	@Test
+	public void missingRate() {
+		assertThatThrownBy(() -> new RateLimitFilter(new HashMap<>()))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("rate");
+	}
+
+	/**
+	 * Verifies that an exception will be thrown, if the rate is not a positive number.
+	 */
+	@Test
+	public void invalidRate() {
+		assertThatThrownBy(() -> new RateLimitFilter(singletonMap("rate", "abc")))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("abc");
+
+		assertThatThrownBy(() -> new RateLimitFilter(singletonMap("rate", "0")))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("0");
+	}
+
+	/**
+	 * Verifies that an exception will be thrown, if the key contains an unknown component.
+	 */
+	@Test
+	public void invalidKey() {
+		Map<String, String> properties = doubletonMap("rate", "1", "key", "site, foo");
+		assertThatThrownBy(() -> new RateLimitFilter(properties))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("foo");
+	}
+
+	/**
+	 * Verifies that rate limit filter is registered as service under the name "rate limit".
+	 */
+	@Test
+	public void isRegistered() {
+		Filter filter = new ServiceLoader<>(Filter.class, Map.class).create("rate limit", singletonMap("rate", "1"));
+		assertThat(filter).isInstanceOf(RateLimitFilter.class);
+	}
+
+	/**
+	 * Sets the current time.
+	 *
+	 * @param milliseconds
+	 *            Milliseconds since 1970-01-01T00:00:00Z
+	 */
+	private static void setTime(final long milliseconds) {
+		when(System.currentTimeMillis()).thenReturn(milliseconds);
+	}
+
+	/**
+	 * Creates a lazily resolved message.
+	 *
+	 * @param message
+	 *            Message object or format pattern
+	 * @param arguments
+	 *            Arguments for the format pattern or {@code null} if there are none
+	 * @return Created message
+	 */
+	private static LogMessage message(final Object message, final Object[] arguments) {
+		return new LogMessage(message, arguments, new MessageFormatter(Locale.ROOT));
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.tinylog.Level;
+import org.tinylog.rules.SystemStreamCollector;
+import org.tinylog.util.StorageWriter;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JmxExporter}.
+ */
+public final class JmxExporterTest {
+
+	/**
+	 * Redirects and collects system output streams.
+	 */
+	@Rule
+	public final SystemStreamCollector systemStream = new SystemStreamCollector(true);
+
+	private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+	/**
+	 * Verifies that no MBeans are left registered after each test.
+	 *
+	 * @throws JMException
+	 *             Invalid object name
+	 */
+	@After
+	public void verifyUnregistered() throws JMException {
+		assertThat(server.queryNames(new ObjectName("org.tinylog:*"), null)).isEmpty();
+	}
+
+	/**
+	 * Verifies that the metrics of the logging pipeline can be read via JMX.
+	 *
+	 * @throws JMException
+	 *             Failed to read attribute
+	 */
+	@Test
+	public void loggingMetrics() throws JMException {
+		LoggingMetrics metrics = new LoggingMetrics();
+		metrics.countIssued(Level.INFO);
+		metrics.countDropped();
+		metrics.updateQueueSize(7);
+
+		JmxExporter exporter = new JmxExporter(metrics);
+		exporter.update();
+
+		try {
+			ObjectName name = new ObjectName(JmxExporter.LOGGING_NAME);
+			assertThat(server.getAttribute(name, "InfoEntries")).isEqualTo(1L);
+			assertThat(server.getAttribute(name, "DroppedEntries")).isEqualTo(1L);
+			assertThat(server.getAttribute(name, "MaximumQueueSize")).isEqualTo(7);
+		} finally {
+			exporter.unregister();
+		}
+	}
+
+	/**
+	 * Verifies that writer metrics are registered with their configuration key and replaced at each update.
+	 *
+	 * @throws JMException
+	 *             Failed to read attribute
+	 */
+	@Test
+	public void writerMetrics() throws JMException {
+		LoggingMetrics metrics = new LoggingMetrics();
+		WriterMetrics first = new WriterMetrics("writer1", new StorageWriter(emptyMap()));
+		first.recordWrite(100);
+		metrics.setWriters(Collections.singletonList(first));
+
+		JmxExporter exporter = new JmxExporter(metrics);
+		exporter.update();
+
+		try {
+			ObjectName firstName = new ObjectName(JmxExporter.WRITER_NAME_PREFIX + ObjectName.quote("writer1"));
+			assertThat(server.getAttribute(firstName, "Entries")).isEqualTo(1L);
+			assertThat(server.getAttribute(firstName, "Type")).isEqualTo(StorageWriter.class.getName());
+
+			WriterMetrics second = new WriterMetrics("writer2", new StorageWriter(emptyMap()));
+			metrics.setWriters(Collections.singletonList(second));
+			exporter.update();
+
+			ObjectName secondName = new ObjectName(JmxExporter.WRITER_NAME_PREFIX + ObjectName.quote("writer2"));
+			assertThat(server.isRegistered(firstName)).isFalse();
+			assertThat(server.isRegistered(secondName)).isTrue();
+		} finally {
+			exporter.unregister();
+		}
+	}
+
+	/**
+	 * Verifies that a warning is output, if MBeans are already registered by another exporter.
+	 */
+	@Test
+	public void alreadyRegistered() {
+		JmxExporter first = new JmxExporter(new LoggingMetrics());
+		JmxExporter second = new JmxExporter(new LoggingMetrics());
+
+		first.update();
+		try {
+			second.update();
+			assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("WARN").contains(JmxExporter.LOGGING_NAME);
+		} finally {
+			second.unregister();
+			first.unregister();
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ */
+public final class LatencyHistogramTest {
+
+	/**
+	 * Verifies that an empty histogram returns zero for all values.
+	 */
+	@Test
+	public void empty() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		assertThat(histogram.getCount()).isZero();
+		assertThat(histogram.getTotal()).isZero();
+		assertThat(histogram.getMean()).isZero();
+		assertThat(histogram.getMaximum()).isZero();
+		assertThat(histogram.getPercentile(99)).isZero();
+	}
+
+	/**
+	 * Verifies that count, total, mean and maximum are calculated exactly.
+	 */
+	@Test
+	public void statistics() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(100);
+		histogram.record(200);
+		histogram.record(600);
+
+		assertThat(histogram.getCount()).isEqualTo(3);
+		assertThat(histogram.getTotal()).isEqualTo(900);
+		assertThat(histogram.getMean()).isEqualTo(300);
+		assertThat(histogram.getMaximum()).isEqualTo(600);
+	}
+
+	/**
+	 * Verifies that percentiles are approximated by the upper boundary of the containing bucket.
+	 */
+	@Test
+	public void percentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < 99; ++i) {
+			histogram.record(100);
+		}
+		histogram.record(5000);
+
+		assertThat(histogram.getPercentile(0)).isEqualTo(127);
+		assertThat(histogram.getPercentile(50)).isEqualTo(127);
+		assertThat(histogram.getPercentile(99)).isEqualTo(127);
+		assertThat(histogram.getPercentile(99.9)).isEqualTo(5000);
+		assertThat(histogram.getPercentile(100)).isEqualTo(5000);
+	}
+
+	/**
+	 * Verifies that negative latencies are recorded as zero.
+	 */
+	@Test
+	public void negativeLatency() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-1);
+
+		assertThat(histogram.getCount()).isEqualTo(1);
+		assertThat(histogram.getTotal()).isZero();
+		assertThat(histogram.getPercentile(50)).isZero();
+	}
+
+	/**
+	 * Verifies that very high latencies are counted by the last bucket.
+	 */
+	@Test
+	public void highestLatency() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(Long.MAX_VALUE);
+
+		assertThat(histogram.getCount()).isEqualTo(1);
+		assertThat(histogram.getMaximum()).isEqualTo(Long.MAX_VALUE);
+		assertThat(histogram.getPercentile(50)).isEqualTo(Long.MAX_VALUE);
+	}
+
+}
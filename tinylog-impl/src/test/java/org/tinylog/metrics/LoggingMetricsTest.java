@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.tinylog.Level;
+import org.tinylog.util.StorageWriter;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link LoggingMetrics}.
+ */
+public final class LoggingMetricsTest {
+
+	/**
+	 * Verifies that issued log entries are counted separately for each severity level.
+	 */
+	@Test
+	public void issuedEntries() {
+		LoggingMetrics metrics = new LoggingMetrics();
+		metrics.countIssued(Level.TRACE);
+		metrics.countIssued(Level.DEBUG);
+		metrics.countIssued(Level.DEBUG);
+		metrics.countIssued(Level.INFO);
+		metrics.countIssued(Level.WARN);
+		metrics.countIssued(Level.ERROR);
+		metrics.countIssued(Level.ERROR);
+		metrics.countIssued(Level.ERROR);
+
+		assertThat(metrics.getTraceEntries()).isEqualTo(1);
+		assertThat(metrics.getDebugEntries()).isEqualTo(2);
+		assertThat(metrics.getInfoEntries()).isEqualTo(1);
+		assertThat(metrics.getWarnEntries()).isEqualTo(1);
+		assertThat(metrics.getErrorEntries()).isEqualTo(3);
+		assertThat(metrics.getIssuedEntries(Level.ERROR)).isEqualTo(3);
+		assertThat(metrics.getIssuedEntries(Level.OFF)).isZero();
+	}
+
+	/**
+	 * Verifies that dropped log entries are counted.
+	 */
+	@Test
+	public void droppedEntries() {
+		LoggingMetrics metrics = new LoggingMetrics();
+		metrics.countDropped();
+		metrics.countDropped();
+
+		assertThat(metrics.getDroppedEntries()).isEqualTo(2);
+	}
+
+	/**
+	 * Verifies that the current queue size is reported and the highest queue size is kept as high-water mark.
+	 */
+	@Test
+	public void queueSize() {
+		LoggingMetrics metrics = new LoggingMetrics();
+		assertThat(metrics.getQueueSize()).isZero();
+		assertThat(metrics.getMaximumQueueSize()).isZero();
+
+		metrics.updateQueueSize(5);
+		metrics.updateQueueSize(10);
+		metrics.updateQueueSize(0);
+
+		assertThat(metrics.getQueueSize()).isZero();
+		assertThat(metrics.getMaximumQueueSize()).isEqualTo(10);
+	}
+
+	/**
+	 * Verifies that writer metrics can be replaced and are provided as unmodifiable list.
+	 */
+	@Test
+	public void writers() {
+		LoggingMetrics metrics = new LoggingMetrics();
+		assertThat(metrics.getWriters()).isEmpty();
+
+		WriterMetrics first = new WriterMetrics("writer1", new StorageWriter(emptyMap()));
+		WriterMetrics second = new WriterMetrics("writer2", new StorageWriter(emptyMap()));
+
+		metrics.setWriters(Arrays.asList(first, second));
+		assertThat(metrics.getWriters()).containsExactly(first, second);
+
+		metrics.setWriters(Collections.singletonList(second));
+		assertThat(metrics.getWriters()).containsExactly(second);
+
+		assertThatThrownBy(() -> metrics.getWriters().clear()).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+}
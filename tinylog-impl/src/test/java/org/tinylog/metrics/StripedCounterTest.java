@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StripedCounter}.
+ */
+public final class StripedCounterTest {
+
+	private static final int NUMBER_OF_THREADS = 8;
+	private static final int NUMBER_OF_INCREMENTS = 10000;
+
+	/**
+	 * Verifies that a new counter starts at zero.
+	 */
+	@Test
+	public void initiallyZero() {
+		assertThat(new StripedCounter().sum()).isZero();
+	}
+
+	/**
+	 * Verifies that incremented and added values are summed up.
+	 */
+	@Test
+	public void incrementAndAdd() {
+		StripedCounter counter = new StripedCounter();
+		counter.increment();
+		counter.add(41);
+		assertThat(counter.sum()).isEqualTo(42);
+	}
+
+	/**
+	 * Verifies that no updates are lost, if multiple threads update the counter simultaneously.
+	 *
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for threads
+	 */
+	@Test
+	public void concurrentUpdates() throws InterruptedException {
+		StripedCounter counter = new StripedCounter();
+
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_THREADS; ++i) {
+			threads.add(new Thread(() -> {
+				for (int j = 0; j < NUMBER_OF_INCREMENTS; ++j) {
+					counter.increment();
+				}
+			}));
+		}
+
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(counter.sum()).isEqualTo(NUMBER_OF_THREADS * NUMBER_OF_INCREMENTS);
+	}
+
+	/**
+	 * Verifies that the number of cells is the next power of two of the number of processors but limited to 16.
+	 */
+	@Test
+	public void numberOfStripes() {
+		assertThat(StripedCounter.calculateStripes(1)).isEqualTo(1);
+		assertThat(StripedCounter.calculateStripes(3)).isEqualTo(4);
+		assertThat(StripedCounter.calculateStripes(8)).isEqualTo(8);
+		assertThat(StripedCounter.calculateStripes(100)).isEqualTo(16);
+	}
+
+	/**
+	 * Verifies that the selected cell is always within the range of existing cells.
+	 */
+	@Test
+	public void stripeInRange() {
+		assertThat(StripedCounter.getStripe()).isBetween(0, StripedCounter.STRIPES - 1);
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.tinylog.util.LogEntryBuilder;
+import org.tinylog.util.StorageWriter;
+import org.tinylog.writers.FileWriter;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link WriterMetrics}.
+ */
+public final class WriterMetricsTest {
+
+	/**
+	 * Temporary folder for creating volatile files.
+	 */
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Verifies that name and type of the writer are provided.
+	 */
+	@Test
+	public void identity() {
+		WriterMetrics metrics = new WriterMetrics("writer1", new StorageWriter(emptyMap()));
+
+		assertThat(metrics.getName()).isEqualTo("writer1");
+		assertThat(metrics.getType()).isEqualTo(StorageWriter.class.getName());
+	}
+
+	/**
+	 * Verifies that written log entries and their latencies are recorded.
+	 */
+	@Test
+	public void writes() {
+		WriterMetrics metrics = new WriterMetrics("writer", new StorageWriter(emptyMap()));
+		metrics.recordWrite(100);
+		metrics.recordWrite(300);
+
+		assertThat(metrics.getEntries()).isEqualTo(2);
+		assertThat(metrics.getWriteLatency().getCount()).isEqualTo(2);
+		assertThat(metrics.getWriteLatencyMean()).isEqualTo(200);
+		assertThat(metrics.getWriteLatencyP50()).isEqualTo(127);
+		assertThat(metrics.getWriteLatencyP99()).isEqualTo(300);
+		assertThat(metrics.getWriteLatencyMax()).isEqualTo(300);
+	}
+
+	/**
+	 * Verifies that flushes and their latencies are recorded.
+	 */
+	@Test
+	public void flushes() {
+		WriterMetrics metrics = new WriterMetrics("writer", new StorageWriter(emptyMap()));
+		metrics.recordFlush(1000);
+
+		assertThat(metrics.getEntries()).isZero();
+		assertThat(metrics.getFlushes()).isEqualTo(1);
+		assertThat(metrics.getFlushLatency().getCount()).isEqualTo(1);
+		assertThat(metrics.getFlushLatencyMean()).isEqualTo(1000);
+		assertThat(metrics.getFlushLatencyP99()).isEqualTo(1000);
+		assertThat(metrics.getFlushLatencyMax()).isEqualTo(1000);
+	}
+
+	/**
+	 * Verifies that errors are counted.
+	 */
+	@Test
+	public void errors() {
+		WriterMetrics metrics = new WriterMetrics("writer", new StorageWriter(emptyMap()));
+		metrics.recordError();
+		metrics.recordError();
+
+		assertThat(metrics.getErrors()).isEqualTo(2);
+		assertThat(metrics.getEntries()).isZero();
+	}
+
+	/**
+	 * Verifies that written bytes are provided by writers that encode log entries, if metrics are enabled.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary file
+	 */
+	@Test
+	public void bytesOfFormatPatternWriter() throws IOException {
+		File file = folder.newFile();
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", file.getPath());
+		properties.put("format", "{message}");
+		properties.put("metrics", "true");
+
+		FileWriter writer = new FileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("Hello World!").create());
+		writer.close();
+
+		WriterMetrics metrics = new WriterMetrics("writer", writer);
+		assertThat(metrics.getBytes()).isEqualTo(file.length()).isGreaterThan(0);
+	}
+
+	/**
+	 * Verifies that no bytes are provided by writers that don't encode log entries.
+	 */
+	@Test
+	public void bytesOfOtherWriter() {
+		WriterMetrics metrics = new WriterMetrics("writer", new StorageWriter(emptyMap()));
+		assertThat(metrics.getBytes()).isEqualTo(-1);
+	}
+
+	/**
+	 * Verifies that no spooled, replayed or lost log entries are provided by writers that aren't JDBC writers.
+	 */
+	@Test
+	public void spoolOfOtherWriter() {
+		WriterMetrics metrics = new WriterMetrics("writer", new StorageWriter(emptyMap()));
+		assertThat(metrics.getSpooledEntries()).isEqualTo(-1);
+		assertThat(metrics.getReplayedEntries()).isEqualTo(-1);
+		assertThat(metrics.getLostEntries()).isEqualTo(-1);
+	}
+
+}
@@ -188,6 +188,27 @@ public final class DynamicPathTest {
 		assertThat(path.getAllFiles()).containsExactlyInAnyOrder(first, second);
 	}
 
+	/**
+	 * Verifies that compressed sibling files will be returned, if their file extension has been passed as additional
+	 * file extension.
+	 *
+	 * @throws IOException
+	 *             Failed to create files
+	 */
+	@Test
+	public void getCompressedFiles() throws IOException {
+		File first = folder.newFile("1.log");
+		File second = folder.newFile("2.log.gz");
+		folder.newFile("3.log.zip");
+		folder.newFile("4.gz");
+
+		String pattern = new File(folder.getRoot(), "{count}.log").getAbsolutePath();
+		DynamicPath path = new DynamicPath(pattern, ".gz");
+		assertThat(path.getAllFiles()).containsExactlyInAnyOrder(first, second);
+		assertThat(path.isValid(first)).isTrue();
+		assertThat(path.isValid(second)).isFalse();
+	}
+
 	/**
 	 * Verifies that all files of subfolders will be returned that are compatible with the configured dynamic path.
 	 *
@@ -249,6 +270,120 @@ public final class DynamicPathTest {
 		assertThat(path.getAllFiles()).containsExactly(third, first, second);
 	}
 
+	/**
+	 * Verifies that the folder is scanned only once and the index of known files is updated incrementally afterwards.
+	 *
+	 * @throws IOException
+	 *             Failed to create files
+	 */
+	@Test
+	public void cachedFiles() throws IOException {
+		File first = folder.newFile("0.log");
+
+		String pattern = new File(folder.getRoot(), "{count}.log").getAbsolutePath();
+		DynamicPath path = new DynamicPath(pattern);
+		assertThat(path.getAllFiles()).containsExactly(first);
+
+		File unknown = folder.newFile("5.log");
+		assertThat(path.getAllFiles()).containsExactly(first);
+
+		File second = new File(path.resolve());
+		assertThat(second.createNewFile()).isTrue();
+		assertThat(path.getAllFiles()).containsExactlyInAnyOrder(first, second);
+
+		assertThat(first.delete()).isTrue();
+		assertThat(path.getAllFiles()).containsExactly(second);
+
+		path.invalidate();
+		assertThat(path.getAllFiles()).containsExactlyInAnyOrder(second, unknown);
+	}
+
+	/**
+	 * Verifies that indexed files, which have been replaced by a compressed sibling file, are replaced in the index as
+	 * well.
+	 *
+	 * @throws IOException
+	 *             Failed to create files
+	 */
+	@Test
+	public void cachedCompressedFiles() throws IOException {
+		File plain = folder.newFile("1.log");
+
+		String pattern = new File(folder.getRoot(), "{count}.log").getAbsolutePath();
+		DynamicPath path = new DynamicPath(pattern, ".gz");
+		assertThat(path.getAllFiles()).containsExactly(plain);
+
+		File compressed = folder.newFile("1.log.gz");
+		assertThat(plain.delete()).isTrue();
+		assertThat(path.getAllFiles()).containsExactly(compressed);
+	}
+
+	/**
+	 * Verifies that discovered files are only reported as changes, if they are neither known nor a compressed sibling
+	 * of a known file.
+	 *
+	 * @throws IOException
+	 *             Failed to create files
+	 */
+	@Test
+	public void discoverFiles() throws IOException {
+		File known = folder.newFile("1.log");
+
+		String pattern = new File(folder.getRoot(), "{count}.log").getAbsolutePath();
+		DynamicPath path = new DynamicPath(pattern, ".gz");
+		assertThat(path.getAllFiles()).containsExactly(known);
+
+		path.discover(known);
+		path.discover(folder.newFile("1.log.gz"));
+		path.discover(folder.newFile("other.txt"));
+		assertThat(path.pollChanges()).isFalse();
+
+		File external = folder.newFile("2.log");
+		path.discover(external);
+		assertThat(path.pollChanges()).isTrue();
+		assertThat(path.pollChanges()).isFalse();
+		assertThat(path.getAllFiles()).contains(external);
+	}
+
+	/**
+	 * Verifies that files created by other processes are found, if the folder is watched.
+	 *
+	 * @throws IOException
+	 *             Failed to create files
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for the watcher
+	 */
+	@Test
+	public void watchFiles() throws IOException, InterruptedException {
+		String pattern = new File(folder.getRoot(), "{count}.log").getAbsolutePath();
+		DynamicPath path = new DynamicPath(pattern);
+		assertThat(path.getAllFiles()).isEmpty();
+
+		assertThat(path.watch()).isTrue();
+		try {
+			File file = folder.newFile("0.log");
+
+			for (int i = 0; i < 100 && !path.pollChanges(); ++i) {
+				Thread.sleep(100);
+			}
+
+			assertThat(path.getAllFiles()).containsExactly(file);
+		} finally {
+			path.unwatch();
+		}
+	}
+
+	/**
+	 * Verifies that only paths with date patterns are detected as time dependent.
+	 */
+	@Test
+	public void timeDependency() {
+		assertThat(new DynamicPath("{date}.log").isTimeDependent()).isTrue();
+		assertThat(new DynamicPath("{pid}_{date:yyyy}.log").isTimeDependent()).isTrue();
+		assertThat(new DynamicPath("{count}.log").isTimeDependent()).isFalse();
+		assertThat(new DynamicPath("test.log").isTimeDependent()).isFalse();
+	}
+
 	/**
 	 * Verifies that a log file with a file extension can be validated.
 	 */
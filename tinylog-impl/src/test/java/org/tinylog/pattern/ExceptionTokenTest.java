@@ -181,6 +181,62 @@ public final class ExceptionTokenTest {
 			.hasLineCount(exception.getStackTrace().length + cause.getStackTrace().length + 2);
 	}
 
+	/**
+	 * Verifies that a cached exception will be rendered identically for repeated occurrences.
+	 */
+	@Test
+	public void renderCachedException() {
+		Exception exception = new IllegalStateException("my message", new IOException("File not found"));
+		ExceptionToken token = new ExceptionToken(10, false);
+
+		String first = render(token, exception);
+		assertThat(first).isEqualTo(render(new ExceptionToken(0, false), exception));
+		assertThat(render(token, exception)).isEqualTo(first);
+	}
+
+	/**
+	 * Verifies that a repeated exception will be rendered as reference with the number of occurrences, if reference
+	 * mode is enabled.
+	 */
+	@Test
+	public void renderReferencedException() {
+		Exception exception = new IllegalStateException("my message");
+		ExceptionToken token = new ExceptionToken(10, true);
+
+		String first = render(token, exception);
+		assertThat(first)
+			.startsWith(IllegalStateException.class.getName() + ": my message [#")
+			.contains(ExceptionTokenTest.class.getName(), "renderReferencedException")
+			.hasLineCount(exception.getStackTrace().length + 1);
+
+		String id = first.substring(first.indexOf("[#") + 2, first.indexOf(']'));
+
+		assertThat(render(token, exception)).isEqualTo(IllegalStateException.class.getName() + ": my message [#" + id + ", 2 times]");
+		assertThat(render(token, exception)).isEqualTo(IllegalStateException.class.getName() + ": my message [#" + id + ", 3 times]");
+	}
+
+	/**
+	 * Verifies that different exceptions will be rendered fully in reference mode.
+	 */
+	@Test
+	public void renderDifferentExceptionsInReferenceMode() {
+		ExceptionToken token = new ExceptionToken(10, true);
+
+		assertThat(render(token, new IllegalStateException("first"))).contains("first", "renderDifferentExceptionsInReferenceMode");
+		assertThat(render(token, new IllegalStateException("second"))).contains("second", "renderDifferentExceptionsInReferenceMode");
+	}
+
+	/**
+	 * Verifies that reference mode will be ignored, if caching is disabled.
+	 */
+	@Test
+	public void ignoreReferenceModeWithoutCache() {
+		Exception exception = new IllegalStateException("my message");
+		ExceptionToken token = new ExceptionToken(0, true);
+
+		assertThat(render(token, exception)).isEqualTo(render(token, exception)).doesNotContain("[#");
+	}
+
 	/**
 	 * Renders a token.
 	 *
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.pattern;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.tinylog.pattern.ThrowableCache.Fingerprint;
+import org.tinylog.pattern.ThrowableCache.Rendering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ThrowableCache}.
+ */
+public final class ThrowableCacheTest {
+
+	/**
+	 * Verifies that an unknown throwable is not found in cache.
+	 */
+	@Test
+	public void unknownThrowable() {
+		ThrowableCache cache = new ThrowableCache(10);
+		assertThat(cache.get(new Fingerprint(new RuntimeException()))).isNull();
+	}
+
+	/**
+	 * Verifies that a stored rendering can be found again and the number of occurrences will be incremented.
+	 */
+	@Test
+	public void knownThrowable() {
+		ThrowableCache cache = new ThrowableCache(10);
+		Exception exception = new RuntimeException("Test");
+
+		Rendering stored = cache.put(new Fingerprint(exception), "header", "text");
+		assertThat(stored.getOccurrences()).isEqualTo(1);
+
+		Rendering found = cache.get(new Fingerprint(exception));
+		assertThat(found.getId()).isEqualTo(stored.getId());
+		assertThat(found.getHeader()).isEqualTo("header");
+		assertThat(found.getText()).isEqualTo("text");
+		assertThat(found.getOccurrences()).isEqualTo(2);
+
+		assertThat(cache.get(new Fingerprint(exception)).getOccurrences()).isEqualTo(3);
+	}
+
+	/**
+	 * Verifies that the least recently used rendering will be dropped, if the cache is full.
+	 */
+	@Test
+	public void dropLeastRecentlyUsed() {
+		ThrowableCache cache = new ThrowableCache(2);
+
+		Fingerprint first = new Fingerprint(new RuntimeException("first"));
+		Fingerprint second = new Fingerprint(new RuntimeException("second"));
+		Fingerprint third = new Fingerprint(new RuntimeException("third"));
+
+		cache.put(first, "first", "first");
+		cache.put(second, "second", "second");
+		cache.get(first);
+		cache.put(third, "third", "third");
+
+		assertThat(cache.get(first)).isNotNull();
+		assertThat(cache.get(second)).isNull();
+		assertThat(cache.get(third)).isNotNull();
+	}
+
+	/**
+	 * Verifies that throwables with same class, message and stack trace have equal fingerprints.
+	 */
+	@Test
+	public void equalFingerprints() {
+		Exception[] exceptions = new Exception[2];
+		for (int i = 0; i < exceptions.length; ++i) {
+			exceptions[i] = new RuntimeException("Test", new IOException("Cause"));
+		}
+
+		Fingerprint first = new Fingerprint(exceptions[0]);
+		Fingerprint second = new Fingerprint(exceptions[1]);
+
+		assertThat(first).isEqualTo(second);
+		assertThat(first.hashCode()).isEqualTo(second.hashCode());
+		assertThat(first.getId()).isEqualTo(second.getId());
+	}
+
+	/**
+	 * Verifies that throwables with different classes, messages, stack traces or causes have different fingerprints.
+	 */
+	@Test
+	public void differentFingerprints() {
+		Exception[] exceptions = new Exception[2];
+		for (int i = 0; i < exceptions.length; ++i) {
+			exceptions[i] = new RuntimeException("Test", new IOException("Cause"));
+		}
+
+		Fingerprint reference = new Fingerprint(exceptions[0]);
+
+		assertThat(reference).isNotEqualTo(new Fingerprint(new IllegalStateException("Test", exceptions[0].getCause())));
+		assertThat(reference).isNotEqualTo(new Fingerprint(new RuntimeException("Other", exceptions[0].getCause())));
+		assertThat(reference).isNotEqualTo(new Fingerprint(new RuntimeException("Test", new IOException("Other"))));
+		assertThat(reference).isNotEqualTo(new Fingerprint(new RuntimeException("Test")));
+		assertThat(reference).isNotEqualTo(new Fingerprint(new RuntimeException("Test", exceptions[1].getCause())));
+	}
+
+}
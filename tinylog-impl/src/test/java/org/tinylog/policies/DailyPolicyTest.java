@@ -60,7 +60,7 @@ public final class DailyPolicyTest {
 	 * Tests for daily policy with default time (00:00).
 	 */
 	@RunWith(PowerMockRunner.class)
-	@PrepareForTest(DailyPolicy.class)
+	@PrepareForTest(AbstractDatePolicy.class)
 	public static final class DefaultTimeTest {
 
 		/**
@@ -130,7 +130,7 @@ public final class DailyPolicyTest {
 			setTime(LocalDate.of(1985, 6, 3), LocalTime.of(12, 0));
 			DailyPolicy policy = new DailyPolicy(null);
 
-			assertThat(policy.continueCurrentFile(null)).isTrue();
+			assertThat(policy.getTimeLimit()).isGreaterThan(System.currentTimeMillis());
 		}
 
 		/**
@@ -142,7 +142,7 @@ public final class DailyPolicyTest {
 			DailyPolicy policy = new DailyPolicy(null);
 
 			setTime(LocalDate.of(1985, 6, 3), LocalTime.of(23, 59));
-			assertThat(policy.continueCurrentFile(null)).isTrue();
+			assertThat(policy.getTimeLimit()).isGreaterThan(System.currentTimeMillis());
 		}
 
 		/**
@@ -154,7 +154,7 @@ public final class DailyPolicyTest {
 			DailyPolicy policy = new DailyPolicy(null);
 
 			setTime(LocalDate.of(1985, 6, 4), LocalTime.of(0, 0));
-			assertThat(policy.continueCurrentFile(null)).isFalse();
+			assertThat(policy.getTimeLimit()).isLessThanOrEqualTo(System.currentTimeMillis());
 		}
 
 		/**
@@ -166,7 +166,7 @@ public final class DailyPolicyTest {
 			DailyPolicy policy = new DailyPolicy(null);
 
 			setTime(LocalDate.of(1985, 6, 4), LocalTime.of(0, 1));
-			assertThat(policy.continueCurrentFile(null)).isFalse();
+			assertThat(policy.getTimeLimit()).isLessThanOrEqualTo(System.currentTimeMillis());
 		}
 
 		/**
@@ -190,7 +190,7 @@ public final class DailyPolicyTest {
 	 * Tests for daily policy with custom time that contains only an hour (6 a.m.).
 	 */
 	@RunWith(PowerMockRunner.class)
-	@PrepareForTest(DailyPolicy.class)
+	@PrepareForTest(AbstractDatePolicy.class)
 	public static final class CustomHourOnlyTimeTest {
 
 		/**
@@ -262,7 +262,7 @@ public final class DailyPolicyTest {
 			setTime(LocalDate.of(1985, 6, 3), LocalTime.of(12, 0));
 			DailyPolicy policy = new DailyPolicy("6");
 
-			assertThat(policy.continueCurrentFile(null)).isTrue();
+			assertThat(policy.getTimeLimit()).isGreaterThan(System.currentTimeMillis());
 		}
 
 		/**
@@ -274,7 +274,7 @@ public final class DailyPolicyTest {
 			DailyPolicy policy = new DailyPolicy("6");
 
 			setTime(LocalDate.of(1985, 6, 4), LocalTime.of(5, 59));
-			assertThat(policy.continueCurrentFile(null)).isTrue();
+			assertThat(policy.getTimeLimit()).isGreaterThan(System.currentTimeMillis());
 		}
 
 		/**
@@ -286,7 +286,7 @@ public final class DailyPolicyTest {
 			DailyPolicy policy = new DailyPolicy("6");
 
 			setTime(LocalDate.of(1985, 6, 4), LocalTime.of(6, 0));
-			assertThat(policy.continueCurrentFile(null)).isFalse();
+			assertThat(policy.getTimeLimit()).isLessThanOrEqualTo(System.currentTimeMillis());
 		}
 
 		/**
@@ -298,7 +298,7 @@ public final class DailyPolicyTest {
 			DailyPolicy policy = new DailyPolicy("6");
 
 			setTime(LocalDate.of(1985, 6, 4), LocalTime.of(6, 1));
-			assertThat(policy.continueCurrentFile(null)).isFalse();
+			assertThat(policy.getTimeLimit()).isLessThanOrEqualTo(System.currentTimeMillis());
 		}
 
 		/**
@@ -322,7 +322,7 @@ public final class DailyPolicyTest {
 	 * Tests for daily policy with custom time that contains an hour and minutes (01:30).
 	 */
 	@RunWith(PowerMockRunner.class)
-	@PrepareForTest(DailyPolicy.class)
+	@PrepareForTest(AbstractDatePolicy.class)
 	public static final class CustomFullTimeTest {
 
 		/**
@@ -393,7 +393,7 @@ public final class DailyPolicyTest {
 			setTime(LocalDate.of(1985, 6, 3), LocalTime.of(12, 0));
 			DailyPolicy policy = new DailyPolicy("01:30");
 
-			assertThat(policy.continueCurrentFile(null)).isTrue();
+			assertThat(policy.getTimeLimit()).isGreaterThan(System.currentTimeMillis());
 		}
 
 		/**
@@ -405,7 +405,7 @@ public final class DailyPolicyTest {
 			DailyPolicy policy = new DailyPolicy("01:30");
 
 			setTime(LocalDate.of(1985, 6, 4), LocalTime.of(1, 29));
-			assertThat(policy.continueCurrentFile(null)).isTrue();
+			assertThat(policy.getTimeLimit()).isGreaterThan(System.currentTimeMillis());
 		}
 
 		/**
@@ -417,7 +417,7 @@ public final class DailyPolicyTest {
 			DailyPolicy policy = new DailyPolicy("01:30");
 
 			setTime(LocalDate.of(1985, 6, 4), LocalTime.of(1, 30));
-			assertThat(policy.continueCurrentFile(null)).isFalse();
+			assertThat(policy.getTimeLimit()).isLessThanOrEqualTo(System.currentTimeMillis());
 		}
 
 		/**
@@ -429,7 +429,7 @@ public final class DailyPolicyTest {
 			DailyPolicy policy = new DailyPolicy("01:30");
 
 			setTime(LocalDate.of(1985, 6, 4), LocalTime.of(1, 31));
-			assertThat(policy.continueCurrentFile(null)).isFalse();
+			assertThat(policy.getTimeLimit()).isLessThanOrEqualTo(System.currentTimeMillis());
 		}
 
 		/**
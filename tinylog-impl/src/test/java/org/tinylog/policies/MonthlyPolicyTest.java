@@ -0,0 +1,168 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.policies;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.tinylog.configuration.ServiceLoader;
+import org.tinylog.rules.SystemStreamCollector;
+import org.tinylog.util.FileSystem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+/**
+ * Tests for {@link MonthlyPolicy}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(AbstractDatePolicy.class)
+public final class MonthlyPolicyTest {
+
+	/**
+	 * Redirects and collects system output streams.
+	 */
+	@Rule
+	public final SystemStreamCollector systemStream = new SystemStreamCollector(true);
+
+	/**
+	 * Initialize mocking of {@link System} and {@link Calendar}.
+	 */
+	@Before
+	public void init() {
+		mockStatic(System.class, Calendar.class);
+	}
+
+	/**
+	 * Verifies that an already existing file from the current month will be continued, but not from the last month.
+	 *
+	 * @throws IOException
+	 *             Failed creating temporary file
+	 */
+	@Test
+	public void continueExistingFile() throws IOException {
+		setTime(LocalDate.of(1985, 6, 15), LocalTime.of(12, 0));
+		MonthlyPolicy policy = new MonthlyPolicy(null);
+
+		assertThat(policy.continueExistingFile(createFile(LocalDate.of(1985, 6, 1), LocalTime.of(0, 0)))).isTrue();
+		assertThat(policy.continueExistingFile(createFile(LocalDate.of(1985, 5, 31), LocalTime.of(23, 59)))).isFalse();
+	}
+
+	/**
+	 * Verifies that the current file will be discontinued at the first day of the next month.
+	 */
+	@Test
+	public void rolloverAtFirstDayOfMonth() {
+		setTime(LocalDate.of(1985, 6, 15), LocalTime.of(12, 0));
+		MonthlyPolicy policy = new MonthlyPolicy(null);
+		assertThat(policy.getTimeLimit()).isGreaterThan(System.currentTimeMillis());
+
+		setTime(LocalDate.of(1985, 6, 30), LocalTime.of(23, 59));
+		assertThat(policy.getTimeLimit()).isGreaterThan(System.currentTimeMillis());
+
+		setTime(LocalDate.of(1985, 7, 1), LocalTime.of(0, 0));
+		assertThat(policy.getTimeLimit()).isLessThanOrEqualTo(System.currentTimeMillis());
+
+		policy.reset();
+		setTime(LocalDate.of(1985, 7, 31), LocalTime.of(23, 59));
+		assertThat(policy.getTimeLimit()).isGreaterThan(System.currentTimeMillis());
+
+		setTime(LocalDate.of(1985, 8, 1), LocalTime.of(0, 0));
+		assertThat(policy.getTimeLimit()).isLessThanOrEqualTo(System.currentTimeMillis());
+	}
+
+	/**
+	 * Verifies that a warning will be output, if an argument is passed.
+	 */
+	@Test
+	public void warnAboutArgument() {
+		setTime(LocalDate.of(1985, 6, 15), LocalTime.of(12, 0));
+		new MonthlyPolicy("abc");
+
+		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("WARN").containsIgnoringCase("argument");
+	}
+
+	/**
+	 * Verifies that policy is registered as service under the name "monthly".
+	 */
+	@Test
+	public void isRegistered() {
+		setTime(LocalDate.of(1985, 6, 15), LocalTime.of(12, 0));
+		Policy policy = new ServiceLoader<>(Policy.class, String.class).create("monthly", (String) null);
+		assertThat(policy).isInstanceOf(MonthlyPolicy.class);
+	}
+
+	/**
+	 * Creates a temporary file with a defined last modification date.
+	 *
+	 * @param date
+	 *            Local date of last modification
+	 * @param time
+	 *            Local time of last modification
+	 * @return Path to created file
+	 * @throws IOException
+	 *             Failed creating temporary file
+	 */
+	private static String createFile(final LocalDate date, final LocalTime time) throws IOException {
+		String path = FileSystem.createTemporaryFile();
+		new File(path).setLastModified(asEpochMilliseconds(date, time));
+		return path;
+	}
+
+	/**
+	 * Sets the current date and time.
+	 *
+	 * @param date
+	 *            New current date
+	 * @param time
+	 *            New current time
+	 */
+	private static void setTime(final LocalDate date, final LocalTime time) {
+		long milliseconds = asEpochMilliseconds(date, time);
+
+		when(System.currentTimeMillis()).thenReturn(milliseconds);
+		when(Calendar.getInstance()).then(invocation -> {
+			Calendar calendar = new GregorianCalendar();
+			calendar.setTimeInMillis(milliseconds);
+			return calendar;
+		});
+	}
+
+	/**
+	 * Converts a local date and time to epoch milliseconds.
+	 *
+	 * @param date
+	 *            Local date
+	 * @param time
+	 *            Local time
+	 * @return Milliseconds since 1970-01-01T00:00:00Z
+	 */
+	private static long asEpochMilliseconds(final LocalDate date, final LocalTime time) {
+		return ZonedDateTime.of(date, time, ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.policies;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.tinylog.util.FileSystem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+/**
+ * Tests for {@link PolicyEvaluator}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ PolicyEvaluator.class, AbstractDatePolicy.class })
+public final class PolicyEvaluatorTest {
+
+	/**
+	 * Initialize mocking of {@link System} and {@link Calendar}.
+	 */
+	@Before
+	public void init() {
+		mockStatic(System.class, Calendar.class);
+		setTime(LocalTime.of(12, 10));
+	}
+
+	/**
+	 * Verifies that log files will be continued forever, if there are no size or time limits.
+	 */
+	@Test
+	public void unlimited() {
+		PolicyEvaluator evaluator = new PolicyEvaluator(Collections.singletonList(new StartupPolicy(null)));
+		assertThat(evaluator.continueCurrentFile(Integer.MAX_VALUE)).isTrue();
+		assertThat(evaluator.continueCurrentFile(Integer.MAX_VALUE)).isTrue();
+	}
+
+	/**
+	 * Verifies that the smallest size limit of all policies will be applied and the initial size after a reset will
+	 * be taken into account.
+	 */
+	@Test
+	public void smallestSizeLimit() {
+		PolicyEvaluator evaluator = new PolicyEvaluator(Arrays.asList(new SizePolicy("20"), new SizePolicy("10")));
+		assertThat(evaluator.continueCurrentFile(10)).isTrue();
+		assertThat(evaluator.continueCurrentFile(1)).isFalse();
+
+		evaluator.reset(1);
+		assertThat(evaluator.continueCurrentFile(9)).isTrue();
+		assertThat(evaluator.continueCurrentFile(1)).isFalse();
+	}
+
+	/**
+	 * Verifies that a time limit will be applied and updated after a reset.
+	 */
+	@Test
+	public void timeLimit() {
+		PolicyEvaluator evaluator = new PolicyEvaluator(Arrays.asList(new HourlyPolicy(null), new SizePolicy("1 MB")));
+		assertThat(evaluator.continueCurrentFile(1)).isTrue();
+
+		setTime(LocalTime.of(12, 59));
+		assertThat(evaluator.continueCurrentFile(1)).isTrue();
+
+		setTime(LocalTime.of(13, 0));
+		assertThat(evaluator.continueCurrentFile(1)).isFalse();
+
+		evaluator.reset(1);
+		assertThat(evaluator.continueCurrentFile(1)).isTrue();
+	}
+
+	/**
+	 * Verifies that the size of a continued existing log file will be taken into account.
+	 *
+	 * @throws IOException
+	 *             Failed creating temporary file
+	 */
+	@Test
+	public void continueExistingFile() throws IOException {
+		String path = FileSystem.createTemporaryFile("123456789");
+		new File(path).setLastModified(asEpochMilliseconds(LocalTime.of(12, 5)));
+
+		PolicyEvaluator evaluator = new PolicyEvaluator(Arrays.asList(new HourlyPolicy(null), new SizePolicy("20")));
+		assertThat(evaluator.continueExistingFile(path)).isTrue();
+		assertThat(evaluator.continueCurrentFile((int) (20 - new File(path).length()))).isTrue();
+		assertThat(evaluator.continueCurrentFile(1)).isFalse();
+	}
+
+	/**
+	 * Verifies that an existing log file will be discontinued, if at least one policy disagrees.
+	 *
+	 * @throws IOException
+	 *             Failed creating temporary file
+	 */
+	@Test
+	public void discontinueExistingFile() throws IOException {
+		String path = FileSystem.createTemporaryFile("123456789");
+		new File(path).setLastModified(asEpochMilliseconds(LocalTime.of(11, 59)));
+
+		PolicyEvaluator evaluator = new PolicyEvaluator(Arrays.asList(new HourlyPolicy(null), new SizePolicy("20")));
+		assertThat(evaluator.continueExistingFile(path)).isFalse();
+	}
+
+	/**
+	 * Verifies that an updated file size will be taken into account for size limits.
+	 */
+	@Test
+	public void updateSize() {
+		PolicyEvaluator evaluator = new PolicyEvaluator(Arrays.asList(new SizePolicy("20")));
+		assertThat(evaluator.continueCurrentFile(5)).isTrue();
+
+		evaluator.updateSize(18);
+		assertThat(evaluator.continueCurrentFile(2)).isTrue();
+		assertThat(evaluator.continueCurrentFile(1)).isFalse();
+	}
+
+	/**
+	 * Sets the current time at 1985-06-03.
+	 *
+	 * @param time
+	 *            New current time
+	 */
+	private static void setTime(final LocalTime time) {
+		long milliseconds = asEpochMilliseconds(time);
+
+		when(System.currentTimeMillis()).thenReturn(milliseconds);
+		when(Calendar.getInstance()).then(invocation -> {
+			Calendar calendar = new GregorianCalendar();
+			calendar.setTimeInMillis(milliseconds);
+			return calendar;
+		});
+	}
+
+	/**
+	 * Converts a local time at 1985-06-03 to epoch milliseconds.
+	 *
+	 * @param time
+	 *            Local time
+	 * @return Milliseconds since 1970-01-01T00:00:00Z
+	 */
+	private static long asEpochMilliseconds(final LocalTime time) {
+		return ZonedDateTime.of(LocalDate.of(1985, 6, 3), time, ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+}
@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -144,10 +145,15 @@ public final class SizePolicyTest {
 			String file = createTemporaryFile(size - 1);
 			Policy policy = new SizePolicy(argument);
 			assertThat(policy.continueExistingFile(file)).isTrue();
-			assertThat(policy.continueCurrentFile(new byte[1])).isTrue();
-			assertThat(policy.continueCurrentFile(new byte[1])).isFalse();
-			policy.reset();
-			assertThat(policy.continueCurrentFile(new byte[1])).isTrue();
+			assertThat(policy.getSizeLimit()).isEqualTo(size);
+			assertThat(policy.getTimeLimit()).isEqualTo(Long.MAX_VALUE);
+
+			PolicyEvaluator evaluator = new PolicyEvaluator(Collections.singletonList(policy));
+			assertThat(evaluator.continueExistingFile(file)).isTrue();
+			assertThat(evaluator.continueCurrentFile(1)).isTrue();
+			assertThat(evaluator.continueCurrentFile(1)).isFalse();
+			evaluator.reset(0);
+			assertThat(evaluator.continueCurrentFile(1)).isTrue();
 		}
 
 		/**
@@ -51,7 +51,9 @@ public final class StartupPolicyTest {
 	 */
 	@Test
 	public void continueCurrentFile() {
-		assertThat(new StartupPolicy(null).continueCurrentFile(new byte[0])).isTrue();
+		StartupPolicy policy = new StartupPolicy(null);
+		assertThat(policy.getSizeLimit()).isEqualTo(Long.MAX_VALUE);
+		assertThat(policy.getTimeLimit()).isEqualTo(Long.MAX_VALUE);
 	}
 
 	/**
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.writers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link BackupRetention}.
+ */
+public final class BackupRetentionTest {
+
+	/**
+	 * Temporary folder for creating volatile files.
+	 */
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Verifies that nothing will be indexed or deleted, if no retention limit is defined.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void disabled() throws IOException {
+		File file = createFile("0.log", 100, 0);
+
+		BackupRetention retention = new BackupRetention(-1, -1, -1, null);
+		assertThat(retention.isEnabled()).isFalse();
+
+		retention.seed(Arrays.asList(file));
+		retention.apply();
+
+		assertThat(retention.getCount()).isZero();
+		assertThat(file).exists();
+	}
+
+	/**
+	 * Verifies that the oldest backups will be deleted, if there are more backups than allowed.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void limitByCount() throws IOException {
+		File file1 = createFile("1.log", 10, 3000);
+		File file2 = createFile("2.log", 10, 2000);
+		File file3 = createFile("3.log", 10, 1000);
+
+		BackupRetention retention = new BackupRetention(2, -1, -1, null);
+		assertThat(retention.isEnabled()).isTrue();
+
+		retention.seed(Arrays.asList(file1, file2, file3));
+		retention.apply();
+
+		assertThat(file1).exists();
+		assertThat(file2).exists();
+		assertThat(file3).doesNotExist();
+		assertThat(retention.getCount()).isEqualTo(2);
+		assertThat(retention.getTotalSize()).isEqualTo(20);
+
+		File file0 = createFile("0.log", 10, 4000);
+		retention.add(file0);
+		retention.apply();
+
+		assertThat(file0).exists();
+		assertThat(file1).exists();
+		assertThat(file2).doesNotExist();
+		assertThat(retention.getCount()).isEqualTo(2);
+	}
+
+	/**
+	 * Verifies that the oldest backups will be deleted, if the total size of all backups exceeds the defined limit.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void limitByTotalSize() throws IOException {
+		File file1 = createFile("1.log", 40, 3000);
+		File file2 = createFile("2.log", 40, 2000);
+		File file3 = createFile("3.log", 40, 1000);
+
+		BackupRetention retention = new BackupRetention(-1, 100, -1, null);
+		retention.seed(Arrays.asList(file1, file2, file3));
+		retention.apply();
+
+		assertThat(file1).exists();
+		assertThat(file2).exists();
+		assertThat(file3).doesNotExist();
+		assertThat(retention.getTotalSize()).isEqualTo(80);
+
+		File file0 = createFile("0.log", 70, 4000);
+		retention.add(file0);
+		retention.apply();
+
+		assertThat(file0).exists();
+		assertThat(file1).doesNotExist();
+		assertThat(file2).doesNotExist();
+		assertThat(retention.getCount()).isEqualTo(1);
+		assertThat(retention.getTotalSize()).isEqualTo(70);
+	}
+
+	/**
+	 * Verifies that backups will be deleted, if they are older than allowed.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void limitByAge() throws IOException {
+		long now = System.currentTimeMillis();
+		File file1 = createFile("1.log", 10, now - TimeUnit.HOURS.toMillis(1));
+		File file2 = createFile("2.log", 10, now - TimeUnit.DAYS.toMillis(2));
+
+		BackupRetention retention = new BackupRetention(-1, -1, TimeUnit.DAYS.toMillis(1), null);
+		retention.seed(Arrays.asList(file1, file2));
+		retention.apply();
+
+		assertThat(file1).exists();
+		assertThat(file2).doesNotExist();
+		assertThat(retention.getCount()).isEqualTo(1);
+	}
+
+	/**
+	 * Verifies that backups, which have been replaced by compressed siblings, are tracked with their compressed size.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void compressedSiblings() throws IOException {
+		File file1 = createFile("1.log", 60, 3000);
+		File file2 = createFile("2.log", 60, 2000);
+
+		BackupRetention retention = new BackupRetention(-1, 100, -1, ".gz");
+		retention.seed(Arrays.asList(file1, file2));
+
+		File compressed = createFile("2.log.gz", 20, 2000);
+		assertThat(file2.delete()).isTrue();
+
+		retention.apply();
+
+		assertThat(file1).exists();
+		assertThat(compressed).exists();
+		assertThat(retention.getCount()).isEqualTo(2);
+		assertThat(retention.getTotalSize()).isEqualTo(80);
+	}
+
+	/**
+	 * Verifies that file sizes with and without units can be parsed.
+	 */
+	@Test
+	public void parseSize() {
+		assertThat(BackupRetention.parseSize(null)).isEqualTo(-1);
+		assertThat(BackupRetention.parseSize("42")).isEqualTo(42);
+		assertThat(BackupRetention.parseSize("10 KB")).isEqualTo(10 * 1024);
+		assertThat(BackupRetention.parseSize("5mb")).isEqualTo(5 * 1024 * 1024);
+		assertThat(BackupRetention.parseSize("2GB")).isEqualTo(2L * 1024 * 1024 * 1024);
+	}
+
+	/**
+	 * Verifies that ages with and without units can be parsed.
+	 */
+	@Test
+	public void parseAge() {
+		assertThat(BackupRetention.parseAge(null)).isEqualTo(-1);
+		assertThat(BackupRetention.parseAge("7")).isEqualTo(TimeUnit.DAYS.toMillis(7));
+		assertThat(BackupRetention.parseAge("30d")).isEqualTo(TimeUnit.DAYS.toMillis(30));
+		assertThat(BackupRetention.parseAge("12h")).isEqualTo(TimeUnit.HOURS.toMillis(12));
+		assertThat(BackupRetention.parseAge("15 m")).isEqualTo(TimeUnit.MINUTES.toMillis(15));
+		assertThat(BackupRetention.parseAge("90s")).isEqualTo(TimeUnit.SECONDS.toMillis(90));
+		assertThat(BackupRetention.parseAge("500ms")).isEqualTo(500);
+	}
+
+	/**
+	 * Verifies that invalid and non-positive values are rejected.
+	 */
+	@Test
+	public void invalidValues() {
+		assertThatThrownBy(() -> BackupRetention.parseSize("abc")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("abc");
+		assertThatThrownBy(() -> BackupRetention.parseSize("0MB")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("0MB");
+		assertThatThrownBy(() -> BackupRetention.parseAge("-1d")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("-1d");
+		assertThatThrownBy(() -> BackupRetention.parseAge("2w")).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("2w");
+	}
+
+	/**
+	 * Creates a file with a defined size and last modification date.
+	 *
+	 * @param name
+	 *            File name
+	 * @param size
+	 *            Size in bytes
+	 * @param lastModified
+	 *            Last modification date in milliseconds
+	 * @return Created file
+	 * @throws IOException
+	 *             Failed to create file
+	 */
+	private File createFile(final String name, final int size, final long lastModified) throws IOException {
+		File file = folder.newFile(name);
+		Files.write(file.toPath(), new byte[size]);
+		assertThat(file.setLastModified(lastModified)).isTrue();
+		return file;
+	}
+
+}
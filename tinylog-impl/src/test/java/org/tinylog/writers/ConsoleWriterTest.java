@@ -13,15 +13,23 @@
 
 package org.tinylog.writers;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.powermock.reflect.Whitebox;
 import org.tinylog.Level;
 import org.tinylog.configuration.ServiceLoader;
 import org.tinylog.core.LogEntryValue;
 import org.tinylog.rules.SystemStreamCollector;
 import org.tinylog.util.LogEntryBuilder;
+import org.tinylog.writers.raw.BufferedWriterDecorator;
+import org.tinylog.writers.raw.OutputStreamWriter;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
@@ -52,9 +60,12 @@ public final class ConsoleWriterTest {
 
 	/**
 	 * Verifies that the default pattern contains a minimum set of informations.
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
 	 */
 	@Test
-	public void defaultFormatPattern() {
+	public void defaultFormatPattern() throws IOException {
 		ConsoleWriter writer = new ConsoleWriter(emptyMap());
 
 		assertThat(writer.getRequiredLogEntryValues())
@@ -72,9 +83,12 @@ public final class ConsoleWriterTest {
 
 	/**
 	 * Verifies that a trace log entry will be written to standard output stream.
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
 	 */
 	@Test
-	public void trace() {
+	public void trace() throws IOException {
 		ConsoleWriter writer = new ConsoleWriter(singletonMap("format", "{message}"));
 		writer.write(LogEntryBuilder.empty().level(Level.TRACE).message("Hello World!").create());
 
@@ -83,9 +97,12 @@ public final class ConsoleWriterTest {
 
 	/**
 	 * Verifies that a debug log entry will be written to standard output stream.
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
 	 */
 	@Test
-	public void debug() {
+	public void debug() throws IOException {
 		ConsoleWriter writer = new ConsoleWriter(singletonMap("format", "{message}"));
 		writer.write(LogEntryBuilder.empty().level(Level.DEBUG).message("Hello World!").create());
 
@@ -94,9 +111,12 @@ public final class ConsoleWriterTest {
 
 	/**
 	 * Verifies that an info log entry will be written to standard output stream.
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
 	 */
 	@Test
-	public void info() {
+	public void info() throws IOException {
 		ConsoleWriter writer = new ConsoleWriter(singletonMap("format", "{message}"));
 		writer.write(LogEntryBuilder.empty().level(Level.INFO).message("Hello World!").create());
 
@@ -105,9 +125,12 @@ public final class ConsoleWriterTest {
 
 	/**
 	 * Verifies that a warning log entry will be written to error output stream.
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
 	 */
 	@Test
-	public void warning() {
+	public void warning() throws IOException {
 		ConsoleWriter writer = new ConsoleWriter(singletonMap("format", "{message}"));
 		writer.write(LogEntryBuilder.empty().level(Level.WARN).message("Hello World!").create());
 
@@ -116,9 +139,12 @@ public final class ConsoleWriterTest {
 
 	/**
 	 * Verifies that an error log entry will be written to error output stream.
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
 	 */
 	@Test
-	public void error() {
+	public void error() throws IOException {
 		ConsoleWriter writer = new ConsoleWriter(singletonMap("format", "{message}"));
 		writer.write(LogEntryBuilder.empty().level(Level.ERROR).message("Hello World!").create());
 
@@ -127,9 +153,12 @@ public final class ConsoleWriterTest {
 
 	/**
 	 * Verifies that log entries will be written to standard output stream, if property "stream" is set to "out".
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
 	 */
 	@Test
-	public void standardOutputStream() {
+	public void standardOutputStream() throws IOException {
 		ConsoleWriter writer = new ConsoleWriter(doubletonMap("stream", "out", "format", "{message}"));
 
 		writer.write(LogEntryBuilder.empty().level(Level.TRACE).message("Hello World!").create());
@@ -141,9 +170,12 @@ public final class ConsoleWriterTest {
 
 	/**
 	 * Verifies that log entries will be written to error output stream, if property "stream" is set to "err".
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
 	 */
 	@Test
-	public void errorOutputStream() {
+	public void errorOutputStream() throws IOException {
 		ConsoleWriter writer = new ConsoleWriter(doubletonMap("stream", "err", "format", "{message}"));
 
 		writer.write(LogEntryBuilder.empty().level(Level.TRACE).message("Hello World!").create());
@@ -156,9 +188,12 @@ public final class ConsoleWriterTest {
 	/**
 	 * Verifies that an error message will be output for an invalid stream name. Nevertheless the console writer should
 	 * work normally.
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
 	 */
 	@Test
-	public void invalidOutputStream() {
+	public void invalidOutputStream() throws IOException {
 		ConsoleWriter writer = new ConsoleWriter(doubletonMap("stream", "test", "format", "{message}"));
 		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").containsOnlyOnce("test");
 
@@ -169,6 +204,109 @@ public final class ConsoleWriterTest {
 		assertThat(systemStream.consumeErrorOutput()).contains("Hello World!" + NEW_LINE);
 	}
 
+	/**
+	 * Verifies that log entries with a severity level below the defined level will be written to standard output
+	 * stream and all others to error output stream, if property "stream" is set to "err@&lt;level&gt;".
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
+	 */
+	@Test
+	public void errorOutputStreamFromLevel() throws IOException {
+		ConsoleWriter writer = new ConsoleWriter(doubletonMap("stream", "err@info", "format", "{message}"));
+
+		writer.write(LogEntryBuilder.empty().level(Level.DEBUG).message("Hello World!").create());
+		assertThat(systemStream.consumeStandardOutput()).contains("Hello World!" + NEW_LINE);
+		assertThat(systemStream.consumeErrorOutput()).isEmpty();
+
+		writer.write(LogEntryBuilder.empty().level(Level.INFO).message("Hello World!").create());
+		assertThat(systemStream.consumeStandardOutput()).isEmpty();
+		assertThat(systemStream.consumeErrorOutput()).contains("Hello World!" + NEW_LINE);
+	}
+
+	/**
+	 * Verifies that an error message will be output for an invalid severity level for the error output stream. The
+	 * default routing should be used in this case.
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
+	 */
+	@Test
+	public void invalidErrorOutputStreamLevel() throws IOException {
+		ConsoleWriter writer = new ConsoleWriter(doubletonMap("stream", "err@test", "format", "{message}"));
+		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").containsOnlyOnce("test");
+
+		writer.write(LogEntryBuilder.empty().level(Level.INFO).message("Hello World!").create());
+		assertThat(systemStream.consumeStandardOutput()).contains("Hello World!" + NEW_LINE);
+
+		writer.write(LogEntryBuilder.empty().level(Level.WARN).message("Hello World!").create());
+		assertThat(systemStream.consumeErrorOutput()).contains("Hello World!" + NEW_LINE);
+	}
+
+	/**
+	 * Verifies that buffered output is ignored, if writing thread is disabled, as nobody would flush the buffers
+	 * regularly.
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
+	 */
+	@Test
+	public void bufferedOutputWithoutWritingThread() throws IOException {
+		ConsoleWriter writer = new ConsoleWriter(doubletonMap("buffered", "true", "format", "{message}"));
+		assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("WARN").containsOnlyOnce("writing thread");
+
+		writer.write(LogEntryBuilder.empty().level(Level.ERROR).message("Hello World!").create());
+		assertThat(systemStream.consumeErrorOutput()).isEqualTo("Hello World!" + NEW_LINE);
+
+		writer.close();
+	}
+
+	/**
+	 * Verifies that buffered log entries are routed to the separate buffers of both output streams and output not
+	 * before flushing or switching to the other stream, if writing thread is enabled.
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
+	 */
+	@Test
+	public void bufferedOutputWithWritingThread() throws IOException {
+		ConsoleWriter writer = new ConsoleWriter(createBufferedProperties());
+
+		ByteArrayOutputStream standardStream = new ByteArrayOutputStream();
+		ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+		Whitebox.setInternalState(writer, "standardWriter", new BufferedWriterDecorator(new OutputStreamWriter(standardStream)));
+		Whitebox.setInternalState(writer, "errorWriter", new BufferedWriterDecorator(new OutputStreamWriter(errorStream)));
+
+		writer.write(LogEntryBuilder.empty().level(Level.INFO).message("Hello").create());
+		assertThat(standardStream.size()).isZero();
+
+		writer.write(LogEntryBuilder.empty().level(Level.ERROR).message("World").create());
+		assertThat(new String(standardStream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("Hello" + NEW_LINE);
+		assertThat(errorStream.size()).isZero();
+
+		writer.flush();
+		assertThat(new String(errorStream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("World" + NEW_LINE);
+
+		writer.close();
+		assertThat(systemStream.consumeStandardOutput()).isEmpty();
+		assertThat(systemStream.consumeErrorOutput()).isEmpty();
+	}
+
+	/**
+	 * Verifies that closing a buffered console writer doesn't close the file descriptors of the system output streams.
+	 *
+	 * @throws IOException
+	 *             Failed writing log entry
+	 */
+	@Test
+	public void closeBufferedOutput() throws IOException {
+		ConsoleWriter writer = new ConsoleWriter(createBufferedProperties());
+		writer.close();
+
+		assertThat(FileDescriptor.out.valid()).isTrue();
+		assertThat(FileDescriptor.err.valid()).isTrue();
+	}
+
 	/**
 	 * Verifies that writer is registered as service under the name "console".
 	 */
@@ -178,4 +316,17 @@ public final class ConsoleWriterTest {
 		assertThat(writer).isInstanceOf(ConsoleWriter.class);
 	}
 
+	/**
+	 * Creates the configuration for a buffered console writer with enabled writing thread.
+	 *
+	 * @return Configuration for console writer
+	 */
+	private static Map<String, String> createBufferedProperties() {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("buffered", "true");
+		properties.put("writingthread", "true");
+		properties.put("format", "{message}");
+		return properties;
+	}
+
 }
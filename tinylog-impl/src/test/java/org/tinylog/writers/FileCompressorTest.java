@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.writers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.tinylog.rules.SystemStreamCollector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link FileCompressor}.
+ */
+public final class FileCompressorTest {
+
+	private static final String CONTENT = "Hello World!\nHello World!\nHello World!\n";
+
+	/**
+	 * Redirects and collects system output streams.
+	 */
+	@Rule
+	public final SystemStreamCollector systemStream = new SystemStreamCollector(true);
+
+	/**
+	 * Temporary folder for creating volatile files.
+	 */
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Verifies that a file can be compressed by GZIP.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void gzip() throws IOException {
+		File file = createFile("test.log", 1000000);
+
+		FileCompressor compressor = new FileCompressor("gzip", Deflater.DEFAULT_COMPRESSION);
+		assertThat(compressor.getExtension()).isEqualTo(".gz");
+
+		File compressed = new File(folder.getRoot(), "test.log.gz");
+		assertThat(compressor.compress(file)).isEqualTo(compressed);
+
+		assertThat(file).doesNotExist();
+		assertThat(compressed).exists();
+		assertThat(compressed.lastModified()).isEqualTo(1000000);
+		assertThat(read(new GZIPInputStream(new FileInputStream(compressed)))).isEqualTo(CONTENT);
+		assertThat(folder.getRoot().list()).containsExactly("test.log.gz");
+	}
+
+	/**
+	 * Verifies that a file can be compressed by Deflate with a custom compression level.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void deflate() throws IOException {
+		File file = createFile("test.log", 2000000);
+
+		FileCompressor compressor = new FileCompressor("Deflate", Deflater.BEST_COMPRESSION);
+		assertThat(compressor.getExtension()).isEqualTo(".deflate");
+
+		File compressed = new File(folder.getRoot(), "test.log.deflate");
+		assertThat(compressor.compress(file)).isEqualTo(compressed);
+
+		assertThat(file).doesNotExist();
+		assertThat(compressed).exists();
+		assertThat(compressed.lastModified()).isEqualTo(2000000);
+		assertThat(read(new InflaterInputStream(new FileInputStream(compressed)))).isEqualTo(CONTENT);
+	}
+
+	/**
+	 * Verifies that multiple files can be compressed one after another.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void multipleFiles() throws IOException {
+		File first = createFile("1.log", 1000000);
+		File second = createFile("2.log", 2000000);
+
+		FileCompressor compressor = new FileCompressor("gzip", Deflater.BEST_SPEED);
+		compressor.compress(first);
+		compressor.compress(second);
+
+		assertThat(folder.getRoot().list()).containsExactlyInAnyOrder("1.log.gz", "2.log.gz");
+	}
+
+	/**
+	 * Verifies that a no longer existing file will be silently ignored.
+	 */
+	@Test
+	public void missingFile() {
+		FileCompressor compressor = new FileCompressor("gzip", Deflater.DEFAULT_COMPRESSION);
+		File file = new File(folder.getRoot(), "missing.log");
+		assertThat(compressor.compress(file)).isEqualTo(file);
+
+		assertThat(folder.getRoot().list()).isEmpty();
+	}
+
+	/**
+	 * Verifies that an exception will be thrown for an unsupported compression algorithm.
+	 */
+	@Test
+	public void unsupportedAlgorithm() {
+		assertThatThrownBy(() -> new FileCompressor("zip", Deflater.DEFAULT_COMPRESSION))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("zip");
+	}
+
+	/**
+	 * Creates a new file with {@link #CONTENT} in the temporary folder.
+	 *
+	 * @param name
+	 *            File name
+	 * @param lastModified
+	 *            Last modification date in milliseconds
+	 * @return Created file
+	 * @throws IOException
+	 *             Failed to create file
+	 */
+	private File createFile(final String name, final long lastModified) throws IOException {
+		File file = folder.newFile(name);
+		Files.write(file.toPath(), CONTENT.getBytes(StandardCharsets.UTF_8));
+		file.setLastModified(lastModified);
+		return file;
+	}
+
+	/**
+	 * Reads the entire content of a stream and closes it afterwards.
+	 *
+	 * @param stream
+	 *            Stream to read
+	 * @return Read content as UTF-8 string
+	 * @throws IOException
+	 *             Failed to read stream
+	 */
+	private static String read(final InputStream stream) throws IOException {
+		try {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			for (int count = stream.read(buffer); count >= 0; count = stream.read(buffer)) {
+				output.write(buffer, 0, count);
+			}
+			return new String(output.toByteArray(), StandardCharsets.UTF_8);
+		} finally {
+			stream.close();
+		}
+	}
+
+}
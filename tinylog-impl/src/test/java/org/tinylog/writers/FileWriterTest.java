@@ -13,9 +13,13 @@
 
 package org.tinylog.writers;
 
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -121,6 +125,73 @@ public final class FileWriterTest {
 		assertThat(FileSystem.readFile(file)).isEqualTo("Test" + NEW_LINE + "Hello World!" + NEW_LINE);
 	}
 
+	/**
+	 * Verifies that log entries will be compressed in GZIP format, if compression is enabled. Continued files must
+	 * remain decompressible as a whole.
+	 *
+	 * @throws IOException
+	 *             Failed writing to or reading from file
+	 */
+	@Test
+	public void compressedWriting() throws IOException {
+		String file = FileSystem.createTemporaryFile();
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", file);
+		properties.put("format", "{message}");
+		properties.put("append", "true");
+		properties.put("compression", "gzip");
+		properties.put("compression.level", "9");
+
+		FileWriter writer = new FileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("Hello World!").create());
+		writer.close();
+
+		writer = new FileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("Goodbye").create());
+		writer.close();
+
+		InputStream stream = new GZIPInputStream(new FileInputStream(file));
+		try {
+			byte[] content = new byte[1024];
+			int length = 0;
+			for (int count = stream.read(content); count >= 0; count = stream.read(content, length, content.length - length)) {
+				length += count;
+			}
+			assertThat(new String(content, 0, length, StandardCharsets.UTF_8)).isEqualTo("Hello World!" + NEW_LINE + "Goodbye" + NEW_LINE);
+		} finally {
+			stream.close();
+		}
+	}
+
+	/**
+	 * Verifies that an exception will be thrown for an unsupported compression algorithm.
+	 *
+	 * @throws IOException
+	 *             Failed creating temporary file
+	 */
+	@Test
+	public void unsupportedCompression() throws IOException {
+		String file = FileSystem.createTemporaryFile();
+		assertThatThrownBy(() -> new FileWriter(doubletonMap("file", file, "compression", "zip")))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("zip");
+	}
+
+	/**
+	 * Verifies that an exception will be thrown for an invalid compression level.
+	 *
+	 * @throws IOException
+	 *             Failed creating temporary file
+	 */
+	@Test
+	public void invalidCompressionLevel() throws IOException {
+		String file = FileSystem.createTemporaryFile();
+		assertThatThrownBy(() -> new FileWriter(tripletonMap("file", file, "compression", "gzip", "compression.level", "fast")))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("fast");
+	}
+
 	/**
 	 * Verifies that writing works and underlying byte array writer is thread-safe, if writing thread is disable.
 	 *
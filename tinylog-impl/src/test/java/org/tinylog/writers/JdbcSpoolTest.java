@@ -0,0 +1,327 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.writers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.tinylog.Level;
+import org.tinylog.core.LogEntry;
+import org.tinylog.pattern.FormatPatternParser;
+import org.tinylog.pattern.Token;
+import org.tinylog.rules.SystemStreamCollector;
+import org.tinylog.util.FileSystem;
+import org.tinylog.util.LogEntryBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link JdbcSpool}.
+ */
+public final class JdbcSpoolTest {
+
+	/**
+	 * Redirects and collects system output streams.
+	 */
+	@Rule
+	public final SystemStreamCollector systemStream = new SystemStreamCollector(true);
+
+	private final List<Token> tokens = Arrays.asList(
+		FormatPatternParser.parse("{date}"),
+		FormatPatternParser.parse("{level}"),
+		FormatPatternParser.parse("{line}"),
+		FormatPatternParser.parse("{message}")
+	);
+
+	private String path;
+	private Connection connection;
+
+	/**
+	 * Creates a new in-memory database with a log table and a path for the spool file.
+	 *
+	 * @throws IOException
+	 *             Failed to create temporary file
+	 * @throws SQLException
+	 *             Failed to create database
+	 */
+	@Before
+	public void init() throws IOException, SQLException {
+		path = FileSystem.createTemporaryFile();
+		new File(path).delete();
+
+		connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID());
+		execute("CREATE TABLE LOGS (DATE TIMESTAMP, LEVEL VARCHAR(7), LINE INT, MESSAGE CLOB)");
+	}
+
+	/**
+	 * Closes the in-memory database and deletes the spool file.
+	 *
+	 * @throws SQLException
+	 *             Failed to close database
+	 */
+	@After
+	public void dispose() throws SQLException {
+		connection.close();
+		new File(path).delete();
+	}
+
+	/**
+	 * Verifies that spooled log entries will be inserted with their original values.
+	 *
+	 * @throws Exception
+	 *             Failed to spool or replay log entries
+	 */
+	@Test
+	public void spoolAndReplay() throws Exception {
+		JdbcSpool spool = new JdbcSpool(path, Long.MAX_VALUE);
+		assertThat(spool.isEmpty()).isTrue();
+
+		assertThat(spool.append(tokens, createLogEntry(Level.INFO, 1, "One"))).isTrue();
+		assertThat(spool.append(tokens, createLogEntry(Level.WARN, 2, null))).isTrue();
+		assertThat(spool.append(tokens, createLogEntry(Level.ERROR, 3, "Thr€€"))).isTrue();
+
+		assertThat(spool.isEmpty()).isFalse();
+		assertThat(spool.getPendingCount()).isEqualTo(3);
+		assertThat(spool.getSpooledCount()).isEqualTo(3);
+
+		assertThat(replay(spool, 2)).isEqualTo(3);
+
+		assertThat(spool.isEmpty()).isTrue();
+		assertThat(spool.getReplayedCount()).isEqualTo(3);
+		assertThat(new File(path)).doesNotExist();
+
+		assertThat(fetchRows()).containsExactly(
+			"1985-06-03 00:00:00.0|INFO|1|One",
+			"1985-06-03 00:00:00.0|WARN|2|null",
+			"1985-06-03 00:00:00.0|ERROR|3|Thr€€"
+		);
+	}
+
+	/**
+	 * Verifies that log entries will be refused if the maximum size of the spool file would be exceeded.
+	 *
+	 * @throws Exception
+	 *             Failed to spool log entries
+	 */
+	@Test
+	public void maximumSize() throws Exception {
+		JdbcSpool spool = new JdbcSpool(path, 100);
+
+		assertThat(spool.append(tokens, createLogEntry(Level.INFO, 1, "One"))).isTrue();
+		assertThat(spool.append(tokens, createLogEntry(Level.INFO, 2, "Two"))).isTrue();
+		assertThat(spool.append(tokens, createLogEntry(Level.INFO, 3, "Three"))).isFalse();
+
+		assertThat(spool.getPendingCount()).isEqualTo(2);
+		assertThat(new File(path).length()).isLessThanOrEqualTo(100);
+	}
+
+	/**
+	 * Verifies that already inserted batches will not be inserted again, if a later batch fails.
+	 *
+	 * @throws Exception
+	 *             Failed to spool or replay log entries
+	 */
+	@Test
+	public void continueAfterFailedBatch() throws Exception {
+		JdbcSpool spool = new JdbcSpool(path, Long.MAX_VALUE);
+		spool.append(tokens, createLogEntry(Level.INFO, 1, "One"));
+		spool.append(tokens, createLogEntry(Level.INFO, 2, "Two"));
+		spool.append(tokens, createLogEntry(Level.INFO, 3, "Three"));
+
+		execute("ALTER TABLE LOGS ADD CONSTRAINT LIMITED CHECK LINE < 3");
+		assertThatThrownBy(() -> replay(spool, 2)).isInstanceOf(SQLException.class);
+
+		assertThat(spool.getPendingCount()).isEqualTo(1);
+
+		execute("ALTER TABLE LOGS DROP CONSTRAINT LIMITED");
+		assertThat(replay(spool, 2)).isEqualTo(1);
+
+		assertThat(fetchRows()).extracting(row -> row.substring(row.lastIndexOf('|') + 1)).containsExactly("One", "Two", "Three");
+	}
+
+	/**
+	 * Verifies that a failed batch will be rolled back completely and can be replayed again without duplicates.
+	 *
+	 * @throws Exception
+	 *             Failed to spool or replay log entries
+	 */
+	@Test
+	public void rollbackFailedBatch() throws Exception {
+		JdbcSpool spool = new JdbcSpool(path, Long.MAX_VALUE);
+		spool.append(tokens, createLogEntry(Level.INFO, 1, "One"));
+		spool.append(tokens, createLogEntry(Level.INFO, 2, "Two"));
+		spool.append(tokens, createLogEntry(Level.INFO, 3, "Three"));
+
+		execute("ALTER TABLE LOGS ADD CONSTRAINT LIMITED CHECK LINE < 3");
+		assertThatThrownBy(() -> replay(spool, 3)).isInstanceOf(SQLException.class);
+
+		assertThat(spool.getPendingCount()).isEqualTo(3);
+		assertThat(fetchRows()).isEmpty();
+		assertThat(connection.getAutoCommit()).isTrue();
+
+		execute("ALTER TABLE LOGS DROP CONSTRAINT LIMITED");
+		assertThat(replay(spool, 3)).isEqualTo(3);
+
+		assertThat(fetchRows()).extracting(row -> row.substring(row.lastIndexOf('|') + 1)).containsExactly("One", "Two", "Three");
+	}
+
+	/**
+	 * Verifies that already inserted batches will not be inserted again by a new spool instance, if the spool file has
+	 * been closed after a partial replay.
+	 *
+	 * @throws Exception
+	 *             Failed to spool or replay log entries
+	 */
+	@Test
+	public void resumeReplayAfterReopening() throws Exception {
+		JdbcSpool spool = new JdbcSpool(path, Long.MAX_VALUE);
+		spool.append(tokens, createLogEntry(Level.INFO, 1, "One"));
+		spool.append(tokens, createLogEntry(Level.INFO, 2, "Two"));
+		spool.append(tokens, createLogEntry(Level.INFO, 3, "Three"));
+
+		execute("ALTER TABLE LOGS ADD CONSTRAINT LIMITED CHECK LINE < 3");
+		assertThatThrownBy(() -> replay(spool, 2)).isInstanceOf(SQLException.class);
+		spool.close();
+
+		execute("ALTER TABLE LOGS DROP CONSTRAINT LIMITED");
+
+		JdbcSpool reopened = new JdbcSpool(path, Long.MAX_VALUE);
+		assertThat(reopened.getPendingCount()).isEqualTo(1);
+		assertThat(replay(reopened, 2)).isEqualTo(1);
+
+		assertThat(reopened.isEmpty()).isTrue();
+		assertThat(new File(path)).doesNotExist();
+
+		assertThat(fetchRows()).extracting(row -> row.substring(row.lastIndexOf('|') + 1)).containsExactly("One", "Two", "Three");
+	}
+
+	/**
+	 * Verifies that log entries from an existing spool file will be taken over and an incomplete last record will be
+	 * cut off.
+	 *
+	 * @throws Exception
+	 *             Failed to spool or replay log entries
+	 */
+	@Test
+	public void recoverExistingFile() throws Exception {
+		JdbcSpool spool = new JdbcSpool(path, Long.MAX_VALUE);
+		spool.append(tokens, createLogEntry(Level.INFO, 1, "One"));
+		spool.append(tokens, createLogEntry(Level.INFO, 2, "Two"));
+		spool.close();
+
+		try (RandomAccessFile file = new RandomAccessFile(path, "rw")) {
+			file.setLength(file.length() - 1);
+		}
+
+		spool = new JdbcSpool(path, Long.MAX_VALUE);
+		assertThat(spool.getPendingCount()).isEqualTo(1);
+
+		assertThat(replay(spool, 10)).isEqualTo(1);
+
+		assertThat(fetchRows()).containsExactly("1985-06-03 00:00:00.0|INFO|1|One");
+	}
+
+	/**
+	 * Creates a log entry with fixed date.
+	 *
+	 * @param level
+	 *            Severity level
+	 * @param line
+	 *            Line number
+	 * @param message
+	 *            Text message
+	 * @return Created log entry
+	 */
+	private static LogEntry createLogEntry(final Level level, final int line, final String message) {
+		return LogEntryBuilder.empty().date(LocalDate.of(1985, 6, 3)).level(level).lineNumber(line).message(message).create();
+	}
+
+	/**
+	 * Executes a SQL statement.
+	 *
+	 * @param sql
+	 *            SQL statement to execute
+	 * @throws SQLException
+	 *             Failed to execute SQL statement
+	 */
+	private void execute(final String sql) throws SQLException {
+		Statement statement = connection.createStatement();
+		try {
+			statement.execute(sql);
+		} finally {
+			statement.close();
+		}
+	}
+
+	/**
+	 * Replays all spooled log entries into the log table.
+	 *
+	 * @param spool
+	 *            Spool file to replay
+	 * @param batchSize
+	 *            Maximum number of log entries per batch
+	 * @return Number of replayed log entries
+	 * @throws IOException
+	 *             Failed to read spool file
+	 * @throws SQLException
+	 *             Failed to insert log entries
+	 */
+	private long replay(final JdbcSpool spool, final int batchSize) throws IOException, SQLException {
+		PreparedStatement statement = connection.prepareStatement("INSERT INTO LOGS (DATE, LEVEL, LINE, MESSAGE) VALUES (?, ?, ?, ?)");
+		try {
+			return spool.replay(statement, batchSize);
+		} finally {
+			statement.close();
+		}
+	}
+
+	/**
+	 * Fetches all rows from the log table.
+	 *
+	 * @return Each row as pipe-separated text
+	 * @throws SQLException
+	 *             Failed to query log table
+	 */
+	private List<String> fetchRows() throws SQLException {
+		List<String> rows = new ArrayList<>();
+		Statement statement = connection.createStatement();
+		try {
+			ResultSet result = statement.executeQuery("SELECT DATE, LEVEL, LINE, MESSAGE FROM LOGS ORDER BY LINE");
+			while (result.next()) {
+				rows.add(result.getTimestamp(1) + "|" + result.getString(2) + "|" + result.getInt(3) + "|" + result.getString(4));
+			}
+		} finally {
+			statement.close();
+		}
+		return rows;
+	}
+
+}
@@ -13,6 +13,8 @@
 
 package org.tinylog.writers;
 
+import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -39,10 +41,12 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 import org.powermock.reflect.Whitebox;
+import org.tinylog.Level;
 import org.tinylog.configuration.ServiceLoader;
 import org.tinylog.core.LogEntryValue;
 import org.tinylog.rules.InitialContextRule;
 import org.tinylog.rules.SystemStreamCollector;
+import org.tinylog.util.FileSystem;
 import org.tinylog.util.LogEntryBuilder;
 
 import static java.util.Collections.emptyMap;
@@ -304,6 +308,94 @@ public final class JdbcWriterTest {
 			assertThat(fetchTable(TABLE_NAME)).column("MESSAGE").containsValues("Hello World!");
 		}
 
+		/**
+		 * Verifies that log entries will be inserted into the database table after reaching a configured batch size.
+		 *
+		 * @throws NamingException
+		 *             Failed to find data source
+		 * @throws SQLException
+		 *             Failed to access database
+		 */
+		@Test
+		public void batchedInsertionCustomSize() throws NamingException, SQLException {
+			createTable("MESSAGE CLOB NULL");
+
+			Map<String, String> properties = doubletonMap("batch", "true", "batch.size", "3");
+			JdbcWriter writer = new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), properties));
+
+			writer.write(LogEntryBuilder.empty().message("One").create());
+			writer.write(LogEntryBuilder.empty().message("Two").create());
+			assertThat(fetchTable(TABLE_NAME)).isEmpty();
+
+			writer.write(LogEntryBuilder.empty().message("Three").create());
+			assertThat(fetchTable(TABLE_NAME)).column("MESSAGE").containsValues("One", "Two", "Three");
+
+			writer.close();
+		}
+
+		/**
+		 * Verifies that collected log entries will be inserted into the database table after the configured batch
+		 * interval has elapsed, even if no further log entries are written.
+		 *
+		 * @throws NamingException
+		 *             Failed to find data source
+		 * @throws SQLException
+		 *             Failed to access database
+		 * @throws InterruptedException
+		 *             Failed to sleep until batch interval has elapsed
+		 */
+		@Test
+		public void batchedInsertionInterval() throws NamingException, SQLException, InterruptedException {
+			createTable("MESSAGE CLOB NULL");
+
+			Map<String, String> properties = doubletonMap("batch", "true", "batch.interval", "100");
+			JdbcWriter writer = new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), properties));
+
+			writer.write(LogEntryBuilder.empty().message("One").create());
+			assertThat(fetchTable(TABLE_NAME)).isEmpty();
+
+			Thread.sleep(300);
+			assertThat(fetchTable(TABLE_NAME)).column("MESSAGE").containsValues("One");
+
+			writer.write(LogEntryBuilder.empty().message("Two").create());
+			assertThat(fetchTable(TABLE_NAME)).hasNumberOfRows(1);
+
+			Thread.sleep(300);
+			assertThat(fetchTable(TABLE_NAME)).column("MESSAGE").containsValues("One", "Two");
+
+			writer.close();
+		}
+
+		/**
+		 * Verifies that collected log entries can be inserted via multi-row insert statements, including a final
+		 * statement with fewer rows than the batch size.
+		 *
+		 * @throws NamingException
+		 *             Failed to find data source
+		 * @throws SQLException
+		 *             Failed to access database
+		 */
+		@Test
+		public void multiRowInsertion() throws NamingException, SQLException {
+			createTable("LEVEL VARCHAR(7) NOT NULL", "MESSAGE CLOB NULL");
+
+			Map<String, String> fields = doubletonMap("LEVEL", "{level}", "MESSAGE", "{message}");
+			Map<String, String> properties = tripletonMap("batch", "true", "batch.size", "2", "multirow", "true");
+			JdbcWriter writer = new JdbcWriter(createProperties(fields, properties));
+
+			writer.write(LogEntryBuilder.empty().level(Level.INFO).message("One").create());
+			assertThat(fetchTable(TABLE_NAME)).isEmpty();
+
+			writer.write(LogEntryBuilder.empty().level(Level.WARN).message("Two").create());
+			writer.write(LogEntryBuilder.empty().level(Level.ERROR).message("Three").create());
+			writer.close();
+
+			assertThat(fetchTable(TABLE_NAME))
+				.hasNumberOfRows(3)
+				.column("LEVEL").containsValues("INFO", "WARN", "ERROR")
+				.column("MESSAGE").containsValues("One", "Two", "Three");
+		}
+
 		/**
 		 * Verifies that log entries can be written to a {@link DataSource}.
 		 *
@@ -536,6 +628,314 @@ public final class JdbcWriterTest {
 			assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").containsOnlyOnce("1");
 		}
 
+		/**
+		 * Verifies that log entries will be retained while the connection is broken and inserted after
+		 * re-establishing the connection, if a buffer is configured.
+		 *
+		 * @throws NamingException
+		 *             Failed to find data source
+		 * @throws SQLException
+		 *             Failed to access database
+		 * @throws InterruptedException
+		 *             Failed to sleep before reconnecting try
+		 */
+		@Test
+		public void replayBufferedEntries() throws NamingException, SQLException, InterruptedException {
+			createTable("MESSAGE CLOB NULL");
+
+			Map<String, String> properties = doubletonMap("reconnect", "true", "buffer", "2");
+			JdbcWriter writer = new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), properties));
+
+			writer.write(LogEntryBuilder.empty().message("One").create());
+
+			shutdownDatabase();
+
+			assertThatThrownBy(() -> {
+				writer.write(LogEntryBuilder.empty().message("Two").create());
+			}).isInstanceOf(SQLException.class);
+
+			writer.write(LogEntryBuilder.empty().message("Three").create());
+			writer.write(LogEntryBuilder.empty().message("Four").create());
+
+			createTable("MESSAGE CLOB NULL");
+
+			Thread.sleep(1000);
+
+			writer.write(LogEntryBuilder.empty().message("Five").create());
+			assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").containsOnlyOnce("1");
+
+			writer.close();
+
+			assertThat(fetchTable(TABLE_NAME)).hasNumberOfRows(3).column("MESSAGE").containsValues("Two", "Three", "Five");
+		}
+
+		/**
+		 * Verifies that collected log entries of a failed batch will be retained and inserted after re-establishing
+		 * the connection, if a buffer is configured.
+		 *
+		 * @throws NamingException
+		 *             Failed to find data source
+		 * @throws SQLException
+		 *             Failed to access database
+		 * @throws InterruptedException
+		 *             Failed to sleep before reconnecting try
+		 */
+		@Test
+		public void replayBufferedBatch() throws NamingException, SQLException, InterruptedException {
+			createTable("MESSAGE CLOB NULL");
+
+			Map<String, String> properties = tripletonMap("batch", "true", "reconnect", "true", "buffer", "10");
+			JdbcWriter writer = new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), properties));
+
+			writer.write(LogEntryBuilder.empty().message("One").create());
+			writer.write(LogEntryBuilder.empty().message("Two").create());
+
+			shutdownDatabase();
+
+			assertThatThrownBy(() -> {
+				writer.flush();
+			}).isInstanceOf(SQLException.class);
+
+			createTable("MESSAGE CLOB NULL");
+
+			Thread.sleep(1000);
+
+			writer.flush();
+			assertThat(fetchTable(TABLE_NAME)).column("MESSAGE").containsValues("One", "Two");
+
+			writer.close();
+			assertThat(systemStream.consumeErrorOutput()).isEmpty();
+		}
+
+		/**
+		 * Verifies that a log entry, which is rejected by the database, will be discarded without breaking the
+		 * connection or blocking further log entries.
+		 *
+		 * @throws NamingException
+		 *             Failed to find data source
+		 * @throws SQLException
+		 *             Failed to access database
+		 */
+		@Test
+		public void discardRejectedEntry() throws NamingException, SQLException {
+			createTable("MESSAGE VARCHAR(5) NULL");
+
+			JdbcWriter writer = new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), singletonMap("reconnect", "true")));
+
+			writer.write(LogEntryBuilder.empty().message("One").create());
+
+			assertThatThrownBy(() -> {
+				writer.write(LogEntryBuilder.empty().message("Much too long").create());
+			}).isInstanceOf(SQLException.class);
+
+			writer.write(LogEntryBuilder.empty().message("Two").create());
+			assertThat(fetchTable(TABLE_NAME)).hasNumberOfRows(2).column("MESSAGE").containsValues("One", "Two");
+
+			writer.close();
+			assertThat(fetchTable(TABLE_NAME)).hasNumberOfRows(2);
+			assertThat(systemStream.consumeErrorOutput()).isEmpty();
+		}
+
+		/**
+		 * Verifies that only the rejected log entry of a failed batch will be discarded, whereas all other log entries
+		 * are inserted exactly once.
+		 *
+		 * @throws NamingException
+		 *             Failed to find data source
+		 * @throws SQLException
+		 *             Failed to access database
+		 */
+		@Test
+		public void discardRejectedBatchEntry() throws NamingException, SQLException {
+			createTable("MESSAGE VARCHAR(5) NULL");
+
+			Map<String, String> properties = tripletonMap("batch", "true", "batch.size", "3", "reconnect", "true");
+			JdbcWriter writer = new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), properties));
+
+			writer.write(LogEntryBuilder.empty().message("One").create());
+			writer.write(LogEntryBuilder.empty().message("Much too long").create());
+
+			assertThatThrownBy(() -> {
+				writer.write(LogEntryBuilder.empty().message("Two").create());
+			}).isInstanceOf(SQLException.class);
+
+			writer.write(LogEntryBuilder.empty().message("Three").create());
+			writer.close();
+
+			assertThat(fetchTable(TABLE_NAME)).hasNumberOfRows(3).column("MESSAGE").containsValues("One", "Two", "Three");
+			assertThat(systemStream.consumeErrorOutput()).isEmpty();
+		}
+
+		/**
+		 * Verifies that retained log entries, which are inserted via multiple multi-row insert statements, will be
+		 * inserted exactly once, even if a later statement is rejected by the database.
+		 *
+		 * @throws NamingException
+		 *             Failed to find data source
+		 * @throws SQLException
+		 *             Failed to access database
+		 * @throws InterruptedException
+		 *             Failed to sleep before reconnecting try
+		 */
+		@Test
+		public void insertRetainedMultiRowEntriesOnce() throws NamingException, SQLException, InterruptedException {
+			createTable("MESSAGE VARCHAR(5) NULL");
+
+			Map<String, String> properties = new HashMap<>();
+			properties.put("batch", "true");
+			properties.put("batch.size", "2");
+			properties.put("multirow", "true");
+			properties.put("reconnect", "true");
+			properties.put("buffer", "10");
+			JdbcWriter writer = new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), properties));
+
+			writer.write(LogEntryBuilder.empty().message("One").create());
+
+			shutdownDatabase();
+
+			assertThatThrownBy(() -> {
+				writer.write(LogEntryBuilder.empty().message("Two").create());
+			}).isInstanceOf(SQLException.class);
+
+			writer.write(LogEntryBuilder.empty().message("Much too long").create());
+			writer.write(LogEntryBuilder.empty().message("Three").create());
+
+			createTable("MESSAGE VARCHAR(5) NULL");
+
+			Thread.sleep(1000);
+
+			writer.flush();
+			writer.close();
+
+			assertThat(fetchTable(TABLE_NAME)).hasNumberOfRows(3).column("MESSAGE").containsValues("One", "Two", "Three");
+			assertThat(systemStream.consumeErrorOutput()).containsOnlyOnce("ERROR").contains("retained");
+		}
+
+		/**
+		 * Verifies that log entries will be written to a spool file while the connection is broken and inserted after
+		 * re-establishing the connection.
+		 *
+		 * @throws IOException
+		 *             Failed to create spool file
+		 * @throws NamingException
+		 *             Failed to find data source
+		 * @throws SQLException
+		 *             Failed to access database
+		 * @throws InterruptedException
+		 *             Failed to sleep before reconnecting try
+		 */
+		@Test
+		public void replaySpooledEntries() throws IOException, NamingException, SQLException, InterruptedException {
+			String spool = FileSystem.createTemporaryFile();
+			new File(spool).delete();
+			createTable("MESSAGE CLOB NULL");
+
+			Map<String, String> properties = tripletonMap("reconnect", "true", "buffer", "1", "spool", spool);
+			JdbcWriter writer = new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), properties));
+
+			shutdownDatabase();
+
+			assertThatThrownBy(() -> {
+				writer.write(LogEntryBuilder.empty().message("One").create());
+			}).isInstanceOf(SQLException.class);
+
+			writer.write(LogEntryBuilder.empty().message("Two").create());
+			writer.write(LogEntryBuilder.empty().message("Three").create());
+			assertThat(new File(spool)).exists();
+
+			createTable("MESSAGE CLOB NULL");
+
+			Thread.sleep(1000);
+
+			writer.write(LogEntryBuilder.empty().message("Four").create());
+			writer.close();
+
+			assertThat(fetchTable(TABLE_NAME)).hasNumberOfRows(4).column("MESSAGE").containsValues("One", "Two", "Three", "Four");
+			assertThat(new File(spool)).doesNotExist();
+			assertThat(writer.getSpooledEntries()).isEqualTo(3);
+			assertThat(writer.getReplayedEntries()).isEqualTo(3);
+			assertThat(writer.getLostEntries()).isZero();
+			assertThat(systemStream.consumeErrorOutput()).doesNotContain("ERROR").contains("Inserted spooled log entries").contains(": 3");
+		}
+
+		/**
+		 * Verifies that buffered log entries will be spooled before newer log entries, so that the chronological order is
+		 * kept after closing the writer.
+		 *
+		 * @throws IOException
+		 *             Failed to create spool file
+		 * @throws NamingException
+		 *             Failed to find data source
+		 * @throws SQLException
+		 *             Failed to access database
+		 */
+		@Test
+		public void keepChronologicalOrderOfSpooledEntries() throws IOException, NamingException, SQLException {
+			String spool = FileSystem.createTemporaryFile();
+			new File(spool).delete();
+			createTable("ID BIGINT AUTO_INCREMENT PRIMARY KEY", "MESSAGE CLOB NULL");
+
+			Map<String, String> properties = tripletonMap("reconnect", "true", "buffer", "2", "spool", spool);
+			JdbcWriter writer = new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), properties));
+
+			shutdownDatabase();
+
+			assertThatThrownBy(() -> {
+				writer.write(LogEntryBuilder.empty().message("One").create());
+			}).isInstanceOf(SQLException.class);
+
+			writer.write(LogEntryBuilder.empty().message("Two").create());
+			writer.write(LogEntryBuilder.empty().message("Three").create());
+			writer.close();
+
+			assertThat(writer.getSpooledEntries()).isEqualTo(3);
+			assertThat(writer.getLostEntries()).isZero();
+
+			createTable("ID BIGINT AUTO_INCREMENT PRIMARY KEY", "MESSAGE CLOB NULL");
+			new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), properties)).close();
+
+			assertThat(fetchTable(TABLE_NAME)).column("MESSAGE").hasValues("One", "Two", "Three");
+			assertThat(new File(spool)).doesNotExist();
+			systemStream.consumeErrorOutput();
+		}
+
+		/**
+		 * Verifies that spooled log entries remain in the spool file after closing the writer and will be inserted by
+		 * the next writer instance.
+		 *
+		 * @throws IOException
+		 *             Failed to create spool file
+		 * @throws NamingException
+		 *             Failed to find data source
+		 * @throws SQLException
+		 *             Failed to access database
+		 */
+		@Test
+		public void keepSpooledEntriesAfterClosing() throws IOException, NamingException, SQLException {
+			String spool = FileSystem.createTemporaryFile();
+			new File(spool).delete();
+			createTable("MESSAGE CLOB NULL");
+
+			Map<String, String> properties = doubletonMap("reconnect", "true", "spool", spool);
+			JdbcWriter writer = new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), properties));
+
+			shutdownDatabase();
+
+			assertThatThrownBy(() -> {
+				writer.write(LogEntryBuilder.empty().message("One").create());
+			}).isInstanceOf(SQLException.class);
+
+			writer.close();
+			assertThat(new File(spool)).exists();
+
+			createTable("MESSAGE CLOB NULL");
+			new JdbcWriter(createProperties(singletonMap("MESSAGE", "{message}"), properties)).close();
+
+			assertThat(fetchTable(TABLE_NAME)).column("MESSAGE").containsValues("One");
+			assertThat(new File(spool)).doesNotExist();
+			assertThat(systemStream.consumeErrorOutput()).doesNotContain("ERROR").contains("remain").contains("Inserted");
+		}
+
 		/**
 		 * Verifies that a broken connection to a temporary disappeared {@link DataSource} will be re-establishing, if
 		 * reconnecting is enabled.
@@ -663,6 +1063,40 @@ public final class JdbcWriterTest {
 			}).hasMessageMatching("(?i).*table.*");
 		}
 
+		/**
+		 * Verifies that an exception will be thrown, if the batch size is not a positive number.
+		 *
+		 * @throws SQLException
+		 *             Failed to access database
+		 */
+		@Test
+		public void invalidBatchSize() throws SQLException {
+			createTable();
+
+			assertThatThrownBy(() -> {
+				new JdbcWriter(createProperties(emptyMap(), singletonMap("batch.size", "0")));
+			}).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("batch.size");
+
+			assertThatThrownBy(() -> {
+				new JdbcWriter(createProperties(emptyMap(), singletonMap("batch.size", "abc")));
+			}).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("abc");
+		}
+
+		/**
+		 * Verifies that an exception will be thrown, if the buffer size is negative.
+		 *
+		 * @throws SQLException
+		 *             Failed to access database
+		 */
+		@Test
+		public void invalidBufferSize() throws SQLException {
+			createTable();
+
+			assertThatThrownBy(() -> {
+				new JdbcWriter(createProperties(emptyMap(), singletonMap("buffer", "-1")));
+			}).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("buffer");
+		}
+
 		/**
 		 * Verifies that line breaks in database identifiers will be detected and reported.
 		 */
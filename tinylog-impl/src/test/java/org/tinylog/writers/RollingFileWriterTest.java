@@ -16,10 +16,14 @@ package org.tinylog.writers;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -345,14 +349,369 @@ public final class RollingFileWriterTest {
 
 		writer.write(LogEntryBuilder.empty().message("First").create());
 		writer.write(LogEntryBuilder.empty().message("Second").create());
+		writer.close();
 
 		assertThat(file1).doesNotExist();
 		assertThat(file2).exists();
 		assertThat(file3).exists();
 		assertThat(file4).hasContent("First" + NEW_LINE);
 		assertThat(file5).hasContent("Second" + NEW_LINE);
+	}
+
+	/**
+	 * Verifies that the oldest backup files will be deleted at start-up, if the total size of all backups exceeds the
+	 * defined limit.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary folder or files
+	 */
+	@Test
+	public void deleteBackupsBySize() throws IOException {
+		File file1 = folder.newFile("0");
+		File file2 = folder.newFile("1");
+		File file3 = folder.newFile("2");
+		File file4 = folder.newFile("3");
+
+		Files.write(file1.toPath(), new byte[1024]);
+		Files.write(file2.toPath(), new byte[1024]);
+		Files.write(file3.toPath(), new byte[1024]);
+
+		file1.setLastModified(0);
+		file2.setLastModified(1000);
+		file3.setLastModified(2000);
+		file4.setLastModified(3000);
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", new File(folder.getRoot(), "{count}").getAbsolutePath());
+		properties.put("format", "{message}");
+		properties.put("policies", "size: 1KB");
+		properties.put("backups.size", "2KB");
+
+		RollingFileWriter writer = new RollingFileWriter(properties);
+		try {
+			assertThat(file1).doesNotExist();
+			assertThat(file2).exists();
+			assertThat(file3).exists();
+			assertThat(file4).exists();
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Verifies that backup files, which are older than allowed, will be deleted at start-up.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary folder or files
+	 */
+	@Test
+	public void deleteBackupsByAge() throws IOException {
+		long now = System.currentTimeMillis();
+
+		File file1 = folder.newFile("0");
+		File file2 = folder.newFile("1");
+		File file3 = folder.newFile("2");
+
+		file1.setLastModified(now - TimeUnit.DAYS.toMillis(3));
+		file2.setLastModified(now - TimeUnit.HOURS.toMillis(1));
+		file3.setLastModified(now);
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", new File(folder.getRoot(), "{count}").getAbsolutePath());
+		properties.put("format", "{message}");
+		properties.put("policies", "size: 1MB");
+		properties.put("backups.age", "2d");
+
+		RollingFileWriter writer = new RollingFileWriter(properties);
+		try {
+			assertThat(file1).doesNotExist();
+			assertThat(file2).exists();
+			assertThat(file3).exists();
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Verifies that an invalid retention value will be rejected.
+	 */
+	@Test
+	public void invalidBackupsSize() {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", new File(folder.getRoot(), "{count}").getAbsolutePath());
+		properties.put("backups.size", "abc");
+
+		assertThatThrownBy(() -> new RollingFileWriter(properties)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("abc");
+	}
+
+	/**
+	 * Verifies that the next log file will be opened in advance after a rollover, if the path doesn't contain any date
+	 * patterns. An unused log file must be removed when closing the writer.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary folder or files
+	 */
+	@Test
+	public void preopenNextFile() throws IOException {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", new File(folder.getRoot(), "{count}.log").getAbsolutePath());
+		properties.put("format", "{message}");
+		properties.put("policies", "size: 10");
+
+		RollingFileWriter writer = new RollingFileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("First").create());
+		writer.write(LogEntryBuilder.empty().message("Second").create());
+
+		File next = new File(folder.getRoot(), "2.log");
+		for (int i = 0; i < 100 && !next.exists(); ++i) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		assertThat(next).exists();
+
+		writer.write(LogEntryBuilder.empty().message("Third").create());
+		writer.close();
+
+		assertThat(folder.getRoot().list()).containsExactlyInAnyOrder("0.log", "1.log", "2.log");
+		assertThat(new File(folder.getRoot(), "0.log")).hasContent("First" + NEW_LINE);
+		assertThat(new File(folder.getRoot(), "1.log")).hasContent("Second" + NEW_LINE);
+		assertThat(next).hasContent("Third" + NEW_LINE);
+	}
+
+	/**
+	 * Verifies that the first next log file is already opened in advance when creating the writer.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary folder or files
+	 */
+	@Test
+	public void preopenFirstNextFile() throws IOException {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", new File(folder.getRoot(), "{count}.log").getAbsolutePath());
+		properties.put("format", "{message}");
+		properties.put("policies", "size: 10");
+
+		RollingFileWriter writer = new RollingFileWriter(properties);
+		assertThat(Whitebox.<Object>getInternalState(writer, "nextFile")).isNotNull();
+
+		File next = new File(folder.getRoot(), "1.log");
+		for (int i = 0; i < 100 && !next.exists(); ++i) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		assertThat(next).exists();
 
 		writer.close();
+
+		assertThat(folder.getRoot().list()).containsExactly("0.log");
+	}
+
+	/**
+	 * Verifies that a static log file is truncated at rollover and is neither compressed nor deleted as backup.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary folder or files
+	 */
+	@Test
+	public void rollOverStaticFileWithCompression() throws IOException {
+		File file = new File(folder.getRoot(), "log.txt");
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", file.getAbsolutePath());
+		properties.put("format", "{message}");
+		properties.put("policies", "size: 10");
+		properties.put("backups", "0");
+		properties.put("compression", "gzip");
+
+		RollingFileWriter writer = new RollingFileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("First").create());
+		writer.write(LogEntryBuilder.empty().message("Second").create());
+		writer.write(LogEntryBuilder.empty().message("Third").create());
+		writer.close();
+
+		assertThat(folder.getRoot().list()).containsExactly("log.txt");
+		assertThat(file).hasContent("Third" + NEW_LINE);
+		assertThat(systemStream.consumeErrorOutput()).isEmpty();
+	}
+
+	/**
+	 * Verifies that an existing static log file, which is not continued, is not compressed as backup at startup.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary folder or files
+	 */
+	@Test
+	public void discontinueStaticFileWithCompression() throws IOException {
+		File file = folder.newFile("log.txt");
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", file.getAbsolutePath());
+		properties.put("format", "{message}");
+		properties.put("policies", "startup");
+		properties.put("backups", "0");
+		properties.put("compression", "gzip");
+
+		RollingFileWriter writer = new RollingFileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("Hello World!").create());
+		writer.close();
+
+		assertThat(folder.getRoot().list()).containsExactly("log.txt");
+		assertThat(file).hasContent("Hello World!" + NEW_LINE);
+		assertThat(systemStream.consumeErrorOutput()).isEmpty();
+	}
+
+	/**
+	 * Verifies that an unused log file, which has been opened in advance, will be removed when closing the writer.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary folder or files
+	 */
+	@Test
+	public void discardPreopenedFile() throws IOException {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", new File(folder.getRoot(), "{count}.log").getAbsolutePath());
+		properties.put("format", "{message}");
+		properties.put("policies", "size: 10");
+
+		RollingFileWriter writer = new RollingFileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("First").create());
+		writer.write(LogEntryBuilder.empty().message("Second").create());
+		writer.close();
+
+		assertThat(folder.getRoot().list()).containsExactlyInAnyOrder("0.log", "1.log");
+	}
+
+	/**
+	 * Verifies that the next log file will not be opened in advance, if the path contains a date pattern.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary folder or files
+	 */
+	@Test
+	public void noPreopeningForDatePatterns() throws IOException {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", new File(folder.getRoot(), "{date:yyyy}_{count}.log").getAbsolutePath());
+		properties.put("format", "{message}");
+		properties.put("policies", "size: 10");
+
+		RollingFileWriter writer = new RollingFileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("First").create());
+		writer.write(LogEntryBuilder.empty().message("Second").create());
+
+		assertThat(Whitebox.<Object>getInternalState(writer, "nextFile")).isNull();
+
+		writer.close();
+
+		assertThat(folder.getRoot().list()).hasSize(2);
+	}
+
+	/**
+	 * Verifies that rolled log files will be compressed and compressed log files are counted as backups.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary folder or files
+	 */
+	@Test
+	public void compressRolledFiles() throws IOException {
+		File file1 = folder.newFile("0.log.gz");
+		File file2 = folder.newFile("1.log.gz");
+		File file3 = folder.newFile("2.log");
+
+		file1.setLastModified(0);
+		file2.setLastModified(1000);
+		file3.setLastModified(2000);
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", new File(folder.getRoot(), "{count}.log").getAbsolutePath());
+		properties.put("format", "{message}");
+		properties.put("policies", "size: 10");
+		properties.put("backups", "1");
+		properties.put("compression", "gzip");
+		properties.put("compression.level", "1");
+
+		RollingFileWriter writer = new RollingFileWriter(properties);
+		assertThat(file1).doesNotExist();
+		assertThat(file2).exists();
+
+		writer.write(LogEntryBuilder.empty().message("First").create());
+		writer.write(LogEntryBuilder.empty().message("Second").create());
+		writer.close();
+
+		assertThat(folder.getRoot().list()).containsExactlyInAnyOrder("2.log.gz", "3.log");
+		assertThat(new File(folder.getRoot(), "3.log")).hasContent("Second" + NEW_LINE);
+
+		InputStream stream = new GZIPInputStream(new FileInputStream(new File(folder.getRoot(), "2.log.gz")));
+		try {
+			byte[] content = new byte[64];
+			int length = stream.read(content);
+			assertThat(new String(content, 0, length, StandardCharsets.UTF_8)).isEqualTo("First" + NEW_LINE);
+		} finally {
+			stream.close();
+		}
+	}
+
+	/**
+	 * Verifies that rolled log files are passed to the backup retention after their compression is complete, so that
+	 * only compressed backups remain and no backup is deleted while being compressed.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary folder or files
+	 */
+	@Test
+	public void retainCompressedBackups() throws IOException {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", new File(folder.getRoot(), "{count}.log").getAbsolutePath());
+		properties.put("format", "{message}");
+		properties.put("policies", "size: 10");
+		properties.put("backups", "2");
+		properties.put("compression", "gzip");
+
+		RollingFileWriter writer = new RollingFileWriter(properties);
+		for (int i = 0; i < 10; ++i) {
+			writer.write(LogEntryBuilder.empty().message("Entry " + i).create());
+		}
+		writer.close();
+
+		assertThat(folder.getRoot().list()).containsExactlyInAnyOrder("7.log.gz", "8.log.gz", "9.log");
+		assertThat(systemStream.consumeErrorOutput()).isEmpty();
+	}
+
+	/**
+	 * Verifies that log files will be compressed on the fly, if streaming compression is enabled.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary folder or files
+	 */
+	@Test
+	public void streamingCompression() throws IOException {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", new File(folder.getRoot(), "{count}.log.gz").getAbsolutePath());
+		properties.put("format", "{message}");
+		properties.put("policies", "size: 10");
+		properties.put("compression.streaming", "true");
+
+		RollingFileWriter writer = new RollingFileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("First").create());
+		writer.write(LogEntryBuilder.empty().message("Second").create());
+		writer.close();
+
+		assertThat(folder.getRoot().list()).containsExactlyInAnyOrder("0.log.gz", "1.log.gz");
+
+		InputStream stream = new GZIPInputStream(new FileInputStream(new File(folder.getRoot(), "1.log.gz")));
+		try {
+			byte[] content = new byte[64];
+			int length = stream.read(content);
+			assertThat(new String(content, 0, length, StandardCharsets.UTF_8)).isEqualTo("Second" + NEW_LINE);
+		} finally {
+			stream.close();
+		}
 	}
 
 	/**
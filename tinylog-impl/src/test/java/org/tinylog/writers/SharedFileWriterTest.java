@@ -21,6 +21,7 @@ import java.nio.channels.FileLock;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -208,6 +209,90 @@ public final class SharedFileWriterTest {
 			.matches(Pattern.quote("PREAMBLE" + NEW_LINE) + "(" + Pattern.quote(LOG_ENTRY_MESSAGE + NEW_LINE) + "){" + entries + "}");
 	}
 
+	/**
+	 * Verifies that an already existing file will be overwritten by a single process, if locking and append mode are
+	 * disabled.
+	 *
+	 * @throws IOException
+	 *             Failed writing to file
+	 */
+	@Test
+	public void lockingDisabledForSingleProcess() throws IOException {
+		String file = FileSystem.createTemporaryFile("Test");
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", file);
+		properties.put("format", "{message}");
+		properties.put("append", "false");
+		properties.put("locking", "false");
+
+		SharedFileWriter writer = new SharedFileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("Hello World!").create());
+		writer.close();
+
+		assertThat(FileSystem.readFile(file)).isEqualTo("Hello World!" + NEW_LINE);
+	}
+
+	/**
+	 * Verifies that buffered log entries will be written completely, if locking is disabled.
+	 *
+	 * @throws IOException
+	 *             Failed writing to file
+	 */
+	@Test
+	public void lockingDisabledWithBuffering() throws IOException {
+		String file = FileSystem.createTemporaryFile("Test");
+
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", file);
+		properties.put("format", "{message}");
+		properties.put("append", "true");
+		properties.put("buffered", "true");
+		properties.put("locking", "false");
+
+		SharedFileWriter writer = new SharedFileWriter(properties);
+		for (int i = 0; i < NUMBER_OF_LINES; ++i) {
+			writer.write(LogEntryBuilder.empty().message(LOG_ENTRY_MESSAGE).create());
+		}
+		writer.close();
+
+		assertThat(FileSystem.readFile(file))
+			.hasLineCount(NUMBER_OF_LINES + 1)
+			.matches(Pattern.quote("Test" + NEW_LINE) + "(" + Pattern.quote(LOG_ENTRY_MESSAGE + NEW_LINE) + "){" + NUMBER_OF_LINES + "}");
+	}
+
+	/**
+	 * Verifies that multiple processes neither override an already existing file nor each other, if locking is
+	 * disabled and append mode is enabled.
+	 *
+	 * @throws IOException
+	 *             Failed writing to file or creating process
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for process
+	 */
+	@Test
+	public void lockingDisabledForMultipleProcesses() throws IOException, InterruptedException {
+		File file = new File(FileSystem.createTemporaryFile());
+		String path = file.getAbsolutePath();
+
+		if (!file.delete()) {
+			throw new IOException("Failed to delete temporary file: " + path);
+		}
+
+		List<Process> processes = new JvmProcessBuilder(SharedFileWriterTest.class, path, "true", "false").start(NUMBER_OF_PROCESSES);
+
+		Files.write(file.toPath(), Arrays.asList("PREAMBLE"));
+
+		for (Process process : processes) {
+			process.waitFor();
+		}
+
+		int entries = NUMBER_OF_PROCESSES * NUMBER_OF_LINES;
+		assertThat(FileSystem.readFile(path))
+			.hasLineCount(entries + 1)
+			.matches(Pattern.quote("PREAMBLE" + NEW_LINE) + "(" + Pattern.quote(LOG_ENTRY_MESSAGE + NEW_LINE) + "){" + entries + "}");
+	}
+
 	/**
 	 * Verifies that writing works and underlying byte array writer is thread-safe, if writing thread is disable.
 	 *
@@ -353,7 +438,8 @@ public final class SharedFileWriterTest {
 	 * to the same file by multiple processes.
 	 *
 	 * @param arguments
-	 *            First element will be used as file name for target file and second element for defining append mode
+	 *            First element will be used as file name for target file, second element for defining append mode and
+	 *            the optional third element for defining locking mode
 	 * @throws IOException
 	 *             Failed writing to target file
 	 */
@@ -363,7 +449,14 @@ public final class SharedFileWriterTest {
 			Thread.yield();
 		}
 
-		Map<String, String> properties = tripletonMap("file", arguments[0], "append", arguments[1], "format", "{message}");
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", arguments[0]);
+		properties.put("append", arguments[1]);
+		properties.put("format", "{message}");
+		if (arguments.length > 2) {
+			properties.put("locking", arguments[2]);
+		}
+
 		SharedFileWriter writer = new SharedFileWriter(properties);
 		LogEntry logEntry = LogEntryBuilder.prefilled(SharedFileWriterTest.class).message(LOG_ENTRY_MESSAGE).create();
 
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.writers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.powermock.reflect.Whitebox;
+import org.tinylog.configuration.ServiceLoader;
+import org.tinylog.core.LogEntry;
+import org.tinylog.rules.SystemStreamCollector;
+import org.tinylog.util.FileSystem;
+import org.tinylog.util.JvmProcessBuilder;
+import org.tinylog.util.LogEntryBuilder;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link SharedRollingFileWriter}.
+ */
+public final class SharedRollingFileWriterTest {
+
+	private static final int NUMBER_OF_PROCESSES = 5;
+	private static final int NUMBER_OF_LINES = 2000;
+
+	private static final String LOG_ENTRY_MESSAGE = "LOG ENTRY";
+	private static final String NEW_LINE = System.lineSeparator();
+
+	/**
+	 * Redirects and collects system output streams.
+	 */
+	@Rule
+	public final SystemStreamCollector systemStream = new SystemStreamCollector(true);
+
+	/**
+	 * Temporary folder for creating volatile files.
+	 */
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Verifies that log entries will be appended to an existing log file, if all policies agree.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void continueExistingFile() throws IOException {
+		File file = folder.newFile("test.log");
+		Files.write(file.toPath(), Arrays.asList("Test"));
+
+		SharedRollingFileWriter writer = new SharedRollingFileWriter(createProperties(file, "size: 1MB"));
+		writer.write(LogEntryBuilder.empty().message("Hello World!").create());
+		writer.close();
+
+		assertThat(FileSystem.readFile(file.getPath())).isEqualTo("Test" + NEW_LINE + "Hello World!" + NEW_LINE);
+		assertThat(new File(file.getPath() + ".1")).doesNotExist();
+	}
+
+	/**
+	 * Verifies that an existing log file will be rolled at startup, if no policies are defined.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void rollExistingFileAtStartup() throws IOException {
+		File file = folder.newFile("test.log");
+		Files.write(file.toPath(), Arrays.asList("Test"));
+
+		SharedRollingFileWriter writer = new SharedRollingFileWriter(createProperties(file, null));
+		writer.write(LogEntryBuilder.empty().message("Hello World!").create());
+		writer.close();
+
+		assertThat(FileSystem.readFile(file.getPath())).isEqualTo("Hello World!" + NEW_LINE);
+		assertThat(new File(file.getPath() + ".1")).hasContent("Test");
+	}
+
+	/**
+	 * Verifies that backups are numbered by generation at each rollover and existing backups are not renamed.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void numberBackups() throws IOException {
+		File file = new File(folder.getRoot(), "test.log");
+
+		SharedRollingFileWriter writer = new SharedRollingFileWriter(createProperties(file, "size: 10"));
+		writer.write(LogEntryBuilder.empty().message("First").create());
+		writer.write(LogEntryBuilder.empty().message("Second").create());
+		writer.write(LogEntryBuilder.empty().message("Third").create());
+		writer.close();
+
+		assertThat(FileSystem.readFile(file.getPath())).isEqualTo("Third" + NEW_LINE);
+		assertThat(new File(file.getPath() + ".1")).hasContent("First");
+		assertThat(new File(file.getPath() + ".2")).hasContent("Second");
+	}
+
+	/**
+	 * Verifies that obsolete backups will be deleted at rollover, if they have not been modified recently.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void limitBackups() throws IOException {
+		File file = new File(folder.getRoot(), "test.log");
+
+		Map<String, String> properties = createProperties(file, "size: 10");
+		properties.put("backups", "1");
+
+		SharedRollingFileWriter writer = new SharedRollingFileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("First").create());
+		writer.write(LogEntryBuilder.empty().message("Second").create());
+		new File(file.getPath() + ".1").setLastModified(0);
+		writer.write(LogEntryBuilder.empty().message("Third").create());
+		writer.close();
+
+		assertThat(FileSystem.readFile(file.getPath())).isEqualTo("Third" + NEW_LINE);
+		assertThat(new File(file.getPath() + ".1")).doesNotExist();
+		assertThat(new File(file.getPath() + ".2")).hasContent("Second");
+	}
+
+	/**
+	 * Verifies that obsolete backups are kept as long as they have been modified recently, as other processes might
+	 * still write to them. This applies also if backups are disabled.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void keepRecentlyModifiedBackups() throws IOException {
+		File file = new File(folder.getRoot(), "test.log");
+
+		Map<String, String> properties = createProperties(file, "size: 10");
+		properties.put("backups", "0");
+
+		SharedRollingFileWriter writer = new SharedRollingFileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("First").create());
+		writer.write(LogEntryBuilder.empty().message("Second").create());
+		assertThat(new File(file.getPath() + ".1")).hasContent("First");
+
+		new File(file.getPath() + ".1").setLastModified(0);
+		writer.write(LogEntryBuilder.empty().message("Third").create());
+		writer.close();
+
+		assertThat(FileSystem.readFile(file.getPath())).isEqualTo("Third" + NEW_LINE);
+		assertThat(new File(file.getPath() + ".1")).doesNotExist();
+		assertThat(new File(file.getPath() + ".2")).hasContent("Second");
+	}
+
+	/**
+	 * Verifies that existing backups are not overwritten, if the generation counter has been lost.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void skipExistingBackups() throws IOException {
+		File file = folder.newFile("test.log");
+		Files.write(file.toPath(), Arrays.asList("Current"));
+		Files.write(new File(file.getPath() + ".1").toPath(), Arrays.asList("Old"));
+
+		SharedRollingFileWriter writer = new SharedRollingFileWriter(createProperties(file, null));
+		writer.close();
+
+		assertThat(new File(file.getPath() + ".1")).hasContent("Old");
+		assertThat(new File(file.getPath() + ".2")).hasContent("Current");
+	}
+
+	/**
+	 * Verifies that a writer continues writing to a log file that has been rolled by another writer until its next
+	 * check, and reopens the new log file instead of rolling it again.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void detectRolloverByOtherWriter() throws IOException {
+		File file = new File(folder.getRoot(), "test.log");
+
+		SharedRollingFileWriter first = new SharedRollingFileWriter(createProperties(file, "size: 10"));
+		SharedRollingFileWriter second = new SharedRollingFileWriter(createProperties(file, "size: 10"));
+		Whitebox.setInternalState(second, "nextCheck", Long.MAX_VALUE);
+
+		first.write(LogEntryBuilder.empty().message("First").create());
+		first.write(LogEntryBuilder.empty().message("Second").create());
+		second.write(LogEntryBuilder.empty().message("Third").create());
+		second.write(LogEntryBuilder.empty().message("Fourth").create());
+
+		first.close();
+		second.close();
+
+		assertThat(FileSystem.readFile(file.getPath())).isEqualTo("Second" + NEW_LINE + "Fourth" + NEW_LINE);
+		assertThat(new File(file.getPath() + ".1")).hasContent("First" + NEW_LINE + "Third");
+		assertThat(new File(file.getPath() + ".2")).doesNotExist();
+	}
+
+	/**
+	 * Verifies that rollovers are coordinated if lock-free appending is enabled.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files
+	 */
+	@Test
+	public void lockingDisabled() throws IOException {
+		File file = new File(folder.getRoot(), "test.log");
+
+		Map<String, String> properties = createProperties(file, "size: 10");
+		properties.put("locking", "false");
+
+		SharedRollingFileWriter writer = new SharedRollingFileWriter(properties);
+		writer.write(LogEntryBuilder.empty().message("First").create());
+		writer.write(LogEntryBuilder.empty().message("Second").create());
+		writer.close();
+
+		assertThat(FileSystem.readFile(file.getPath())).isEqualTo("Second" + NEW_LINE);
+		assertThat(new File(file.getPath() + ".1")).hasContent("First");
+	}
+
+	/**
+	 * Verifies that multiple processes can write simultaneously to the same rolling log file without losing any log
+	 * entries.
+	 *
+	 * @throws IOException
+	 *             Failed access to temporary files or creating process
+	 * @throws InterruptedException
+	 *             Interrupted while waiting for process
+	 */
+	@Test
+	public void multipleProcesses() throws IOException, InterruptedException {
+		File file = new File(folder.getRoot(), "test.log");
+
+		List<Process> processes = new JvmProcessBuilder(SharedRollingFileWriterTest.class, file.getPath()).start(NUMBER_OF_PROCESSES);
+		for (Process process : processes) {
+			process.waitFor();
+		}
+
+		int lines = 0;
+		for (int i = 0; i <= NUMBER_OF_PROCESSES * NUMBER_OF_LINES; ++i) {
+			File logFile = i == 0 ? file : new File(file.getPath() + "." + i);
+			if (logFile.exists()) {
+				for (String line : Files.readAllLines(logFile.toPath())) {
+					assertThat(line).isEqualTo(LOG_ENTRY_MESSAGE);
+					++lines;
+				}
+			}
+		}
+
+		assertThat(lines).isEqualTo(NUMBER_OF_PROCESSES * NUMBER_OF_LINES);
+		assertThat(new File(file.getPath() + ".1")).exists();
+	}
+
+	/**
+	 * Verifies that an exception will be thrown, if no file name is defined.
+	 */
+	@Test
+	public void missingFileName() {
+		assertThatThrownBy(() -> new SharedRollingFileWriter(emptyMap())).hasMessageMatching("(?i).*file ?name.*");
+	}
+
+	/**
+	 * Verifies that writer is registered as service under the name "shared rolling file".
+	 *
+	 * @throws Exception
+	 *             Failed creating or closing writer
+	 */
+	@Test
+	public void isRegistered() throws Exception {
+		String file = new File(folder.getRoot(), "test.log").getPath();
+		Writer writer = new ServiceLoader<>(Writer.class, Map.class).create("shared rolling file", singletonMap("file", file));
+		assertThat(writer).isInstanceOf(SharedRollingFileWriter.class);
+		writer.close();
+	}
+
+	/**
+	 * Writes a defined number of lines to a given rolling log file. This main method is used to test writing
+	 * simultaneously to the same file by multiple processes.
+	 *
+	 * @param arguments
+	 *            First element will be used as file name for target file
+	 * @throws IOException
+	 *             Failed writing to target file
+	 */
+	public static void main(final String[] arguments) throws IOException {
+		SharedRollingFileWriter writer = new SharedRollingFileWriter(createProperties(new File(arguments[0]), "size: 10KB"));
+		LogEntry logEntry = LogEntryBuilder.empty().message(LOG_ENTRY_MESSAGE).create();
+
+		for (int i = 0; i < NUMBER_OF_LINES; ++i) {
+			writer.write(logEntry);
+		}
+
+		writer.close();
+	}
+
+	/**
+	 * Creates the configuration for a shared rolling file writer.
+	 *
+	 * @param file
+	 *            Log file
+	 * @param policies
+	 *            Policies for rolling or {@code null}
+	 * @return Created configuration
+	 */
+	private static Map<String, String> createProperties(final File file, final String policies) {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("file", file.getPath());
+		properties.put("format", "{message}");
+		if (policies != null) {
+			properties.put("policies", policies);
+		}
+		return properties;
+	}
+
+}
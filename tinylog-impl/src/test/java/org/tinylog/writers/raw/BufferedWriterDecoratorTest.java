@@ -96,4 +96,26 @@ public final class BufferedWriterDecoratorTest {
 		assertThat(stream.toByteArray()).isEqualTo(data);
 	}
 
+	/**
+	 * Verifies that a custom buffer capacity is respected and never exceeded by a single write operation of the
+	 * underlying writer.
+	 *
+	 * @throws IOException
+	 *             Writing failed
+	 */
+	@Test
+	public void customCapacity() throws IOException {
+		BufferedWriterDecorator smallWriter = new BufferedWriterDecorator(new OutputStreamWriter(stream), 4);
+
+		smallWriter.write(new byte[] { 1, 2 }, 2);
+		smallWriter.write(new byte[] { 3 }, 1);
+		assertThat(stream.toByteArray()).isEmpty();
+
+		smallWriter.write(new byte[] { 4, 5 }, 2);
+		assertThat(stream.toByteArray()).containsExactly(1, 2, 3);
+
+		smallWriter.close();
+		assertThat(stream.toByteArray()).containsExactly(1, 2, 3, 4, 5);
+	}
+
 }
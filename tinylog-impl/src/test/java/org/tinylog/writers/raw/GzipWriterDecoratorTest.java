@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 Martin Winandy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package org.tinylog.writers.raw;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link GzipWriterDecorator}.
+ */
+public final class GzipWriterDecoratorTest {
+
+	private static final int HEADER_SIZE = 10;
+	private static final int SYNC_INTERVAL = 64 * 1024;
+
+	private ByteArrayOutputStream stream;
+
+	/**
+	 * Creates a {@link ByteArrayOutputStream} for storing output data.
+	 */
+	@Before
+	public void init() {
+		stream = new ByteArrayOutputStream();
+	}
+
+	/**
+	 * Verifies that written data will be a valid GZIP stream after closing writer.
+	 *
+	 * @throws IOException
+	 *             Writing or reading failed
+	 */
+	@Test
+	public void writing() throws IOException {
+		GzipWriterDecorator writer = new GzipWriterDecorator(new OutputStreamWriter(stream), Deflater.DEFAULT_COMPRESSION);
+		writer.write(new byte[] { 1, 2 }, 2);
+		writer.write(new byte[] { 3, 4 }, 1);
+		writer.close();
+
+		assertThat(decompress(stream.toByteArray())).containsExactly(1, 2, 3);
+	}
+
+	/**
+	 * Verifies that multiple GZIP members can be written into the same output stream.
+	 *
+	 * @throws IOException
+	 *             Writing or reading failed
+	 */
+	@Test
+	public void continuing() throws IOException {
+		GzipWriterDecorator writer = new GzipWriterDecorator(new OutputStreamWriter(stream), Deflater.BEST_SPEED);
+		writer.write(new byte[] { 1, 2 }, 2);
+		writer.close();
+
+		writer = new GzipWriterDecorator(new OutputStreamWriter(stream), Deflater.BEST_COMPRESSION);
+		writer.write(new byte[] { 3 }, 1);
+		writer.close();
+
+		assertThat(decompress(stream.toByteArray())).containsExactly(1, 2, 3);
+	}
+
+	/**
+	 * Verifies that all written data can be decompressed after invoking {@link GzipWriterDecorator#flush()}, even if
+	 * the writer is not closed yet.
+	 *
+	 * @throws IOException
+	 *             Writing failed
+	 * @throws DataFormatException
+	 *             Written data is not decompressible
+	 */
+	@Test
+	public void flushing() throws IOException, DataFormatException {
+		GzipWriterDecorator writer = new GzipWriterDecorator(new OutputStreamWriter(stream), Deflater.DEFAULT_COMPRESSION);
+		writer.write(new byte[] { 1, 2 }, 2);
+		assertThat(inflate(stream.toByteArray())).isEmpty();
+
+		writer.flush();
+		assertThat(inflate(stream.toByteArray())).containsExactly(1, 2);
+
+		writer.close();
+	}
+
+	/**
+	 * Verifies that compressed data will be sync flushed automatically after writing large amounts of data.
+	 *
+	 * @throws IOException
+	 *             Writing failed
+	 * @throws DataFormatException
+	 *             Written data is not decompressible
+	 */
+	@Test
+	public void syncFlushingBlocks() throws IOException, DataFormatException {
+		byte[] data = new byte[SYNC_INTERVAL];
+		Arrays.fill(data, (byte) 42);
+
+		GzipWriterDecorator writer = new GzipWriterDecorator(new OutputStreamWriter(stream), Deflater.DEFAULT_COMPRESSION);
+		writer.write(data, data.length);
+
+		byte[] output = stream.toByteArray();
+		assertThat(output.length).isLessThan(data.length / 2);
+		assertThat(inflate(output)).isEqualTo(data);
+
+		writer.close();
+	}
+
+	/**
+	 * Verifies that an exception will be thrown for an invalid compression level.
+	 */
+	@Test
+	public void invalidLevel() {
+		assertThatThrownBy(() -> new GzipWriterDecorator(new OutputStreamWriter(stream), 10))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("10");
+	}
+
+	/**
+	 * Decompresses a complete GZIP stream.
+	 *
+	 * @param data
+	 *            GZIP compressed data
+	 * @return Decompressed data
+	 * @throws IOException
+	 *             Invalid GZIP stream
+	 */
+	private static byte[] decompress(final byte[] data) throws IOException {
+		InputStream input = new GZIPInputStream(new ByteArrayInputStream(data));
+		try {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			for (int count = input.read(buffer); count >= 0; count = input.read(buffer)) {
+				output.write(buffer, 0, count);
+			}
+			return output.toByteArray();
+		} finally {
+			input.close();
+		}
+	}
+
+	/**
+	 * Decompresses all available data of a potentially incomplete GZIP stream.
+	 *
+	 * @param data
+	 *            Incomplete GZIP stream
+	 * @return Decompressed data
+	 * @throws DataFormatException
+	 *             Invalid compressed data
+	 */
+	private static byte[] inflate(final byte[] data) throws DataFormatException {
+		Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(data, HEADER_SIZE, data.length - HEADER_SIZE);
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			for (int count = inflater.inflate(buffer); count > 0; count = inflater.inflate(buffer)) {
+				output.write(buffer, 0, count);
+			}
+			return output.toByteArray();
+		} finally {
+			inflater.end();
+		}
+	}
+
+}